@@ -0,0 +1,101 @@
+package com.seuprojeto.biblioteca.benchmark;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.service.AnaliseBiblioteca;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relatórios gerenciais pela análise paralela ({@code biblioteca.analise()}) comparados ao laço de uma thread
+ * sobre {@code getCatalogoLivros()}/{@code getListaMembros()} que eles substituem. Cada chamada cria uma
+ * análise nova, então a extração das colunas primitivas entra na conta de {@code disponibilidadePorDecada};
+ * {@code ...Colunas} mede só a consulta sobre colunas já extraídas. O ganho acompanha os núcleos disponíveis.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class AnaliseBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Emprestimos {
+
+        public AnaliseBiblioteca colunasExtraidas;
+
+        // Um livro em cada três emprestado, espalhado entre os membros
+        @Setup(Level.Trial)
+        public void emprestar(EstadoBiblioteca estado) {
+            for (int i = 0; i < estado.tamanhoCatalogo; i += 3) {
+                estado.biblioteca.emprestarLivro(estado.idsLivros[i], estado.idsMembros[i % estado.quantidadeMembros]);
+            }
+            estado.biblioteca.ativarInstantaneos();
+            colunasExtraidas = estado.biblioteca.analise();
+            colunasExtraidas.disponibilidadePorDecada();
+        }
+    }
+
+    @Benchmark
+    public List<AnaliseBiblioteca.Contagem<String>> autoresComMaisEmprestimos(EstadoBiblioteca estado,
+                                                                              Emprestimos emprestimos) {
+        return estado.biblioteca.analise().autoresComMaisEmprestimos(10);
+    }
+
+    @Benchmark
+    public Map<String, Long> autoresComMaisEmprestimosSequencial(EstadoBiblioteca estado, Emprestimos emprestimos) {
+        Map<String, Long> porAutor = new HashMap<>();
+        for (Livro livro : estado.biblioteca.getCatalogoLivros()) {
+            if (!livro.isDisponivel()) {
+                porAutor.merge(livro.getAutor(), 1L, Long::sum);
+            }
+        }
+        return porAutor;
+    }
+
+    @Benchmark
+    public SortedMap<Integer, AnaliseBiblioteca.Disponibilidade> disponibilidadePorDecada(EstadoBiblioteca estado,
+                                                                                          Emprestimos emprestimos) {
+        return estado.biblioteca.analise().disponibilidadePorDecada();
+    }
+
+    @Benchmark
+    public SortedMap<Integer, AnaliseBiblioteca.Disponibilidade> disponibilidadePorDecadaColunas(
+            Emprestimos emprestimos) {
+        return emprestimos.colunasExtraidas.disponibilidadePorDecada();
+    }
+
+    @Benchmark
+    public SortedMap<Integer, long[]> disponibilidadePorDecadaSequencial(EstadoBiblioteca estado,
+                                                                         Emprestimos emprestimos) {
+        SortedMap<Integer, long[]> porDecada = new TreeMap<>();
+        for (Livro livro : estado.biblioteca.getCatalogoLivros()) {
+            long[] soma = porDecada.computeIfAbsent(livro.getAnoPublicacao() / 10 * 10, decada -> new long[2]);
+            soma[0]++;
+            soma[1] += livro.isDisponivel() ? 1 : 0;
+        }
+        return porDecada;
+    }
+
+    @Benchmark
+    public List<AnaliseBiblioteca.Contagem<Membro>> membrosComMaisEmprestimos(EstadoBiblioteca estado,
+                                                                              Emprestimos emprestimos) {
+        return estado.biblioteca.analise().membrosComMaisEmprestimos(10);
+    }
+}
@@ -0,0 +1,108 @@
+package com.seuprojeto.biblioteca.benchmark;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.service.Biblioteca;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas top-k no índice textual sobre um catálogo sintético com vocabulário de frequência enviesada
+ * (poucas palavras muito comuns, muitas raras). A memória estimada do índice é impressa no setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@State(Scope.Thread)
+public class BuscaBenchmark {
+
+    private static final String[] SILABAS = {
+            "ca", "sa", "mor", "ro", "li", "vro", "te", "po", "ma", "ré", "to", "cão", "flo", "res", "ta", "nu",
+            "vem", "lu", "a", "gen", "ti", "cor", "da", "pe", "dra", "mar", "ção", "san", "gue", "sol"};
+
+    @State(Scope.Benchmark)
+    public static class Catalogo {
+
+        @Param({"100000", "1000000", "5000000"})
+        public int tamanhoCatalogo;
+
+        Biblioteca biblioteca;
+        String[] consultas;
+        String[] prefixos;
+
+        @Setup(Level.Trial)
+        public void popular() {
+            biblioteca = new Biblioteca();
+            SplittableRandom aleatorio = new SplittableRandom(42);
+            String[] vocabulario = new String[50_000];
+            for (int i = 0; i < vocabulario.length; i++) {
+                vocabulario[i] = palavra(i);
+            }
+            for (int i = 0; i < tamanhoCatalogo; i++) {
+                String titulo = vocabulario[enviesado(aleatorio, vocabulario.length)] + " "
+                        + vocabulario[enviesado(aleatorio, vocabulario.length)] + " "
+                        + vocabulario[aleatorio.nextInt(vocabulario.length)];
+                String autor = vocabulario[aleatorio.nextInt(5_000)] + " " + vocabulario[aleatorio.nextInt(vocabulario.length)];
+                biblioteca.adicionarLivro(new Livro("L-" + i, titulo, autor, 1900 + aleatorio.nextInt(120)));
+            }
+            consultas = new String[1024];
+            prefixos = new String[1024];
+            for (int i = 0; i < consultas.length; i++) {
+                Livro livro = biblioteca.buscarLivroPorId("L-" + aleatorio.nextInt(tamanhoCatalogo));
+                String[] palavras = livro.getTitulo().split(" ");
+                consultas[i] = palavras[0] + " " + palavras[2];
+                prefixos[i] = palavras[1] + " " + palavras[2].substring(0, Math.min(3, palavras[2].length()));
+            }
+            biblioteca.montarIndices();
+            System.out.printf("%nÍndice textual: %d livros, ~%d MB%n",
+                    tamanhoCatalogo, biblioteca.getMemoriaIndiceTextualBytes() / (1024 * 1024));
+        }
+
+        private static String palavra(int indice) {
+            StringBuilder sb = new StringBuilder();
+            int resto = indice;
+            do {
+                sb.append(SILABAS[resto % SILABAS.length]);
+                resto /= SILABAS.length;
+            } while (resto > 0);
+            return sb.toString();
+        }
+
+        // Distribuição aproximadamente Zipf: índices baixos muito mais frequentes
+        private static int enviesado(SplittableRandom aleatorio, int limite) {
+            return (int) Math.min(limite - 1, Math.exp(aleatorio.nextDouble() * Math.log(limite)) - 1);
+        }
+    }
+
+    private int cursor;
+
+    @Benchmark
+    public List<Livro> buscarTop10(Catalogo catalogo) {
+        return catalogo.biblioteca.buscarLivros(catalogo.consultas[cursor++ & 1023], 10);
+    }
+
+    @Benchmark
+    public List<Livro> autocompletarTop10(Catalogo catalogo) {
+        return catalogo.biblioteca.autocompletarLivros(catalogo.prefixos[cursor++ & 1023], 10);
+    }
+
+    @Benchmark
+    public List<String> sugerirTermos(Catalogo catalogo) {
+        return catalogo.biblioteca.sugerirTermos(catalogo.prefixos[cursor++ & 1023].substring(0, 2), 10);
+    }
+}
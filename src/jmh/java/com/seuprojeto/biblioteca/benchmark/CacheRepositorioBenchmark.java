@@ -0,0 +1,117 @@
+package com.seuprojeto.biblioteca.benchmark;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.repositorio.CacheLimitado;
+import com.seuprojeto.biblioteca.repositorio.EstatisticasCache;
+import com.seuprojeto.biblioteca.repositorio.LivroRepository;
+import com.seuprojeto.biblioteca.repositorio.LivroRepositoryArquivo;
+import com.seuprojeto.biblioteca.repositorio.LivroRepositoryComCache;
+import com.seuprojeto.biblioteca.repositorio.PoliticaRemocao;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca de livros por ID em um repositório em arquivo, sem cache e com cache de {@code fracaoCache} do
+ * catálogo, com popularidade Zipf (expoente {@code zipf}: poucos títulos concentram a maior parte das buscas).
+ * A taxa de acertos do cache é impressa no fim de cada rodada; compare LRU e W-TinyLFU com {@code -p politica}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class CacheRepositorioBenchmark {
+
+    private static final int SEQUENCIA = 1 << 22;
+
+    @State(Scope.Benchmark)
+    public static class Estado {
+
+        @Param({"1000000"})
+        public int tamanhoCatalogo;
+
+        @Param({"SEM_CACHE", "LRU", "W_TINY_LFU"})
+        public String politica;
+
+        @Param({"0.01"})
+        public double fracaoCache;
+
+        @Param({"1.4", "1.6"})
+        public double zipf;
+
+        public Path diretorio;
+        public LivroRepositoryArquivo arquivo;
+        public LivroRepository livros;
+        // Sorteados de antemão: a busca binária na distribuição custaria mais que um acerto no cache
+        public String[] sequencia;
+        private EstatisticasCache anterior;
+
+        @Setup(Level.Trial)
+        public void popular() throws IOException {
+            diretorio = Files.createTempDirectory("repositorio-benchmark");
+            arquivo = new LivroRepositoryArquivo(diretorio.resolve("livros.bin"));
+            String[] ids = new String[tamanhoCatalogo];
+            double[] acumulada = new double[tamanhoCatalogo];
+            double soma = 0;
+            for (int i = 0; i < tamanhoCatalogo; i++) {
+                ids[i] = "L-" + i;
+                arquivo.salvar(new Livro(ids[i], "Titulo " + i, "Autor " + (i % 5_000), 1900 + (i % 120)));
+                soma += 1 / Math.pow(i + 1, zipf);
+                acumulada[i] = soma;
+            }
+            sequencia = new String[SEQUENCIA];
+            ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+            for (int i = 0; i < SEQUENCIA; i++) {
+                int posicao = Arrays.binarySearch(acumulada, aleatorio.nextDouble() * soma);
+                sequencia[i] = ids[Math.min(posicao >= 0 ? posicao : -posicao - 1, ids.length - 1)];
+            }
+            livros = politica.equals("SEM_CACHE") ? arquivo : new LivroRepositoryComCache(arquivo,
+                    new CacheLimitado<>((int) (tamanhoCatalogo * fracaoCache), PoliticaRemocao.valueOf(politica)));
+        }
+
+        @TearDown(Level.Iteration)
+        public void imprimirTaxa() {
+            if (livros instanceof LivroRepositoryComCache) {
+                EstatisticasCache atual = ((LivroRepositoryComCache) livros).getEstatisticas();
+                System.out.println("\n" + politica + ": " + (anterior == null ? atual : atual.menos(anterior)));
+                anterior = atual;
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void fechar() throws IOException {
+            arquivo.close();
+            Files.deleteIfExists(diretorio.resolve("livros.bin"));
+            Files.deleteIfExists(diretorio);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int posicao = ThreadLocalRandom.current().nextInt(SEQUENCIA);
+    }
+
+    @Benchmark
+    public Livro buscarPorId(Estado estado, Cursor cursor) {
+        cursor.posicao = (cursor.posicao + 1) & (SEQUENCIA - 1);
+        return estado.livros.buscarPorId(estado.sequencia[cursor.posicao]);
+    }
+}
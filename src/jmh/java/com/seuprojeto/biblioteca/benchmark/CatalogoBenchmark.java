@@ -0,0 +1,66 @@
+package com.seuprojeto.biblioteca.benchmark;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.service.PaginaLivros;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operações sobre o catálogo: inserção, busca por ID e listagem e paginação de disponíveis.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class CatalogoBenchmark {
+
+    // Insere e remove em seguida, para o catálogo manter o tamanho parametrizado durante a medição
+    @Benchmark
+    public void adicionarLivro(EstadoBiblioteca estado, EstadoThread thread) {
+        String id = thread.novoId("NOVO-");
+        estado.biblioteca.adicionarLivro(new Livro(id, "Novo", "Autor", 2024));
+        estado.biblioteca.removerLivro(id);
+    }
+
+    // Com o índice por ID o tempo fica o mesmo de 1.000 a 1.000.000 livros (-p tamanhoCatalogo=10000000 para ir além)
+    @Benchmark
+    public Livro buscarLivroPorId(EstadoBiblioteca estado, EstadoThread thread) {
+        return estado.biblioteca.buscarLivroPorId(thread.proximoIdLivro(estado));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Livro> listarLivrosDisponiveis(EstadoBiblioteca estado) {
+        return estado.biblioteca.listarLivrosDisponiveis();
+    }
+
+    @Benchmark
+    public List<Livro> listarPaginaDisponiveis(EstadoBiblioteca estado) {
+        return estado.biblioteca.listarLivrosDisponiveis(0, 50);
+    }
+
+    // Deslocamento conta os disponíveis antes da página; o cursor vai direto à posição
+    @Benchmark
+    public List<Livro> paginaNoMeioPorDeslocamento(EstadoBiblioteca estado) {
+        return estado.biblioteca.listarLivrosDisponiveis(estado.tamanhoCatalogo / 2, 50);
+    }
+
+    @Benchmark
+    public PaginaLivros paginaNoMeioPorCursor(EstadoBiblioteca estado) {
+        return estado.biblioteca.paginarLivrosDisponiveis(estado.tamanhoCatalogo / 2, 50);
+    }
+
+    @Benchmark
+    public int countDisponiveis(EstadoBiblioteca estado) {
+        return estado.biblioteca.countDisponiveis();
+    }
+}
@@ -0,0 +1,101 @@
+package com.seuprojeto.biblioteca.benchmark;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.persistencia.ModoDurabilidade;
+import com.seuprojeto.biblioteca.persistencia.Persistencia;
+import com.seuprojeto.biblioteca.service.Biblioteca;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Vazão de mutações com o diário ligado (cada ciclo gera dois registros). Rode com -t 1..32 para ver o
+ * group commit: no modo POR_OPERACAO as threads compartilham os fsyncs, então a vazão cresce com -t.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class DiarioBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Estado {
+
+        @Param({"POR_OPERACAO", "PERIODICO"})
+        public ModoDurabilidade modo;
+
+        @Param({"100000"})
+        public int tamanhoCatalogo;
+
+        Path diretorio;
+        Persistencia persistencia;
+        Biblioteca biblioteca;
+
+        @Setup(Level.Trial)
+        public void abrir() throws IOException {
+            diretorio = Files.createTempDirectory("diario-bench");
+            persistencia = Persistencia.abrir(diretorio, true, modo);
+            biblioteca = persistencia.getBiblioteca();
+            for (int i = 0; i < tamanhoCatalogo; i++) {
+                biblioteca.adicionarLivro(new Livro("L-" + i, "Titulo " + i, "Autor", 2000));
+            }
+            for (int i = 0; i < 256; i++) {
+                biblioteca.registrarMembro(new Membro("M-" + i, "Membro " + i));
+            }
+            persistencia.gerarSnapshot();
+        }
+
+        @TearDown(Level.Trial)
+        public void fechar() throws IOException {
+            persistencia.close();
+            try (Stream<Path> arquivos = Files.walk(diretorio)) {
+                arquivos.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int indice;
+        int passo;
+        String idMembro;
+
+        @Setup(Level.Trial)
+        public void preparar(ThreadParams parametros) {
+            indice = parametros.getThreadIndex();
+            passo = parametros.getThreadCount();
+            idMembro = "M-" + (parametros.getThreadIndex() % 256);
+        }
+    }
+
+    @Benchmark
+    public void emprestarEDevolver(Estado estado, Cursor cursor) {
+        String idLivro = "L-" + cursor.indice;
+        cursor.indice += cursor.passo;
+        if (cursor.indice >= estado.tamanhoCatalogo) {
+            cursor.indice %= cursor.passo;
+        }
+        estado.biblioteca.emprestarLivro(idLivro, cursor.idMembro);
+        estado.biblioteca.devolverLivro(idLivro, cursor.idMembro);
+    }
+}
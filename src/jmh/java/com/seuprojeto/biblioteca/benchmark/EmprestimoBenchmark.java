@@ -0,0 +1,31 @@
+package com.seuprojeto.biblioteca.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ciclo de empréstimo e devolução. Cada thread usa livros e membros próprios
+ * (ver {@link EstadoThread}), então a escala com -t mede o custo das travas, não a disputa por livros.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class EmprestimoBenchmark {
+
+    @Benchmark
+    public void emprestarEDevolver(EstadoBiblioteca estado, EstadoThread thread) {
+        String idLivro = thread.proximoIdLivro(estado);
+        String idMembro = thread.proximoIdMembro(estado);
+        estado.biblioteca.emprestarLivro(idLivro, idMembro);
+        estado.biblioteca.devolverLivro(idLivro, idMembro);
+    }
+}
@@ -0,0 +1,51 @@
+package com.seuprojeto.biblioteca.benchmark;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.service.Biblioteca;
+import com.seuprojeto.biblioteca.service.ModoCatalogo;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * Biblioteca compartilhada pelos benchmarks, populada uma vez por trial.
+ * O número de threads vem do próprio JMH (-t); acima de 1 thread o modo concorrente é usado.
+ * O modo do catálogo pode ser trocado com {@code -p modoCatalogo=COLUNAR}.
+ */
+@State(Scope.Benchmark)
+public class EstadoBiblioteca {
+
+    @Param({"1000", "100000", "1000000"})
+    public int tamanhoCatalogo;
+
+    @Param({"1000"})
+    public int quantidadeMembros;
+
+    @Param({"OBJETOS"})
+    public ModoCatalogo modoCatalogo;
+
+    public Biblioteca biblioteca;
+    public String[] idsLivros;
+    public String[] idsMembros;
+    public int threads;
+
+    @Setup(Level.Trial)
+    public void popular(BenchmarkParams parametros) {
+        threads = parametros.getThreads();
+        biblioteca = new Biblioteca(threads > 1, modoCatalogo);
+        idsLivros = new String[tamanhoCatalogo];
+        idsMembros = new String[quantidadeMembros];
+        for (int i = 0; i < tamanhoCatalogo; i++) {
+            idsLivros[i] = "L-" + i;
+            biblioteca.adicionarLivro(new Livro(idsLivros[i], "Titulo " + i, "Autor " + (i % 5_000), 1900 + (i % 120)));
+        }
+        for (int i = 0; i < quantidadeMembros; i++) {
+            idsMembros[i] = "M-" + i;
+            biblioteca.registrarMembro(new Membro(idsMembros[i], "Membro " + i));
+        }
+    }
+}
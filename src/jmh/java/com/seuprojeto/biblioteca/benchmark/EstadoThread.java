@@ -0,0 +1,52 @@
+package com.seuprojeto.biblioteca.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * Cursor por thread sobre os IDs. Cada thread percorre apenas os livros de índice
+ * {@code indiceThread + k * threads}, então empréstimos de threads diferentes nunca disputam o mesmo livro.
+ */
+@State(Scope.Thread)
+public class EstadoThread {
+
+    private int indiceThread;
+    private int passo;
+    private int proximoLivro;
+    private int proximoMembro;
+    private int sequencia;
+
+    @Setup(Level.Trial)
+    public void preparar(ThreadParams parametros) {
+        indiceThread = parametros.getThreadIndex();
+        passo = parametros.getThreadCount();
+        proximoLivro = indiceThread;
+        proximoMembro = indiceThread;
+    }
+
+    public String proximoIdLivro(EstadoBiblioteca estado) {
+        String id = estado.idsLivros[proximoLivro];
+        proximoLivro += passo;
+        if (proximoLivro >= estado.idsLivros.length) {
+            proximoLivro = indiceThread;
+        }
+        return id;
+    }
+
+    public String proximoIdMembro(EstadoBiblioteca estado) {
+        String id = estado.idsMembros[proximoMembro];
+        proximoMembro += passo;
+        if (proximoMembro >= estado.idsMembros.length) {
+            proximoMembro = indiceThread;
+        }
+        return id;
+    }
+
+    // IDs novos, exclusivos da thread, para operações de inserção
+    public String novoId(String prefixo) {
+        return prefixo + indiceThread + "-" + (sequencia++);
+    }
+}
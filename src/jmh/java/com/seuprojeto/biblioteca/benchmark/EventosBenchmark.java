@@ -0,0 +1,74 @@
+package com.seuprojeto.biblioteca.benchmark;
+
+import com.seuprojeto.biblioteca.eventos.BarramentoEventos;
+import com.seuprojeto.biblioteca.eventos.Contrapressao;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Custo do barramento de eventos na thread da mutação: empréstimo + devolução sem barramento, com o barramento
+ * sem assinantes (só a publicação) e com um assinante em cada modo de contrapressão (que só conta os eventos).
+ * Com assinante, o tempo inclui a disputa de CPU com a thread dele, e {@code -prof gc} soma as alocações dela
+ * (um {@code EventoBiblioteca} por evento); a publicação em si não aloca.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 3, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class EventosBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Eventos {
+
+        @Param({"DESLIGADO", "SEM_ASSINANTE", "DESCARTAR", "BLOQUEAR"})
+        public String barramento;
+
+        public BarramentoEventos eventos;
+        public final LongAdder recebidos = new LongAdder();
+
+        @Setup(Level.Trial)
+        public void configurar(EstadoBiblioteca estado) {
+            if (barramento.equals("DESLIGADO")) {
+                return;
+            }
+            eventos = new BarramentoEventos();
+            estado.biblioteca.adicionarOuvinte(eventos);
+            if (barramento.equals("SEM_ASSINANTE")) {
+                return;
+            }
+            eventos.assinar(eventos.getProximoDeslocamento(), Contrapressao.valueOf(barramento),
+                    BarramentoEventos.LOTE_PADRAO, lote -> recebidos.add(lote.size()));
+        }
+
+        @TearDown(Level.Trial)
+        public void fechar(EstadoBiblioteca estado) {
+            if (eventos != null) {
+                estado.biblioteca.removerOuvinte(eventos);
+                eventos.close();
+            }
+        }
+    }
+
+    @Benchmark
+    public void emprestarEDevolver(EstadoBiblioteca estado, EstadoThread thread, Eventos eventos) {
+        String idLivro = thread.proximoIdLivro(estado);
+        String idMembro = thread.proximoIdMembro(estado);
+        estado.biblioteca.emprestarLivro(idLivro, idMembro);
+        estado.biblioteca.devolverLivro(idLivro, idMembro);
+    }
+}
@@ -0,0 +1,167 @@
+package com.seuprojeto.biblioteca.benchmark;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Ponto de entrada do benchmarks.jar.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar [regex]          # roda tudo (ou o que casar com a regex) com o profiler de GC
+ *     -Dthreads=1,4,16,32                          # contagens de threads (padrão: a do @Threads, ou 1)
+ *     -Dcatalogo=1000,1000000 -Dmembros=1000       # sobrescreve os @Param
+ *     -Dmodo=OBJETOS,COLUNAR                       # modos de armazenamento do catálogo
+ *     -Dsaida=target/jmh-resultados.csv            # onde gravar os resultados
+ *     -Dbaseline=baseline.csv -Dtolerancia=0.10    # compara com uma execução anterior e falha em regressões
+ * java -jar target/benchmarks.jar --jmh [opções do JMH]   # repassa para a linha de comando padrão do JMH
+ * </pre>
+ */
+public class ExecutarBenchmarks {
+
+    private static final String CABECALHO = "chave;score;erro;unidade;alocacaoBytesPorOp";
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        if (args.length > 0 && args[0].equals("--jmh")) {
+            org.openjdk.jmh.Main.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        String filtro = args.length > 0 ? args[0] : ExecutarBenchmarks.class.getPackageName() + ".*";
+
+        Map<String, String[]> linhas = new LinkedHashMap<>();
+        // Sem -Dthreads, cada benchmark roda com o seu próprio @Threads
+        String contagens = System.getProperty("threads");
+        for (String threads : contagens == null ? new String[]{null} : contagens.split(",")) {
+            ChainedOptionsBuilder opcoes = new OptionsBuilder()
+                    .include(filtro)
+                    .addProfiler(GCProfiler.class);
+            if (threads != null) {
+                opcoes.threads(Integer.parseInt(threads.trim()));
+            }
+            sobrescreverParametro(opcoes, "tamanhoCatalogo", System.getProperty("catalogo"));
+            sobrescreverParametro(opcoes, "quantidadeMembros", System.getProperty("membros"));
+            sobrescreverParametro(opcoes, "modoCatalogo", System.getProperty("modo"));
+
+            for (RunResult resultado : new Runner(opcoes.build()).run()) {
+                linhas.put(chave(resultado.getParams()), linha(resultado));
+            }
+        }
+
+        Path saida = Paths.get(System.getProperty("saida", "target/jmh-resultados.csv"));
+        gravar(saida, linhas);
+        System.out.println("Resultados gravados em " + saida.toAbsolutePath());
+
+        String baseline = System.getProperty("baseline");
+        if (baseline != null) {
+            double tolerancia = Double.parseDouble(System.getProperty("tolerancia", "0.10"));
+            int regressoes = comparar(ler(Paths.get(baseline)), linhas, tolerancia);
+            if (regressoes > 0) {
+                System.out.println(regressoes + " regressão(ões) acima de " + (int) (tolerancia * 100) + "%.");
+                System.exit(1);
+            }
+        }
+    }
+
+    private static void sobrescreverParametro(ChainedOptionsBuilder opcoes, String nome, String valores) {
+        if (valores != null) {
+            opcoes.param(nome, valores.split(","));
+        }
+    }
+
+    // benchmark + parâmetros (em ordem alfabética) + threads, estável entre execuções
+    static String chave(BenchmarkParams parametros) {
+        Map<String, String> ordenados = new TreeMap<>();
+        for (String nome : parametros.getParamsKeys()) {
+            ordenados.put(nome, parametros.getParam(nome));
+        }
+        StringBuilder sb = new StringBuilder(parametros.getBenchmark());
+        ordenados.forEach((nome, valor) -> sb.append(' ').append(nome).append('=').append(valor));
+        return sb.append(" threads=").append(parametros.getThreads()).toString();
+    }
+
+    private static String[] linha(RunResult resultado) {
+        Result<?> principal = resultado.getPrimaryResult();
+        String alocacao = "";
+        // O JMH declara o mapa dos secundários com o tipo cru Result; cada valor é lido como Result<?>
+        for (String nome : resultado.getSecondaryResults().keySet()) {
+            if (nome.endsWith("gc.alloc.rate.norm")) {
+                Result<?> secundario = resultado.getSecondaryResults().get(nome);
+                alocacao = formatar(secundario.getScore());
+            }
+        }
+        return new String[]{
+                formatar(principal.getScore()), formatar(principal.getScoreError()), principal.getScoreUnit(), alocacao
+        };
+    }
+
+    private static String formatar(double valor) {
+        return String.format(Locale.ROOT, "%.3f", valor);
+    }
+
+    private static void gravar(Path arquivo, Map<String, String[]> linhas) throws IOException {
+        List<String> conteudo = new ArrayList<>();
+        conteudo.add(CABECALHO);
+        linhas.forEach((chave, valores) -> conteudo.add(chave + ";" + String.join(";", valores)));
+        if (arquivo.getParent() != null) {
+            Files.createDirectories(arquivo.getParent());
+        }
+        Files.write(arquivo, conteudo, StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, String[]> ler(Path arquivo) throws IOException {
+        Map<String, String[]> linhas = new LinkedHashMap<>();
+        for (String linha : Files.readAllLines(arquivo, StandardCharsets.UTF_8)) {
+            if (linha.isBlank() || linha.equals(CABECALHO)) {
+                continue;
+            }
+            String[] campos = linha.split(";", -1);
+            linhas.put(campos[0], Arrays.copyOfRange(campos, 1, campos.length));
+        }
+        return linhas;
+    }
+
+    // Tempo por operação (us/op, ns/op...): maior é pior. Vazão (ops/s...): menor é pior
+    static boolean maiorEPior(String unidade) {
+        return unidade.endsWith("/op");
+    }
+
+    private static int comparar(Map<String, String[]> baseline, Map<String, String[]> atual, double tolerancia) {
+        int regressoes = 0;
+        System.out.printf("%n%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Atual", "Variação");
+        for (Map.Entry<String, String[]> entrada : atual.entrySet()) {
+            String[] anterior = baseline.get(entrada.getKey());
+            if (anterior == null) {
+                System.out.printf("%-90s %14s %14s %9s%n", entrada.getKey(), "-", entrada.getValue()[0], "novo");
+                continue;
+            }
+            double antes = Double.parseDouble(anterior[0]);
+            double depois = Double.parseDouble(entrada.getValue()[0]);
+            double variacao = antes == 0 ? 0 : (depois - antes) / antes;
+            boolean regressao = maiorEPior(entrada.getValue()[2]) ? variacao > tolerancia : variacao < -tolerancia;
+            if (regressao) {
+                regressoes++;
+            }
+            System.out.printf(Locale.ROOT, "%-90s %14.3f %14.3f %+8.1f%%%s%n",
+                    entrada.getKey(), antes, depois, variacao * 100, regressao ? "  <-- REGRESSÃO" : "");
+        }
+        return regressoes;
+    }
+}
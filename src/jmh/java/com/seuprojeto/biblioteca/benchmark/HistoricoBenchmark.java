@@ -0,0 +1,118 @@
+package com.seuprojeto.biblioteca.benchmark;
+
+import com.seuprojeto.biblioteca.historico.HistoricoEmprestimos;
+import com.seuprojeto.biblioteca.historico.RegistroEmprestimo;
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas do histórico de empréstimos com muitos registros antigos: o custo deve depender só do tamanho
+ * do resultado (10 registros de um membro; os 1000 atrasados entre 100 mil empréstimos em aberto).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+public class HistoricoBenchmark {
+
+    private static final int LIVROS = 1_000_000;
+    private static final int MEMBROS = 100_000;
+    private static final int ABERTOS = 100_000;
+    private static final int ATRASADOS = 1_000;
+
+    // Relógio que o setup adianta; durante a medição fica parado
+    static final class RelogioManual extends Clock {
+        volatile long millis = Instant.parse("2020-01-01T00:00:00Z").toEpochMilli();
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zona) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Estado {
+
+        @Param({"1000000", "50000000"})
+        public int registrosAntigos;
+
+        public HistoricoEmprestimos historico;
+
+        @Setup(Level.Trial)
+        public void popular() {
+            RelogioManual relogio = new RelogioManual();
+            historico = new HistoricoEmprestimos(relogio, Duration.ofDays(14));
+            Livro[] livros = new Livro[LIVROS];
+            for (int i = 0; i < LIVROS; i++) {
+                livros[i] = new Livro("L-" + i, "Livro " + i, "Autor", 2000);
+            }
+            Membro[] membros = new Membro[MEMBROS];
+            for (int i = 0; i < MEMBROS; i++) {
+                membros[i] = new Membro("M-" + i, "Membro " + i);
+            }
+            // Empréstimos já devolvidos, espalhados por alguns anos
+            for (int i = 0; i < registrosAntigos; i++) {
+                historico.livroEmprestado(livros[i % LIVROS], membros[i % MEMBROS]);
+                relogio.millis += 1_000;
+                historico.livroDevolvido(livros[i % LIVROS], membros[i % MEMBROS]);
+            }
+            // Em aberto: ATRASADOS emprestados agora, que vencem daqui a 14 dias, e o resto uma semana depois
+            for (int i = 0; i < ABERTOS; i++) {
+                if (i == ATRASADOS) {
+                    relogio.millis += Duration.ofDays(7).toMillis();
+                }
+                historico.livroEmprestado(livros[i], membros[i % MEMBROS]);
+            }
+            relogio.millis += Duration.ofDays(7).toMillis();
+            System.out.printf("%n%d registros, %d MB de colunas, %d atrasados%n", historico.getTotalRegistros(),
+                    historico.getMemoriaRegistrosBytes() >> 20, historico.getQuantidadeAtrasados());
+        }
+    }
+
+    @Benchmark
+    public List<RegistroEmprestimo> historicoDoMembro(Estado estado) {
+        return estado.historico.historicoDoMembro("M-" + ThreadLocalRandom.current().nextInt(MEMBROS), 10);
+    }
+
+    @Benchmark
+    public List<RegistroEmprestimo> atrasados(Estado estado) {
+        return estado.historico.atrasados();
+    }
+}
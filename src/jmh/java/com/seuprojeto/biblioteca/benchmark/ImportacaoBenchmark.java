@@ -0,0 +1,89 @@
+package com.seuprojeto.biblioteca.benchmark;
+
+import com.seuprojeto.biblioteca.importacao.FormatoCatalogo;
+import com.seuprojeto.biblioteca.importacao.ImportadorCatalogo;
+import com.seuprojeto.biblioteca.importacao.RelatorioImportacao;
+import com.seuprojeto.biblioteca.service.Biblioteca;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Importação completa de um arquivo sintético (cada invocação carrega uma Biblioteca vazia).
+ * O relatório com registros por segundo é impresso a cada iteração; o heap fixo e pequeno mostra que
+ * o pipeline não acumula o arquivo em memória.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+@State(Scope.Benchmark)
+public class ImportacaoBenchmark {
+
+    @Param({"1000000"})
+    public int registros;
+
+    @Param({"CSV", "JSON_LINHAS"})
+    public FormatoCatalogo formato;
+
+    Path arquivo;
+    Biblioteca biblioteca;
+
+    @Setup(Level.Trial)
+    public void gerarArquivo() throws IOException {
+        arquivo = Files.createTempFile("catalogo-bench", formato == FormatoCatalogo.CSV ? ".csv" : ".jsonl");
+        try (BufferedWriter escritor = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+            if (formato == FormatoCatalogo.CSV) {
+                escritor.write("id,titulo,autor,anoPublicacao,editora\n");
+            }
+            for (int i = 0; i < registros; i++) {
+                // Vocabulário limitado, como num catálogo real: o custo do índice textual cresce com termos novos
+                String titulo = "Título do volume " + (i % 50_000) + " da coleção " + (i % 97);
+                String autor = "Autor " + (i % 10_000);
+                int ano = 1900 + i % 120;
+                if (formato == FormatoCatalogo.CSV) {
+                    escritor.write("L-" + i + ",\"" + titulo + "\"," + autor + "," + ano + ",Editora\n");
+                } else {
+                    escritor.write("{\"id\":\"L-" + i + "\",\"titulo\":\"" + titulo + "\",\"autor\":\"" + autor
+                            + "\",\"anoPublicacao\":" + ano + ",\"editora\":{\"nome\":\"Editora\"}}\n");
+                }
+            }
+        }
+        System.out.printf("%nArquivo: %d MB%n", Files.size(arquivo) / (1024 * 1024));
+    }
+
+    @Setup(Level.Invocation)
+    public void novaBiblioteca() {
+        biblioteca = new Biblioteca();
+    }
+
+    @TearDown(Level.Trial)
+    public void apagarArquivo() throws IOException {
+        Files.deleteIfExists(arquivo);
+    }
+
+    @Benchmark
+    public RelatorioImportacao importar() throws IOException {
+        RelatorioImportacao relatorio = new ImportadorCatalogo(biblioteca).importar(arquivo, formato);
+        System.out.println(relatorio);
+        return relatorio;
+    }
+}
@@ -0,0 +1,64 @@
+package com.seuprojeto.biblioteca.benchmark;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas por autor (1 em 5.000 livros) e por ano (1 em 120) pelos índices secundários, comparadas à
+ * varredura do catálogo que era a única opção antes deles. O custo pelos índices deve acompanhar o tamanho
+ * do resultado; o da varredura, o do catálogo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class IndiceSecundarioBenchmark {
+
+    @Benchmark
+    public List<Livro> porAutor(EstadoBiblioteca estado) {
+        String autor = "Autor " + ThreadLocalRandom.current().nextInt(5_000);
+        return estado.biblioteca.buscarLivrosPorAutor(autor, true, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<Livro> porAutorVarredura(EstadoBiblioteca estado) {
+        String autor = "Autor " + ThreadLocalRandom.current().nextInt(5_000);
+        List<Livro> resultado = new ArrayList<>();
+        for (Livro livro : estado.biblioteca.getCatalogoLivros()) {
+            if (livro.isDisponivel() && livro.getAutor().equals(autor)) {
+                resultado.add(livro);
+            }
+        }
+        return resultado;
+    }
+
+    @Benchmark
+    public List<Livro> porAno(EstadoBiblioteca estado) {
+        int ano = 1900 + ThreadLocalRandom.current().nextInt(120);
+        return estado.biblioteca.buscarLivrosPorAno(ano, ano, true, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<Livro> porAnoVarredura(EstadoBiblioteca estado) {
+        int ano = 1900 + ThreadLocalRandom.current().nextInt(120);
+        List<Livro> resultado = new ArrayList<>();
+        for (Livro livro : estado.biblioteca.getCatalogoLivros()) {
+            if (livro.isDisponivel() && livro.getAnoPublicacao() == ano) {
+                resultado.add(livro);
+            }
+        }
+        return resultado;
+    }
+}
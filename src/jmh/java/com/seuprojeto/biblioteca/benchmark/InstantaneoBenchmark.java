@@ -0,0 +1,70 @@
+package com.seuprojeto.biblioteca.benchmark;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Instantâneos: quanto a publicação de versões custa aos escritores (empréstimo + devolução com eles
+ * desligados e ligados) e quanto custam as leituras pelo instantâneo, comparadas às leituras ao vivo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 3, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class InstantaneoBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Instantaneos {
+
+        @Param({"false", "true"})
+        public boolean ligados;
+
+        @Setup(Level.Trial)
+        public void configurar(EstadoBiblioteca estado) {
+            if (ligados) {
+                estado.biblioteca.ativarInstantaneos();
+            } else {
+                estado.biblioteca.desativarInstantaneos();
+            }
+        }
+    }
+
+    @Benchmark
+    public void emprestarEDevolver(EstadoBiblioteca estado, EstadoThread thread, Instantaneos instantaneos) {
+        String idLivro = thread.proximoIdLivro(estado);
+        String idMembro = thread.proximoIdMembro(estado);
+        estado.biblioteca.emprestarLivro(idLivro, idMembro);
+        estado.biblioteca.devolverLivro(idLivro, idMembro);
+    }
+
+    @Benchmark
+    public Livro buscarLivroPorId(EstadoBiblioteca estado, EstadoThread thread, Instantaneos instantaneos) {
+        String idLivro = thread.proximoIdLivro(estado);
+        return instantaneos.ligados
+                ? estado.biblioteca.instantaneo().buscarLivroPorId(idLivro)
+                : estado.biblioteca.buscarLivroPorId(idLivro);
+    }
+
+    @Benchmark
+    public List<Livro> paginaNoMeio(EstadoBiblioteca estado, Instantaneos instantaneos) {
+        int meio = estado.tamanhoCatalogo / 2;
+        return instantaneos.ligados
+                ? estado.biblioteca.instantaneo().listarLivrosDisponiveis(meio, 50)
+                : estado.biblioteca.listarLivrosDisponiveis(meio, 50);
+    }
+}
@@ -0,0 +1,141 @@
+package com.seuprojeto.biblioteca.benchmark;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.persistencia.ModoDurabilidade;
+import com.seuprojeto.biblioteca.persistencia.Persistencia;
+import com.seuprojeto.biblioteca.service.Biblioteca;
+import com.seuprojeto.biblioteca.service.PedidoEmprestimo;
+import com.seuprojeto.biblioteca.service.ResultadoLote;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Operações em lote contra o laço equivalente de chamadas individuais, com e sem o diário por operação, e com
+ * uma faixa de travas (não concorrente) ou muitas (concorrente). Sem o diário sobra o custo do próprio lote:
+ * cada faixa travada uma vez por grupo e os índices (montados no setup) recebendo os livros novos de uma vez.
+ * A vazão é por item (empréstimo+devolução ou inclusão), não por lote.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class LoteBenchmark {
+
+    private static final int TAMANHO_LOTE = 1_000;
+
+    @Param({"SEM_DIARIO", "POR_OPERACAO"})
+    public String diario;
+
+    @Param({"false", "true"})
+    public boolean concorrente;
+
+    Path diretorio;
+    Persistencia persistencia;
+    Biblioteca biblioteca;
+    List<PedidoEmprestimo> pedidos;
+    List<Livro> novos;
+    int rodada;
+
+    @Setup(Level.Trial)
+    public void abrir() throws IOException {
+        if (diario.equals("SEM_DIARIO")) {
+            biblioteca = new Biblioteca(concorrente);
+        } else {
+            diretorio = Files.createTempDirectory("lote-bench");
+            persistencia = Persistencia.abrir(diretorio, concorrente, ModoDurabilidade.valueOf(diario));
+            biblioteca = persistencia.getBiblioteca();
+        }
+        biblioteca.registrarMembro(new Membro("M-1", "Membro"));
+        pedidos = new ArrayList<>(TAMANHO_LOTE);
+        for (int i = 0; i < TAMANHO_LOTE; i++) {
+            biblioteca.adicionarLivro(new Livro("L-" + i, "Titulo " + i, "Autor", 2000));
+            pedidos.add(new PedidoEmprestimo("L-" + i, "M-1"));
+        }
+        biblioteca.montarIndices();
+    }
+
+    // Livros novos a cada invocação, removidos em seguida para o catálogo não crescer
+    @Setup(Level.Invocation)
+    public void prepararNovos() {
+        novos = new ArrayList<>(TAMANHO_LOTE);
+        String prefixo = "N-" + (rodada++) + "-";
+        for (int i = 0; i < TAMANHO_LOTE; i++) {
+            novos.add(new Livro(prefixo + i, "Novo " + i, "Autor Novo", 2020));
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void removerNovos() {
+        for (Livro livro : novos) {
+            if (biblioteca.buscarLivroPorId(livro.getId()) != null) {
+                biblioteca.removerLivro(livro.getId());
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void fechar() throws IOException {
+        if (persistencia != null) {
+            persistencia.close();
+            try (Stream<Path> arquivos = Files.walk(diretorio)) {
+                arquivos.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANHO_LOTE)
+    public ResultadoLote emprestarEDevolverEmLote() {
+        biblioteca.emprestarLivros(pedidos);
+        return biblioteca.devolverLivros(pedidos);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANHO_LOTE)
+    public void emprestarEDevolverEmLaco() {
+        for (PedidoEmprestimo pedido : pedidos) {
+            biblioteca.emprestarLivro(pedido.getIdLivro(), pedido.getIdMembro());
+        }
+        for (PedidoEmprestimo pedido : pedidos) {
+            biblioteca.devolverLivro(pedido.getIdLivro(), pedido.getIdMembro());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANHO_LOTE)
+    public ResultadoLote adicionarLivrosEmLote() {
+        return biblioteca.adicionarLivros(novos);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAMANHO_LOTE)
+    public void adicionarLivrosEmLaco() {
+        for (Livro livro : novos) {
+            biblioteca.adicionarLivro(livro);
+        }
+    }
+}
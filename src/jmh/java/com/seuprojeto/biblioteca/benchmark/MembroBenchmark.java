@@ -0,0 +1,74 @@
+package com.seuprojeto.biblioteca.benchmark;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remoção de membros (cada invocação registra um membro novo e o remove, mantendo a quantidade de membros
+ * parametrizada estável) e empréstimo/devolução num membro que já tem muitos livros.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MembroBenchmark {
+
+    @Benchmark
+    public void removerMembro(EstadoBiblioteca estado, EstadoThread thread) {
+        String id = thread.novoId("MEM-");
+        estado.biblioteca.registrarMembro(new Membro(id, "Novo Membro"));
+        estado.biblioteca.removerMembro(id);
+    }
+
+    // Membro institucional: já tem 'emprestados' livros; mede um empréstimo e a devolução de mais um
+    @State(Scope.Thread)
+    public static class MembroComEmprestimos {
+
+        @Param({"10", "10000", "100000"})
+        public int emprestados;
+
+        public Membro membro;
+        public Livro[] livros;
+        private int proximo;
+
+        @Setup(Level.Trial)
+        public void popular() {
+            membro = new Membro("M-INST", "Escola");
+            livros = new Livro[emprestados + 1024];
+            for (int i = 0; i < livros.length; i++) {
+                livros[i] = new Livro("L-" + i, "Titulo " + i, "Autor", 2000);
+            }
+            for (int i = 0; i < emprestados; i++) {
+                membro.emprestarLivro(livros[i]);
+            }
+        }
+
+        Livro proximoLivroLivre() {
+            Livro livro = livros[emprestados + proximo];
+            proximo = (proximo + 1) & 1023;
+            return livro;
+        }
+    }
+
+    @Benchmark
+    public void emprestarEDevolverComMuitosLivros(MembroComEmprestimos estado) {
+        Livro livro = estado.proximoLivroLivre();
+        estado.membro.emprestarLivro(livro);
+        estado.membro.devolverLivro(livro);
+    }
+}
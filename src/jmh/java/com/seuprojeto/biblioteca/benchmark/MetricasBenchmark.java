@@ -0,0 +1,58 @@
+package com.seuprojeto.biblioteca.benchmark;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo das métricas nos caminhos quentes: as mesmas operações de {@link EmprestimoBenchmark} e
+ * {@link CatalogoBenchmark} com as métricas desligadas e ligadas (amostragem padrão).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 3, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MetricasBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Metricas {
+
+        @Param({"false", "true"})
+        public boolean ligadas;
+
+        @Setup(Level.Trial)
+        public void configurar(EstadoBiblioteca estado) {
+            if (ligadas) {
+                estado.biblioteca.ativarMetricas();
+            } else {
+                estado.biblioteca.desativarMetricas();
+            }
+        }
+    }
+
+    @Benchmark
+    public void emprestarEDevolver(EstadoBiblioteca estado, EstadoThread thread, Metricas metricas) {
+        String idLivro = thread.proximoIdLivro(estado);
+        String idMembro = thread.proximoIdMembro(estado);
+        estado.biblioteca.emprestarLivro(idLivro, idMembro);
+        estado.biblioteca.devolverLivro(idLivro, idMembro);
+    }
+
+    @Benchmark
+    public Livro buscarLivroPorId(EstadoBiblioteca estado, EstadoThread thread, Metricas metricas) {
+        return estado.biblioteca.buscarLivroPorId(thread.proximoIdLivro(estado));
+    }
+}
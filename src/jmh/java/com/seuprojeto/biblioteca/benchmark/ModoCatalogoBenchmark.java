@@ -0,0 +1,96 @@
+package com.seuprojeto.biblioteca.benchmark;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.service.Biblioteca;
+import com.seuprojeto.biblioteca.service.ModoCatalogo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catálogo em objetos x colunar: memória por livro (impressa no setup, heap usado após GC)
+ * e varreduras dos disponíveis com 1 em cada 4 livros emprestado.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ModoCatalogoBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Estado {
+
+        @Param({"1000000"})
+        public int tamanhoCatalogo;
+
+        @Param({"OBJETOS", "COLUNAR"})
+        public ModoCatalogo modoCatalogo;
+
+        public Biblioteca biblioteca;
+
+        @Setup(Level.Trial)
+        public void popular() {
+            MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+            long antes = heapUsado(memoria);
+            biblioteca = new Biblioteca(false, modoCatalogo);
+            for (int i = 0; i < 1000; i++) {
+                biblioteca.registrarMembro(new Membro("M-" + i, "Membro " + i));
+            }
+            for (int i = 0; i < tamanhoCatalogo; i++) {
+                biblioteca.adicionarLivro(new Livro("L-" + i, "Título do volume " + i % 50_000 + " da coleção " + i % 97,
+                        "Autor " + (i % 5_000), 1900 + (i % 120)));
+            }
+            for (int i = 0; i < tamanhoCatalogo; i += 4) {
+                biblioteca.emprestarLivro("L-" + i, "M-" + (i / 4) % 1000);
+            }
+            biblioteca.montarIndices();
+            long depois = heapUsado(memoria);
+            long indice = biblioteca.getMemoriaIndiceTextualBytes();
+            System.out.printf("%n%s: %d bytes/livro no total, %d bytes/livro sem o índice textual%n", modoCatalogo,
+                    (depois - antes) / tamanhoCatalogo, (depois - antes - indice) / tamanhoCatalogo);
+        }
+
+        private static long heapUsado(MemoryMXBean memoria) {
+            for (int i = 0; i < 3; i++) {
+                System.gc();
+            }
+            return memoria.getHeapMemoryUsage().getUsed();
+        }
+    }
+
+    @Benchmark
+    public int contarPorVarredura(Estado estado) {
+        int ano = 0;
+        for (Livro livro : estado.biblioteca.getLivrosDisponiveis()) {
+            ano += livro.getAnoPublicacao();
+        }
+        return ano;
+    }
+
+    @Benchmark
+    public List<Livro> paginaNoMeio(Estado estado) {
+        return estado.biblioteca.listarLivrosDisponiveis(estado.tamanhoCatalogo / 2, 50);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Livro buscarLivroPorId(Estado estado) {
+        return estado.biblioteca.buscarLivroPorId("L-123457");
+    }
+}
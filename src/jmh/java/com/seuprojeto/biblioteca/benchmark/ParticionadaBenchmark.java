@@ -0,0 +1,93 @@
+package com.seuprojeto.biblioteca.benchmark;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.service.BibliotecaParticionada;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão da Biblioteca particionada com vários clientes: cada operação é um lote de empréstimos e devoluções
+ * de livros e membros sorteados (a maioria entre partições, com mais de uma), esperando todos completarem.
+ * Com núcleos suficientes a vazão deve crescer com {@code particoes}; compare com {@code -p particoes=1,2,4,8}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Threads(8)
+public class ParticionadaBenchmark {
+
+    private static final int LOTE = 64;
+
+    @State(Scope.Benchmark)
+    public static class Estado {
+
+        @Param({"1", "2", "4", "8"})
+        public int particoes;
+
+        @Param({"100000"})
+        public int tamanhoCatalogo;
+
+        @Param({"10000"})
+        public int quantidadeMembros;
+
+        public BibliotecaParticionada biblioteca;
+
+        @Setup(Level.Trial)
+        public void popular() {
+            biblioteca = new BibliotecaParticionada(particoes);
+            CompletableFuture<?> ultimo = null;
+            for (int i = 0; i < tamanhoCatalogo; i++) {
+                ultimo = biblioteca.adicionarLivroAsync(new Livro("L-" + i, "Titulo " + i, "Autor " + (i % 5_000), 2000));
+            }
+            for (int i = 0; i < quantidadeMembros; i++) {
+                ultimo = biblioteca.registrarMembroAsync(new Membro("M-" + i, "Membro " + i));
+            }
+            ultimo.join();
+            biblioteca.countDisponiveisAsync().join();
+        }
+
+        @TearDown(Level.Trial)
+        public void fechar() {
+            biblioteca.close();
+        }
+    }
+
+    // LOTE pares (livro, membro) em paralelo: empresta e, depois, devolve; recusas (livro já emprestado por
+    // outro cliente) contam como operações
+    @Benchmark
+    @OperationsPerInvocation(2 * LOTE)
+    public void emprestarEDevolver(Estado estado) {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        BibliotecaParticionada biblioteca = estado.biblioteca;
+        CompletableFuture<?>[] pares = new CompletableFuture<?>[LOTE];
+        for (int i = 0; i < LOTE; i++) {
+            String idLivro = "L-" + aleatorio.nextInt(estado.tamanhoCatalogo);
+            String idMembro = "M-" + aleatorio.nextInt(estado.quantidadeMembros);
+            pares[i] = biblioteca.emprestarLivroAsync(idLivro, idMembro)
+                    .handle((nada, falha) -> falha)
+                    .thenCompose(falha -> biblioteca.devolverLivroAsync(idLivro, idMembro))
+                    .handle((nada, falha) -> null);
+        }
+        CompletableFuture.allOf(pares).join();
+    }
+}
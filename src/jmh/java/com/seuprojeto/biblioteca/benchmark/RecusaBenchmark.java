@@ -0,0 +1,57 @@
+package com.seuprojeto.biblioteca.benchmark;
+
+import com.seuprojeto.biblioteca.service.ResultadoOperacao;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Corrida a um título concorrido: tentativas de empréstimo de um livro já emprestado, pela API que lança
+ * exceção e pela que devolve {@link ResultadoOperacao}. Rode com {@code -prof gc} para ver os bytes por
+ * recusa (a exceção monta mensagem e pilha; o resultado não aloca).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 3, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class RecusaBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Concorrido {
+        public String idLivro;
+        public String idOutroMembro;
+
+        @Setup(Level.Trial)
+        public void emprestar(EstadoBiblioteca estado) {
+            idLivro = estado.idsLivros[0];
+            idOutroMembro = estado.idsMembros[1];
+            estado.biblioteca.emprestarLivro(idLivro, estado.idsMembros[0]);
+        }
+    }
+
+    @Benchmark
+    public Object recusaComExcecao(EstadoBiblioteca estado, Concorrido concorrido) {
+        try {
+            estado.biblioteca.emprestarLivro(concorrido.idLivro, concorrido.idOutroMembro);
+            return null;
+        } catch (IllegalStateException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public ResultadoOperacao recusaComResultado(EstadoBiblioteca estado, Concorrido concorrido) {
+        return estado.biblioteca.tentarEmprestar(concorrido.idLivro, concorrido.idOutroMembro);
+    }
+}
@@ -0,0 +1,350 @@
+package com.seuprojeto.biblioteca.benchmark;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.serializacao.EscritorBinario;
+import com.seuprojeto.biblioteca.serializacao.LeitorBinario;
+import com.seuprojeto.biblioteca.serializacao.TipoObjeto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Codificação e decodificação de 10.000 livros (500 autores) e 2.000 membros (5 empréstimos cada) no formato
+ * binário do {@link EscritorBinario}, em buffer heap e direto, contra JSON lines escrito e lido à mão (sem
+ * reflexão, o JSON mais rápido que o projeto teria). Os tempos são por registro; os bytes por registro de cada
+ * formato são impressos no início. {@code anosEmprestados} lê um campo de cada livro sem montar o objeto.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SerializacaoBenchmark {
+
+    private static final int LIVROS = 10_000;
+    private static final int MEMBROS = 2_000;
+    private static final int REGISTROS = LIVROS + MEMBROS;
+
+    @State(Scope.Thread)
+    public static class Dados {
+
+        @Param({"BINARIO_HEAP", "BINARIO_DIRETO", "JSON"})
+        public String formato;
+
+        List<Livro> livros = new ArrayList<>();
+        List<Membro> membros = new ArrayList<>();
+        ByteBuffer saida;
+        ByteBuffer codificado;
+
+        @Setup(Level.Trial)
+        public void gerar() {
+            for (int i = 0; i < LIVROS; i++) {
+                Livro livro = new Livro("L-" + i, "Título do volume " + i + " da coleção " + (i % 97),
+                        "Autor " + (i % 500), 1900 + i % 120);
+                livros.add(livro);
+            }
+            for (int i = 0; i < MEMBROS; i++) {
+                Membro membro = new Membro("M-" + i, "Membro número " + i);
+                for (int j = 0; j < 5; j++) {
+                    Livro livro = livros.get(i * 5 + j);
+                    livro.marcarComoEmprestado();
+                    membro.emprestarLivro(livro);
+                }
+                membros.add(membro);
+            }
+            int capacidade = 8 << 20;
+            saida = formato.equals("BINARIO_DIRETO") ? ByteBuffer.allocateDirect(capacidade) : ByteBuffer.allocate(capacidade);
+            gravar(this);
+            codificado = formato.equals("BINARIO_DIRETO") ? ByteBuffer.allocateDirect(saida.remaining())
+                    : ByteBuffer.allocate(saida.remaining());
+            codificado.put(saida).flip();
+            System.out.printf("%n%s: %.1f bytes por registro%n", formato, (double) codificado.remaining() / REGISTROS);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REGISTROS)
+    public ByteBuffer codificar(Dados dados) {
+        return gravar(dados);
+    }
+
+    static ByteBuffer gravar(Dados dados) {
+        ByteBuffer saida = dados.saida.clear();
+        if (dados.formato.equals("JSON")) {
+            Json.escrever(saida, dados.livros, dados.membros);
+        } else {
+            EscritorBinario escritor = new EscritorBinario(saida);
+            for (Livro livro : dados.livros) {
+                escritor.escrever(livro);
+            }
+            for (Membro membro : dados.membros) {
+                escritor.escrever(membro);
+            }
+        }
+        return saida.flip();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REGISTROS)
+    public void decodificar(Dados dados, Blackhole buraco) {
+        ByteBuffer origem = dados.codificado.duplicate();
+        if (dados.formato.equals("JSON")) {
+            Json.ler(origem, buraco);
+            return;
+        }
+        Map<String, Livro> livros = new HashMap<>(LIVROS * 2);
+        LeitorBinario leitor = new LeitorBinario(origem);
+        while (leitor.proximo()) {
+            if (leitor.getTipo() == TipoObjeto.LIVRO) {
+                Livro livro = leitor.lerLivro();
+                livros.put(livro.getId(), livro);
+            } else {
+                buraco.consume(leitor.lerMembro(livros::get));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REGISTROS)
+    public long anosEmprestados(Dados dados) {
+        ByteBuffer origem = dados.codificado.duplicate();
+        long soma = 0;
+        if (dados.formato.equals("JSON")) {
+            for (Livro livro : Json.lerLivros(origem)) {
+                if (!livro.isDisponivel()) {
+                    soma += livro.getAnoPublicacao();
+                }
+            }
+            return soma;
+        }
+        LeitorBinario leitor = new LeitorBinario(origem);
+        while (leitor.proximo()) {
+            if (leitor.getTipo() == TipoObjeto.LIVRO && !leitor.isDisponivel()) {
+                soma += leitor.getAnoPublicacao();
+            }
+        }
+        return soma;
+    }
+
+    /** JSON lines escrito com StringBuilder e lido por um analisador mínimo para estes dois formatos de objeto. */
+    static final class Json {
+
+        static void escrever(ByteBuffer saida, List<Livro> livros, List<Membro> membros) {
+            StringBuilder texto = new StringBuilder(256);
+            for (Livro livro : livros) {
+                texto.setLength(0);
+                texto.append("{\"id\":");
+                escreverTexto(texto, livro.getId());
+                texto.append(",\"titulo\":");
+                escreverTexto(texto, livro.getTitulo());
+                texto.append(",\"autor\":");
+                escreverTexto(texto, livro.getAutor());
+                texto.append(",\"anoPublicacao\":").append(livro.getAnoPublicacao())
+                        .append(",\"disponivel\":").append(livro.isDisponivel()).append("}\n");
+                saida.put(texto.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            for (Membro membro : membros) {
+                texto.setLength(0);
+                texto.append("{\"id\":");
+                escreverTexto(texto, membro.getId());
+                texto.append(",\"nome\":");
+                escreverTexto(texto, membro.getNome());
+                texto.append(",\"emprestimos\":[");
+                boolean primeiro = true;
+                for (Livro livro : membro.getLivrosEmprestados()) {
+                    if (!primeiro) {
+                        texto.append(',');
+                    }
+                    escreverTexto(texto, livro.getId());
+                    primeiro = false;
+                }
+                texto.append("]}\n");
+                saida.put(texto.toString().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        private static void escreverTexto(StringBuilder texto, String valor) {
+            texto.append('"');
+            for (int i = 0; i < valor.length(); i++) {
+                char c = valor.charAt(i);
+                if (c == '"' || c == '\\') {
+                    texto.append('\\').append(c);
+                } else if (c < 0x20) {
+                    texto.append(String.format("\\u%04x", (int) c));
+                } else {
+                    texto.append(c);
+                }
+            }
+            texto.append('"');
+        }
+
+        static void ler(ByteBuffer origem, Blackhole buraco) {
+            Map<String, Livro> livros = new HashMap<>(LIVROS * 2);
+            Analisador analisador = new Analisador(origem);
+            while (analisador.proximoObjeto()) {
+                if (analisador.nome == null) {
+                    Livro livro = analisador.livro();
+                    livros.put(livro.getId(), livro);
+                } else {
+                    Membro membro = new Membro(analisador.id, analisador.nome);
+                    for (String idLivro : analisador.emprestimos) {
+                        membro.emprestarLivro(livros.get(idLivro));
+                    }
+                    buraco.consume(membro);
+                }
+            }
+        }
+
+        static List<Livro> lerLivros(ByteBuffer origem) {
+            List<Livro> livros = new ArrayList<>(LIVROS);
+            Analisador analisador = new Analisador(origem);
+            while (analisador.proximoObjeto()) {
+                if (analisador.nome == null) {
+                    livros.add(analisador.livro());
+                }
+            }
+            return livros;
+        }
+
+        private static final class Analisador {
+            private final byte[] dados;
+            private int pos;
+            private final int fim;
+            String id;
+            String titulo;
+            String autor;
+            String nome;
+            int ano;
+            boolean disponivel;
+            final List<String> emprestimos = new ArrayList<>();
+
+            Analisador(ByteBuffer origem) {
+                // JSON é texto: o analisador trabalha sobre bytes, então um buffer direto é copiado uma vez
+                if (origem.hasArray()) {
+                    dados = origem.array();
+                    pos = origem.arrayOffset() + origem.position();
+                    fim = origem.arrayOffset() + origem.limit();
+                } else {
+                    dados = new byte[origem.remaining()];
+                    origem.get(dados);
+                    fim = dados.length;
+                }
+            }
+
+            Livro livro() {
+                Livro livro = new Livro(id, titulo, autor, ano);
+                if (!disponivel) {
+                    livro.marcarComoEmprestado();
+                }
+                return livro;
+            }
+
+            boolean proximoObjeto() {
+                while (pos < fim && dados[pos] != '{') {
+                    pos++;
+                }
+                if (pos >= fim) {
+                    return false;
+                }
+                pos++;
+                id = titulo = autor = nome = null;
+                emprestimos.clear();
+                while (dados[pos] != '}') {
+                    if (dados[pos] == ',') {
+                        pos++;
+                    }
+                    String chave = lerTexto();
+                    pos++; // ':'
+                    switch (chave) {
+                        case "id": id = lerTexto(); break;
+                        case "titulo": titulo = lerTexto(); break;
+                        case "autor": autor = lerTexto(); break;
+                        case "nome": nome = lerTexto(); break;
+                        case "anoPublicacao": ano = lerInteiro(); break;
+                        case "disponivel":
+                            disponivel = dados[pos] == 't';
+                            pos += disponivel ? 4 : 5;
+                            break;
+                        case "emprestimos":
+                            pos++; // '['
+                            while (dados[pos] != ']') {
+                                if (dados[pos] == ',') {
+                                    pos++;
+                                }
+                                emprestimos.add(lerTexto());
+                            }
+                            pos++;
+                            break;
+                        default:
+                            throw new IllegalStateException("Chave inesperada: " + chave);
+                    }
+                }
+                pos++;
+                return true;
+            }
+
+            private int lerInteiro() {
+                int valor = 0;
+                while (dados[pos] >= '0' && dados[pos] <= '9') {
+                    valor = valor * 10 + (dados[pos++] - '0');
+                }
+                return valor;
+            }
+
+            private String lerTexto() {
+                int inicio = ++pos; // '"'
+                while (dados[pos] != '"') {
+                    if (dados[pos] == '\\') {
+                        return lerTextoComEscapes(inicio);
+                    }
+                    pos++;
+                }
+                return new String(dados, inicio, pos++ - inicio, StandardCharsets.UTF_8);
+            }
+
+            private String lerTextoComEscapes(int inicio) {
+                StringBuilder texto = new StringBuilder(new String(dados, inicio, pos - inicio, StandardCharsets.UTF_8));
+                while (dados[pos] != '"') {
+                    if (dados[pos] == '\\') {
+                        char escape = (char) dados[pos + 1];
+                        if (escape == 'u') {
+                            texto.append((char) Integer.parseInt(new String(dados, pos + 2, 4, StandardCharsets.US_ASCII), 16));
+                            pos += 6;
+                        } else {
+                            texto.append(escape == 'n' ? '\n' : escape);
+                            pos += 2;
+                        }
+                    } else {
+                        int inicioTrecho = pos;
+                        while (dados[pos] != '"' && dados[pos] != '\\') {
+                            pos++;
+                        }
+                        texto.append(new String(dados, inicioTrecho, pos - inicioTrecho, StandardCharsets.UTF_8));
+                    }
+                }
+                pos++;
+                return texto.toString();
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.seuprojeto.biblioteca.eventos;
+
+import java.util.List;
+
+/**
+ * Consumidor dos eventos de um {@link BarramentoEventos}, chamado sempre pela mesma thread da assinatura,
+ * com lotes de eventos consecutivos em ordem de deslocamento. A lista só vale durante a chamada.
+ * Uma exceção encerra a assinatura ({@link Assinatura#getFalha()}).
+ */
+@FunctionalInterface
+public interface AssinanteEventos {
+
+    void processar(List<EventoBiblioteca> lote);
+}
@@ -0,0 +1,138 @@
+package com.seuprojeto.biblioteca.eventos;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Uma assinatura de um {@link BarramentoEventos}: uma thread própria que lê o buffer a partir do seu
+ * deslocamento e entrega lotes ao assinante. Sem eventos novos, a thread gira um pouco e depois cochila
+ * (até {@value #COCHILO_MAXIMO_NANOS} ns), sem que os produtores precisem acordá-la.
+ */
+public final class Assinatura implements AutoCloseable {
+
+    private static final int GIROS = 64;
+    static final long COCHILO_MAXIMO_NANOS = 200_000;
+
+    private final BarramentoEventos barramento;
+    private final AssinanteEventos assinante;
+    private final Contrapressao contrapressao;
+    private final int tamanhoMaximoLote;
+    private final Thread thread;
+    // Próximo deslocamento a entregar: tudo antes dele já foi processado (e pode ser sobrescrito)
+    private volatile long deslocamento;
+    private volatile long eventosPerdidos;
+    private volatile long lotesEntregues;
+    private volatile boolean ativa = true;
+    private volatile Throwable falha;
+
+    Assinatura(BarramentoEventos barramento, AssinanteEventos assinante, Contrapressao contrapressao,
+               int tamanhoMaximoLote, long deslocamentoInicial, String nomeThread) {
+        this.barramento = barramento;
+        this.assinante = assinante;
+        this.contrapressao = contrapressao;
+        this.tamanhoMaximoLote = tamanhoMaximoLote;
+        this.deslocamento = deslocamentoInicial;
+        this.thread = new Thread(this::executar, nomeThread);
+        this.thread.setDaemon(true);
+    }
+
+    void iniciar() {
+        thread.start();
+    }
+
+    /** Próximo deslocamento a ser entregue ao assinante. */
+    public long getDeslocamento() {
+        return deslocamento;
+    }
+
+    /** Eventos pulados por terem sido sobrescritos antes de lidos (só em {@link Contrapressao#DESCARTAR}). */
+    public long getEventosPerdidos() {
+        return eventosPerdidos;
+    }
+
+    public long getLotesEntregues() {
+        return lotesEntregues;
+    }
+
+    public Contrapressao getContrapressao() {
+        return contrapressao;
+    }
+
+    public boolean isAtiva() {
+        return ativa;
+    }
+
+    /** A exceção que encerrou a assinatura, ou null. */
+    public Throwable getFalha() {
+        return falha;
+    }
+
+    boolean bloqueiaProdutores() {
+        return ativa && contrapressao == Contrapressao.BLOQUEAR;
+    }
+
+    /** Encerra a assinatura depois do lote em andamento e libera os produtores que esperavam por ela. */
+    public void cancelar() {
+        ativa = false;
+        barramento.remover(this);
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Cancela e espera a thread da assinatura terminar. Interrompida, deixa de esperar e mantém a thread
+     * chamadora marcada como interrompida.
+     */
+    @Override
+    public void close() {
+        cancelar();
+        if (Thread.currentThread() != thread) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void executar() {
+        List<EventoBiblioteca> lote = new ArrayList<>(tamanhoMaximoLote);
+        List<EventoBiblioteca> visao = Collections.unmodifiableList(lote);
+        long proximo = deslocamento;
+        int ociosas = 0;
+        while (ativa) {
+            lote.clear();
+            while (lote.size() < tamanhoMaximoLote) {
+                int lido = barramento.ler(proximo, lote);
+                if (lido == 0) {
+                    break;
+                }
+                if (lido > 0) {
+                    proximo++;
+                } else {
+                    // Ficou uma volta para trás: recomeça no mais antigo que ainda está no buffer
+                    long recomeco = Math.max(proximo + 1, barramento.recomeco());
+                    eventosPerdidos += recomeco - proximo;
+                    proximo = recomeco;
+                }
+            }
+            if (!lote.isEmpty()) {
+                try {
+                    assinante.processar(visao);
+                } catch (Throwable e) {
+                    falha = e;
+                    cancelar();
+                    return;
+                }
+                lotesEntregues++;
+                ociosas = 0;
+            } else if (ociosas++ < GIROS) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(Math.min(COCHILO_MAXIMO_NANOS, 1_000L << Math.min(ociosas - GIROS, 8)));
+            }
+            deslocamento = proximo;
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.seuprojeto.biblioteca.eventos;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.service.OuvinteBiblioteca;
+
+import java.io.Closeable;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fluxo de eventos de mudança (CDC) da Biblioteca ({@code biblioteca.adicionarOuvinte(barramento)}): cada
+ * mutação vira um {@link EventoBiblioteca} com um deslocamento sequencial, entregue em lotes a cada assinante.
+ *
+ * Os eventos ficam num buffer circular pré-alocado (potência de 2 posições) que guarda os últimos
+ * {@link #getCapacidade()} eventos. Cada posição guarda o deslocamento publicado junto com o tipo numa só
+ * palavra, os IDs do livro e do membro lado a lado, e os demais campos em arrays à parte que só os tipos que
+ * os usam escrevem: um empréstimo grava uma palavra e duas referências (16 bytes). Publicar custa um
+ * incremento atômico e essas escritas, sem alocação, sem trava, sem ler o relógio e sem acordar ninguém; os
+ * assinantes é que leem o buffer, cada um na sua thread, no seu ritmo, e cochilam quando o alcançam. Com vários
+ * produtores, o leitor espera a posição do próximo deslocamento ser publicada e, ao terminar de copiá-la,
+ * confere se ela não foi sobrescrita no meio (como num seqlock).
+ *
+ * Cada assinatura escolhe a sua {@link Contrapressao} e pode começar em qualquer deslocamento ainda no buffer,
+ * reproduzindo os eventos a partir dele. O deslocamento de cada evento é tomado dentro das travas da operação
+ * da Biblioteca, então mutações do mesmo livro ou do mesmo membro aparecem na ordem em que foram aplicadas.
+ * Eventos de antes de o barramento ser registrado não aparecem.
+ *
+ * Com um assinante {@link Contrapressao#BLOQUEAR} uma volta atrás, o evento que não cabe fica guardado na
+ * thread do produtor e é escrito em {@link #operacaoConcluida()}, depois de soltas as travas: só ali o
+ * produtor espera. Quem chama os métodos de ouvinte fora de uma Biblioteca chama também
+ * {@code operacaoConcluida()} depois deles.
+ */
+public class BarramentoEventos implements OuvinteBiblioteca, Closeable {
+
+    public static final int CAPACIDADE_PADRAO = 1 << 16;
+    public static final int LOTE_PADRAO = 256;
+
+    // O tipo ocupa os bits baixos da palavra publicada em cada posição
+    private static final int BITS_TIPO = 3;
+    private static final int MASCARA_TIPO = (1 << BITS_TIPO) - 1;
+
+    private final int capacidade;
+    private final int mascara;
+    // (deslocamento << BITS_TIPO) | tipo em cada posição; -1 enquanto um produtor a reescreve
+    private final AtomicLongArray publicados;
+    // Livro e membro de cada posição, em pares
+    private final String[] ids;
+    // Título ou nome e autor, em pares, e o ano: só LIVRO_ADICIONADO e MEMBRO_REGISTRADO os escrevem
+    private final String[] detalhes;
+    private final int[] anos;
+    private final AtomicLong proximo = new AtomicLong();
+    // Deslocamentos abaixo deste podem ser escritos sem consultar os assinantes BLOQUEAR
+    private volatile long limiteLivre = Long.MAX_VALUE;
+    // Eventos que não couberam, por thread produtora, na ordem dos deslocamentos; o contador evita o
+    // ThreadLocal no caminho comum
+    private final ThreadLocal<ArrayDeque<Adiado>> adiados = ThreadLocal.withInitial(ArrayDeque::new);
+    private final AtomicInteger quantidadeAdiados = new AtomicInteger();
+    private volatile Assinatura[] assinaturas = new Assinatura[0];
+    private volatile boolean fechado;
+    private int contadorAssinaturas;
+
+    public BarramentoEventos() {
+        this(CAPACIDADE_PADRAO);
+    }
+
+    public BarramentoEventos(int capacidade) {
+        if (capacidade < 2 || capacidade > 1 << 28 || Integer.bitCount(capacidade) != 1) {
+            throw new IllegalArgumentException("Capacidade do barramento deve ser uma potência de 2 entre 2 e 2^28.");
+        }
+        this.capacidade = capacidade;
+        this.mascara = capacidade - 1;
+        this.publicados = new AtomicLongArray(capacidade);
+        this.ids = new String[capacidade * 2];
+        this.detalhes = new String[capacidade * 2];
+        this.anos = new int[capacidade];
+        for (int i = 0; i < capacidade; i++) {
+            publicados.set(i, -1);
+        }
+    }
+
+    // --- Assinaturas ---
+
+    /** Assina a partir do próximo evento, sem nunca segurar os produtores ({@link Contrapressao#DESCARTAR}). */
+    public Assinatura assinar(AssinanteEventos assinante) {
+        return assinar(getProximoDeslocamento(), Contrapressao.DESCARTAR, LOTE_PADRAO, assinante);
+    }
+
+    /**
+     * Assina a partir de {@code deslocamentoInicial}, que deve estar entre {@link #getDeslocamentoMaisAntigo()}
+     * e {@link #getProximoDeslocamento()}: os eventos já publicados desde ele são reproduzidos antes dos novos.
+     * Cada chamada ao assinante recebe até {@code tamanhoMaximoLote} eventos.
+     */
+    public synchronized Assinatura assinar(long deslocamentoInicial, Contrapressao contrapressao, int tamanhoMaximoLote,
+                                           AssinanteEventos assinante) {
+        if (fechado) {
+            throw new IllegalStateException("Barramento de eventos fechado.");
+        }
+        if (contrapressao == null || assinante == null) {
+            throw new IllegalArgumentException("Contrapressão e assinante não podem ser nulos.");
+        }
+        if (tamanhoMaximoLote < 1) {
+            throw new IllegalArgumentException("Tamanho do lote deve ser positivo.");
+        }
+        long maisAntigo = getDeslocamentoMaisAntigo();
+        long proximoDeslocamento = getProximoDeslocamento();
+        if (deslocamentoInicial < maisAntigo || deslocamentoInicial > proximoDeslocamento) {
+            throw new IllegalArgumentException("Deslocamento " + deslocamentoInicial + " fora do buffer ["
+                    + maisAntigo + ", " + proximoDeslocamento + "].");
+        }
+        Assinatura assinatura = new Assinatura(this, assinante, contrapressao, tamanhoMaximoLote, deslocamentoInicial,
+                "eventos-assinante-" + (++contadorAssinaturas));
+        Assinatura[] novas = Arrays.copyOf(assinaturas, assinaturas.length + 1);
+        novas[novas.length - 1] = assinatura;
+        assinaturas = novas;
+        if (contrapressao == Contrapressao.BLOQUEAR) {
+            limiteLivre = Math.min(limiteLivre, deslocamentoInicial + capacidade);
+        }
+        assinatura.iniciar();
+        return assinatura;
+    }
+
+    synchronized void remover(Assinatura assinatura) {
+        List<Assinatura> restantes = new ArrayList<>(Arrays.asList(assinaturas));
+        if (restantes.remove(assinatura)) {
+            assinaturas = restantes.toArray(new Assinatura[0]);
+        }
+    }
+
+    public List<Assinatura> getAssinaturas() {
+        return List.of(assinaturas);
+    }
+
+    /** Deslocamento que o próximo evento publicado vai ter. */
+    public long getProximoDeslocamento() {
+        return proximo.get();
+    }
+
+    /** Deslocamento do evento mais antigo que ainda pode ser reproduzido. */
+    public long getDeslocamentoMaisAntigo() {
+        return Math.max(0, proximo.get() - capacidade);
+    }
+
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    /** Encerra as assinaturas (cada uma termina o lote em andamento) e ignora as mutações seguintes. */
+    @Override
+    public void close() {
+        Assinatura[] ativas;
+        synchronized (this) {
+            fechado = true;
+            ativas = assinaturas;
+        }
+        for (Assinatura assinatura : ativas) {
+            assinatura.cancelar();
+        }
+    }
+
+    boolean isFechado() {
+        return fechado;
+    }
+
+    // --- Publicação (OuvinteBiblioteca), na thread da mutação ---
+
+    @Override
+    public void livroAdicionado(Livro livro) {
+        publicar(TipoEvento.LIVRO_ADICIONADO, livro.getId(), null, livro.getTitulo(), livro.getAutor(),
+                livro.getAnoPublicacao());
+    }
+
+    @Override
+    public void livroRemovido(Livro livro) {
+        publicar(TipoEvento.LIVRO_REMOVIDO, livro.getId(), null, null, null, 0);
+    }
+
+    @Override
+    public void membroRegistrado(Membro membro) {
+        publicar(TipoEvento.MEMBRO_REGISTRADO, null, membro.getId(), membro.getNome(), null, 0);
+    }
+
+    @Override
+    public void membroRemovido(Membro membro) {
+        publicar(TipoEvento.MEMBRO_REMOVIDO, null, membro.getId(), null, null, 0);
+    }
+
+    @Override
+    public void livroEmprestado(Livro livro, Membro membro) {
+        publicar(TipoEvento.LIVRO_EMPRESTADO, livro.getId(), membro.getId(), null, null, 0);
+    }
+
+    @Override
+    public void livroDevolvido(Livro livro, Membro membro) {
+        publicar(TipoEvento.LIVRO_DEVOLVIDO, livro.getId(), membro.getId(), null, null, 0);
+    }
+
+    // Escreve os adiados desta thread antes da próxima mutação, caso a anterior não tenha chegado ao fim
+    @Override
+    public void antesDaMutacao() {
+        if (quantidadeAdiados.get() != 0) {
+            escreverAdiados();
+        }
+    }
+
+    @Override
+    public void operacaoConcluida() {
+        if (quantidadeAdiados.get() != 0) {
+            escreverAdiados();
+        }
+    }
+
+    // 'texto' é o título em LIVRO_ADICIONADO e o nome em MEMBRO_REGISTRADO
+    private void publicar(TipoEvento tipo, String idLivro, String idMembro, String texto, String autor, int ano) {
+        if (fechado) {
+            return;
+        }
+        long deslocamento = proximo.getAndIncrement();
+        if (deslocamento >= limiteLivre && !haEspaco(deslocamento)) {
+            // Dentro das travas da operação: o deslocamento já está tomado, a espera fica para depois delas
+            adiados.get().add(new Adiado(deslocamento, tipo, idLivro, idMembro, texto, autor, ano));
+            quantidadeAdiados.incrementAndGet();
+            return;
+        }
+        escrever(deslocamento, tipo, idLivro, idMembro, texto, autor, ano);
+    }
+
+    private void escrever(long deslocamento, TipoEvento tipo, String idLivro, String idMembro, String texto,
+                          String autor, int ano) {
+        int i = (int) deslocamento & mascara;
+        // Marca a posição antes de reescrevê-la: um leitor que já a copiava percebe a troca ao conferir
+        publicados.lazySet(i, -1);
+        VarHandle.storeStoreFence();
+        int t = i * 2;
+        ids[t] = idLivro;
+        ids[t + 1] = idMembro;
+        // Os detalhes só são lidos nos tipos que os usam (ver ler): empréstimos e devoluções não os escrevem
+        if (tipo == TipoEvento.LIVRO_ADICIONADO) {
+            detalhes[t] = texto;
+            detalhes[t + 1] = autor;
+            anos[i] = ano;
+        } else if (tipo == TipoEvento.MEMBRO_REGISTRADO) {
+            detalhes[t] = texto;
+        }
+        // release: os campos acima ficam visíveis antes
+        publicados.lazySet(i, deslocamento << BITS_TIPO | tipo.ordinal());
+    }
+
+    // Fora das travas. Os leitores não passam de um deslocamento ainda não escrito, então esperar aqui não deixa
+    // nenhum assinante BLOQUEAR ser ultrapassado; com o barramento fechado escreve sem esperar
+    private void escreverAdiados() {
+        ArrayDeque<Adiado> fila = adiados.get();
+        Adiado adiado;
+        while ((adiado = fila.peek()) != null) {
+            for (int tentativa = 0; !fechado && !haEspaco(adiado.deslocamento); tentativa++) {
+                if (tentativa < 100) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(10_000);
+                }
+            }
+            escrever(adiado.deslocamento, adiado.tipo, adiado.idLivro, adiado.idMembro, adiado.texto, adiado.autor,
+                    adiado.ano);
+            fila.poll();
+            quantidadeAdiados.decrementAndGet();
+        }
+    }
+
+    // Só com assinantes BLOQUEAR: se o mais atrasado deles já liberou a posição do deslocamento
+    private boolean haEspaco(long deslocamento) {
+        long minimo = Long.MAX_VALUE;
+        for (Assinatura assinatura : assinaturas) {
+            if (assinatura.bloqueiaProdutores()) {
+                minimo = Math.min(minimo, assinatura.getDeslocamento());
+            }
+        }
+        long limite = minimo == Long.MAX_VALUE ? Long.MAX_VALUE : minimo + capacidade;
+        if (deslocamento >= limite) {
+            return false;
+        }
+        if (limite > limiteLivre) {
+            limiteLivre = limite;
+        }
+        return true;
+    }
+
+    private static final class Adiado {
+        final long deslocamento;
+        final TipoEvento tipo;
+        final String idLivro;
+        final String idMembro;
+        final String texto;
+        final String autor;
+        final int ano;
+
+        Adiado(long deslocamento, TipoEvento tipo, String idLivro, String idMembro, String texto, String autor,
+               int ano) {
+            this.deslocamento = deslocamento;
+            this.tipo = tipo;
+            this.idLivro = idLivro;
+            this.idMembro = idMembro;
+            this.texto = texto;
+            this.autor = autor;
+            this.ano = ano;
+        }
+    }
+
+    // --- Leitura, na thread de cada assinatura ---
+
+    /**
+     * Copia o evento do deslocamento para o lote. Devolve 1 se copiou, 0 se ele ainda não foi publicado, ou
+     * -1 se a posição já foi sobrescrita por um evento mais novo (o assinante ficou uma volta para trás).
+     */
+    int ler(long deslocamento, List<EventoBiblioteca> lote) {
+        int i = (int) deslocamento & mascara;
+        long publicado = publicados.get(i);
+        long deslocamentoPublicado = publicado >> BITS_TIPO; // -1 continua -1
+        if (deslocamentoPublicado != deslocamento) {
+            return deslocamentoPublicado > deslocamento ? -1 : 0;
+        }
+        int t = i * 2;
+        TipoEvento tipo = TipoEvento.doCodigo((int) publicado & MASCARA_TIPO);
+        EventoBiblioteca evento;
+        if (tipo == TipoEvento.LIVRO_ADICIONADO) {
+            evento = new EventoBiblioteca(deslocamento, tipo, ids[t], null, detalhes[t], detalhes[t + 1], anos[i],
+                    null);
+        } else if (tipo == TipoEvento.MEMBRO_REGISTRADO) {
+            evento = new EventoBiblioteca(deslocamento, tipo, null, ids[t + 1], null, null, 0, detalhes[t]);
+        } else {
+            evento = new EventoBiblioteca(deslocamento, tipo, ids[t], ids[t + 1], null, null, 0, null);
+        }
+        VarHandle.loadLoadFence();
+        if (publicados.get(i) != publicado) {
+            return -1;
+        }
+        lote.add(evento);
+        return 1;
+    }
+
+    /** Primeiro deslocamento que ainda pode estar intacto no buffer, para quem ficou para trás. */
+    long recomeco() {
+        return proximo.get() - capacidade + 1;
+    }
+}
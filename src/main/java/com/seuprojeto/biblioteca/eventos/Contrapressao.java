@@ -0,0 +1,16 @@
+package com.seuprojeto.biblioteca.eventos;
+
+/** O que acontece quando um assinante fica uma volta inteira do buffer atrás dos produtores. */
+public enum Contrapressao {
+    /**
+     * Os produtores esperam o assinante liberar espaço, no fim da operação, já sem as travas da Biblioteca:
+     * nenhum evento se perde e as outras operações seguem, mas um assinante lento atrasa a volta de cada
+     * mutação. O assinante não deve alterar a Biblioteca na própria thread (esperaria por si mesmo).
+     */
+    BLOQUEAR,
+    /**
+     * Os produtores nunca esperam: os eventos que o assinante não leu a tempo são sobrescritos, ele pula
+     * para o evento mais antigo ainda no buffer e a perda é contada em {@link Assinatura#getEventosPerdidos()}.
+     */
+    DESCARTAR
+}
@@ -0,0 +1,75 @@
+package com.seuprojeto.biblioteca.eventos;
+
+/**
+ * Uma mutação da Biblioteca, na posição {@link #getDeslocamento()} do fluxo de eventos (0, 1, 2, ... desde a
+ * criação do barramento). Os campos que não se aplicam ao tipo são null (ou 0, para o ano).
+ *
+ * Não há instante: ler o relógio custaria mais que o resto da publicação. A ordem é a dos deslocamentos, e
+ * quem precisa de horário marca o evento ao recebê-lo (normalmente menos de 1 ms depois da mutação).
+ */
+public final class EventoBiblioteca {
+
+    private final long deslocamento;
+    private final TipoEvento tipo;
+    private final String idLivro;
+    private final String idMembro;
+    private final String titulo;
+    private final String autor;
+    private final int anoPublicacao;
+    private final String nomeMembro;
+
+    EventoBiblioteca(long deslocamento, TipoEvento tipo, String idLivro, String idMembro,
+                     String titulo, String autor, int anoPublicacao, String nomeMembro) {
+        this.deslocamento = deslocamento;
+        this.tipo = tipo;
+        this.idLivro = idLivro;
+        this.idMembro = idMembro;
+        this.titulo = titulo;
+        this.autor = autor;
+        this.anoPublicacao = anoPublicacao;
+        this.nomeMembro = nomeMembro;
+    }
+
+    public long getDeslocamento() {
+        return deslocamento;
+    }
+
+    public TipoEvento getTipo() {
+        return tipo;
+    }
+
+    /** Em todos os tipos, menos os de membro. */
+    public String getIdLivro() {
+        return idLivro;
+    }
+
+    /** Nos tipos de membro, empréstimo e devolução. */
+    public String getIdMembro() {
+        return idMembro;
+    }
+
+    /** Só em {@link TipoEvento#LIVRO_ADICIONADO}. */
+    public String getTitulo() {
+        return titulo;
+    }
+
+    /** Só em {@link TipoEvento#LIVRO_ADICIONADO}. */
+    public String getAutor() {
+        return autor;
+    }
+
+    /** Só em {@link TipoEvento#LIVRO_ADICIONADO}. */
+    public int getAnoPublicacao() {
+        return anoPublicacao;
+    }
+
+    /** Só em {@link TipoEvento#MEMBRO_REGISTRADO}. */
+    public String getNomeMembro() {
+        return nomeMembro;
+    }
+
+    @Override
+    public String toString() {
+        return deslocamento + " " + tipo + (idLivro != null ? " livro=" + idLivro : "") + (idMembro != null ? " membro=" + idMembro : "");
+    }
+}
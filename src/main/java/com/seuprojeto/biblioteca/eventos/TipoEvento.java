@@ -0,0 +1,17 @@
+package com.seuprojeto.biblioteca.eventos;
+
+/** Mutação da Biblioteca que gerou um {@link EventoBiblioteca}. */
+public enum TipoEvento {
+    LIVRO_ADICIONADO,
+    LIVRO_REMOVIDO,
+    MEMBRO_REGISTRADO,
+    MEMBRO_REMOVIDO,
+    LIVRO_EMPRESTADO,
+    LIVRO_DEVOLVIDO;
+
+    private static final TipoEvento[] VALORES = values();
+
+    static TipoEvento doCodigo(int codigo) {
+        return VALORES[codigo];
+    }
+}
@@ -0,0 +1,270 @@
+package com.seuprojeto.biblioteca.historico;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.service.OuvinteBiblioteca;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Histórico de empréstimos com vencimento e detecção de atrasos ({@code biblioteca.adicionarOuvinte(historico)}).
+ *
+ * Cada empréstimo vira um registro anexado a colunas de tipos primitivos em blocos de 64 mil (IDs de livro e
+ * de membro como códigos internados, instante do empréstimo em milissegundos, vencimento e devolução em
+ * segundos relativos a ele): 28 bytes por empréstimo. Registros nunca são removidos nem reordenados; a
+ * devolução só preenche o campo de devolução do registro, uma vez.
+ *
+ * Cada registro guarda o registro anterior do mesmo membro, então o histórico de um membro é uma lista
+ * encadeada percorrida do mais recente para o mais antigo, em O(resultado). Os empréstimos em aberto ficam
+ * numa {@link RodaDeTempo} pelo vencimento; ao consultar os atrasados a roda avança até agora e os vencidos
+ * já estão numa lista, também em O(resultado), sem varrer os empréstimos em aberto.
+ *
+ * Os eventos chegam dentro das travas da Biblioteca; o histórico tem uma trava própria, tomada por último.
+ * Empréstimos feitos antes de o histórico ser registrado como ouvinte não aparecem nele.
+ */
+public class HistoricoEmprestimos implements OuvinteBiblioteca {
+
+    public static final Duration PRAZO_PADRAO = Duration.ofDays(14);
+
+    private static final int BITS_BLOCO = 16;
+    private static final int TAMANHO_BLOCO = 1 << BITS_BLOCO;
+    private static final int MASCARA_BLOCO = TAMANHO_BLOCO - 1;
+    private static final int BYTES_POR_REGISTRO = 4 + 4 + 8 + 4 + 4 + 4;
+    private static final int ABERTO = -1;
+
+    private final Clock relogio;
+    private final int prazoSegundos;
+
+    // Colunas em blocos: [registro >>> BITS_BLOCO][registro & MASCARA_BLOCO]
+    private int[][] livros = new int[16][];
+    private int[][] membros = new int[16][];
+    private long[][] emprestadoEmMillis = new long[16][];
+    private int[][] vencimentoSegundos = new int[16][];
+    private int[][] devolucaoSegundos = new int[16][];
+    // Registro anterior do mesmo membro + 1 (0 = nenhum)
+    private int[][] anteriorDoMembro = new int[16][];
+    private int total;
+
+    private final Dicionario idsLivros = new Dicionario();
+    private final Dicionario idsMembros = new Dicionario();
+    // Por código de membro: último registro + 1 (0 = nenhum)
+    private int[] ultimoDoMembro = new int[1024];
+    // Por código de livro: o empréstimo em aberto, ou null
+    private RodaDeTempo.Entrada[] abertoPorLivro = new RodaDeTempo.Entrada[1024];
+    private int quantidadeAbertos;
+    private final RodaDeTempo roda;
+
+    public HistoricoEmprestimos() {
+        this(Clock.systemUTC(), PRAZO_PADRAO);
+    }
+
+    public HistoricoEmprestimos(Clock relogio, Duration prazo) {
+        if (relogio == null || prazo == null) {
+            throw new IllegalArgumentException("Relógio e prazo não podem ser nulos.");
+        }
+        if (prazo.getSeconds() < 1 || prazo.getSeconds() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Prazo deve ter entre um segundo e " + Integer.MAX_VALUE + " segundos.");
+        }
+        this.relogio = relogio;
+        this.prazoSegundos = (int) prazo.getSeconds();
+        this.roda = new RodaDeTempo(Math.floorDiv(relogio.millis(), 1000));
+    }
+
+    // Código denso para cada ID, na ordem em que apareceu; nunca esquece um ID
+    private static final class Dicionario {
+        private final Map<String, Integer> codigos = new HashMap<>();
+        private final List<String> ids = new ArrayList<>();
+
+        int codigo(String id) {
+            Integer codigo = codigos.get(id);
+            if (codigo == null) {
+                codigo = ids.size();
+                codigos.put(id, codigo);
+                ids.add(id);
+            }
+            return codigo;
+        }
+
+        int buscar(String id) {
+            Integer codigo = codigos.get(id);
+            return codigo == null ? -1 : codigo;
+        }
+
+        String id(int codigo) {
+            return ids.get(codigo);
+        }
+    }
+
+    // --- OuvinteBiblioteca ---
+
+    @Override
+    public synchronized void livroEmprestado(Livro livro, Membro membro) {
+        long agora = relogio.millis();
+        int codigoLivro = idsLivros.codigo(livro.getId());
+        int codigoMembro = idsMembros.codigo(membro.getId());
+        int registro = anexar(codigoLivro, codigoMembro, agora);
+
+        if (codigoLivro >= abertoPorLivro.length) {
+            abertoPorLivro = Arrays.copyOf(abertoPorLivro, Math.max(codigoLivro + 1, abertoPorLivro.length * 2));
+        }
+        RodaDeTempo.Entrada anterior = abertoPorLivro[codigoLivro];
+        if (anterior != null) {
+            // Devolução que não chegou ao histórico: o registro antigo fica em aberto, mas sai da roda
+            roda.remover(anterior);
+            quantidadeAbertos--;
+        }
+        RodaDeTempo.Entrada entrada = new RodaDeTempo.Entrada(registro, Math.floorDiv(agora, 1000) + prazoSegundos);
+        abertoPorLivro[codigoLivro] = entrada;
+        quantidadeAbertos++;
+        roda.agendar(entrada);
+    }
+
+    @Override
+    public synchronized void livroDevolvido(Livro livro, Membro membro) {
+        int codigoLivro = idsLivros.buscar(livro.getId());
+        if (codigoLivro < 0 || codigoLivro >= abertoPorLivro.length || abertoPorLivro[codigoLivro] == null) {
+            return;
+        }
+        RodaDeTempo.Entrada entrada = abertoPorLivro[codigoLivro];
+        abertoPorLivro[codigoLivro] = null;
+        quantidadeAbertos--;
+        roda.remover(entrada);
+        int registro = entrada.registro;
+        long decorridos = Math.floorDiv(relogio.millis(), 1000)
+                - Math.floorDiv(emprestadoEmMillis[registro >>> BITS_BLOCO][registro & MASCARA_BLOCO], 1000);
+        devolucaoSegundos[registro >>> BITS_BLOCO][registro & MASCARA_BLOCO] =
+                (int) Math.max(0, Math.min(Integer.MAX_VALUE, decorridos));
+    }
+
+    private int anexar(int codigoLivro, int codigoMembro, long agora) {
+        if (total == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Histórico de empréstimos cheio.");
+        }
+        int registro = total;
+        int bloco = registro >>> BITS_BLOCO;
+        if (bloco == livros.length) {
+            int novoTamanho = livros.length * 2;
+            livros = Arrays.copyOf(livros, novoTamanho);
+            membros = Arrays.copyOf(membros, novoTamanho);
+            emprestadoEmMillis = Arrays.copyOf(emprestadoEmMillis, novoTamanho);
+            vencimentoSegundos = Arrays.copyOf(vencimentoSegundos, novoTamanho);
+            devolucaoSegundos = Arrays.copyOf(devolucaoSegundos, novoTamanho);
+            anteriorDoMembro = Arrays.copyOf(anteriorDoMembro, novoTamanho);
+        }
+        if (livros[bloco] == null) {
+            livros[bloco] = new int[TAMANHO_BLOCO];
+            membros[bloco] = new int[TAMANHO_BLOCO];
+            emprestadoEmMillis[bloco] = new long[TAMANHO_BLOCO];
+            vencimentoSegundos[bloco] = new int[TAMANHO_BLOCO];
+            devolucaoSegundos[bloco] = new int[TAMANHO_BLOCO];
+            anteriorDoMembro[bloco] = new int[TAMANHO_BLOCO];
+        }
+        if (codigoMembro >= ultimoDoMembro.length) {
+            ultimoDoMembro = Arrays.copyOf(ultimoDoMembro, Math.max(codigoMembro + 1, ultimoDoMembro.length * 2));
+        }
+        int posicao = registro & MASCARA_BLOCO;
+        livros[bloco][posicao] = codigoLivro;
+        membros[bloco][posicao] = codigoMembro;
+        emprestadoEmMillis[bloco][posicao] = agora;
+        vencimentoSegundos[bloco][posicao] = prazoSegundos;
+        devolucaoSegundos[bloco][posicao] = ABERTO;
+        anteriorDoMembro[bloco][posicao] = ultimoDoMembro[codigoMembro];
+        ultimoDoMembro[codigoMembro] = registro + 1;
+        total++;
+        return registro;
+    }
+
+    private RegistroEmprestimo ler(int registro) {
+        int bloco = registro >>> BITS_BLOCO;
+        int posicao = registro & MASCARA_BLOCO;
+        long emprestadoEm = emprestadoEmMillis[bloco][posicao];
+        long segundoDoEmprestimo = Math.floorDiv(emprestadoEm, 1000);
+        int devolucao = devolucaoSegundos[bloco][posicao];
+        return new RegistroEmprestimo(idsLivros.id(livros[bloco][posicao]), idsMembros.id(membros[bloco][posicao]),
+                Instant.ofEpochMilli(emprestadoEm),
+                Instant.ofEpochSecond(segundoDoEmprestimo + vencimentoSegundos[bloco][posicao]),
+                devolucao == ABERTO ? null : Instant.ofEpochSecond(segundoDoEmprestimo + devolucao));
+    }
+
+    // --- Consultas ---
+
+    /** Os empréstimos do membro, do mais recente para o mais antigo, até {@code limite}. */
+    public synchronized List<RegistroEmprestimo> historicoDoMembro(String idMembro, int limite) {
+        if (idMembro == null || limite < 0) {
+            throw new IllegalArgumentException("ID do membro não pode ser nulo e o limite não pode ser negativo.");
+        }
+        int codigoMembro = idsMembros.buscar(idMembro);
+        if (codigoMembro < 0) {
+            return Collections.emptyList();
+        }
+        List<RegistroEmprestimo> resultado = new ArrayList<>(Math.min(limite, 64));
+        int proximo = ultimoDoMembro[codigoMembro];
+        while (proximo != 0 && resultado.size() < limite) {
+            int registro = proximo - 1;
+            resultado.add(ler(registro));
+            proximo = anteriorDoMembro[registro >>> BITS_BLOCO][registro & MASCARA_BLOCO];
+        }
+        return resultado;
+    }
+
+    /** Empréstimos em aberto com o vencimento já alcançado, dos que venceram primeiro aos mais recentes. */
+    public List<RegistroEmprestimo> atrasados() {
+        return atrasados(Integer.MAX_VALUE);
+    }
+
+    public synchronized List<RegistroEmprestimo> atrasados(int limite) {
+        if (limite < 0) {
+            throw new IllegalArgumentException("Limite não pode ser negativo.");
+        }
+        roda.avancar(Math.floorDiv(relogio.millis(), 1000));
+        List<RegistroEmprestimo> resultado = new ArrayList<>(Math.min(limite, roda.getQuantidadeVencidas()));
+        roda.percorrerVencidas(registro -> {
+            if (resultado.size() >= limite) {
+                return false;
+            }
+            resultado.add(ler(registro));
+            return true;
+        });
+        return resultado;
+    }
+
+    public synchronized int getQuantidadeAtrasados() {
+        roda.avancar(Math.floorDiv(relogio.millis(), 1000));
+        return roda.getQuantidadeVencidas();
+    }
+
+    /** O empréstimo em aberto do livro (com o vencimento), ou null se o livro não está emprestado. */
+    public synchronized RegistroEmprestimo emprestimoEmAberto(String idLivro) {
+        int codigoLivro = idLivro == null ? -1 : idsLivros.buscar(idLivro);
+        if (codigoLivro < 0 || codigoLivro >= abertoPorLivro.length || abertoPorLivro[codigoLivro] == null) {
+            return null;
+        }
+        return ler(abertoPorLivro[codigoLivro].registro);
+    }
+
+    public synchronized int getQuantidadeAbertos() {
+        return quantidadeAbertos;
+    }
+
+    public synchronized int getTotalRegistros() {
+        return total;
+    }
+
+    /** Memória das colunas de registros já alocadas (sem os dicionários de IDs e a roda). */
+    public synchronized long getMemoriaRegistrosBytes() {
+        long blocos = (total + (long) MASCARA_BLOCO) >>> BITS_BLOCO;
+        return blocos * TAMANHO_BLOCO * BYTES_POR_REGISTRO;
+    }
+
+    public Duration getPrazo() {
+        return Duration.ofSeconds(prazoSegundos);
+    }
+}
@@ -0,0 +1,45 @@
+package com.seuprojeto.biblioteca.historico;
+
+import java.time.Instant;
+
+/**
+ * Um empréstimo do histórico: quem levou qual livro, quando, até quando e quando devolveu (null se ainda
+ * está com o membro). O vencimento e a devolução têm resolução de segundos.
+ */
+public class RegistroEmprestimo {
+
+    private final String idLivro;
+    private final String idMembro;
+    private final Instant emprestadoEm;
+    private final Instant vencimento;
+    private final Instant devolvidoEm;
+
+    RegistroEmprestimo(String idLivro, String idMembro, Instant emprestadoEm, Instant vencimento, Instant devolvidoEm) {
+        this.idLivro = idLivro;
+        this.idMembro = idMembro;
+        this.emprestadoEm = emprestadoEm;
+        this.vencimento = vencimento;
+        this.devolvidoEm = devolvidoEm;
+    }
+
+    public String getIdLivro() { return idLivro; }
+    public String getIdMembro() { return idMembro; }
+    public Instant getEmprestadoEm() { return emprestadoEm; }
+    public Instant getVencimento() { return vencimento; }
+    public Instant getDevolvidoEm() { return devolvidoEm; }
+
+    public boolean isAberto() {
+        return devolvidoEm == null;
+    }
+
+    /** Ainda com o membro e com o vencimento já alcançado em {@code agora}. */
+    public boolean isAtrasado(Instant agora) {
+        return devolvidoEm == null && !agora.isBefore(vencimento);
+    }
+
+    @Override
+    public String toString() {
+        return idLivro + " -> " + idMembro + " em " + emprestadoEm + ", vence " + vencimento
+                + (devolvidoEm == null ? ", em aberto" : ", devolvido " + devolvidoEm);
+    }
+}
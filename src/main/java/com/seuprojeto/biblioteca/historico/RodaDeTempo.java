@@ -0,0 +1,162 @@
+package com.seuprojeto.biblioteca.historico;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Roda de tempo hierárquica (Varghese e Lauck): agenda entradas por uma chave de tempo inteira (segundos) e,
+ * quando o tempo avança, move para a lista de vencidas as que chegaram à chave, na ordem em que vencem.
+ *
+ * Cada nível tem 64 baldes indexados pelos bits absolutos da chave: o nível n guarda as chaves cujo grupo de
+ * 6 bits mais alto que difere do instante atual é o n-ésimo. Agendar e remover custam O(1); avançar visita
+ * só baldes ocupados (um bitmap de 64 bits por nível) e cada entrada desce no máximo um nível por vez, então
+ * o custo de um avanço não depende do tempo decorrido nem do total de entradas. 11 níveis cobrem qualquer
+ * chave {@code long}.
+ *
+ * Não é thread-safe: quem usa sincroniza.
+ */
+final class RodaDeTempo {
+
+    private static final int BITS_NIVEL = 6;
+    private static final int POSICOES = 1 << BITS_NIVEL;
+    private static final int NIVEIS = 11;
+    private static final int VENCIDA = -1;
+    private static final int FORA = -2;
+
+    static final class Entrada {
+        final int registro;
+        final long chave;
+        Entrada anterior;
+        Entrada proxima;
+        int balde = FORA;
+
+        Entrada(int registro, long chave) {
+            this.registro = registro;
+            this.chave = chave;
+        }
+    }
+
+    // Listas circulares com sentinela: um balde por (nível, posição) e a lista de vencidas
+    private final Entrada[] baldes = new Entrada[NIVEIS * POSICOES];
+    private final long[] ocupados = new long[NIVEIS];
+    private final Entrada vencidas = sentinela();
+    private long agora;
+    private int quantidadeNaRoda;
+    private int quantidadeVencidas;
+
+    RodaDeTempo(long agora) {
+        this.agora = agora;
+        for (int i = 0; i < baldes.length; i++) {
+            baldes[i] = sentinela();
+        }
+    }
+
+    private static Entrada sentinela() {
+        Entrada sentinela = new Entrada(-1, 0);
+        sentinela.anterior = sentinela;
+        sentinela.proxima = sentinela;
+        return sentinela;
+    }
+
+    void agendar(Entrada entrada) {
+        if (entrada.chave <= agora) {
+            ligar(vencidas, entrada);
+            entrada.balde = VENCIDA;
+            quantidadeVencidas++;
+            return;
+        }
+        int nivel = (63 - Long.numberOfLeadingZeros(entrada.chave ^ agora)) / BITS_NIVEL;
+        int posicao = (int) (entrada.chave >>> (nivel * BITS_NIVEL)) & (POSICOES - 1);
+        int balde = nivel * POSICOES + posicao;
+        ligar(baldes[balde], entrada);
+        entrada.balde = balde;
+        ocupados[nivel] |= 1L << posicao;
+        quantidadeNaRoda++;
+    }
+
+    void remover(Entrada entrada) {
+        if (entrada.balde == FORA) {
+            return;
+        }
+        entrada.anterior.proxima = entrada.proxima;
+        entrada.proxima.anterior = entrada.anterior;
+        if (entrada.balde == VENCIDA) {
+            quantidadeVencidas--;
+        } else {
+            quantidadeNaRoda--;
+            Entrada sentinela = baldes[entrada.balde];
+            if (sentinela.proxima == sentinela) {
+                ocupados[entrada.balde / POSICOES] &= ~(1L << (entrada.balde & (POSICOES - 1)));
+            }
+        }
+        entrada.anterior = null;
+        entrada.proxima = null;
+        entrada.balde = FORA;
+    }
+
+    /** Avança o tempo até {@code ate}; as entradas com chave até lá passam para as vencidas. */
+    void avancar(long ate) {
+        while (true) {
+            // O próximo balde ocupado está no nível mais baixo com alguma posição à frente da atual
+            int nivel = -1;
+            int posicao = 0;
+            for (int n = 0; n < NIVEIS; n++) {
+                int atual = (int) (agora >>> (n * BITS_NIVEL)) & (POSICOES - 1);
+                long aFrente = atual == POSICOES - 1 ? 0 : ocupados[n] & (-1L << (atual + 1));
+                if (aFrente != 0) {
+                    nivel = n;
+                    posicao = Long.numberOfTrailingZeros(aFrente);
+                    break;
+                }
+            }
+            if (nivel < 0) {
+                break;
+            }
+            int deslocamento = nivel * BITS_NIVEL;
+            long acima = deslocamento + BITS_NIVEL >= 64 ? 0 : agora & -(1L << (deslocamento + BITS_NIVEL));
+            long inicio = acima | ((long) posicao << deslocamento);
+            if (inicio > ate) {
+                break;
+            }
+            agora = inicio;
+            // Esvazia o balde e reagenda cada entrada: desce de nível, ou vence se a chave é o próprio início
+            Entrada sentinela = baldes[nivel * POSICOES + posicao];
+            ocupados[nivel] &= ~(1L << posicao);
+            Entrada entrada = sentinela.proxima;
+            sentinela.proxima = sentinela;
+            sentinela.anterior = sentinela;
+            while (entrada != sentinela) {
+                Entrada proxima = entrada.proxima;
+                quantidadeNaRoda--;
+                agendar(entrada);
+                entrada = proxima;
+            }
+        }
+        if (ate > agora) {
+            agora = ate;
+        }
+    }
+
+    /** Percorre as vencidas, na ordem em que venceram, enquanto {@code visitante} devolver true. */
+    void percorrerVencidas(IntPredicate visitante) {
+        for (Entrada entrada = vencidas.proxima; entrada != vencidas; entrada = entrada.proxima) {
+            if (!visitante.test(entrada.registro)) {
+                return;
+            }
+        }
+    }
+
+    int getQuantidadeNaRoda() {
+        return quantidadeNaRoda;
+    }
+
+    int getQuantidadeVencidas() {
+        return quantidadeVencidas;
+    }
+
+    private static void ligar(Entrada sentinela, Entrada entrada) {
+        entrada.proxima = sentinela;
+        entrada.anterior = sentinela.anterior;
+        sentinela.anterior.proxima = entrada;
+        sentinela.anterior = entrada;
+    }
+}
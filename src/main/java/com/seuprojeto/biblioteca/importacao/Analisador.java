@@ -0,0 +1,10 @@
+package com.seuprojeto.biblioteca.importacao;
+
+/**
+ * Converte os registros de um bloco em livros. Implementações não guardam estado entre chamadas e são
+ * chamadas em paralelo por várias threads.
+ */
+interface Analisador {
+
+    LoteAnalisado analisar(Bloco bloco);
+}
@@ -0,0 +1,261 @@
+package com.seuprojeto.biblioteca.importacao;
+
+import com.seuprojeto.biblioteca.model.Livro;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Analisador de CSV (RFC 4180: campos entre aspas podem conter separador, aspas duplicadas e quebras de linha).
+ *
+ * Trabalha direto sobre os bytes do bloco: colunas que não interessam são puladas sem gerar {@code String},
+ * o ano é convertido a partir dos dígitos e só id, título e autor viram texto.
+ */
+final class AnalisadorCsv implements Analisador {
+
+    private static final byte ASPAS = '"';
+    private static final byte QUEBRA = '\n';
+
+    private final byte separador;
+    private final int colunaId;
+    private final int colunaTitulo;
+    private final int colunaAutor;
+    private final int colunaAno;
+    private final int colunasNecessarias;
+
+    private AnalisadorCsv(byte separador, int colunaId, int colunaTitulo, int colunaAutor, int colunaAno) {
+        this.separador = separador;
+        this.colunaId = colunaId;
+        this.colunaTitulo = colunaTitulo;
+        this.colunaAutor = colunaAutor;
+        this.colunaAno = colunaAno;
+        this.colunasNecessarias = Math.max(Math.max(colunaId, colunaTitulo), Math.max(colunaAutor, colunaAno)) + 1;
+    }
+
+    /**
+     * Lê o cabeçalho em {@code [inicio, fim)} (sem a quebra de linha). O separador é ponto e vírgula se o
+     * cabeçalho não tiver vírgulas, e vírgula caso contrário.
+     */
+    static AnalisadorCsv doCabecalho(byte[] dados, int inicio, int fim) {
+        fim = semRetorno(dados, inicio, fim);
+        byte separador = ';';
+        for (int i = inicio; i < fim; i++) {
+            if (dados[i] == ',') {
+                separador = ',';
+                break;
+            }
+        }
+        int id = -1, titulo = -1, autor = -1, ano = -1;
+        int coluna = 0;
+        int pos = inicio;
+        while (pos <= fim) {
+            int fimCampo = pos;
+            while (fimCampo < fim && dados[fimCampo] != separador) {
+                fimCampo++;
+            }
+            String nome = new String(dados, pos, fimCampo - pos, StandardCharsets.UTF_8)
+                    .replace("\"", "").replace("_", "").replace(" ", "").toLowerCase(Locale.ROOT);
+            switch (nome) {
+                case "id":
+                    id = coluna;
+                    break;
+                case "titulo":
+                case "título":
+                    titulo = coluna;
+                    break;
+                case "autor":
+                    autor = coluna;
+                    break;
+                case "ano":
+                case "anopublicacao":
+                case "anopublicação":
+                    ano = coluna;
+                    break;
+                default:
+                    break;
+            }
+            coluna++;
+            pos = fimCampo + 1;
+        }
+        if (id < 0 || titulo < 0 || autor < 0 || ano < 0) {
+            throw new IllegalArgumentException("Cabeçalho CSV deve conter as colunas id, titulo, autor e anoPublicacao.");
+        }
+        return new AnalisadorCsv(separador, id, titulo, autor, ano);
+    }
+
+    /**
+     * Posição da quebra de linha que termina o último registro completo em {@code [inicio, fim)}, ou -1.
+     * O bloco sempre começa no início de um registro, então a paridade das aspas diz se a quebra é real.
+     */
+    static int ultimoFimDeRegistro(byte[] dados, int inicio, int fim) {
+        int ultimo = -1;
+        boolean entreAspas = false;
+        for (int i = inicio; i < fim; i++) {
+            byte b = dados[i];
+            if (b == ASPAS) {
+                entreAspas = !entreAspas;
+            } else if (b == QUEBRA && !entreAspas) {
+                ultimo = i;
+            }
+        }
+        return ultimo;
+    }
+
+    /** Posição da quebra que termina o registro que começa em {@code inicio}, ou {@code fim} se não houver. */
+    static int fimDoRegistro(byte[] dados, int inicio, int fim) {
+        boolean entreAspas = false;
+        for (int i = inicio; i < fim; i++) {
+            byte b = dados[i];
+            if (b == ASPAS) {
+                entreAspas = !entreAspas;
+            } else if (b == QUEBRA && !entreAspas) {
+                return i;
+            }
+        }
+        return fim;
+    }
+
+    private static int semRetorno(byte[] dados, int inicio, int fim) {
+        return fim > inicio && dados[fim - 1] == '\r' ? fim - 1 : fim;
+    }
+
+    @Override
+    public LoteAnalisado analisar(Bloco bloco) {
+        LoteAnalisado lote = new LoteAnalisado();
+        byte[] dados = bloco.dados;
+        byte[] rascunho = null;
+        int linha = bloco.quebrasAntes;
+        int pos = bloco.inicio;
+
+        while (pos < bloco.fim) {
+            int fimRegistro = fimDoRegistro(dados, pos, bloco.fim);
+            int linhaRegistro = linha;
+            for (int i = pos; i < fimRegistro; i++) {
+                if (dados[i] == QUEBRA) {
+                    linha++;
+                }
+            }
+            int fimDados = semRetorno(dados, pos, fimRegistro);
+            if (fimDados > pos) {
+                String id = null, titulo = null, autor = null;
+                int ano = 0;
+                String erro = null;
+                int coluna = 0;
+                int p = pos;
+                while (true) {
+                    int inicioCampo;
+                    int fimCampo;
+                    boolean escapado = false;
+                    if (p < fimDados && dados[p] == ASPAS) {
+                        inicioCampo = ++p;
+                        while (p < fimDados && (dados[p] != ASPAS || (p + 1 < fimDados && dados[p + 1] == ASPAS))) {
+                            if (dados[p] == ASPAS) {
+                                escapado = true;
+                                p++;
+                            }
+                            p++;
+                        }
+                        if (p >= fimDados) {
+                            erro = "Aspas não fechadas na coluna " + (coluna + 1) + ".";
+                            break;
+                        }
+                        fimCampo = p++;
+                        if (p < fimDados && dados[p] != separador) {
+                            erro = "Conteúdo após as aspas de fechamento na coluna " + (coluna + 1) + ".";
+                            break;
+                        }
+                    } else {
+                        inicioCampo = p;
+                        while (p < fimDados && dados[p] != separador) {
+                            p++;
+                        }
+                        fimCampo = p;
+                    }
+
+                    if (coluna == colunaAno) {
+                        ano = lerAno(dados, inicioCampo, fimCampo);
+                        if (ano < 0) {
+                            erro = "Ano de publicação inválido: '"
+                                    + new String(dados, inicioCampo, fimCampo - inicioCampo, StandardCharsets.UTF_8) + "'.";
+                            break;
+                        }
+                    } else if (coluna == colunaId || coluna == colunaTitulo || coluna == colunaAutor) {
+                        String texto;
+                        if (escapado) {
+                            if (rascunho == null || rascunho.length < fimCampo - inicioCampo) {
+                                rascunho = new byte[Math.max(256, fimCampo - inicioCampo)];
+                            }
+                            texto = semAspasDuplicadas(dados, inicioCampo, fimCampo, rascunho);
+                        } else {
+                            texto = new String(dados, inicioCampo, fimCampo - inicioCampo, StandardCharsets.UTF_8);
+                        }
+                        if (coluna == colunaId) {
+                            id = texto;
+                        } else if (coluna == colunaTitulo) {
+                            titulo = texto;
+                        } else {
+                            autor = texto;
+                        }
+                    }
+                    coluna++;
+                    if (p >= fimDados) {
+                        break;
+                    }
+                    p++; // separador
+                }
+
+                if (erro == null && coluna < colunasNecessarias) {
+                    erro = "Registro com " + coluna + " colunas; esperadas ao menos " + colunasNecessarias + ".";
+                }
+                if (erro != null) {
+                    lote.rejeitar(linhaRegistro, erro);
+                } else {
+                    try {
+                        lote.adicionar(new Livro(id, titulo, autor, ano), linhaRegistro);
+                    } catch (IllegalArgumentException e) {
+                        lote.rejeitar(linhaRegistro, e.getMessage());
+                    }
+                }
+            }
+            if (fimRegistro < bloco.fim) {
+                linha++;
+            }
+            pos = fimRegistro + 1;
+        }
+        lote.quebras = linha;
+        return lote;
+    }
+
+    // Dígitos com espaços opcionais em volta; -1 se inválido ou grande demais
+    static int lerAno(byte[] dados, int inicio, int fim) {
+        while (inicio < fim && dados[inicio] == ' ') {
+            inicio++;
+        }
+        while (fim > inicio && dados[fim - 1] == ' ') {
+            fim--;
+        }
+        if (inicio == fim || fim - inicio > 9) {
+            return -1;
+        }
+        int valor = 0;
+        for (int i = inicio; i < fim; i++) {
+            int digito = dados[i] - '0';
+            if (digito < 0 || digito > 9) {
+                return -1;
+            }
+            valor = valor * 10 + digito;
+        }
+        return valor;
+    }
+
+    private static String semAspasDuplicadas(byte[] dados, int inicio, int fim, byte[] rascunho) {
+        int n = 0;
+        for (int i = inicio; i < fim; i++) {
+            rascunho[n++] = dados[i];
+            if (dados[i] == ASPAS) {
+                i++;
+            }
+        }
+        return new String(rascunho, 0, n, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,315 @@
+package com.seuprojeto.biblioteca.importacao;
+
+import com.seuprojeto.biblioteca.model.Livro;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Analisador de JSON lines: um objeto por linha. Só as chaves id, titulo, autor e anoPublicacao são lidas;
+ * as demais (inclusive objetos e listas aninhados) são puladas sem gerar objetos. Chaves são comparadas
+ * byte a byte e textos sem escapes viram {@code String} direto dos bytes do bloco.
+ */
+final class AnalisadorJsonLinhas implements Analisador {
+
+    private static final byte[] CHAVE_ID = bytes("id");
+    private static final byte[] CHAVE_TITULO = bytes("titulo");
+    private static final byte[] CHAVE_AUTOR = bytes("autor");
+    private static final byte[] CHAVE_ANO = bytes("anoPublicacao");
+
+    private static byte[] bytes(String texto) {
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** Posição da última quebra de linha em {@code [inicio, fim)}, ou -1 (quebras em textos JSON são sempre escapadas). */
+    static int ultimoFimDeRegistro(byte[] dados, int inicio, int fim) {
+        for (int i = fim - 1; i >= inicio; i--) {
+            if (dados[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public LoteAnalisado analisar(Bloco bloco) {
+        LoteAnalisado lote = new LoteAnalisado();
+        Cursor cursor = new Cursor(bloco.dados);
+        int linha = bloco.quebrasAntes;
+        int pos = bloco.inicio;
+
+        while (pos < bloco.fim) {
+            int fimLinha = pos;
+            while (fimLinha < bloco.fim && bloco.dados[fimLinha] != '\n') {
+                fimLinha++;
+            }
+            cursor.pos = pos;
+            cursor.fim = fimLinha;
+            cursor.pularEspacos();
+            if (cursor.pos < cursor.fim) {
+                try {
+                    lote.adicionar(cursor.lerLivro(), linha);
+                } catch (IllegalArgumentException e) {
+                    lote.rejeitar(linha, e.getMessage());
+                }
+            }
+            if (fimLinha < bloco.fim) {
+                linha++;
+            }
+            pos = fimLinha + 1;
+        }
+        lote.quebras = linha;
+        return lote;
+    }
+
+    // Estado de leitura de uma linha; erros de formato saem como IllegalArgumentException com o motivo
+    private static final class Cursor {
+        final byte[] dados;
+        byte[] rascunho;
+        int pos;
+        int fim;
+
+        Cursor(byte[] dados) {
+            this.dados = dados;
+        }
+
+        Livro lerLivro() {
+            String id = null, titulo = null, autor = null;
+            int ano = 0;
+            esperar('{');
+            pularEspacos();
+            if (pos < fim && dados[pos] == '}') {
+                pos++;
+            } else {
+                while (true) {
+                    pularEspacos();
+                    esperar('"');
+                    int inicioChave = pos;
+                    while (pos < fim && dados[pos] != '"') {
+                        pos += dados[pos] == '\\' ? 2 : 1;
+                    }
+                    int fimChave = pos;
+                    esperar('"');
+                    pularEspacos();
+                    esperar(':');
+                    pularEspacos();
+                    if (chaveIgual(inicioChave, fimChave, CHAVE_ID)) {
+                        id = lerTextoOuNulo();
+                    } else if (chaveIgual(inicioChave, fimChave, CHAVE_TITULO)) {
+                        titulo = lerTextoOuNulo();
+                    } else if (chaveIgual(inicioChave, fimChave, CHAVE_AUTOR)) {
+                        autor = lerTextoOuNulo();
+                    } else if (chaveIgual(inicioChave, fimChave, CHAVE_ANO)) {
+                        ano = lerAno();
+                    } else {
+                        pularValor();
+                    }
+                    pularEspacos();
+                    if (pos < fim && dados[pos] == ',') {
+                        pos++;
+                        continue;
+                    }
+                    esperar('}');
+                    break;
+                }
+            }
+            pularEspacos();
+            if (pos < fim) {
+                throw new IllegalArgumentException("Conteúdo após o fim do objeto JSON.");
+            }
+            return new Livro(id, titulo, autor, ano);
+        }
+
+        boolean chaveIgual(int inicio, int fimChave, byte[] chave) {
+            if (fimChave - inicio != chave.length) {
+                return false;
+            }
+            for (int i = 0; i < chave.length; i++) {
+                if (dados[inicio + i] != chave[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void pularEspacos() {
+            while (pos < fim && (dados[pos] == ' ' || dados[pos] == '\t' || dados[pos] == '\r')) {
+                pos++;
+            }
+        }
+
+        void esperar(char caractere) {
+            if (pos >= fim || dados[pos] != caractere) {
+                throw new IllegalArgumentException("JSON malformado: esperado '" + caractere + "' na coluna " + (pos + 1 - inicioDaLinha()) + ".");
+            }
+            pos++;
+        }
+
+        int inicioDaLinha() {
+            int i = Math.min(pos, fim);
+            while (i > 0 && dados[i - 1] != '\n') {
+                i--;
+            }
+            return i;
+        }
+
+        String lerTextoOuNulo() {
+            if (pos + 4 <= fim && dados[pos] == 'n' && dados[pos + 1] == 'u' && dados[pos + 2] == 'l' && dados[pos + 3] == 'l') {
+                pos += 4;
+                return null;
+            }
+            if (pos >= fim || dados[pos] != '"') {
+                throw new IllegalArgumentException("Campos id, titulo e autor devem ser textos.");
+            }
+            int inicio = ++pos;
+            while (pos < fim && dados[pos] != '"' && dados[pos] != '\\') {
+                pos++;
+            }
+            if (pos < fim && dados[pos] == '"') {
+                return new String(dados, inicio, pos++ - inicio, StandardCharsets.UTF_8);
+            }
+            return lerTextoEscapado(inicio);
+        }
+
+        // Caminho lento: copia para o rascunho resolvendo os escapes (\" \\ \/ \b \f \n \r \t \\uXXXX)
+        private String lerTextoEscapado(int inicio) {
+            if (rascunho == null || rascunho.length < fim - inicio) {
+                rascunho = new byte[Math.max(256, fim - inicio)];
+            }
+            int n = pos - inicio;
+            System.arraycopy(dados, inicio, rascunho, 0, n);
+            while (true) {
+                if (pos >= fim) {
+                    throw new IllegalArgumentException("Texto JSON sem aspas de fechamento.");
+                }
+                byte b = dados[pos++];
+                if (b == '"') {
+                    return new String(rascunho, 0, n, StandardCharsets.UTF_8);
+                }
+                if (b != '\\') {
+                    rascunho[n++] = b;
+                    continue;
+                }
+                if (pos >= fim) {
+                    throw new IllegalArgumentException("Escape JSON incompleto.");
+                }
+                byte escape = dados[pos++];
+                switch (escape) {
+                    case '"', '\\', '/' -> rascunho[n++] = escape;
+                    case 'b' -> rascunho[n++] = '\b';
+                    case 'f' -> rascunho[n++] = '\f';
+                    case 'n' -> rascunho[n++] = '\n';
+                    case 'r' -> rascunho[n++] = '\r';
+                    case 't' -> rascunho[n++] = '\t';
+                    case 'u' -> {
+                        int codigo = lerHex();
+                        if (Character.isHighSurrogate((char) codigo) && pos + 1 < fim
+                                && dados[pos] == '\\' && dados[pos + 1] == 'u') {
+                            pos += 2;
+                            int baixo = lerHex();
+                            codigo = Character.isLowSurrogate((char) baixo)
+                                    ? Character.toCodePoint((char) codigo, (char) baixo) : 0xFFFD;
+                        } else if (Character.isSurrogate((char) codigo)) {
+                            codigo = 0xFFFD;
+                        }
+                        n = utf8(codigo, n);
+                    }
+                    default -> throw new IllegalArgumentException("Escape JSON inválido: \\" + (char) escape + ".");
+                }
+            }
+        }
+
+        private int lerHex() {
+            if (pos + 4 > fim) {
+                throw new IllegalArgumentException("Escape \\u incompleto.");
+            }
+            int valor = 0;
+            for (int i = 0; i < 4; i++) {
+                int digito = Character.digit(dados[pos++], 16);
+                if (digito < 0) {
+                    throw new IllegalArgumentException("Escape \\u inválido.");
+                }
+                valor = (valor << 4) | digito;
+            }
+            return valor;
+        }
+
+        // O escape \\uXXXX ocupa 6 bytes e gera no máximo 3 (4 para o par de 12), então cabe no rascunho
+        private int utf8(int codigo, int n) {
+            if (codigo < 0x80) {
+                rascunho[n++] = (byte) codigo;
+            } else if (codigo < 0x800) {
+                rascunho[n++] = (byte) (0xC0 | (codigo >> 6));
+                rascunho[n++] = (byte) (0x80 | (codigo & 0x3F));
+            } else if (codigo < 0x10000) {
+                rascunho[n++] = (byte) (0xE0 | (codigo >> 12));
+                rascunho[n++] = (byte) (0x80 | ((codigo >> 6) & 0x3F));
+                rascunho[n++] = (byte) (0x80 | (codigo & 0x3F));
+            } else {
+                rascunho[n++] = (byte) (0xF0 | (codigo >> 18));
+                rascunho[n++] = (byte) (0x80 | ((codigo >> 12) & 0x3F));
+                rascunho[n++] = (byte) (0x80 | ((codigo >> 6) & 0x3F));
+                rascunho[n++] = (byte) (0x80 | (codigo & 0x3F));
+            }
+            return n;
+        }
+
+        // Número inteiro ou texto só com dígitos
+        int lerAno() {
+            boolean entreAspas = pos < fim && dados[pos] == '"';
+            if (entreAspas) {
+                pos++;
+            }
+            int inicio = pos;
+            while (pos < fim && dados[pos] >= '0' && dados[pos] <= '9') {
+                pos++;
+            }
+            int ano = AnalisadorCsv.lerAno(dados, inicio, pos);
+            if (entreAspas) {
+                esperar('"');
+            }
+            if (ano < 0 || (pos < fim && dados[pos] != ',' && dados[pos] != '}' && dados[pos] != ' ')) {
+                throw new IllegalArgumentException("Ano de publicação inválido.");
+            }
+            return ano;
+        }
+
+        void pularValor() {
+            if (pos >= fim) {
+                throw new IllegalArgumentException("JSON malformado: valor ausente.");
+            }
+            byte b = dados[pos];
+            if (b == '"') {
+                pularTexto();
+            } else if (b == '{' || b == '[') {
+                int profundidade = 0;
+                while (pos < fim) {
+                    byte atual = dados[pos];
+                    if (atual == '"') {
+                        pularTexto();
+                        continue;
+                    }
+                    if (atual == '{' || atual == '[') {
+                        profundidade++;
+                    } else if ((atual == '}' || atual == ']') && --profundidade == 0) {
+                        pos++;
+                        return;
+                    }
+                    pos++;
+                }
+                throw new IllegalArgumentException("JSON malformado: objeto ou lista sem fechamento.");
+            } else {
+                while (pos < fim && dados[pos] != ',' && dados[pos] != '}' && dados[pos] != ' ') {
+                    pos++;
+                }
+            }
+        }
+
+        void pularTexto() {
+            pos++;
+            while (pos < fim && dados[pos] != '"') {
+                pos += dados[pos] == '\\' ? 2 : 1;
+            }
+            esperar('"');
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.seuprojeto.biblioteca.importacao;
+
+/**
+ * Trecho do arquivo com registros completos, entre {@code inicio} e {@code fim}. Os blocos são reutilizados
+ * (pool fixo), o que limita a memória do pipeline; o vetor só cresce se um registro não couber nele.
+ */
+final class Bloco {
+    byte[] dados;
+    int inicio;
+    int fim;
+    // Quebras de linha antes de 'inicio' (cabeçalho do CSV), para a numeração das linhas
+    int quebrasAntes;
+
+    Bloco(int capacidade) {
+        this.dados = new byte[capacidade];
+    }
+}
@@ -0,0 +1,11 @@
+package com.seuprojeto.biblioteca.importacao;
+
+/**
+ * Formatos de arquivo aceitos pelo {@link ImportadorCatalogo}.
+ */
+public enum FormatoCatalogo {
+    /** CSV com cabeçalho (colunas id, titulo, autor, anoPublicacao em qualquer ordem), separado por vírgula ou ponto e vírgula. */
+    CSV,
+    /** Um objeto JSON por linha, com as chaves id, titulo, autor e anoPublicacao. */
+    JSON_LINHAS
+}
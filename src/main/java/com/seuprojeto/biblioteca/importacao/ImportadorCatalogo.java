@@ -0,0 +1,231 @@
+package com.seuprojeto.biblioteca.importacao;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.service.Biblioteca;
+import com.seuprojeto.biblioteca.service.ResultadoLote;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Importa catálogos em CSV ou JSON lines para a Biblioteca, em streaming.
+ *
+ * O pipeline tem três estágios: uma thread lê o arquivo por um {@link FileChannel} em blocos que terminam
+ * em fim de registro; um pool de threads analisa os blocos em paralelo; a thread chamadora aplica os
+ * livros na Biblioteca com {@link Biblioteca#adicionarLivros}, na ordem do arquivo. Os blocos vêm de um
+ * pool fixo e a fila de blocos analisados é limitada, então a leitura espera quando a análise ou a
+ * Biblioteca ficam para trás e a memória do pipeline não depende do tamanho do arquivo.
+ *
+ * Registros inválidos (formato, mesmas regras do construtor de {@link Livro}, ou ID repetido) são
+ * rejeitados individualmente no {@link RelatorioImportacao}; erros de E/S interrompem a importação.
+ */
+public class ImportadorCatalogo {
+
+    public static final int TAMANHO_BLOCO_PADRAO = 1 << 20;
+    public static final int TAMANHO_LOTE_PADRAO = 4096;
+    private static final int LIMITE_REJEICOES_GUARDADAS = 1000;
+    private static final LoteAnalisado FIM = new LoteAnalisado();
+
+    private final Biblioteca biblioteca;
+    private final int threads;
+    private final int tamanhoBloco;
+    private final int tamanhoLote;
+
+    public ImportadorCatalogo(Biblioteca biblioteca) {
+        this(biblioteca, Math.max(1, Runtime.getRuntime().availableProcessors() - 1), TAMANHO_BLOCO_PADRAO, TAMANHO_LOTE_PADRAO);
+    }
+
+    public ImportadorCatalogo(Biblioteca biblioteca, int threads, int tamanhoBloco, int tamanhoLote) {
+        if (biblioteca == null || threads <= 0 || tamanhoBloco <= 0 || tamanhoLote <= 0) {
+            throw new IllegalArgumentException("Parâmetros do importador inválidos.");
+        }
+        this.biblioteca = biblioteca;
+        this.threads = threads;
+        this.tamanhoBloco = tamanhoBloco;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    public RelatorioImportacao importar(Path arquivo, FormatoCatalogo formato) throws IOException {
+        if (arquivo == null || formato == null) {
+            throw new IllegalArgumentException("Arquivo e formato não podem ser nulos.");
+        }
+        long inicio = System.nanoTime();
+        int emVoo = threads * 2;
+        BlockingQueue<Bloco> livres = new ArrayBlockingQueue<>(emVoo);
+        for (int i = 0; i < emVoo; i++) {
+            livres.add(new Bloco(tamanhoBloco));
+        }
+        BlockingQueue<Future<LoteAnalisado>> analisados = new ArrayBlockingQueue<>(emVoo);
+        ExecutorService analisadores = Executors.newFixedThreadPool(threads, tarefa -> {
+            Thread thread = new Thread(tarefa, "importador-analise");
+            thread.setDaemon(true);
+            return thread;
+        });
+        RelatorioImportacao relatorio = new RelatorioImportacao(LIMITE_REJEICOES_GUARDADAS);
+
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            Thread leitor = new Thread(() -> ler(canal, formato, livres, analisados, analisadores), "importador-leitura");
+            leitor.setDaemon(true);
+            leitor.start();
+            try {
+                long linhaDoBloco = 1;
+                while (true) {
+                    LoteAnalisado lote = analisados.take().get();
+                    if (lote == FIM) {
+                        break;
+                    }
+                    aplicar(lote, linhaDoBloco, relatorio);
+                    linhaDoBloco += lote.quebras;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Importação interrompida.");
+            } catch (ExecutionException e) {
+                Throwable causa = e.getCause();
+                if (causa instanceof IOException) {
+                    throw (IOException) causa;
+                }
+                if (causa instanceof RuntimeException) {
+                    throw (RuntimeException) causa;
+                }
+                if (causa instanceof Error) {
+                    throw (Error) causa;
+                }
+                throw new IOException("Falha na importação.", causa);
+            } finally {
+                leitor.interrupt();
+            }
+        } finally {
+            analisadores.shutdownNow();
+        }
+        relatorio.concluir(System.nanoTime() - inicio);
+        return relatorio;
+    }
+
+    private void aplicar(LoteAnalisado lote, long linhaDoBloco, RelatorioImportacao relatorio) {
+        List<RelatorioImportacao.LinhaRejeitada> rejeicoes = new ArrayList<>(lote.rejeicoes);
+        int importados = 0;
+        for (int i = 0; i < lote.livros.size(); i += tamanhoLote) {
+            int fim = Math.min(lote.livros.size(), i + tamanhoLote);
+            ResultadoLote resultado = biblioteca.adicionarLivros(lote.livros.subList(i, fim));
+            importados += resultado.getSucessos();
+            for (ResultadoLote.Falha falha : resultado.getFalhas()) {
+                rejeicoes.add(new RelatorioImportacao.LinhaRejeitada(lote.linhas[i + falha.getIndice()], falha.getMotivo()));
+            }
+        }
+        if (rejeicoes.size() > lote.rejeicoes.size() && !lote.rejeicoes.isEmpty()) {
+            rejeicoes.sort(Comparator.comparingLong(RelatorioImportacao.LinhaRejeitada::getLinha));
+        }
+        for (RelatorioImportacao.LinhaRejeitada rejeicao : rejeicoes) {
+            relatorio.rejeitar(new RelatorioImportacao.LinhaRejeitada(linhaDoBloco + rejeicao.getLinha(), rejeicao.getMotivo()));
+        }
+        relatorio.contar(lote.registros, importados);
+    }
+
+    // Thread de leitura: produz blocos terminados em fim de registro; o resto vai para o início do próximo
+    private void ler(FileChannel canal, FormatoCatalogo formato, BlockingQueue<Bloco> livres,
+                     BlockingQueue<Future<LoteAnalisado>> analisados, ExecutorService analisadores) {
+        try {
+            Analisador analisador = formato == FormatoCatalogo.JSON_LINHAS ? new AnalisadorJsonLinhas() : null;
+            byte[] resto = new byte[0];
+            int tamanhoResto = 0;
+            boolean primeiro = true;
+            boolean fimDoArquivo = false;
+
+            while (!fimDoArquivo) {
+                Bloco bloco = livres.take();
+                if (bloco.dados.length <= tamanhoResto) {
+                    bloco.dados = new byte[Integer.highestOneBit(tamanhoResto) << 1];
+                }
+                System.arraycopy(resto, 0, bloco.dados, 0, tamanhoResto);
+                int cheio = tamanhoResto;
+                int corte;
+                while (true) {
+                    ByteBuffer destino = ByteBuffer.wrap(bloco.dados, cheio, bloco.dados.length - cheio);
+                    while (destino.hasRemaining()) {
+                        if (canal.read(destino) < 0) {
+                            fimDoArquivo = true;
+                            break;
+                        }
+                    }
+                    cheio = destino.position();
+                    if (fimDoArquivo) {
+                        corte = cheio;
+                        break;
+                    }
+                    int ultimo = formato == FormatoCatalogo.CSV
+                            ? AnalisadorCsv.ultimoFimDeRegistro(bloco.dados, 0, cheio)
+                            : AnalisadorJsonLinhas.ultimoFimDeRegistro(bloco.dados, 0, cheio);
+                    if (ultimo >= 0) {
+                        corte = ultimo + 1;
+                        break;
+                    }
+                    // Registro maior que o bloco: o bloco cresce e continua a leitura
+                    bloco.dados = Arrays.copyOf(bloco.dados, bloco.dados.length * 2);
+                }
+
+                bloco.inicio = 0;
+                bloco.quebrasAntes = 0;
+                if (primeiro) {
+                    primeiro = false;
+                    if (cheio >= 3 && bloco.dados[0] == (byte) 0xEF && bloco.dados[1] == (byte) 0xBB && bloco.dados[2] == (byte) 0xBF) {
+                        bloco.inicio = 3;
+                    }
+                    if (formato == FormatoCatalogo.CSV) {
+                        int fimCabecalho = AnalisadorCsv.fimDoRegistro(bloco.dados, bloco.inicio, corte);
+                        if (fimCabecalho == bloco.inicio) {
+                            throw new IllegalArgumentException("Arquivo CSV sem cabeçalho.");
+                        }
+                        analisador = AnalisadorCsv.doCabecalho(bloco.dados, bloco.inicio, fimCabecalho);
+                        for (int i = bloco.inicio; i < fimCabecalho; i++) {
+                            if (bloco.dados[i] == '\n') {
+                                bloco.quebrasAntes++;
+                            }
+                        }
+                        if (fimCabecalho < corte) {
+                            bloco.quebrasAntes++;
+                        }
+                        bloco.inicio = Math.min(fimCabecalho + 1, corte);
+                    }
+                }
+                bloco.fim = corte;
+
+                tamanhoResto = cheio - corte;
+                if (resto.length < tamanhoResto) {
+                    resto = new byte[Math.max(tamanhoResto, resto.length * 2)];
+                }
+                System.arraycopy(bloco.dados, corte, resto, 0, tamanhoResto);
+
+                Analisador deste = analisador;
+                analisados.put(analisadores.submit(() -> {
+                    try {
+                        return deste.analisar(bloco);
+                    } finally {
+                        livres.add(bloco);
+                    }
+                }));
+            }
+            analisados.put(CompletableFuture.completedFuture(FIM));
+        } catch (InterruptedException e) {
+            // a importação terminou (com erro) do lado de quem aplica
+        } catch (Throwable e) {
+            analisados.clear();
+            analisados.offer(CompletableFuture.failedFuture(e));
+        }
+    }
+}
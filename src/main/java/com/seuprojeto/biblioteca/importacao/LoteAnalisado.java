@@ -0,0 +1,33 @@
+package com.seuprojeto.biblioteca.importacao;
+
+import com.seuprojeto.biblioteca.model.Livro;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Resultado da análise de um bloco. Linhas são relativas ao início do bloco (0 = primeira linha dele);
+ * o importador, que aplica os blocos em ordem, converte para a linha do arquivo.
+ */
+final class LoteAnalisado {
+    final List<Livro> livros = new ArrayList<>();
+    final List<RelatorioImportacao.LinhaRejeitada> rejeicoes = new ArrayList<>();
+    long[] linhas = new long[256];
+    int registros;
+    int quebras;
+
+    void adicionar(Livro livro, long linha) {
+        if (livros.size() == linhas.length) {
+            linhas = Arrays.copyOf(linhas, linhas.length * 2);
+        }
+        linhas[livros.size()] = linha;
+        livros.add(livro);
+        registros++;
+    }
+
+    void rejeitar(long linha, String motivo) {
+        rejeicoes.add(new RelatorioImportacao.LinhaRejeitada(linha, motivo));
+        registros++;
+    }
+}
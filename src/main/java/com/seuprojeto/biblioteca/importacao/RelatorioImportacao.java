@@ -0,0 +1,78 @@
+package com.seuprojeto.biblioteca.importacao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resumo de uma importação: registros lidos, livros importados, registros rejeitados (com a linha do
+ * arquivo e o motivo) e a vazão. Só as primeiras rejeições são guardadas, para a memória não depender
+ * do tamanho do arquivo; a contagem em {@link #getRejeitados()} é sempre completa.
+ */
+public class RelatorioImportacao {
+
+    public static class LinhaRejeitada {
+        private final long linha;
+        private final String motivo;
+
+        LinhaRejeitada(long linha, String motivo) {
+            this.linha = linha;
+            this.motivo = motivo;
+        }
+
+        public long getLinha() { return linha; }
+        public String getMotivo() { return motivo; }
+
+        @Override
+        public String toString() {
+            return "linha " + linha + ": " + motivo;
+        }
+    }
+
+    private final int limiteRejeicoes;
+    private final List<LinhaRejeitada> rejeicoes = new ArrayList<>();
+    private long registrosLidos;
+    private long livrosImportados;
+    private long rejeitados;
+    private long duracaoNanos;
+
+    RelatorioImportacao(int limiteRejeicoes) {
+        this.limiteRejeicoes = limiteRejeicoes;
+    }
+
+    void contar(long registros, long importados) {
+        registrosLidos += registros;
+        livrosImportados += importados;
+    }
+
+    void rejeitar(LinhaRejeitada rejeicao) {
+        rejeitados++;
+        if (rejeicoes.size() < limiteRejeicoes) {
+            rejeicoes.add(rejeicao);
+        }
+    }
+
+    void concluir(long duracaoNanos) {
+        this.duracaoNanos = duracaoNanos;
+    }
+
+    public long getRegistrosLidos() { return registrosLidos; }
+    public long getLivrosImportados() { return livrosImportados; }
+    public long getRejeitados() { return rejeitados; }
+    public long getDuracaoMillis() { return duracaoNanos / 1_000_000; }
+
+    public double getRegistrosPorSegundo() {
+        return duracaoNanos == 0 ? 0 : registrosLidos * 1e9 / duracaoNanos;
+    }
+
+    /** Rejeições em ordem de linha, limitadas às primeiras guardadas. */
+    public List<LinhaRejeitada> getRejeicoes() {
+        return Collections.unmodifiableList(rejeicoes);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d registros em %d ms (%.0f/s): %d importados, %d rejeitados",
+                registrosLidos, getDuracaoMillis(), getRegistrosPorSegundo(), livrosImportados, rejeitados);
+    }
+}
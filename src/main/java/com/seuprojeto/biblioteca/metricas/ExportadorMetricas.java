@@ -0,0 +1,12 @@
+package com.seuprojeto.biblioteca.metricas;
+
+/**
+ * Destino das métricas (log, Prometheus, StatsD...). Chamado por um {@link PublicadorMetricas} a cada
+ * período, sempre na mesma thread. Uma exceção não interrompe a publicação: fica em
+ * {@link PublicadorMetricas#getUltimaFalha()} e o próximo período é exportado normalmente.
+ */
+@FunctionalInterface
+public interface ExportadorMetricas {
+
+    void exportar(InstantaneoMetricas instantaneo) throws Exception;
+}
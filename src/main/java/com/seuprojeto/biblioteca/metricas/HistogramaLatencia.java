@@ -0,0 +1,100 @@
+package com.seuprojeto.biblioteca.metricas;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências em nanossegundos com baldes log-lineares (no estilo do HdrHistogram): cada
+ * potência de dois é dividida em 32 baldes, então qualquer valor é guardado com erro relativo de no máximo
+ * ~3%, de 0 ns a {@code Long.MAX_VALUE}, em ~15 KB fixos. O registro é livre de travas.
+ */
+public final class HistogramaLatencia {
+
+    private static final int BITS_SUB = 5;
+    private static final int SUB = 1 << BITS_SUB;
+    private static final int BALDES = SUB + (63 - BITS_SUB) * SUB;
+
+    private final AtomicLongArray contagens = new AtomicLongArray(BALDES);
+    private final LongAdder soma = new LongAdder();
+    private final AtomicLong maximo = new AtomicLong();
+
+    public void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        contagens.getAndIncrement(balde(valor));
+        soma.add(valor);
+        if (valor > maximo.get()) {
+            maximo.accumulateAndGet(valor, Math::max);
+        }
+    }
+
+    static int balde(long valor) {
+        if (valor < SUB) {
+            return (int) valor;
+        }
+        int expoente = 63 - Long.numberOfLeadingZeros(valor);
+        int deslocamento = expoente - BITS_SUB;
+        return SUB + deslocamento * SUB + (int) ((valor >>> deslocamento) - SUB);
+    }
+
+    // Maior valor que cai no balde (como o "highest equivalent value" do HdrHistogram)
+    static long limiteSuperior(int balde) {
+        if (balde < SUB) {
+            return balde;
+        }
+        int deslocamento = (balde - SUB) / SUB;
+        long base = (long) (SUB + (balde - SUB) % SUB) << deslocamento;
+        return base + (1L << deslocamento) - 1;
+    }
+
+    /** Cópia dos contadores; registros concorrentes podem entrar ou não, mas nenhum é contado pela metade. */
+    public Resumo resumo() {
+        long[] copia = new long[BALDES];
+        long quantidade = 0;
+        for (int i = 0; i < BALDES; i++) {
+            copia[i] = contagens.get(i);
+            quantidade += copia[i];
+        }
+        return new Resumo(copia, quantidade, soma.sum(), maximo.get());
+    }
+
+    public static final class Resumo {
+        private final long[] contagens;
+        private final long quantidade;
+        private final long soma;
+        private final long maximo;
+
+        private Resumo(long[] contagens, long quantidade, long soma, long maximo) {
+            this.contagens = contagens;
+            this.quantidade = quantidade;
+            this.soma = soma;
+            this.maximo = maximo;
+        }
+
+        public long getQuantidade() { return quantidade; }
+        public long getMaximoNanos() { return maximo; }
+
+        public long getMediaNanos() {
+            return quantidade == 0 ? 0 : soma / quantidade;
+        }
+
+        /** Latência abaixo da qual estão {@code percentil}% dos registros (0 se vazio). */
+        public long percentil(double percentil) {
+            if (percentil < 0 || percentil > 100) {
+                throw new IllegalArgumentException("Percentil deve estar entre 0 e 100.");
+            }
+            if (quantidade == 0) {
+                return 0;
+            }
+            long alvo = Math.max(1, (long) Math.ceil(percentil / 100 * quantidade));
+            long acumulado = 0;
+            for (int i = 0; i < contagens.length; i++) {
+                acumulado += contagens[i];
+                if (acumulado >= alvo) {
+                    return Math.min(limiteSuperior(i), maximo);
+                }
+            }
+            return maximo;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.seuprojeto.biblioteca.metricas;
+
+import java.util.Map;
+
+/**
+ * Valores das métricas num instante, por nome: {@code <operação>.sucessos}, {@code <operação>.falhas},
+ * {@code <operação>.falhas.<MOTIVO>}, {@code <operação>.latencia.p99Nanos} etc., mais os medidores
+ * registrados (como {@code catalogo.livros}).
+ */
+public final class InstantaneoMetricas {
+
+    private final long momentoMillis;
+    private final Map<String, Long> valores;
+
+    InstantaneoMetricas(long momentoMillis, Map<String, Long> valores) {
+        this.momentoMillis = momentoMillis;
+        this.valores = valores;
+    }
+
+    public long getMomentoMillis() { return momentoMillis; }
+
+    /** Visão somente leitura, em ordem estável. */
+    public Map<String, Long> getValores() { return valores; }
+
+    /** Valor da métrica, ou 0 se ela não existe (ex.: motivo de falha que nunca ocorreu). */
+    public long get(String nome) {
+        return valores.getOrDefault(nome, 0L);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        valores.forEach((nome, valor) -> sb.append(nome).append('=').append(valor).append('\n'));
+        return sb.toString();
+    }
+}
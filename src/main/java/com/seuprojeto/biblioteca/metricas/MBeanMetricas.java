@@ -0,0 +1,74 @@
+package com.seuprojeto.biblioteca.metricas;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanConstructorInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanNotificationInfo;
+import javax.management.MBeanOperationInfo;
+import java.util.Map;
+
+/**
+ * MBean dinâmico somente leitura: um atributo {@code long} por métrica de {@link InstantaneoMetricas}.
+ * Os atributos acompanham o instantâneo, então motivos de falha novos aparecem sem registrar de novo.
+ */
+final class MBeanMetricas implements DynamicMBean {
+
+    private final MetricasBiblioteca metricas;
+
+    MBeanMetricas(MetricasBiblioteca metricas) {
+        this.metricas = metricas;
+    }
+
+    @Override
+    public Object getAttribute(String atributo) throws AttributeNotFoundException {
+        Long valor = metricas.instantaneo().getValores().get(atributo);
+        if (valor == null) {
+            throw new AttributeNotFoundException(atributo);
+        }
+        return valor;
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] atributos) {
+        Map<String, Long> valores = metricas.instantaneo().getValores();
+        AttributeList lista = new AttributeList();
+        for (String atributo : atributos) {
+            Long valor = valores.get(atributo);
+            if (valor != null) {
+                lista.add(new Attribute(atributo, valor));
+            }
+        }
+        return lista;
+    }
+
+    @Override
+    public void setAttribute(Attribute atributo) {
+        throw new UnsupportedOperationException("Métricas são somente leitura.");
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList atributos) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String operacao, Object[] parametros, String[] assinatura) {
+        throw new UnsupportedOperationException("Métricas não têm operações.");
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        Map<String, Long> valores = metricas.instantaneo().getValores();
+        MBeanAttributeInfo[] atributos = new MBeanAttributeInfo[valores.size()];
+        int i = 0;
+        for (String nome : valores.keySet()) {
+            atributos[i++] = new MBeanAttributeInfo(nome, "long", nome, true, false, false);
+        }
+        return new MBeanInfo(MetricasBiblioteca.class.getName(), "Métricas da Biblioteca", atributos,
+                new MBeanConstructorInfo[0], new MBeanOperationInfo[0], new MBeanNotificationInfo[0]);
+    }
+}
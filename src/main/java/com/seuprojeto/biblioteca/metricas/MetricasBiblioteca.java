@@ -0,0 +1,275 @@
+package com.seuprojeto.biblioteca.metricas;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Contadores e latências das operações da Biblioteca ({@code biblioteca.ativarMetricas()}).
+ *
+ * Toda chamada é contada, sem instrução atômica: cada thread incrementa contadores próprios, somados na
+ * leitura (um {@link LongAdder} custa um CAS por chamada, comparável a uma busca por ID inteira). Os
+ * contadores ficam numa tabela indexada pelo ID da thread, e não num {@link ThreadLocal}, cuja busca
+ * custa quase o mesmo que o CAS. Falhas, raras, vão para {@link LongAdder}s por motivo, e os sucessos são
+ * as chamadas menos as falhas.
+ *
+ * A latência é amostrada: em média 1 a cada {@code amostragem} chamadas de cada operação lê o relógio e
+ * entra no histograma, a intervalos sorteados para não entrar em fase com a carga. Leituras de poucos
+ * nanossegundos (a busca por ID) só são contadas, com {@link #contar}: até decidir a amostra custaria uma
+ * fração visível delas, e o histograma dessas operações fica vazio. Com as métricas desligadas a Biblioteca
+ * não chama nada daqui.
+ */
+public final class MetricasBiblioteca {
+
+    public static final int AMOSTRAGEM_PADRAO = 1024;
+
+    private static final OperacaoMedida[] OPERACOES = OperacaoMedida.values();
+    private static final VarHandle CONTAGENS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int TAMANHO_TABELA = 1024;
+
+    private final int amostragem;
+    // Posição = ID da thread & (TAMANHO_TABELA - 1); só é trocada sob a trava deste objeto. Cada posição é um
+    // único array, lido pelo caminho quente sem passar por outro objeto: [0] = ID da thread dona (IDs de
+    // thread não se repetem), e por operação [1 + 2 * i] = chamadas, [2 + 2 * i] = número da chamada que será
+    // a próxima amostra (a chamada comum só compara, sem escrever uma contagem regressiva). Só a dona escreve;
+    // os leitores somam (escrita opaca, lida sem trava).
+    private final long[][] tabela = new long[TAMANHO_TABELA][];
+    // Donas das posições, para saber se já terminaram; só lido e escrito sob a trava
+    private final Thread[] donas = new Thread[TAMANHO_TABELA];
+    // Chamadas de threads que já terminaram e de threads sem posição própria na tabela (colisão)
+    private final LongAdder[] chamadasForaDaTabela = new LongAdder[OPERACOES.length];
+    private final LongAdder[] falhas = new LongAdder[OPERACOES.length];
+    private final HistogramaLatencia[] latencias = new HistogramaLatencia[OPERACOES.length];
+    // Por operação, pelo motivo: registrar uma falha não monta a chave "operacao.falhas.motivo" (nem aloca)
+    private final List<ConcurrentMap<String, LongAdder>> falhasPorMotivo = new ArrayList<>(OPERACOES.length);
+    private final Map<String, LongSupplier> medidores = new ConcurrentHashMap<>();
+
+    public MetricasBiblioteca() {
+        this(AMOSTRAGEM_PADRAO);
+    }
+
+    /** @param amostragem mede a latência de 1 a cada {@code amostragem} chamadas, em média (1 mede todas) */
+    public MetricasBiblioteca(int amostragem) {
+        if (amostragem < 1) {
+            throw new IllegalArgumentException("Amostragem deve ser positiva.");
+        }
+        this.amostragem = amostragem;
+        for (int i = 0; i < OPERACOES.length; i++) {
+            chamadasForaDaTabela[i] = new LongAdder();
+            falhas[i] = new LongAdder();
+            latencias[i] = new HistogramaLatencia();
+            falhasPorMotivo.add(new ConcurrentHashMap<>());
+        }
+    }
+
+    private int sortearIntervalo() {
+        return amostragem == 1 ? 1 : 1 + ThreadLocalRandom.current().nextInt(2 * amostragem - 1);
+    }
+
+    // --- Registro (chamado pela Biblioteca) ---
+
+    /**
+     * Conta uma chamada da operação (como sucesso, até que {@link #registrarFalha} diga o contrário) e devolve
+     * o instante atual se ela foi sorteada para medir a latência, ou 0. Toda chamada termina em
+     * {@link #concluir} ou {@link #registrarFalha}.
+     */
+    public long iniciar(OperacaoMedida operacao) {
+        long idThread = Thread.currentThread().threadId();
+        long[] dados = tabela[(int) idThread & (TAMANHO_TABELA - 1)];
+        if (dados == null || dados[0] != idThread) {
+            return iniciarSemPosicao(operacao.ordinal());
+        }
+        int i = 1 + 2 * operacao.ordinal();
+        long chamadas = dados[i] + 1;
+        CONTAGENS.setOpaque(dados, i, chamadas);
+        return chamadas != dados[i + 1] ? 0 : sortearProximaAmostra(dados, i, chamadas);
+    }
+
+    /**
+     * Conta uma chamada da operação (como sucesso, até que {@link #registrarFalha} diga o contrário), sem
+     * medir a latência: para leituras em que até a decisão de amostrar pesaria.
+     */
+    public void contar(OperacaoMedida operacao) {
+        long idThread = Thread.currentThread().threadId();
+        long[] dados = tabela[(int) idThread & (TAMANHO_TABELA - 1)];
+        if (dados == null || dados[0] != idThread) {
+            iniciarSemPosicao(operacao.ordinal());
+            return;
+        }
+        int i = 1 + 2 * operacao.ordinal();
+        CONTAGENS.setOpaque(dados, i, dados[i] + 1);
+    }
+
+    // Fora de iniciar(), que fica pequeno o bastante para ser embutido no chamador
+    private long sortearProximaAmostra(long[] dados, int i, long chamadas) {
+        dados[i + 1] = chamadas + sortearIntervalo();
+        return System.nanoTime();
+    }
+
+    // Primeira chamada da thread, ou posição de outra thread: só de vez em quando tenta de novo (a dona pode
+    // ter terminado)
+    private long iniciarSemPosicao(int operacao) {
+        Thread thread = Thread.currentThread();
+        long[] dados = tabela[(int) thread.threadId() & (TAMANHO_TABELA - 1)];
+        if (dados == null || (ThreadLocalRandom.current().nextInt() & 63) == 0) {
+            dados = ocuparPosicao(thread);
+            if (dados != null) {
+                int i = 1 + 2 * operacao;
+                long chamadas = dados[i] + 1;
+                CONTAGENS.setOpaque(dados, i, chamadas);
+                return chamadas != dados[i + 1] ? 0 : sortearProximaAmostra(dados, i, chamadas);
+            }
+        }
+        chamadasForaDaTabela[operacao].increment();
+        return ThreadLocalRandom.current().nextInt(amostragem) == 0 ? System.nanoTime() : 0;
+    }
+
+    // Ocupa a posição se está livre ou se a dona já terminou (as contagens dela passam para
+    // chamadasForaDaTabela). Devolve null se outra thread viva ocupa a posição.
+    private synchronized long[] ocuparPosicao(Thread thread) {
+        int posicao = (int) thread.threadId() & (TAMANHO_TABELA - 1);
+        Thread dona = donas[posicao];
+        if (dona == thread) {
+            return tabela[posicao];
+        }
+        if (dona != null && dona.isAlive()) {
+            return null;
+        }
+        long[] atuais = tabela[posicao];
+        if (atuais != null) {
+            for (int i = 0; i < OPERACOES.length; i++) {
+                chamadasForaDaTabela[i].add(atuais[1 + 2 * i]);
+            }
+        }
+        long[] novos = new long[1 + 2 * OPERACOES.length];
+        novos[0] = thread.threadId();
+        for (int i = 0; i < OPERACOES.length; i++) {
+            novos[2 + 2 * i] = sortearIntervalo();
+        }
+        donas[posicao] = thread;
+        tabela[posicao] = novos;
+        return novos;
+    }
+
+    public void concluir(OperacaoMedida operacao, long inicio) {
+        if (inicio != 0) {
+            latencias[operacao.ordinal()].registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    public void registrarFalha(OperacaoMedida operacao, String motivo, long inicio) {
+        falhas[operacao.ordinal()].increment();
+        falhasPorMotivo.get(operacao.ordinal()).computeIfAbsent(motivo, chave -> new LongAdder()).increment();
+        concluir(operacao, inicio);
+    }
+
+    /** Valor lido a cada instantâneo (tamanho do catálogo, por exemplo). Substitui um medidor de mesmo nome. */
+    public void registrarMedidor(String nome, LongSupplier medidor) {
+        if (nome == null || medidor == null) {
+            throw new IllegalArgumentException("Nome e medidor não podem ser nulos.");
+        }
+        medidores.put(nome, medidor);
+    }
+
+    // --- Leitura ---
+    // Sincronizado com ocuparPosicao, para a soma nunca ver uma thread encerrada na tabela e fora dela
+    public synchronized long getChamadas(OperacaoMedida operacao) {
+        int i = operacao.ordinal();
+        long total = chamadasForaDaTabela[i].sum();
+        for (long[] dados : tabela) {
+            if (dados != null) {
+                total += (long) CONTAGENS.getOpaque(dados, 1 + 2 * i);
+            }
+        }
+        return total;
+    }
+
+    public long getSucessos(OperacaoMedida operacao) {
+        return Math.max(0, getChamadas(operacao) - getFalhas(operacao));
+    }
+
+    public long getFalhas(OperacaoMedida operacao) {
+        return falhas[operacao.ordinal()].sum();
+    }
+
+    /** Falhas da operação com o motivo dado (por exemplo {@code "LIVRO_INDISPONIVEL"}). */
+    public long getFalhas(OperacaoMedida operacao, String motivo) {
+        LongAdder contador = motivo == null ? null : falhasPorMotivo.get(operacao.ordinal()).get(motivo);
+        return contador == null ? 0 : contador.sum();
+    }
+
+    public HistogramaLatencia.Resumo getLatencia(OperacaoMedida operacao) {
+        return latencias[operacao.ordinal()].resumo();
+    }
+
+    public int getAmostragem() {
+        return amostragem;
+    }
+
+    /** Todas as métricas achatadas em nome -> valor, na mesma ordem a cada chamada. */
+    public InstantaneoMetricas instantaneo() {
+        Map<String, Long> valores = new LinkedHashMap<>();
+        for (OperacaoMedida operacao : OPERACOES) {
+            String prefixo = operacao.getChave();
+            valores.put(prefixo + ".sucessos", getSucessos(operacao));
+            valores.put(prefixo + ".falhas", getFalhas(operacao));
+            new TreeMap<>(falhasPorMotivo.get(operacao.ordinal()))
+                    .forEach((motivo, contador) -> valores.put(prefixo + ".falhas." + motivo, contador.sum()));
+            HistogramaLatencia.Resumo latencia = getLatencia(operacao);
+            valores.put(prefixo + ".latencia.amostras", latencia.getQuantidade());
+            valores.put(prefixo + ".latencia.mediaNanos", latencia.getMediaNanos());
+            valores.put(prefixo + ".latencia.p50Nanos", latencia.percentil(50));
+            valores.put(prefixo + ".latencia.p99Nanos", latencia.percentil(99));
+            valores.put(prefixo + ".latencia.p999Nanos", latencia.percentil(99.9));
+            valores.put(prefixo + ".latencia.maximoNanos", latencia.getMaximoNanos());
+        }
+        new TreeMap<>(medidores).forEach((nome, medidor) -> valores.put(nome, medidor.getAsLong()));
+        return new InstantaneoMetricas(System.currentTimeMillis(), Collections.unmodifiableMap(valores));
+    }
+
+    // --- JMX ---
+
+    /** Publica as métricas no MBeanServer da plataforma como {@code com.seuprojeto.biblioteca:type=Metricas,nome=<nome>}. */
+    public ObjectName registrarJmx(String nome) {
+        try {
+            ObjectName objeto = nomeJmx(nome);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new MBeanMetricas(this), objeto);
+            return objeto;
+        } catch (JMException e) {
+            throw new IllegalStateException("Falha ao registrar as métricas no JMX: " + e.getMessage(), e);
+        }
+    }
+
+    public void removerJmx(String nome) {
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objeto = nomeJmx(nome);
+            if (servidor.isRegistered(objeto)) {
+                servidor.unregisterMBean(objeto);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Falha ao remover as métricas do JMX: " + e.getMessage(), e);
+        }
+    }
+
+    private static ObjectName nomeJmx(String nome) throws JMException {
+        if (nome == null) {
+            throw new IllegalArgumentException("Nome não pode ser nulo.");
+        }
+        return new ObjectName("com.seuprojeto.biblioteca:type=Metricas,nome=" + ObjectName.quote(nome));
+    }
+}
@@ -0,0 +1,23 @@
+package com.seuprojeto.biblioteca.metricas;
+
+/**
+ * Operações da Biblioteca com contadores e histograma de latência próprios.
+ */
+public enum OperacaoMedida {
+    EMPRESTAR("emprestar"),
+    DEVOLVER("devolver"),
+    BUSCAR_LIVRO("buscarLivro"),
+    LISTAR_DISPONIVEIS("listarDisponiveis"),
+    LISTAR_EMPRESTADOS("listarEmprestados");
+
+    private final String chave;
+
+    OperacaoMedida(String chave) {
+        this.chave = chave;
+    }
+
+    /** Prefixo das métricas desta operação em {@link InstantaneoMetricas}. */
+    public String getChave() {
+        return chave;
+    }
+}
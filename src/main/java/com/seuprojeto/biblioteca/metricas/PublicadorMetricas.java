@@ -0,0 +1,61 @@
+package com.seuprojeto.biblioteca.metricas;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Envia um instantâneo das métricas a um {@link ExportadorMetricas} a cada período, numa thread daemon.
+ * {@link #close()} para a publicação e exporta uma última vez.
+ */
+public final class PublicadorMetricas implements AutoCloseable {
+
+    private final MetricasBiblioteca metricas;
+    private final ExportadorMetricas exportador;
+    private final ScheduledExecutorService agendador;
+    private volatile Exception ultimaFalha;
+
+    public PublicadorMetricas(MetricasBiblioteca metricas, ExportadorMetricas exportador, long periodo, TimeUnit unidade) {
+        if (metricas == null || exportador == null || unidade == null) {
+            throw new IllegalArgumentException("Métricas, exportador e unidade não podem ser nulos.");
+        }
+        if (periodo <= 0) {
+            throw new IllegalArgumentException("Período deve ser positivo.");
+        }
+        this.metricas = metricas;
+        this.exportador = exportador;
+        this.agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "publicador-metricas");
+            thread.setDaemon(true);
+            return thread;
+        });
+        agendador.scheduleAtFixedRate(this::publicar, periodo, periodo, unidade);
+    }
+
+    private void publicar() {
+        try {
+            exportador.exportar(metricas.instantaneo());
+        } catch (Exception e) {
+            ultimaFalha = e;
+        }
+    }
+
+    /** Última exceção lançada pelo exportador, ou null. */
+    public Exception getUltimaFalha() {
+        return ultimaFalha;
+    }
+
+    @Override
+    public void close() {
+        if (agendador.isShutdown()) {
+            return;
+        }
+        agendador.shutdown();
+        try {
+            agendador.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        publicar();
+    }
+}
@@ -10,11 +10,11 @@ public class Livro {
     private String titulo;
     private String autor;
     private int anoPublicacao;
-    private boolean disponivel;
+    private volatile boolean disponivel; // lido sem trava pelas listagens
 
     public Livro(String id, String titulo, String autor, int anoPublicacao) {
         if (id == null || id.trim().isEmpty() || titulo == null || titulo.trim().isEmpty() || autor == null || autor.trim().isEmpty() || anoPublicacao <= 0) {
-            throw new IllegalArgumentException("Dados de Livro invlidos no construtor.");
+            throw new IllegalArgumentException("Dados de Livro inválidos no construtor.");
         }
         this.id = id;
         this.titulo = titulo;
@@ -23,14 +23,14 @@ public class Livro {
         this.disponivel = true; 
     }
 
-    // --- GETTERS (MTODO getId() ADICIONADO/VERIFICADO AQUI) ---
-    public String getId() { return id; } // <-- ESTA LINHA  A SOLUO
+    // --- GETTERS (MÉTODO getId() ADICIONADO/VERIFICADO AQUI) ---
+    public String getId() { return id; } // <-- ESTA LINHA É A SOLUÇÃO
     public String getTitulo() { return titulo; }
     public String getAutor() { return autor; }
     public int getAnoPublicacao() { return anoPublicacao; }
     public boolean isDisponivel() { return disponivel; }
 
-    // Mtodos de Ao
+    // Métodos de Ação
     public void marcarComoEmprestado() {
         this.disponivel = false;
     }
@@ -43,7 +43,8 @@ public class Livro {
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        // instanceof (e não getClass) para que as vistas do catálogo colunar sejam iguais ao livro original
+        if (!(o instanceof Livro)) return false;
         Livro livro = (Livro) o;
         return Objects.equals(id, livro.id);
     }
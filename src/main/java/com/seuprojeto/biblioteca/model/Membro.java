@@ -1,52 +1,65 @@
 package com.seuprojeto.biblioteca.model;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 
 public class Membro {
     private final String id;
     private String nome;
-    private final List<Livro> livrosEmprestados;
+    // Conjunto com ordem de inserção: contains/add/remove em O(1), qualquer que seja o número de empréstimos
+    private final Set<Livro> livrosEmprestados;
+    private final List<Livro> visaoEmprestados;
 
     public Membro(String id, String nome) {
         if (id == null || id.trim().isEmpty() || nome == null || nome.trim().isEmpty()) {
-            throw new IllegalArgumentException("Dados de Membro invlidos no construtor.");
+            throw new IllegalArgumentException("Dados de Membro inválidos no construtor.");
         }
         this.id = id;
         this.nome = nome;
-        this.livrosEmprestados = new ArrayList<>();
+        this.livrosEmprestados = new LinkedHashSet<>();
+        this.visaoEmprestados = new VisaoEmprestados(livrosEmprestados);
     }
 
     // Getters
     public String getId() { return id; }
     public String getNome() { return nome; }
 
+    // Visão somente leitura, criada uma vez (sem cópia nem alocação por chamada), na ordem dos empréstimos
     public List<Livro> getLivrosEmprestados() {
-        return Collections.unmodifiableList(livrosEmprestados);
+        return visaoEmprestados;
     }
 
-    // Mtodos de Ao
+    public int quantidadeEmprestados() {
+        return livrosEmprestados.size();
+    }
+
+    public boolean possuiLivro(Livro livro) {
+        return livrosEmprestados.contains(livro);
+    }
+
+    // Métodos de Ação
     public void emprestarLivro(Livro livro) {
         if (livro == null) {
-            throw new IllegalArgumentException("O livro no pode ser nulo.");
+            throw new IllegalArgumentException("O livro não pode ser nulo.");
         }
-        if (livrosEmprestados.contains(livro)) {
-            throw new IllegalArgumentException("O livro com ID " + livro.getId() + " j est emprestado a este membro.");
+        if (!livrosEmprestados.add(livro)) {
+            throw new IllegalArgumentException("O livro com ID " + livro.getId() + " já está emprestado a este membro.");
         }
-        livrosEmprestados.add(livro);
     }
 
     public void devolverLivro(Livro livro) {
         if (livro == null) {
-            throw new IllegalArgumentException("O livro no pode ser nulo.");
+            throw new IllegalArgumentException("O livro não pode ser nulo.");
         }
-        if (!livrosEmprestados.contains(livro)) {
-            throw new IllegalArgumentException("O livro com ID " + livro.getId() + " no est na lista de livros emprestados deste membro.");
+        if (!livrosEmprestados.remove(livro)) {
+            throw new IllegalArgumentException("O livro com ID " + livro.getId() + " não está na lista de livros emprestados deste membro.");
         }
-        livrosEmprestados.remove(livro);
     }
 
     // equals e hashCode
@@ -62,4 +75,70 @@ public class Membro {
     public int hashCode() {
         return Objects.hash(id);
     }
+
+    // Lista sobre o conjunto: contains/size/isEmpty e iteração custam o mesmo que no conjunto;
+    // get(i) percorre os i primeiros (use a iteração para acesso sequencial)
+    private static final class VisaoEmprestados extends AbstractList<Livro> {
+        private final Set<Livro> livros;
+
+        VisaoEmprestados(Set<Livro> livros) {
+            this.livros = Collections.unmodifiableSet(livros);
+        }
+
+        @Override
+        public Livro get(int indice) {
+            if (indice < 0 || indice >= livros.size()) {
+                throw new IndexOutOfBoundsException("Índice " + indice + " fora da lista de tamanho " + livros.size());
+            }
+            Iterator<Livro> cursor = livros.iterator();
+            for (int i = 0; i < indice; i++) {
+                cursor.next();
+            }
+            return cursor.next();
+        }
+
+        @Override
+        public int size() {
+            return livros.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return livros.isEmpty();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return livros.contains(o);
+        }
+
+        @Override
+        public Iterator<Livro> iterator() {
+            return livros.iterator();
+        }
+
+        @Override
+        public void clear() {
+            throw new UnsupportedOperationException();
+        }
+
+        // A implementação de AbstractList compara por índice (get), quadrático aqui
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) return true;
+            if (!(o instanceof List)) return false;
+            List<?> outra = (List<?>) o;
+            if (outra.size() != size()) return false;
+            Iterator<?> cursorOutra = outra.iterator();
+            for (Livro livro : livros) {
+                if (!Objects.equals(livro, cursorOutra.next())) return false;
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return super.hashCode(); // por iteração, já compatível com equals
+        }
+    }
 }
@@ -0,0 +1,379 @@
+package com.seuprojeto.biblioteca.persistencia;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.service.OuvinteBiblioteca;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Diário (write-ahead log) das mutações da Biblioteca, em segmentos {@code diario-N.log}.
+ *
+ * Cada registro é {@code [int tamanho][int crc32][byte tipo][campos]}. As threads da Biblioteca só copiam o
+ * registro para um buffer em memória; uma única thread grava o buffer no segmento atual e faz o fsync,
+ * alternando entre dois buffers para que os produtores não esperem a escrita (group commit).
+ * No modo {@link ModoDurabilidade#POR_OPERACAO} o produtor aguarda o fsync do lote que contém o seu registro,
+ * mas só em {@link #operacaoConcluida()}, depois que a Biblioteca soltou as travas: enquanto ele espera, outras
+ * threads seguem operando e entram no mesmo fsync. Dentro de uma operação em lote a espera é adiada para o fim
+ * do lote (um único fsync).
+ *
+ * Uma falha de escrita é definitiva: o diário passa a recusar as mutações seguintes em
+ * {@link #antesDaMutacao()}, antes que alterem a Biblioteca. As mutações que já estavam em andamento ficam em
+ * memória e a falha chega a quem as fez, em {@link #operacaoConcluida()}.
+ */
+public class Diario implements OuvinteBiblioteca, Closeable {
+
+    private static final int CABECALHO = 8;
+
+    private final Path diretorio;
+    private final ModoDurabilidade modo;
+    private final long intervaloMillis;
+    private final Object trava = new Object();
+    private final CRC32 crc = new CRC32();
+    private final Thread descarregador;
+    // Por thread: {profundidade de lotes abertos, maior sequência a aguardar, registros perdidos}
+    private final ThreadLocal<long[]> pendentesDaThread = ThreadLocal.withInitial(() -> new long[3]);
+
+    // Protegidos por trava
+    private ByteBuffer atual = ByteBuffer.allocate(1 << 20);
+    private ByteBuffer reserva = ByteBuffer.allocate(1 << 20);
+    private long anexados;
+    private long duraveis;
+    private long segmento;
+    private boolean rotacaoSolicitada;
+    private boolean descargaSolicitada;
+    private boolean ocioso;
+    // Escritos sob trava; voláteis para a verificação sem trava de antesDaMutacao
+    private volatile boolean fechado;
+    private volatile IOException falha;
+
+    // Só acessado pela thread descarregadora
+    private FileChannel canal;
+
+    public Diario(Path diretorio, long primeiroSegmento, ModoDurabilidade modo, long intervaloMillis) throws IOException {
+        this.diretorio = diretorio;
+        this.modo = modo;
+        this.intervaloMillis = intervaloMillis;
+        this.segmento = primeiroSegmento;
+        this.canal = abrirSegmento(primeiroSegmento);
+        this.descarregador = new Thread(this::descarregarContinuamente, "diario-biblioteca");
+        this.descarregador.setDaemon(true);
+        this.descarregador.start();
+    }
+
+    static Path arquivoDoSegmento(Path diretorio, long segmento) {
+        return diretorio.resolve(String.format("diario-%020d.log", segmento));
+    }
+
+    private FileChannel abrirSegmento(long numero) throws IOException {
+        return FileChannel.open(arquivoDoSegmento(diretorio, numero),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    // --- OuvinteBiblioteca ---
+    @Override
+    public void livroAdicionado(Livro livro) {
+        pendente(anexar(TipoRegistro.LIVRO_ADICIONADO, livro.getId(), livro.getTitulo(), livro.getAutor(),
+                livro.getAnoPublicacao()));
+    }
+
+    @Override
+    public void livroRemovido(Livro livro) {
+        pendente(anexar(TipoRegistro.LIVRO_REMOVIDO, livro.getId(), null, null, -1));
+    }
+
+    @Override
+    public void membroRegistrado(Membro membro) {
+        pendente(anexar(TipoRegistro.MEMBRO_REGISTRADO, membro.getId(), membro.getNome(), null, -1));
+    }
+
+    @Override
+    public void membroRemovido(Membro membro) {
+        pendente(anexar(TipoRegistro.MEMBRO_REMOVIDO, membro.getId(), null, null, -1));
+    }
+
+    @Override
+    public void livroEmprestado(Livro livro, Membro membro) {
+        pendente(anexar(TipoRegistro.LIVRO_EMPRESTADO, livro.getId(), membro.getId(), null, -1));
+    }
+
+    @Override
+    public void livroDevolvido(Livro livro, Membro membro) {
+        pendente(anexar(TipoRegistro.LIVRO_DEVOLVIDO, livro.getId(), membro.getId(), null, -1));
+    }
+
+    @Override
+    public void antesDaMutacao() {
+        verificarEstado();
+    }
+
+    @Override
+    public void operacaoConcluida() {
+        long[] pendentes = pendentesDaThread.get();
+        if (pendentes[0] == 0) {
+            concluir(pendentes);
+        }
+    }
+
+    @Override
+    public void loteIniciado() {
+        pendentesDaThread.get()[0]++;
+    }
+
+    @Override
+    public void loteConcluido() {
+        long[] pendentes = pendentesDaThread.get();
+        if (--pendentes[0] == 0) {
+            concluir(pendentes);
+        }
+    }
+
+    // Fora das travas da Biblioteca
+    private void concluir(long[] pendentes) {
+        long sequencia = pendentes[1];
+        long perdidos = pendentes[2];
+        pendentes[1] = 0;
+        pendentes[2] = 0;
+        if (perdidos > 0) {
+            IOException causa = falha;
+            String mensagem = "Mutações aplicadas em memória ficaram fora do diário (" + perdidos + ")";
+            if (causa != null) {
+                throw new UncheckedIOException(mensagem + ": falha ao gravar o diário.", causa);
+            }
+            throw new IllegalStateException(mensagem + ": diário fechado.");
+        }
+        if (sequencia > 0) {
+            aguardarDuravel(sequencia);
+        }
+    }
+
+    // Dentro das travas da Biblioteca: só anota o que concluir() vai aguardar ou relatar
+    private void pendente(long sequencia) {
+        if (sequencia < 0) {
+            pendentesDaThread.get()[2]++;
+        } else if (modo == ModoDurabilidade.POR_OPERACAO) {
+            pendentesDaThread.get()[1] = sequencia;
+        }
+    }
+
+    // Só copia o registro para o buffer e devolve a sequência dele, sem esperar nem lançar exceção (roda dentro
+    // das travas da Biblioteca); -1 se o diário já falhou ou foi fechado e o registro não pôde entrar.
+    // Campos nulos / negativos não são gravados; o tipo determina quais campos existem
+    private long anexar(TipoRegistro tipo, String texto1, String texto2, String texto3, int numero) {
+        int maximo = CABECALHO + 1 + FormatoBinario.tamanhoMaximo(texto1)
+                + (texto2 == null ? 0 : FormatoBinario.tamanhoMaximo(texto2))
+                + (texto3 == null ? 0 : FormatoBinario.tamanhoMaximo(texto3)) + 5;
+        long sequencia;
+        synchronized (trava) {
+            if (falha != null || fechado) {
+                return -1;
+            }
+            garantirEspaco(maximo);
+            int inicio = atual.position();
+            atual.position(inicio + CABECALHO);
+            atual.put(tipo.codigo);
+            FormatoBinario.escreverTexto(atual, texto1);
+            if (texto2 != null) {
+                FormatoBinario.escreverTexto(atual, texto2);
+            }
+            if (texto3 != null) {
+                FormatoBinario.escreverTexto(atual, texto3);
+            }
+            if (numero >= 0) {
+                FormatoBinario.escreverVarint(atual, numero);
+            }
+            int tamanho = atual.position() - inicio - CABECALHO;
+            crc.reset();
+            crc.update(atual.array(), inicio + CABECALHO, tamanho);
+            atual.putInt(inicio, tamanho);
+            atual.putInt(inicio + 4, (int) crc.getValue());
+            sequencia = ++anexados;
+            if (ocioso) {
+                trava.notifyAll();
+            }
+        }
+        return sequencia;
+    }
+
+    private void garantirEspaco(int maximo) {
+        if (atual.remaining() < maximo) {
+            ByteBuffer maior = ByteBuffer.allocate(Math.max(atual.capacity() * 2, atual.position() + maximo));
+            atual.flip();
+            maior.put(atual);
+            atual = maior;
+        }
+    }
+
+    private void verificarEstado() {
+        if (falha != null) {
+            throw new UncheckedIOException("Falha ao gravar o diário.", falha);
+        }
+        if (fechado) {
+            throw new IllegalStateException("Diário fechado.");
+        }
+    }
+
+    private void aguardarDuravel(long sequencia) {
+        synchronized (trava) {
+            while (duraveis < sequencia && falha == null) {
+                try {
+                    trava.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrompido aguardando o fsync do diário.", e);
+                }
+            }
+            if (duraveis < sequencia) {
+                throw new UncheckedIOException("Falha ao gravar o diário.", falha);
+            }
+        }
+    }
+
+    /** Bloqueia até que tudo o que foi anexado até agora esteja em disco. */
+    public void sincronizar() {
+        long sequencia;
+        synchronized (trava) {
+            sequencia = anexados;
+            descargaSolicitada = true;
+            trava.notifyAll();
+        }
+        aguardarDuravel(sequencia);
+    }
+
+    /**
+     * Fecha o segmento atual (com fsync) e passa a gravar no próximo. Tudo o que foi aplicado à Biblioteca
+     * antes desta chamada está nos segmentos anteriores ao número devolvido.
+     */
+    public long rotacionar() {
+        synchronized (trava) {
+            verificarEstado();
+            rotacaoSolicitada = true;
+            trava.notifyAll();
+            while (rotacaoSolicitada && falha == null) {
+                try {
+                    trava.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrompido aguardando a rotação do diário.", e);
+                }
+            }
+            verificarEstado();
+            return segmento;
+        }
+    }
+
+    public long getSegmentoAtual() {
+        synchronized (trava) {
+            return segmento;
+        }
+    }
+
+    private void descarregarContinuamente() {
+        while (true) {
+            ByteBuffer lote;
+            long ate;
+            boolean rotacionar;
+            boolean encerrar;
+            synchronized (trava) {
+                try {
+                    if (modo == ModoDurabilidade.PERIODICO) {
+                        if (!fechado && !rotacaoSolicitada && !descargaSolicitada) {
+                            trava.wait(intervaloMillis);
+                        }
+                    } else {
+                        while (atual.position() == 0 && !fechado && !rotacaoSolicitada) {
+                            ocioso = true;
+                            trava.wait();
+                        }
+                        ocioso = false;
+                    }
+                } catch (InterruptedException e) {
+                    // ninguém interrompe esta thread; ela só termina pelo close()
+                }
+                descargaSolicitada = false;
+                if (atual.position() == 0 && !fechado && !rotacaoSolicitada) {
+                    // Nada novo: tudo o que foi anexado já saiu em lotes anteriores
+                    duraveis = anexados;
+                    trava.notifyAll();
+                    continue;
+                }
+                lote = atual;
+                atual = reserva;
+                reserva = lote;
+                ate = anexados;
+                rotacionar = rotacaoSolicitada;
+                encerrar = fechado;
+            }
+
+            IOException erro = null;
+            try {
+                lote.flip();
+                while (lote.hasRemaining()) {
+                    canal.write(lote);
+                }
+                canal.force(false);
+                if (rotacionar || encerrar) {
+                    canal.close();
+                }
+                if (rotacionar && !encerrar) {
+                    canal = abrirSegmento(segmentoSeguinte());
+                }
+            } catch (IOException e) {
+                erro = e;
+            } finally {
+                lote.clear();
+            }
+
+            synchronized (trava) {
+                if (erro != null) {
+                    falha = erro;
+                } else {
+                    duraveis = ate;
+                    if (rotacionar && !encerrar) {
+                        segmento++;
+                    }
+                }
+                rotacaoSolicitada = false;
+                trava.notifyAll();
+                if (encerrar || falha != null) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private long segmentoSeguinte() {
+        synchronized (trava) {
+            return segmento + 1;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (trava) {
+            if (fechado) {
+                return;
+            }
+            fechado = true;
+            trava.notifyAll();
+        }
+        try {
+            descarregador.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (trava) {
+            if (falha != null) {
+                throw falha;
+            }
+        }
+    }
+}
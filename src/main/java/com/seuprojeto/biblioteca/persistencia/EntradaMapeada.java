@@ -0,0 +1,106 @@
+package com.seuprojeto.biblioteca.persistencia;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Leitura sequencial de um arquivo por janelas mapeadas em memória (arquivos maiores que 2 GB
+ * são percorridos remapeando a janela). Os dados são decodificados direto da página mapeada.
+ */
+final class EntradaMapeada implements Closeable {
+
+    private static final long JANELA = 256L << 20;
+
+    private final FileChannel canal;
+    private final long tamanho;
+    private MappedByteBuffer janela;
+    private long inicioJanela;
+
+    EntradaMapeada(Path arquivo) throws IOException {
+        this.canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+        this.tamanho = canal.size();
+        mapear(0, 0);
+    }
+
+    long tamanho() {
+        return tamanho;
+    }
+
+    long posicao() {
+        return inicioJanela + janela.position();
+    }
+
+    long restante() {
+        return tamanho - posicao();
+    }
+
+    /** Garante {@code n} bytes contíguos na janela a partir da posição atual e devolve a janela. */
+    ByteBuffer garantir(int n) throws IOException {
+        if (janela.remaining() < n) {
+            if (restante() < n) {
+                throw new EOFException("Fim inesperado do arquivo na posição " + posicao() + ".");
+            }
+            mapear(posicao(), n);
+        }
+        return janela;
+    }
+
+    void posicionar(long posicao) throws IOException {
+        if (posicao >= inicioJanela && posicao <= inicioJanela + janela.limit()) {
+            janela.position((int) (posicao - inicioJanela));
+        } else {
+            mapear(posicao, 0);
+        }
+    }
+
+    byte lerByte() throws IOException {
+        return garantir(1).get();
+    }
+
+    int lerInt() throws IOException {
+        return garantir(4).getInt();
+    }
+
+    int lerVarint() throws IOException {
+        return FormatoBinario.lerVarint(garantir((int) Math.min(5, restante())));
+    }
+
+    String lerTexto() throws IOException {
+        int tamanhoTexto = lerVarint();
+        byte[] bytes = new byte[tamanhoTexto];
+        garantir(tamanhoTexto).get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** CRC32 dos bytes em [posição atual, fim), percorrendo as janelas; a posição termina em {@code fim}. */
+    long crc32Ate(long fim) throws IOException {
+        CRC32 crc = new CRC32();
+        while (posicao() < fim) {
+            int pedaco = (int) Math.min(JANELA, fim - posicao());
+            ByteBuffer janelaAtual = garantir(pedaco);
+            int inicio = janelaAtual.position();
+            crc.update(janelaAtual.slice(inicio, pedaco));
+            janelaAtual.position(inicio + pedaco);
+        }
+        return crc.getValue();
+    }
+
+    private void mapear(long inicio, int minimo) throws IOException {
+        long tamanhoJanela = Math.min(Math.max(JANELA, minimo), tamanho - inicio);
+        janela = canal.map(FileChannel.MapMode.READ_ONLY, inicio, tamanhoJanela);
+        inicioJanela = inicio;
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+}
@@ -0,0 +1,51 @@
+package com.seuprojeto.biblioteca.persistencia;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Primitivas do formato binário usado no diário e nos snapshots:
+ * inteiros em varint (7 bits por byte) e textos como varint do tamanho seguido dos bytes UTF-8.
+ */
+final class FormatoBinario {
+
+    private FormatoBinario() {
+    }
+
+    static void escreverVarint(ByteBuffer destino, int valor) {
+        while ((valor & ~0x7F) != 0) {
+            destino.put((byte) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        destino.put((byte) valor);
+    }
+
+    static int lerVarint(ByteBuffer origem) {
+        int valor = 0;
+        for (int deslocamento = 0; deslocamento < 35; deslocamento += 7) {
+            byte b = origem.get();
+            valor |= (b & 0x7F) << deslocamento;
+            if (b >= 0) {
+                return valor;
+            }
+        }
+        throw new IllegalStateException("Varint corrompido.");
+    }
+
+    static void escreverTexto(ByteBuffer destino, String texto) {
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        escreverVarint(destino, bytes.length);
+        destino.put(bytes);
+    }
+
+    static String lerTexto(ByteBuffer origem) {
+        byte[] bytes = new byte[lerVarint(origem)];
+        origem.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Limite superior do espaço ocupado por escreverTexto (UTF-8 usa no máximo 3 bytes por char)
+    static int tamanhoMaximo(String texto) {
+        return 5 + texto.length() * 3;
+    }
+}
@@ -0,0 +1,17 @@
+package com.seuprojeto.biblioteca.persistencia;
+
+/**
+ * Quando uma mutação é considerada durável.
+ */
+public enum ModoDurabilidade {
+    /**
+     * A operação só retorna depois do fsync do lote que contém o seu registro (group commit):
+     * threads concorrentes compartilham o mesmo fsync.
+     */
+    POR_OPERACAO,
+    /**
+     * A operação retorna assim que o registro entra no buffer; o fsync acontece a cada intervalo.
+     * Uma queda pode perder as mutações do último intervalo.
+     */
+    PERIODICO
+}
@@ -0,0 +1,162 @@
+package com.seuprojeto.biblioteca.persistencia;
+
+import com.seuprojeto.biblioteca.service.Biblioteca;
+import com.seuprojeto.biblioteca.service.ModoCatalogo;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Persistência da Biblioteca em um diretório: diário de mutações + snapshots periódicos.
+ *
+ * {@link #abrir} recupera o estado (snapshot mais recente, mapeado em memória, e os segmentos do diário
+ * a partir dele; um registro final incompleto, de uma queda durante a escrita, é descartado) e passa a
+ * registrar no diário toda mutação da Biblioteca devolvida por {@link #getBiblioteca()}. O modo do catálogo
+ * não faz parte dos arquivos: a mesma pasta pode ser reaberta em {@link ModoCatalogo#OBJETOS} ou
+ * {@link ModoCatalogo#COLUNAR}.
+ * {@link #gerarSnapshot()} compacta: rotaciona o diário, grava o snapshot e apaga os segmentos cobertos por ele.
+ */
+public class Persistencia implements Closeable {
+
+    private static final long INTERVALO_PADRAO_MILLIS = 10;
+
+    private final Path diretorio;
+    private final Biblioteca biblioteca;
+    private final Diario diario;
+
+    private Persistencia(Path diretorio, Biblioteca biblioteca, Diario diario) {
+        this.diretorio = diretorio;
+        this.biblioteca = biblioteca;
+        this.diario = diario;
+    }
+
+    public static Persistencia abrir(Path diretorio, boolean concorrente, ModoDurabilidade modo) throws IOException {
+        return abrir(diretorio, concorrente, modo, INTERVALO_PADRAO_MILLIS);
+    }
+
+    public static Persistencia abrir(Path diretorio, boolean concorrente, ModoDurabilidade modo,
+                                     long intervaloMillis) throws IOException {
+        return abrir(diretorio, concorrente, ModoCatalogo.OBJETOS, modo, intervaloMillis);
+    }
+
+    public static Persistencia abrir(Path diretorio, boolean concorrente, ModoCatalogo modoCatalogo,
+                                     ModoDurabilidade modo) throws IOException {
+        return abrir(diretorio, concorrente, modoCatalogo, modo, INTERVALO_PADRAO_MILLIS);
+    }
+
+    public static Persistencia abrir(Path diretorio, boolean concorrente, ModoCatalogo modoCatalogo,
+                                     ModoDurabilidade modo, long intervaloMillis) throws IOException {
+        Files.createDirectories(diretorio);
+        Biblioteca biblioteca = new Biblioteca(concorrente, modoCatalogo);
+        Reaplicador reaplicador = new Reaplicador(biblioteca);
+
+        long primeiroSegmento = 0;
+        List<Long> snapshots = numerados(diretorio, "snapshot-", ".bin");
+        if (!snapshots.isEmpty()) {
+            long ultimo = snapshots.get(snapshots.size() - 1);
+            primeiroSegmento = Snapshot.carregar(Snapshot.arquivo(diretorio, ultimo), reaplicador);
+        }
+
+        long proximoSegmento = primeiroSegmento;
+        List<Long> segmentos = numerados(diretorio, "diario-", ".log");
+        for (int i = 0; i < segmentos.size(); i++) {
+            long segmento = segmentos.get(i);
+            if (segmento < primeiroSegmento) {
+                continue;
+            }
+            Path arquivo = Diario.arquivoDoSegmento(diretorio, segmento);
+            long valido = reaplicarSegmento(arquivo, reaplicador);
+            if (valido < Files.size(arquivo)) {
+                if (i != segmentos.size() - 1) {
+                    throw new IllegalStateException("Segmento do diário corrompido: " + arquivo);
+                }
+                try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+                    canal.truncate(valido);
+                }
+            }
+            proximoSegmento = segmento + 1;
+        }
+
+        Diario diario = new Diario(diretorio, proximoSegmento, modo, intervaloMillis);
+        biblioteca.adicionarOuvinte(diario);
+        return new Persistencia(diretorio, biblioteca, diario);
+    }
+
+    // Devolve o tamanho do prefixo válido do segmento
+    private static long reaplicarSegmento(Path arquivo, Reaplicador reaplicador) throws IOException {
+        CRC32 crc = new CRC32();
+        try (EntradaMapeada entrada = new EntradaMapeada(arquivo)) {
+            long valido = 0;
+            while (entrada.restante() >= 8) {
+                ByteBuffer cabecalho = entrada.garantir(8);
+                int tamanho = cabecalho.getInt();
+                int crcGravado = cabecalho.getInt();
+                if (tamanho <= 0 || tamanho > entrada.restante()) {
+                    break;
+                }
+                ByteBuffer janela = entrada.garantir(tamanho);
+                ByteBuffer registro = janela.slice(janela.position(), tamanho);
+                crc.reset();
+                crc.update(registro.duplicate());
+                if ((int) crc.getValue() != crcGravado) {
+                    break;
+                }
+                janela.position(janela.position() + tamanho);
+                reaplicador.aplicar(registro);
+                valido = entrada.posicao();
+            }
+            return valido;
+        }
+    }
+
+    private static List<Long> numerados(Path diretorio, String prefixo, String sufixo) throws IOException {
+        List<Long> numeros = new ArrayList<>();
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            arquivos.map(p -> p.getFileName().toString())
+                    .filter(nome -> nome.startsWith(prefixo) && nome.endsWith(sufixo))
+                    .forEach(nome -> numeros.add(Long.parseLong(nome.substring(prefixo.length(), nome.length() - sufixo.length()))));
+        }
+        Collections.sort(numeros);
+        return numeros;
+    }
+
+    public Biblioteca getBiblioteca() {
+        return biblioteca;
+    }
+
+    public Diario getDiario() {
+        return diario;
+    }
+
+    /** Gera um snapshot sem parar a Biblioteca e apaga os segmentos e snapshots que ele torna desnecessários. */
+    public synchronized void gerarSnapshot() throws IOException {
+        long segmento = diario.rotacionar();
+        Snapshot.gravar(biblioteca, diretorio, segmento);
+        for (long antigo : numerados(diretorio, "snapshot-", ".bin")) {
+            if (antigo < segmento) {
+                Files.deleteIfExists(Snapshot.arquivo(diretorio, antigo));
+            }
+        }
+        for (long antigo : numerados(diretorio, "diario-", ".log")) {
+            if (antigo < segmento) {
+                Files.deleteIfExists(Diario.arquivoDoSegmento(diretorio, antigo));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        biblioteca.removerOuvinte(diario);
+        diario.close();
+    }
+}
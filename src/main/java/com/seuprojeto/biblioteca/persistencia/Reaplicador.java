@@ -0,0 +1,121 @@
+package com.seuprojeto.biblioteca.persistencia;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.service.Biblioteca;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aplica snapshot e registros do diário a uma Biblioteca em recuperação.
+ *
+ * Toda aplicação é idempotente e "define estado" (o livro X passa a estar com o membro Y, o livro Z deixa de
+ * existir...), porque o snapshot é tirado sem parar a Biblioteca: ele pode já conter parte dos efeitos do
+ * primeiro segmento reaplicado. Reaplicar o segmento inteiro por cima leva ao mesmo estado final.
+ */
+final class Reaplicador {
+
+    private final Biblioteca biblioteca;
+    private final Map<String, String> portadorPorLivro = new HashMap<>();
+
+    Reaplicador(Biblioteca biblioteca) {
+        this.biblioteca = biblioteca;
+    }
+
+    void aplicar(ByteBuffer registro) {
+        TipoRegistro tipo = TipoRegistro.doCodigo(registro.get());
+        String id = FormatoBinario.lerTexto(registro);
+        switch (tipo) {
+            case LIVRO_ADICIONADO:
+                String titulo = FormatoBinario.lerTexto(registro);
+                String autor = FormatoBinario.lerTexto(registro);
+                livroAdicionado(id, titulo, autor, FormatoBinario.lerVarint(registro));
+                break;
+            case LIVRO_REMOVIDO:
+                livroRemovido(id);
+                break;
+            case MEMBRO_REGISTRADO:
+                membroRegistrado(id, FormatoBinario.lerTexto(registro));
+                break;
+            case MEMBRO_REMOVIDO:
+                membroRemovido(id);
+                break;
+            case LIVRO_EMPRESTADO:
+                livroEmprestado(id, FormatoBinario.lerTexto(registro));
+                break;
+            case LIVRO_DEVOLVIDO:
+                livroDevolvido(id, FormatoBinario.lerTexto(registro));
+                break;
+            default:
+                throw new IllegalStateException("Tipo de registro não tratado: " + tipo);
+        }
+    }
+
+    void livroAdicionado(String id, String titulo, String autor, int ano) {
+        if (biblioteca.buscarLivroPorId(id) == null) {
+            biblioteca.adicionarLivro(new Livro(id, titulo, autor, ano));
+        }
+    }
+
+    // Carga do snapshot: o lote inteiro entra de uma vez; IDs já presentes ficam como estão
+    void livrosAdicionados(List<Livro> livros) {
+        biblioteca.adicionarLivros(livros);
+    }
+
+    void livroRemovido(String id) {
+        if (biblioteca.buscarLivroPorId(id) != null) {
+            liberar(id);
+            biblioteca.removerLivro(id);
+        }
+    }
+
+    void membroRegistrado(String id, String nome) {
+        if (biblioteca.buscarMembroPorId(id) == null) {
+            biblioteca.registrarMembro(new Membro(id, nome));
+        }
+    }
+
+    void membroRemovido(String id) {
+        Membro membro = biblioteca.buscarMembroPorId(id);
+        if (membro != null) {
+            for (Livro livro : List.copyOf(membro.getLivrosEmprestados())) {
+                devolver(livro.getId(), id);
+            }
+            biblioteca.removerMembro(id);
+        }
+    }
+
+    void livroEmprestado(String idLivro, String idMembro) {
+        String portador = portadorPorLivro.get(idLivro);
+        if (idMembro.equals(portador)) {
+            return;
+        }
+        if (biblioteca.buscarLivroPorId(idLivro) == null || biblioteca.buscarMembroPorId(idMembro) == null) {
+            return; // o próprio diário ainda vai adicionar/registrar e emprestar de novo
+        }
+        liberar(idLivro);
+        biblioteca.emprestarLivro(idLivro, idMembro);
+        portadorPorLivro.put(idLivro, idMembro);
+    }
+
+    void livroDevolvido(String idLivro, String idMembro) {
+        if (idMembro.equals(portadorPorLivro.get(idLivro))) {
+            devolver(idLivro, idMembro);
+        }
+    }
+
+    private void liberar(String idLivro) {
+        String portador = portadorPorLivro.get(idLivro);
+        if (portador != null) {
+            devolver(idLivro, portador);
+        }
+    }
+
+    private void devolver(String idLivro, String idMembro) {
+        biblioteca.devolverLivro(idLivro, idMembro);
+        portadorPorLivro.remove(idLivro);
+    }
+}
@@ -0,0 +1,60 @@
+package com.seuprojeto.biblioteca.persistencia;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Escrita sequencial bufferizada em um arquivo novo, acumulando o CRC32 de tudo o que foi escrito.
+ */
+final class SaidaBinaria implements Closeable {
+
+    private final FileChannel canal;
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+
+    SaidaBinaria(Path arquivo) throws IOException {
+        this.canal = FileChannel.open(arquivo,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    /** Garante {@code n} bytes livres no buffer e o devolve para escrita. */
+    ByteBuffer garantir(int n) throws IOException {
+        if (buffer.remaining() < n) {
+            descarregar();
+            if (buffer.capacity() < n) {
+                buffer = ByteBuffer.allocateDirect(n);
+            }
+        }
+        return buffer;
+    }
+
+    void descarregar() throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    long crc() {
+        return crc.getValue();
+    }
+
+    /** Descarrega o buffer e faz fsync dos dados. */
+    void sincronizar() throws IOException {
+        descarregar();
+        canal.force(true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        descarregar();
+        canal.close();
+    }
+}
@@ -0,0 +1,162 @@
+package com.seuprojeto.biblioteca.persistencia;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.service.Biblioteca;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Snapshot binário do estado da Biblioteca, {@code snapshot-N.bin}, onde N é o primeiro segmento do diário
+ * que ainda precisa ser reaplicado por cima dele.
+ *
+ * <pre>
+ * [int "BIBS"][int versão][long segmento]
+ * ( [byte 1][id][título][autor][varint ano]
+ * | [byte 2][id][nome][varint n][n ids de livros emprestados] )*
+ * [byte 0][int crc32 de tudo o que veio antes][int "BIBS"]
+ * </pre>
+ */
+final class Snapshot {
+
+    static final int MAGIA = 0x42494253;
+    static final int VERSAO = 1;
+
+    private static final byte LIVRO = 1;
+    private static final byte MEMBRO = 2;
+    private static final byte FIM = 0;
+    // Livros do snapshot entram na Biblioteca em lotes deste tamanho
+    private static final int LOTE_CARGA = 8192;
+
+    private Snapshot() {
+    }
+
+    static Path arquivo(Path diretorio, long segmento) {
+        return diretorio.resolve(String.format("snapshot-%020d.bin", segmento));
+    }
+
+    /**
+     * Grava em um arquivo temporário, faz fsync e só então o renomeia atomicamente para o nome final; depois,
+     * o fsync da pasta torna a renomeação durável.
+     */
+    static void gravar(Biblioteca biblioteca, Path diretorio, long segmento) throws IOException {
+        Path destino = arquivo(diretorio, segmento);
+        Path temporario = destino.resolveSibling(destino.getFileName() + ".tmp");
+        try (SaidaBinaria saida = new SaidaBinaria(temporario)) {
+            saida.garantir(16).putInt(MAGIA).putInt(VERSAO).putLong(segmento);
+
+            for (Livro livro : biblioteca.getCatalogoLivros()) {
+                ByteBuffer buffer = saida.garantir(1 + FormatoBinario.tamanhoMaximo(livro.getId())
+                        + FormatoBinario.tamanhoMaximo(livro.getTitulo())
+                        + FormatoBinario.tamanhoMaximo(livro.getAutor()) + 5);
+                buffer.put(LIVRO);
+                FormatoBinario.escreverTexto(buffer, livro.getId());
+                FormatoBinario.escreverTexto(buffer, livro.getTitulo());
+                FormatoBinario.escreverTexto(buffer, livro.getAutor());
+                FormatoBinario.escreverVarint(buffer, livro.getAnoPublicacao());
+            }
+
+            for (Membro membro : biblioteca.getListaMembros()) {
+                List<Livro> emprestados;
+                try {
+                    emprestados = biblioteca.listarLivrosEmprestadosPorMembro(membro.getId());
+                } catch (IllegalArgumentException removidoDuranteOSnapshot) {
+                    continue;
+                }
+                ByteBuffer buffer = saida.garantir(1 + FormatoBinario.tamanhoMaximo(membro.getId())
+                        + FormatoBinario.tamanhoMaximo(membro.getNome()) + 5);
+                buffer.put(MEMBRO);
+                FormatoBinario.escreverTexto(buffer, membro.getId());
+                FormatoBinario.escreverTexto(buffer, membro.getNome());
+                FormatoBinario.escreverVarint(buffer, emprestados.size());
+                for (Livro livro : emprestados) {
+                    FormatoBinario.escreverTexto(saida.garantir(FormatoBinario.tamanhoMaximo(livro.getId())), livro.getId());
+                }
+            }
+
+            saida.garantir(1).put(FIM);
+            saida.descarregar();
+            saida.garantir(8).putInt((int) saida.crc()).putInt(MAGIA);
+            saida.sincronizar();
+        }
+        Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE);
+        sincronizarDiretorio(diretorio);
+    }
+
+    static void sincronizarDiretorio(Path diretorio) throws IOException {
+        try (FileChannel canal = FileChannel.open(diretorio, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (AccessDeniedException semSuporte) {
+            // Windows não abre pastas como arquivos; lá a renomeação já é durável
+        }
+    }
+
+    /**
+     * Carrega o snapshot mapeando o arquivo em memória; devolve o segmento a partir do qual reaplicar o diário.
+     * Os livros entram em lotes ({@link Biblioteca#adicionarLivros}), com o catálogo reservado de uma vez por
+     * lote e sem montar índices: eles são montados de uma vez na primeira busca.
+     */
+    static long carregar(Path arquivo, Reaplicador reaplicador) throws IOException {
+        try (EntradaMapeada entrada = new EntradaMapeada(arquivo)) {
+            if (entrada.tamanho() < 25) {
+                throw new IllegalStateException("Snapshot truncado: " + arquivo);
+            }
+            long fimDosDados = entrada.tamanho() - 8;
+            long crcCalculado = entrada.crc32Ate(fimDosDados);
+            int crcGravado = entrada.lerInt();
+            if (entrada.lerInt() != MAGIA || crcGravado != (int) crcCalculado) {
+                throw new IllegalStateException("Snapshot corrompido: " + arquivo);
+            }
+
+            entrada.posicionar(0);
+            if (entrada.lerInt() != MAGIA) {
+                throw new IllegalStateException("Arquivo não é um snapshot da biblioteca: " + arquivo);
+            }
+            int versao = entrada.lerInt();
+            if (versao != VERSAO) {
+                throw new IllegalStateException("Versão de snapshot não suportada: " + versao);
+            }
+            long segmento = entrada.garantir(8).getLong();
+
+            // Todos os livros vêm antes dos membros
+            List<Livro> lote = new ArrayList<>(LOTE_CARGA);
+            for (byte marca = entrada.lerByte(); marca != FIM; marca = entrada.lerByte()) {
+                if (marca == LIVRO) {
+                    String id = entrada.lerTexto();
+                    String titulo = entrada.lerTexto();
+                    String autor = entrada.lerTexto();
+                    lote.add(new Livro(id, titulo, autor, entrada.lerVarint()));
+                    if (lote.size() == LOTE_CARGA) {
+                        reaplicador.livrosAdicionados(lote);
+                        lote.clear();
+                    }
+                } else if (marca == MEMBRO) {
+                    if (!lote.isEmpty()) {
+                        reaplicador.livrosAdicionados(lote);
+                        lote.clear();
+                    }
+                    String id = entrada.lerTexto();
+                    reaplicador.membroRegistrado(id, entrada.lerTexto());
+                    for (int n = entrada.lerVarint(); n > 0; n--) {
+                        reaplicador.livroEmprestado(entrada.lerTexto(), id);
+                    }
+                } else {
+                    throw new IllegalStateException("Marca inválida no snapshot: " + marca);
+                }
+            }
+            if (!lote.isEmpty()) {
+                reaplicador.livrosAdicionados(lote);
+            }
+            return segmento;
+        }
+    }
+}
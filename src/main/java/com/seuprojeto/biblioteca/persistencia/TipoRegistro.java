@@ -0,0 +1,34 @@
+package com.seuprojeto.biblioteca.persistencia;
+
+/**
+ * Tipos de registro do diário. O código é o primeiro byte do registro e não pode mudar entre versões.
+ */
+enum TipoRegistro {
+    LIVRO_ADICIONADO(1),
+    LIVRO_REMOVIDO(2),
+    MEMBRO_REGISTRADO(3),
+    MEMBRO_REMOVIDO(4),
+    LIVRO_EMPRESTADO(5),
+    LIVRO_DEVOLVIDO(6);
+
+    private static final TipoRegistro[] POR_CODIGO = new TipoRegistro[7];
+
+    static {
+        for (TipoRegistro tipo : values()) {
+            POR_CODIGO[tipo.codigo] = tipo;
+        }
+    }
+
+    final byte codigo;
+
+    TipoRegistro(int codigo) {
+        this.codigo = (byte) codigo;
+    }
+
+    static TipoRegistro doCodigo(byte codigo) {
+        if (codigo <= 0 || codigo >= POR_CODIGO.length) {
+            throw new IllegalStateException("Tipo de registro desconhecido: " + codigo);
+        }
+        return POR_CODIGO[codigo];
+    }
+}
@@ -0,0 +1,300 @@
+package com.seuprojeto.biblioteca.repositorio;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * Registros por ID em um único arquivo só de acréscimo, com o índice (ID → posição no arquivo) em memória.
+ *
+ * <pre>
+ * [int "BIBR"][int versão]
+ * ( [int tamanho do corpo][int crc32 do corpo][corpo: byte tipo (1 salvo, 0 removido), id, dados] )*
+ * </pre>
+ *
+ * Cada leitura por ID é uma leitura posicional no arquivo (várias ao mesmo tempo, sem trava exclusiva);
+ * cada escrita acrescenta um registro no fim. Ao abrir, o arquivo é percorrido para montar o índice e um
+ * registro final incompleto, de uma queda durante a escrita, é descartado. Quando os registros substituídos
+ * ou removidos passam a ocupar mais que os vivos, o arquivo é reescrito só com os vivos.
+ * Sem {@link #sincronizar()}, as escritas ficam no cache de páginas do sistema operacional.
+ */
+final class ArquivoRegistros<T> implements Closeable {
+
+    /** Formato de um tipo de registro; o ID é gravado pelo arquivo, antes dos dados. */
+    interface Codificador<T> {
+        String id(T valor);
+
+        int tamanhoMaximo(T valor);
+
+        void escrever(T valor, ByteBuffer destino);
+
+        T ler(String id, ByteBuffer origem);
+    }
+
+    static final int MAGIA = 0x42494252;
+    static final int VERSAO = 1;
+
+    private static final int CABECALHO = 8;
+    private static final byte SALVO = 1;
+    private static final byte REMOVIDO = 0;
+    private static final long COMPACTAR_A_PARTIR_DE = 1L << 20;
+
+    private final Path arquivo;
+    private final Codificador<T> codificador;
+    // Posição e tamanho de cada registro vivo, juntos em um long: (início << 24) | tamanho
+    private final Map<String, Long> indice = new ConcurrentHashMap<>();
+    // Leitura: buscas; escrita: acréscimos e compactação (que troca o canal)
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+    private FileChannel canal;
+    private long fim;
+    private long bytesVivos;
+
+    ArquivoRegistros(Path arquivo, Codificador<T> codificador) throws IOException {
+        this.arquivo = arquivo;
+        this.codificador = codificador;
+        if (arquivo.getParent() != null) {
+            Files.createDirectories(arquivo.getParent());
+        }
+        this.canal = FileChannel.open(arquivo,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (canal.size() < CABECALHO) {
+            canal.truncate(0);
+            ByteBuffer cabecalho = ByteBuffer.allocate(CABECALHO).putInt(MAGIA).putInt(VERSAO).flip();
+            escreverTudo(cabecalho, 0);
+            fim = CABECALHO;
+        } else {
+            carregarIndice();
+        }
+    }
+
+    T buscar(String id) {
+        trava.readLock().lock();
+        try {
+            Long posicao = indice.get(id);
+            if (posicao == null) {
+                return null;
+            }
+            ByteBuffer corpo = lerCorpo(posicao >>> 24, (int) (posicao & 0xFFFFFF));
+            corpo.get(); // tipo
+            lerTexto(corpo); // id
+            return codificador.ler(id, corpo);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler o registro " + id + " de " + arquivo + ".", e);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    void salvar(T valor) {
+        String id = codificador.id(valor);
+        byte[] bytesId = id.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer corpo = ByteBuffer.allocate(1 + 4 + bytesId.length + codificador.tamanhoMaximo(valor));
+        corpo.put(SALVO).putInt(bytesId.length).put(bytesId);
+        codificador.escrever(valor, corpo);
+        acrescentar(id, corpo.flip());
+    }
+
+    boolean remover(String id) {
+        if (!indice.containsKey(id)) {
+            return false;
+        }
+        byte[] bytesId = id.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer corpo = ByteBuffer.allocate(1 + 4 + bytesId.length).put(REMOVIDO).putInt(bytesId.length).put(bytesId);
+        return acrescentar(id, corpo.flip());
+    }
+
+    int quantidade() {
+        return indice.size();
+    }
+
+    long tamanhoArquivo() {
+        trava.readLock().lock();
+        try {
+            return fim;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /** fsync dos registros já escritos. */
+    void sincronizar() {
+        trava.readLock().lock();
+        try {
+            canal.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao sincronizar " + arquivo + ".", e);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        trava.writeLock().lock();
+        try {
+            canal.close();
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    // Devolve se havia um registro vivo com o ID (para remoções)
+    private boolean acrescentar(String id, ByteBuffer corpo) {
+        int tamanho = corpo.remaining();
+        if (tamanho > 0xFFFFFF) {
+            throw new IllegalArgumentException("Registro " + id + " grande demais: " + tamanho + " bytes.");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(corpo.duplicate());
+        ByteBuffer cabecalho = ByteBuffer.allocate(8).putInt(tamanho).putInt((int) crc.getValue()).flip();
+        boolean salvo = corpo.get(0) == SALVO;
+
+        trava.writeLock().lock();
+        try {
+            if (!salvo && !indice.containsKey(id)) {
+                return false; // removido por outra thread depois da verificação
+            }
+            long inicio = fim;
+            escreverTudo(cabecalho, inicio);
+            escreverTudo(corpo, inicio + 8);
+            fim = inicio + 8 + tamanho;
+            Long anterior = salvo ? indice.put(id, ((inicio + 8) << 24) | tamanho) : indice.remove(id);
+            if (anterior != null) {
+                bytesVivos -= 8 + (anterior & 0xFFFFFF);
+            }
+            if (salvo) {
+                bytesVivos += 8 + tamanho;
+            }
+            if (fim > COMPACTAR_A_PARTIR_DE && fim - CABECALHO > 2 * bytesVivos) {
+                compactar();
+            }
+            return anterior != null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar o registro " + id + " em " + arquivo + ".", e);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    // Sob a trava de escrita: copia os registros vivos para um arquivo novo e o troca atomicamente pelo atual
+    private void compactar() throws IOException {
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        Map<String, Long> novoIndice = new ConcurrentHashMap<>();
+        long novoFim = CABECALHO;
+        try (FileChannel novo = FileChannel.open(temporario,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer cabecalho = ByteBuffer.allocate(CABECALHO).putInt(MAGIA).putInt(VERSAO).flip();
+            while (cabecalho.hasRemaining()) {
+                novo.write(cabecalho);
+            }
+            for (Map.Entry<String, Long> entrada : indice.entrySet()) {
+                long posicao = entrada.getValue();
+                int tamanho = (int) (posicao & 0xFFFFFF);
+                // Copia cabeçalho (tamanho e crc) e corpo como estão
+                ByteBuffer registro = lerCorpo((posicao >>> 24) - 8, tamanho + 8);
+                while (registro.hasRemaining()) {
+                    novo.write(registro);
+                }
+                novoIndice.put(entrada.getKey(), ((novoFim + 8) << 24) | tamanho);
+                novoFim += 8 + tamanho;
+            }
+            novo.force(true);
+        }
+        canal.close();
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        canal = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        indice.clear();
+        indice.putAll(novoIndice);
+        fim = novoFim;
+    }
+
+    private void carregarIndice() throws IOException {
+        long tamanhoArquivo = canal.size();
+        long valido;
+        try (InputStream bruto = Files.newInputStream(arquivo);
+             DataInputStream entrada = new DataInputStream(new BufferedInputStream(bruto, 1 << 16))) {
+            if (entrada.readInt() != MAGIA || entrada.readInt() != VERSAO) {
+                throw new IllegalStateException("Arquivo de registros com formato desconhecido: " + arquivo);
+            }
+            valido = CABECALHO;
+            CRC32 crc = new CRC32();
+            while (valido + 8 <= tamanhoArquivo) {
+                int tamanho = entrada.readInt();
+                int crcEsperado = entrada.readInt();
+                if (tamanho <= 0 || tamanho > 0xFFFFFF || valido + 8 + tamanho > tamanhoArquivo) {
+                    break;
+                }
+                byte[] corpo = new byte[tamanho];
+                entrada.readFully(corpo);
+                crc.reset();
+                crc.update(corpo);
+                if ((int) crc.getValue() != crcEsperado) {
+                    break;
+                }
+                ByteBuffer leitor = ByteBuffer.wrap(corpo);
+                byte tipo = leitor.get();
+                String id = lerTexto(leitor);
+                Long anterior = tipo == SALVO ? indice.put(id, ((valido + 8) << 24) | tamanho) : indice.remove(id);
+                if (anterior != null) {
+                    bytesVivos -= 8 + (anterior & 0xFFFFFF);
+                }
+                if (tipo == SALVO) {
+                    bytesVivos += 8 + tamanho;
+                }
+                valido += 8 + tamanho;
+            }
+        }
+        if (valido < tamanhoArquivo) {
+            canal.truncate(valido);
+        }
+        fim = valido;
+    }
+
+    private ByteBuffer lerCorpo(long inicio, int tamanho) throws IOException {
+        ByteBuffer destino = ByteBuffer.allocate(tamanho);
+        while (destino.hasRemaining()) {
+            if (canal.read(destino, inicio + destino.position()) < 0) {
+                throw new EOFException("Fim inesperado de " + arquivo + " na posição " + (inicio + destino.position()) + ".");
+            }
+        }
+        return destino.flip();
+    }
+
+    private void escreverTudo(ByteBuffer origem, long inicio) throws IOException {
+        long posicao = inicio;
+        while (origem.hasRemaining()) {
+            posicao += canal.write(origem, posicao);
+        }
+    }
+
+    // Textos como [int tamanho][bytes UTF-8]
+    static void escreverTexto(ByteBuffer destino, String texto) {
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        destino.putInt(bytes.length).put(bytes);
+    }
+
+    static String lerTexto(ByteBuffer origem) {
+        byte[] bytes = new byte[origem.getInt()];
+        origem.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static int tamanhoMaximo(String texto) {
+        return 4 + texto.length() * 3;
+    }
+}
@@ -0,0 +1,60 @@
+package com.seuprojeto.biblioteca.repositorio;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+
+/**
+ * Memória aproximada que um livro ou um membro ocupa guardado num {@link CacheLimitado}, para limitar o cache
+ * em bytes. Conta cabeçalhos e alinhamento de uma JVM de 64 bits com ponteiros comprimidos, os textos (1 byte
+ * por caractere em Latin-1, 2 fora dele), a chave e a entrada do próprio cache.
+ */
+final class BytesEstimados {
+
+    private static final int ENTRADA_CACHE = 80; // nó do cache + entrada e posição no HashMap do segmento
+    private static final int LIVRO = 32;
+    private static final int MEMBRO = 32 + 16; // mais a visão dos emprestados
+    private static final int CONJUNTO = 16 + 56 + 16 + 16 * 4; // LinkedHashSet, mapa, tabela inicial
+    private static final int ENTRADA_CONJUNTO = 40;
+
+    private BytesEstimados() {
+    }
+
+    static int livro(Livro livro) {
+        return entrada(livro.getId()) + objetoLivro(livro);
+    }
+
+    static int membro(Membro membro) {
+        int bytes = entrada(membro.getId()) + MEMBRO + texto(membro.getId()) + texto(membro.getNome()) + CONJUNTO;
+        for (Livro livro : membro.getLivrosEmprestados()) {
+            bytes += ENTRADA_CONJUNTO + objetoLivro(livro);
+        }
+        return bytes;
+    }
+
+    // A chave é a instância do ID de quem buscou, separada da do valor
+    private static int entrada(String chave) {
+        return ENTRADA_CACHE + texto(chave);
+    }
+
+    private static int objetoLivro(Livro livro) {
+        return LIVRO + texto(livro.getId()) + texto(livro.getTitulo()) + texto(livro.getAutor());
+    }
+
+    private static int texto(String texto) {
+        if (texto == null) {
+            return 0;
+        }
+        int conteudo = texto.length();
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) > 0xFF) {
+                conteudo *= 2;
+                break;
+            }
+        }
+        return 24 + alinhar(16 + conteudo);
+    }
+
+    private static int alinhar(int bytes) {
+        return (bytes + 7) & ~7;
+    }
+}
@@ -0,0 +1,409 @@
+package com.seuprojeto.biblioteca.repositorio;
+
+import java.util.HashMap;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Cache de leitura limitado pelo número de itens ou pela soma dos pesos deles (por exemplo, bytes estimados),
+ * na frente de um armazenamento mais lento.
+ *
+ * {@link #buscar} devolve o valor em cache ou o carrega (fora de qualquer trava) e o guarda; quem altera o
+ * armazenamento chama {@link #invalidar} depois de gravar. Uma carga que começou antes de uma invalidação
+ * do mesmo segmento não é guardada, então um valor antigo lido durante uma escrita nunca fica no cache.
+ * Valores nulos (chave inexistente) não são guardados.
+ *
+ * As chaves são distribuídas por hash entre segmentos independentes, cada um com a sua trava, a sua parte
+ * da capacidade e, no W-TinyLFU, o seu esboço de frequências ({@link PoliticaRemocao}). Com pesos, um item
+ * mais pesado que a parte de um segmento não é guardado.
+ * Os valores são compartilhados entre todos que os buscam e não devem ser alterados.
+ */
+public class CacheLimitado<K, V> {
+
+    private static final int ITENS_POR_SEGMENTO = 4096;
+    private static final long PESO_POR_SEGMENTO = 1 << 20;
+    private static final int MAXIMO_SEGMENTOS = 16;
+
+    private final long capacidade;
+    private final ToIntFunction<? super V> pesador;
+    private final PoliticaRemocao politica;
+    private final Segmento<K, V>[] segmentos;
+    private final int deslocamentoSegmento;
+
+    public CacheLimitado(int capacidade) {
+        this(capacidade, PoliticaRemocao.W_TINY_LFU);
+    }
+
+    public CacheLimitado(int capacidade, PoliticaRemocao politica) {
+        this(capacidade, politica,
+                Math.min(MAXIMO_SEGMENTOS, Integer.highestOneBit(Math.max(1, capacidade / ITENS_POR_SEGMENTO))));
+    }
+
+    /** {@code segmentos} é arredondado para a potência de 2 de baixo. */
+    public CacheLimitado(int capacidade, PoliticaRemocao politica, int segmentos) {
+        this(capacidade, null, politica, segmentos);
+    }
+
+    /**
+     * Cache limitado pela soma dos pesos dos itens, e não pela quantidade: {@code pesador} dá o peso de cada
+     * valor (em bytes, por exemplo, como {@link LivroRepositoryComCache#bytesEstimados}), calculado uma vez ao
+     * guardá-lo, e deve ser zero ou positivo.
+     */
+    public CacheLimitado(long pesoMaximo, ToIntFunction<? super V> pesador, PoliticaRemocao politica) {
+        this(pesoMaximo, pesador, politica,
+                (int) Math.min(MAXIMO_SEGMENTOS, Long.highestOneBit(Math.max(1, pesoMaximo / PESO_POR_SEGMENTO))));
+        if (pesador == null) {
+            throw new IllegalArgumentException("Função de peso não pode ser nula.");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private CacheLimitado(long capacidade, ToIntFunction<? super V> pesador, PoliticaRemocao politica, int segmentos) {
+        if (capacidade < 1) {
+            throw new IllegalArgumentException("Capacidade do cache deve ser positiva.");
+        }
+        if (politica == null) {
+            throw new IllegalArgumentException("Política de remoção não pode ser nula.");
+        }
+        if (segmentos < 1 || segmentos > capacidade) {
+            throw new IllegalArgumentException("Quantidade de segmentos deve estar entre 1 e a capacidade.");
+        }
+        int quantidade = Integer.highestOneBit(segmentos);
+        this.capacidade = capacidade;
+        this.pesador = pesador;
+        this.politica = politica;
+        this.segmentos = (Segmento<K, V>[]) new Segmento<?, ?>[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            // O resto da divisão vai para os primeiros segmentos
+            long parte = capacidade / quantidade + (i < capacidade % quantidade ? 1 : 0);
+            this.segmentos[i] = new Segmento<>(parte, pesador != null, politica);
+        }
+        this.deslocamentoSegmento = 32 - Integer.numberOfTrailingZeros(quantidade);
+    }
+
+    public V buscar(K chave, Function<? super K, ? extends V> carregador) {
+        int hash = espalhar(chave.hashCode());
+        Segmento<K, V> segmento = segmento(hash);
+        long geracao;
+        synchronized (segmento) {
+            V valor = segmento.buscar(chave, hash);
+            if (valor != null) {
+                return valor;
+            }
+            geracao = segmento.geracao;
+        }
+        V carregado = carregador.apply(chave);
+        if (carregado != null) {
+            int peso = pesar(carregado);
+            synchronized (segmento) {
+                segmento.inserir(chave, hash, carregado, peso, geracao);
+            }
+        }
+        return carregado;
+    }
+
+    public void invalidar(K chave) {
+        int hash = espalhar(chave.hashCode());
+        Segmento<K, V> segmento = segmento(hash);
+        synchronized (segmento) {
+            segmento.invalidar(chave);
+        }
+    }
+
+    public void limpar() {
+        for (Segmento<K, V> segmento : segmentos) {
+            synchronized (segmento) {
+                segmento.limpar();
+            }
+        }
+    }
+
+    public int tamanho() {
+        int tamanho = 0;
+        for (Segmento<K, V> segmento : segmentos) {
+            synchronized (segmento) {
+                tamanho += segmento.mapa.size();
+            }
+        }
+        return tamanho;
+    }
+
+    /** Soma dos pesos dos itens guardados; sem função de peso, cada item pesa 1. */
+    public long peso() {
+        long peso = 0;
+        for (Segmento<K, V> segmento : segmentos) {
+            synchronized (segmento) {
+                peso += segmento.peso();
+            }
+        }
+        return peso;
+    }
+
+    /** Número máximo de itens ou, com função de peso, peso máximo. */
+    public long getCapacidade() {
+        return capacidade;
+    }
+
+    public PoliticaRemocao getPolitica() {
+        return politica;
+    }
+
+    public EstatisticasCache getEstatisticas() {
+        long acertos = 0;
+        long falhas = 0;
+        long remocoes = 0;
+        for (Segmento<K, V> segmento : segmentos) {
+            synchronized (segmento) {
+                acertos += segmento.acertos;
+                falhas += segmento.falhas;
+                remocoes += segmento.remocoes;
+            }
+        }
+        return new EstatisticasCache(acertos, falhas, remocoes);
+    }
+
+    // Fora da trava do segmento
+    private int pesar(V valor) {
+        if (pesador == null) {
+            return 1;
+        }
+        int peso = pesador.applyAsInt(valor);
+        if (peso < 0) {
+            throw new IllegalArgumentException("Peso negativo no cache: " + peso);
+        }
+        return peso;
+    }
+
+    private Segmento<K, V> segmento(int hash) {
+        // Bits altos escolhem o segmento; o esboço de frequências usa o hash inteiro
+        return segmentos.length == 1 ? segmentos[0] : segmentos[hash >>> deslocamentoSegmento];
+    }
+
+    private static int espalhar(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // --- Um segmento: mapa + três listas LRU (janela, prova e protegida), usado sob a própria trava ---
+
+    private static final byte JANELA = 0;
+    private static final byte PROVA = 1;
+    private static final byte PROTEGIDA = 2;
+
+    private static final class No<K, V> {
+        final K chave;
+        final int hash;
+        V valor;
+        int peso;
+        byte regiao;
+        No<K, V> anterior;
+        No<K, V> proximo;
+
+        No(K chave, int hash, V valor) {
+            this.chave = chave;
+            this.hash = hash;
+            this.valor = valor;
+        }
+    }
+
+    // Lista duplamente ligada circular com sentinela: início = usado há mais tempo, fim = mais recente
+    private static final class Lista<K, V> {
+        final No<K, V> sentinela = new No<>(null, 0, null);
+        int tamanho;
+        long peso;
+
+        Lista() {
+            sentinela.anterior = sentinela;
+            sentinela.proximo = sentinela;
+        }
+
+        No<K, V> primeiro() {
+            return sentinela.proximo == sentinela ? null : sentinela.proximo;
+        }
+
+        void adicionarNoFim(No<K, V> no) {
+            no.anterior = sentinela.anterior;
+            no.proximo = sentinela;
+            sentinela.anterior.proximo = no;
+            sentinela.anterior = no;
+            tamanho++;
+            peso += no.peso;
+        }
+
+        void remover(No<K, V> no) {
+            no.anterior.proximo = no.proximo;
+            no.proximo.anterior = no.anterior;
+            no.anterior = null;
+            no.proximo = null;
+            tamanho--;
+            peso -= no.peso;
+        }
+
+        void moverParaFim(No<K, V> no) {
+            remover(no);
+            adicionarNoFim(no);
+        }
+
+        void limpar() {
+            sentinela.anterior = sentinela;
+            sentinela.proximo = sentinela;
+            tamanho = 0;
+            peso = 0;
+        }
+    }
+
+    private static final class Segmento<K, V> {
+        final HashMap<K, No<K, V>> mapa = new HashMap<>();
+        final Lista<K, V> janela = new Lista<>();
+        final Lista<K, V> prova = new Lista<>();
+        final Lista<K, V> protegida = new Lista<>();
+        final SketchFrequencia sketch;
+        final long capacidade;
+        final long maximoJanela;
+        final long maximoProtegida;
+        // Muda a cada invalidação; cargas iniciadas antes dela são descartadas
+        long geracao;
+        long acertos;
+        long falhas;
+        long remocoes;
+
+        // Com pesos, o número de itens não é conhecido: o esboço começa pequeno e cresce com eles
+        Segmento(long capacidade, boolean comPesos, PoliticaRemocao politica) {
+            this.capacidade = capacidade;
+            if (politica == PoliticaRemocao.LRU) {
+                // Só a janela, sem admissão: quem sai dela sai do cache
+                this.maximoJanela = capacidade;
+                this.maximoProtegida = 0;
+                this.sketch = null;
+            } else {
+                this.maximoJanela = Math.max(1, capacidade / 100);
+                this.maximoProtegida = (capacidade - maximoJanela) * 4 / 5;
+                this.sketch = new SketchFrequencia(comPesos ? 16 : (int) capacidade);
+            }
+        }
+
+        long peso() {
+            return janela.peso + prova.peso + protegida.peso;
+        }
+
+        V buscar(K chave, int hash) {
+            if (sketch != null) {
+                sketch.incrementar(hash);
+            }
+            No<K, V> no = mapa.get(chave);
+            if (no == null) {
+                falhas++;
+                return null;
+            }
+            acertos++;
+            acessar(no);
+            return no.valor;
+        }
+
+        void inserir(K chave, int hash, V valor, int peso, long geracaoDaCarga) {
+            if (geracaoDaCarga != geracao) {
+                return; // invalidado durante a carga: o valor carregado pode ser antigo
+            }
+            No<K, V> existente = mapa.get(chave);
+            if (existente != null) {
+                // Carregado ao mesmo tempo por outra thread; o peso pode ter mudado
+                Lista<K, V> lista = lista(existente.regiao);
+                lista.remover(existente);
+                existente.valor = valor;
+                existente.peso = peso;
+                lista.adicionarNoFim(existente);
+                ajustar(null);
+                return;
+            }
+            if (peso > capacidade) {
+                return; // nunca caberia
+            }
+            No<K, V> no = new No<>(chave, hash, valor);
+            no.peso = peso;
+            mapa.put(chave, no);
+            no.regiao = JANELA;
+            janela.adicionarNoFim(no);
+            if (sketch != null) {
+                sketch.garantirCapacidade(mapa.size());
+            }
+
+            // Quem transborda da janela vai para a prova; o último a sair disputa a vaga com a vítima
+            No<K, V> candidato = null;
+            while (janela.peso > maximoJanela) {
+                candidato = janela.primeiro();
+                janela.remover(candidato);
+                candidato.regiao = PROVA;
+                prova.adicionarNoFim(candidato);
+            }
+            ajustar(candidato);
+        }
+
+        private void ajustar(No<K, V> candidato) {
+            while (peso() > capacidade) {
+                No<K, V> vitima = escolherVitima(candidato);
+                if (vitima == candidato) {
+                    candidato = null;
+                }
+                expulsar(vitima);
+            }
+        }
+
+        void invalidar(K chave) {
+            geracao++;
+            No<K, V> no = mapa.remove(chave);
+            if (no != null) {
+                lista(no.regiao).remover(no);
+            }
+        }
+
+        void limpar() {
+            geracao++;
+            mapa.clear();
+            janela.limpar();
+            prova.limpar();
+            protegida.limpar();
+        }
+
+        // Acerto: sobe na própria lista; na prova, é promovido à protegida (que, cheia, rebaixa a sua mais antiga)
+        private void acessar(No<K, V> no) {
+            if (no.regiao == PROVA) {
+                prova.remover(no);
+                no.regiao = PROTEGIDA;
+                protegida.adicionarNoFim(no);
+                while (protegida.peso > maximoProtegida) {
+                    No<K, V> rebaixado = protegida.primeiro();
+                    protegida.remover(rebaixado);
+                    rebaixado.regiao = PROVA;
+                    prova.adicionarNoFim(rebaixado);
+                }
+            } else {
+                lista(no.regiao).moverParaFim(no);
+            }
+        }
+
+        // Admissão do W-TinyLFU: o candidato (recém-saído da janela) só fica se for mais frequente que a vítima
+        private No<K, V> escolherVitima(No<K, V> candidato) {
+            No<K, V> vitima = prova.primeiro();
+            if (vitima == null) {
+                vitima = protegida.primeiro();
+            }
+            if (vitima == null) {
+                vitima = janela.primeiro();
+            }
+            if (sketch == null || candidato == null || candidato == vitima) {
+                return candidato != null ? candidato : vitima;
+            }
+            return sketch.frequencia(candidato.hash) > sketch.frequencia(vitima.hash) ? vitima : candidato;
+        }
+
+        private void expulsar(No<K, V> no) {
+            mapa.remove(no.chave);
+            lista(no.regiao).remover(no);
+            remocoes++;
+        }
+
+        private Lista<K, V> lista(byte regiao) {
+            return regiao == JANELA ? janela : regiao == PROVA ? prova : protegida;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.seuprojeto.biblioteca.repositorio;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+
+/** Cópias independentes de livros e membros, para os repositórios não compartilharem objetos com quem chama. */
+final class Copias {
+
+    private Copias() {
+    }
+
+    static Livro copiar(Livro livro) {
+        return copiar(livro, livro.isDisponivel());
+    }
+
+    // Com a disponibilidade lida antes (sob as travas de uma operação); os outros campos não mudam
+    static Livro copiar(Livro livro, boolean disponivel) {
+        Livro copia = new Livro(livro.getId(), livro.getTitulo(), livro.getAutor(), livro.getAnoPublicacao());
+        if (!disponivel) {
+            copia.marcarComoEmprestado();
+        }
+        return copia;
+    }
+
+    static Membro copiar(Membro membro) {
+        Membro copia = new Membro(membro.getId(), membro.getNome());
+        for (Livro livro : membro.getLivrosEmprestados()) {
+            copia.emprestarLivro(copiar(livro));
+        }
+        return copia;
+    }
+}
@@ -0,0 +1,49 @@
+package com.seuprojeto.biblioteca.repositorio;
+
+/** Contadores de um {@link CacheLimitado} em um instante. */
+public final class EstatisticasCache {
+
+    private final long acertos;
+    private final long falhas;
+    private final long remocoes;
+
+    EstatisticasCache(long acertos, long falhas, long remocoes) {
+        this.acertos = acertos;
+        this.falhas = falhas;
+        this.remocoes = remocoes;
+    }
+
+    public long getAcertos() {
+        return acertos;
+    }
+
+    /** Buscas que foram ao repositório (inclusive as de IDs que não existem). */
+    public long getFalhas() {
+        return falhas;
+    }
+
+    /** Itens expulsos para respeitar a capacidade (invalidações não contam). */
+    public long getRemocoes() {
+        return remocoes;
+    }
+
+    public long getBuscas() {
+        return acertos + falhas;
+    }
+
+    /** Acertos / buscas, ou 0 sem nenhuma busca. */
+    public double getTaxaAcerto() {
+        long buscas = getBuscas();
+        return buscas == 0 ? 0 : (double) acertos / buscas;
+    }
+
+    /** Diferença em relação a um instante anterior, para medir uma janela de tempo. */
+    public EstatisticasCache menos(EstatisticasCache anterior) {
+        return new EstatisticasCache(acertos - anterior.acertos, falhas - anterior.falhas, remocoes - anterior.remocoes);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("acertos=%d falhas=%d remocoes=%d taxaAcerto=%.4f", acertos, falhas, remocoes, getTaxaAcerto());
+    }
+}
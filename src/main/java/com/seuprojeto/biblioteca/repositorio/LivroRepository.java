@@ -0,0 +1,24 @@
+package com.seuprojeto.biblioteca.repositorio;
+
+import com.seuprojeto.biblioteca.model.Livro;
+
+/**
+ * Armazenamento de livros por ID, independente de onde os dados ficam (memória, arquivo, ...).
+ *
+ * Guarda e devolve estados: {@link #salvar} grava uma cópia do livro como ele está, e o livro devolvido por
+ * {@link #buscarPorId} é independente do que foi salvo; alterá-lo não muda o repositório até ser salvo de novo.
+ * As implementações são seguras para uso por várias threads.
+ */
+public interface LivroRepository {
+
+    /** O livro salvo com esse ID, ou null. */
+    Livro buscarPorId(String id);
+
+    /** Insere ou substitui o livro com o mesmo ID. */
+    void salvar(Livro livro);
+
+    /** Devolve false se não havia livro com esse ID. */
+    boolean remover(String id);
+
+    int quantidade();
+}
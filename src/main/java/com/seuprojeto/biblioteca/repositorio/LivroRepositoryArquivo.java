@@ -0,0 +1,88 @@
+package com.seuprojeto.biblioteca.repositorio;
+
+import com.seuprojeto.biblioteca.model.Livro;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * Livros em um arquivo, com só o índice de IDs em memória: cada {@link #buscarPorId} lê o registro do disco
+ * (ou do cache de páginas do sistema operacional). Formato em {@link ArquivoRegistros}; dados de cada livro:
+ * {@code [título][autor][int ano][byte disponível]}.
+ */
+public class LivroRepositoryArquivo implements LivroRepository, Closeable {
+
+    private static final ArquivoRegistros.Codificador<Livro> CODIFICADOR = new ArquivoRegistros.Codificador<>() {
+        @Override
+        public String id(Livro livro) {
+            return livro.getId();
+        }
+
+        @Override
+        public int tamanhoMaximo(Livro livro) {
+            return ArquivoRegistros.tamanhoMaximo(livro.getTitulo()) + ArquivoRegistros.tamanhoMaximo(livro.getAutor()) + 5;
+        }
+
+        @Override
+        public void escrever(Livro livro, ByteBuffer destino) {
+            ArquivoRegistros.escreverTexto(destino, livro.getTitulo());
+            ArquivoRegistros.escreverTexto(destino, livro.getAutor());
+            destino.putInt(livro.getAnoPublicacao()).put((byte) (livro.isDisponivel() ? 1 : 0));
+        }
+
+        @Override
+        public Livro ler(String id, ByteBuffer origem) {
+            Livro livro = new Livro(id, ArquivoRegistros.lerTexto(origem), ArquivoRegistros.lerTexto(origem), origem.getInt());
+            if (origem.get() == 0) {
+                livro.marcarComoEmprestado();
+            }
+            return livro;
+        }
+    };
+
+    private final ArquivoRegistros<Livro> registros;
+
+    /** Abre o arquivo, criando-o se não existir, e recupera os livros salvos nele. */
+    public LivroRepositoryArquivo(Path arquivo) throws IOException {
+        this.registros = new ArquivoRegistros<>(arquivo, CODIFICADOR);
+    }
+
+    @Override
+    public Livro buscarPorId(String id) {
+        return id == null ? null : registros.buscar(id);
+    }
+
+    @Override
+    public void salvar(Livro livro) {
+        if (livro == null) {
+            throw new IllegalArgumentException("O livro não pode ser nulo.");
+        }
+        registros.salvar(livro);
+    }
+
+    @Override
+    public boolean remover(String id) {
+        return id != null && registros.remover(id);
+    }
+
+    @Override
+    public int quantidade() {
+        return registros.quantidade();
+    }
+
+    public long getTamanhoArquivoBytes() {
+        return registros.tamanhoArquivo();
+    }
+
+    /** fsync: garante no disco tudo o que já foi salvo. */
+    public void sincronizar() {
+        registros.sincronizar();
+    }
+
+    @Override
+    public void close() throws IOException {
+        registros.close();
+    }
+}
@@ -0,0 +1,76 @@
+package com.seuprojeto.biblioteca.repositorio;
+
+import com.seuprojeto.biblioteca.model.Livro;
+
+/**
+ * Repositório de livros com um {@link CacheLimitado} na frente: buscas por ID só vão ao repositório de
+ * trás nas falhas, e cada {@link #salvar}/{@link #remover} grava nele e então invalida o ID no cache.
+ *
+ * Os livros devolvidos vêm do cache e são compartilhados entre as buscas: não os altere (faça uma cópia
+ * para alterar e salvar).
+ */
+public class LivroRepositoryComCache implements LivroRepository {
+
+    private final LivroRepository origem;
+    private final CacheLimitado<String, Livro> cache;
+
+    /** Cache de até {@code capacidade} livros. */
+    public LivroRepositoryComCache(LivroRepository origem, int capacidade) {
+        this(origem, new CacheLimitado<>(capacidade));
+    }
+
+    /**
+     * Cache limitado pela memória estimada dos livros guardados ({@link #bytesEstimados}), e não pela
+     * quantidade: livros com textos longos ocupam mais da cota.
+     */
+    public static LivroRepositoryComCache comLimiteDeBytes(LivroRepository origem, long bytes) {
+        return new LivroRepositoryComCache(origem,
+                new CacheLimitado<>(bytes, LivroRepositoryComCache::bytesEstimados, PoliticaRemocao.W_TINY_LFU));
+    }
+
+    /** Bytes aproximados que o livro ocupa no cache, com a chave e a entrada. */
+    public static int bytesEstimados(Livro livro) {
+        return BytesEstimados.livro(livro);
+    }
+
+    public LivroRepositoryComCache(LivroRepository origem, CacheLimitado<String, Livro> cache) {
+        if (origem == null || cache == null) {
+            throw new IllegalArgumentException("Repositório e cache não podem ser nulos.");
+        }
+        this.origem = origem;
+        this.cache = cache;
+    }
+
+    @Override
+    public Livro buscarPorId(String id) {
+        return id == null ? null : cache.buscar(id, origem::buscarPorId);
+    }
+
+    @Override
+    public void salvar(Livro livro) {
+        origem.salvar(livro);
+        cache.invalidar(livro.getId());
+    }
+
+    @Override
+    public boolean remover(String id) {
+        boolean removido = origem.remover(id);
+        if (id != null) {
+            cache.invalidar(id);
+        }
+        return removido;
+    }
+
+    @Override
+    public int quantidade() {
+        return origem.quantidade();
+    }
+
+    public EstatisticasCache getEstatisticas() {
+        return cache.getEstatisticas();
+    }
+
+    public CacheLimitado<String, Livro> getCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,35 @@
+package com.seuprojeto.biblioteca.repositorio;
+
+import com.seuprojeto.biblioteca.model.Livro;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Implementação de referência em memória: um mapa concorrente de cópias. */
+public class LivroRepositoryMemoria implements LivroRepository {
+
+    private final ConcurrentHashMap<String, Livro> livros = new ConcurrentHashMap<>();
+
+    @Override
+    public Livro buscarPorId(String id) {
+        Livro livro = id == null ? null : livros.get(id);
+        return livro == null ? null : Copias.copiar(livro);
+    }
+
+    @Override
+    public void salvar(Livro livro) {
+        if (livro == null) {
+            throw new IllegalArgumentException("O livro não pode ser nulo.");
+        }
+        livros.put(livro.getId(), Copias.copiar(livro));
+    }
+
+    @Override
+    public boolean remover(String id) {
+        return id != null && livros.remove(id) != null;
+    }
+
+    @Override
+    public int quantidade() {
+        return livros.size();
+    }
+}
@@ -0,0 +1,45 @@
+package com.seuprojeto.biblioteca.repositorio;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+
+/**
+ * Armazenamento de membros por ID, com os livros que cada um tem emprestados.
+ *
+ * Mesmo contrato de {@link LivroRepository}: {@link #salvar} grava uma cópia do membro e dos seus empréstimos,
+ * e {@link #buscarPorId} devolve um membro independente do que foi salvo.
+ */
+public interface MembroRepository {
+
+    /** O membro salvo com esse ID, ou null. */
+    Membro buscarPorId(String id);
+
+    /** Insere ou substitui o membro com o mesmo ID. */
+    void salvar(Membro membro);
+
+    /** Devolve false se não havia membro com esse ID. */
+    boolean remover(String id);
+
+    /**
+     * Acrescenta o livro aos empréstimos do membro salvo, sem regravar os outros; não faz nada se o membro não
+     * existe ou já tem o livro. A implementação padrão busca, altera e salva o membro inteiro.
+     */
+    default void registrarEmprestimo(String idMembro, Livro livro) {
+        Membro membro = buscarPorId(idMembro);
+        if (membro != null && !membro.possuiLivro(livro)) {
+            membro.emprestarLivro(livro);
+            salvar(membro);
+        }
+    }
+
+    /** Como {@link #registrarEmprestimo}, tirando o livro dos empréstimos do membro salvo. */
+    default void registrarDevolucao(String idMembro, Livro livro) {
+        Membro membro = buscarPorId(idMembro);
+        if (membro != null && membro.possuiLivro(livro)) {
+            membro.devolverLivro(livro);
+            salvar(membro);
+        }
+    }
+
+    int quantidade();
+}
@@ -0,0 +1,102 @@
+package com.seuprojeto.biblioteca.repositorio;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * Membros em um arquivo, com só o índice de IDs em memória. Formato em {@link ArquivoRegistros}; dados de cada
+ * membro: {@code [nome][int n]} e os n livros emprestados, cada um com {@code [id][título][autor][int ano]}.
+ */
+public class MembroRepositoryArquivo implements MembroRepository, Closeable {
+
+    private static final ArquivoRegistros.Codificador<Membro> CODIFICADOR = new ArquivoRegistros.Codificador<>() {
+        @Override
+        public String id(Membro membro) {
+            return membro.getId();
+        }
+
+        @Override
+        public int tamanhoMaximo(Membro membro) {
+            int tamanho = ArquivoRegistros.tamanhoMaximo(membro.getNome()) + 4;
+            for (Livro livro : membro.getLivrosEmprestados()) {
+                tamanho += ArquivoRegistros.tamanhoMaximo(livro.getId()) + ArquivoRegistros.tamanhoMaximo(livro.getTitulo())
+                        + ArquivoRegistros.tamanhoMaximo(livro.getAutor()) + 4;
+            }
+            return tamanho;
+        }
+
+        @Override
+        public void escrever(Membro membro, ByteBuffer destino) {
+            ArquivoRegistros.escreverTexto(destino, membro.getNome());
+            destino.putInt(membro.quantidadeEmprestados());
+            for (Livro livro : membro.getLivrosEmprestados()) {
+                ArquivoRegistros.escreverTexto(destino, livro.getId());
+                ArquivoRegistros.escreverTexto(destino, livro.getTitulo());
+                ArquivoRegistros.escreverTexto(destino, livro.getAutor());
+                destino.putInt(livro.getAnoPublicacao());
+            }
+        }
+
+        @Override
+        public Membro ler(String id, ByteBuffer origem) {
+            Membro membro = new Membro(id, ArquivoRegistros.lerTexto(origem));
+            int emprestados = origem.getInt();
+            for (int i = 0; i < emprestados; i++) {
+                Livro livro = new Livro(ArquivoRegistros.lerTexto(origem), ArquivoRegistros.lerTexto(origem),
+                        ArquivoRegistros.lerTexto(origem), origem.getInt());
+                livro.marcarComoEmprestado();
+                membro.emprestarLivro(livro);
+            }
+            return membro;
+        }
+    };
+
+    private final ArquivoRegistros<Membro> registros;
+
+    /** Abre o arquivo, criando-o se não existir, e recupera os membros salvos nele. */
+    public MembroRepositoryArquivo(Path arquivo) throws IOException {
+        this.registros = new ArquivoRegistros<>(arquivo, CODIFICADOR);
+    }
+
+    @Override
+    public Membro buscarPorId(String id) {
+        return id == null ? null : registros.buscar(id);
+    }
+
+    @Override
+    public void salvar(Membro membro) {
+        if (membro == null) {
+            throw new IllegalArgumentException("O membro não pode ser nulo.");
+        }
+        registros.salvar(membro);
+    }
+
+    @Override
+    public boolean remover(String id) {
+        return id != null && registros.remover(id);
+    }
+
+    @Override
+    public int quantidade() {
+        return registros.quantidade();
+    }
+
+    public long getTamanhoArquivoBytes() {
+        return registros.tamanhoArquivo();
+    }
+
+    /** fsync: garante no disco tudo o que já foi salvo. */
+    public void sincronizar() {
+        registros.sincronizar();
+    }
+
+    @Override
+    public void close() throws IOException {
+        registros.close();
+    }
+}
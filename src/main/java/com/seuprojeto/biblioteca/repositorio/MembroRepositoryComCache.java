@@ -0,0 +1,94 @@
+package com.seuprojeto.biblioteca.repositorio;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+
+/**
+ * Repositório de membros com um {@link CacheLimitado} na frente: buscas por ID só vão ao repositório de
+ * trás nas falhas, e cada {@link #salvar}/{@link #remover} (e cada empréstimo ou devolução registrado) grava
+ * nele e então invalida o ID no cache.
+ *
+ * Os membros devolvidos vêm do cache e são compartilhados entre as buscas: não os altere (faça uma cópia
+ * para alterar e salvar).
+ */
+public class MembroRepositoryComCache implements MembroRepository {
+
+    private final MembroRepository origem;
+    private final CacheLimitado<String, Membro> cache;
+
+    /** Cache de até {@code capacidade} membros. */
+    public MembroRepositoryComCache(MembroRepository origem, int capacidade) {
+        this(origem, new CacheLimitado<>(capacidade));
+    }
+
+    /**
+     * Cache limitado pela memória estimada dos membros guardados ({@link #bytesEstimados}), e não pela
+     * quantidade: membros com textos longos ocupam mais da cota.
+     */
+    public static MembroRepositoryComCache comLimiteDeBytes(MembroRepository origem, long bytes) {
+        return new MembroRepositoryComCache(origem,
+                new CacheLimitado<>(bytes, MembroRepositoryComCache::bytesEstimados, PoliticaRemocao.W_TINY_LFU));
+    }
+
+    /** Bytes aproximados que o membro ocupa no cache, com a chave e a entrada. */
+    public static int bytesEstimados(Membro membro) {
+        return BytesEstimados.membro(membro);
+    }
+
+    public MembroRepositoryComCache(MembroRepository origem, CacheLimitado<String, Membro> cache) {
+        if (origem == null || cache == null) {
+            throw new IllegalArgumentException("Repositório e cache não podem ser nulos.");
+        }
+        this.origem = origem;
+        this.cache = cache;
+    }
+
+    @Override
+    public Membro buscarPorId(String id) {
+        return id == null ? null : cache.buscar(id, origem::buscarPorId);
+    }
+
+    @Override
+    public void salvar(Membro membro) {
+        origem.salvar(membro);
+        cache.invalidar(membro.getId());
+    }
+
+    @Override
+    public boolean remover(String id) {
+        boolean removido = origem.remover(id);
+        if (id != null) {
+            cache.invalidar(id);
+        }
+        return removido;
+    }
+
+    @Override
+    public void registrarEmprestimo(String idMembro, Livro livro) {
+        origem.registrarEmprestimo(idMembro, livro);
+        if (idMembro != null) {
+            cache.invalidar(idMembro);
+        }
+    }
+
+    @Override
+    public void registrarDevolucao(String idMembro, Livro livro) {
+        origem.registrarDevolucao(idMembro, livro);
+        if (idMembro != null) {
+            cache.invalidar(idMembro);
+        }
+    }
+
+    @Override
+    public int quantidade() {
+        return origem.quantidade();
+    }
+
+    public EstatisticasCache getEstatisticas() {
+        return cache.getEstatisticas();
+    }
+
+    public CacheLimitado<String, Membro> getCache() {
+        return cache;
+    }
+}
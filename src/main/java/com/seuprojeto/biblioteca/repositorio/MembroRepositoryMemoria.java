@@ -0,0 +1,68 @@
+package com.seuprojeto.biblioteca.repositorio;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementação de referência em memória: um mapa concorrente de cópias. Os empréstimos e devoluções alteram
+ * a cópia guardada, sob a trava dela, em vez de substituí-la por outra cópia do membro inteiro.
+ */
+public class MembroRepositoryMemoria implements MembroRepository {
+
+    private final ConcurrentHashMap<String, Membro> membros = new ConcurrentHashMap<>();
+
+    @Override
+    public Membro buscarPorId(String id) {
+        Membro membro = id == null ? null : membros.get(id);
+        if (membro == null) {
+            return null;
+        }
+        synchronized (membro) {
+            return Copias.copiar(membro);
+        }
+    }
+
+    @Override
+    public void salvar(Membro membro) {
+        if (membro == null) {
+            throw new IllegalArgumentException("O membro não pode ser nulo.");
+        }
+        membros.put(membro.getId(), Copias.copiar(membro));
+    }
+
+    @Override
+    public boolean remover(String id) {
+        return id != null && membros.remove(id) != null;
+    }
+
+    @Override
+    public void registrarEmprestimo(String idMembro, Livro livro) {
+        Membro membro = idMembro == null ? null : membros.get(idMembro);
+        if (membro != null) {
+            synchronized (membro) {
+                if (!membro.possuiLivro(livro)) {
+                    membro.emprestarLivro(Copias.copiar(livro));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void registrarDevolucao(String idMembro, Livro livro) {
+        Membro membro = idMembro == null ? null : membros.get(idMembro);
+        if (membro != null) {
+            synchronized (membro) {
+                if (membro.possuiLivro(livro)) {
+                    membro.devolverLivro(livro);
+                }
+            }
+        }
+    }
+
+    @Override
+    public int quantidade() {
+        return membros.size();
+    }
+}
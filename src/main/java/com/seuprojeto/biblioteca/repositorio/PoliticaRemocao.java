@@ -0,0 +1,14 @@
+package com.seuprojeto.biblioteca.repositorio;
+
+/** Como o {@link CacheLimitado} escolhe quem sai quando está cheio. */
+public enum PoliticaRemocao {
+    /** Sai o usado há mais tempo. Uma varredura de itens lidos uma vez só expulsa os itens populares. */
+    LRU,
+    /**
+     * W-TinyLFU: uma janela LRU pequena (1% da capacidade) recebe os itens novos, e quem sai dela só entra na
+     * área principal (LRU segmentada) se for acessado com mais frequência que o item que seria expulso
+     * dela. As frequências vêm de um esboço count-min de 4 bits por contador, que é reduzido pela metade
+     * periodicamente para esquecer popularidades antigas.
+     */
+    W_TINY_LFU
+}
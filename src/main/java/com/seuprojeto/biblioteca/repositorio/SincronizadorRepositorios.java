@@ -0,0 +1,150 @@
+package com.seuprojeto.biblioteca.repositorio;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.service.Biblioteca;
+import com.seuprojeto.biblioteca.service.OuvinteBiblioteca;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Mantém um {@link LivroRepository} e um {@link MembroRepository} iguais ao estado de uma {@link Biblioteca}.
+ *
+ * Dentro das travas da operação, cada mutação só põe numa fila única, na ordem em que as travas foram tomadas,
+ * o que mudou: o livro e a disponibilidade dele naquele momento e, num empréstimo ou devolução, só o par
+ * membro e livro ({@link MembroRepository#registrarEmprestimo}), nunca os outros empréstimos do membro. As
+ * cópias para os repositórios são montadas depois, fora das travas, com a disponibilidade lida sob elas (os
+ * outros campos do livro não mudam). A gravação nos repositórios (no arquivo, sem fsync) acontece em
+ * {@link #operacaoConcluida()}, já fora das travas, então um disco lento não segura as outras operações da
+ * Biblioteca. Quem chega ali grava tudo o que está na fila, uma thread de cada vez. Por isso, quando a
+ * operação volta, as gravações dela e as anteriores já estão nos repositórios, e um repositório com cache
+ * ({@link LivroRepositoryComCache}, {@link MembroRepositoryComCache}) já invalidou as entradas: nenhuma
+ * busca depois dela vê o estado anterior. Uma gravação que falha fica na fila e é tentada de novo na
+ * próxima operação; a exceção chega a quem chamou a Biblioteca.
+ *
+ * Enquanto conectado, as buscas por ID da Biblioteca ({@link Biblioteca#buscarLivroPorId},
+ * {@link Biblioteca#buscarMembroPorId}) leem por estes repositórios: com um cache na frente, os acertos não vão
+ * ao repositório de trás.
+ */
+public class SincronizadorRepositorios implements OuvinteBiblioteca {
+
+    private final Biblioteca biblioteca;
+    private final LivroRepository livros;
+    private final MembroRepository membros;
+    private final Queue<Runnable> pendentes = new ConcurrentLinkedQueue<>();
+    private final Object gravacao = new Object();
+
+    private SincronizadorRepositorios(Biblioteca biblioteca, LivroRepository livros, MembroRepository membros) {
+        this.biblioteca = biblioteca;
+        this.livros = livros;
+        this.membros = membros;
+    }
+
+    /**
+     * Salva nos repositórios os livros e membros que a Biblioteca já tem e passa a acompanhar as mutações dela.
+     * Deve ser chamado antes de outras threads começarem a alterar a Biblioteca.
+     */
+    public static SincronizadorRepositorios conectar(Biblioteca biblioteca, LivroRepository livros, MembroRepository membros) {
+        if (biblioteca == null || livros == null || membros == null) {
+            throw new IllegalArgumentException("Biblioteca e repositórios não podem ser nulos.");
+        }
+        SincronizadorRepositorios sincronizador = new SincronizadorRepositorios(biblioteca, livros, membros);
+        for (Livro livro : biblioteca.getCatalogoLivros()) {
+            livros.salvar(livro);
+        }
+        for (Membro membro : biblioteca.getListaMembros()) {
+            Membro copia = new Membro(membro.getId(), membro.getNome());
+            for (Livro livro : biblioteca.listarLivrosEmprestadosPorMembro(membro.getId())) {
+                copia.emprestarLivro(livro);
+            }
+            membros.salvar(copia);
+        }
+        biblioteca.adicionarOuvinte(sincronizador);
+        biblioteca.lerPorId(livros::buscarPorId, membros::buscarPorId);
+        return sincronizador;
+    }
+
+    /**
+     * Para de acompanhar a Biblioteca, que volta a buscar por ID na memória; os repositórios ficam com o
+     * estado até aqui.
+     */
+    public void desconectar() {
+        biblioteca.lerPorId(null, null);
+        biblioteca.removerOuvinte(this);
+        gravarPendentes();
+    }
+
+    public LivroRepository getLivros() {
+        return livros;
+    }
+
+    public MembroRepository getMembros() {
+        return membros;
+    }
+
+    @Override
+    public void operacaoConcluida() {
+        gravarPendentes();
+    }
+
+    // Só quem segura 'gravacao' tira itens da fila, e só depois de gravá-los
+    private void gravarPendentes() {
+        if (pendentes.isEmpty()) {
+            return;
+        }
+        synchronized (gravacao) {
+            Runnable pendente;
+            while ((pendente = pendentes.peek()) != null) {
+                pendente.run();
+                pendentes.poll();
+            }
+        }
+    }
+
+    // --- Dentro das travas da operação: só o que mudou, sem copiar ---
+
+    @Override
+    public void livroAdicionado(Livro livro) {
+        boolean disponivel = livro.isDisponivel();
+        pendentes.add(() -> livros.salvar(Copias.copiar(livro, disponivel)));
+    }
+
+    @Override
+    public void livroRemovido(Livro livro) {
+        String id = livro.getId();
+        pendentes.add(() -> livros.remover(id));
+    }
+
+    @Override
+    public void membroRegistrado(Membro membro) {
+        Membro copia = Copias.copiar(membro);
+        pendentes.add(() -> membros.salvar(copia));
+    }
+
+    @Override
+    public void membroRemovido(Membro membro) {
+        String id = membro.getId();
+        pendentes.add(() -> membros.remover(id));
+    }
+
+    @Override
+    public void livroEmprestado(Livro livro, Membro membro) {
+        String idMembro = membro.getId();
+        pendentes.add(() -> {
+            Livro emprestado = Copias.copiar(livro, false);
+            livros.salvar(emprestado);
+            membros.registrarEmprestimo(idMembro, emprestado);
+        });
+    }
+
+    @Override
+    public void livroDevolvido(Livro livro, Membro membro) {
+        String idMembro = membro.getId();
+        pendentes.add(() -> {
+            Livro devolvido = Copias.copiar(livro, true);
+            livros.salvar(devolvido);
+            membros.registrarDevolucao(idMembro, devolvido);
+        });
+    }
+}
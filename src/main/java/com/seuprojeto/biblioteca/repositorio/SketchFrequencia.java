@@ -0,0 +1,81 @@
+package com.seuprojeto.biblioteca.repositorio;
+
+/**
+ * Esboço count-min da frequência de acesso recente de cada chave, para a admissão do W-TinyLFU.
+ *
+ * Quatro linhas de contadores de 4 bits (até 15), 16 por long; a frequência de uma chave é o menor dos seus
+ * quatro contadores. A cada 10 × capacidade incrementos, todos os contadores caem pela metade, e uma chave
+ * que deixou de ser popular perde a vantagem em poucas rodadas. Num cache limitado por peso, o número de
+ * itens só é conhecido aos poucos, e o esboço é recriado maior (e zerado) quando eles passam do tamanho dele.
+ * Não é seguro para várias threads: cada segmento do cache tem o seu, usado sob a trava do segmento.
+ */
+final class SketchFrequencia {
+
+    private static final long[] SEMENTES = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+
+    private static final int MAXIMO = 1 << 26;
+
+    private long[] tabela;
+    private int mascara;
+    private int tamanhoAmostra;
+    private int incrementos;
+
+    SketchFrequencia(int capacidade) {
+        dimensionar(capacidade);
+    }
+
+    private void dimensionar(int capacidade) {
+        int tamanho = Integer.highestOneBit(Math.max(capacidade, 16) - 1) << 1; // potência de 2 >= capacidade
+        this.tabela = new long[tamanho];
+        this.mascara = tamanho - 1;
+        this.tamanhoAmostra = 10 * Math.max(capacidade, 16);
+        this.incrementos = 0;
+    }
+
+    /** Recria o esboço, zerado, com espaço para o dobro de {@code itens} se eles não cabem mais. */
+    void garantirCapacidade(int itens) {
+        if (itens > tabela.length && tabela.length < MAXIMO) {
+            dimensionar((int) Math.min(MAXIMO, 2L * itens));
+        }
+    }
+
+    int frequencia(int hash) {
+        int minimo = 15;
+        for (int linha = 0; linha < 4; linha++) {
+            long h = misturar(hash, linha);
+            int deslocamento = (int) (h & 15) << 2;
+            minimo = Math.min(minimo, (int) (tabela[(int) (h >>> 4) & mascara] >>> deslocamento) & 15);
+        }
+        return minimo;
+    }
+
+    void incrementar(int hash) {
+        boolean incrementou = false;
+        for (int linha = 0; linha < 4; linha++) {
+            long h = misturar(hash, linha);
+            int indice = (int) (h >>> 4) & mascara;
+            int deslocamento = (int) (h & 15) << 2;
+            if (((tabela[indice] >>> deslocamento) & 15) < 15) {
+                tabela[indice] += 1L << deslocamento;
+                incrementou = true;
+            }
+        }
+        if (incrementou && ++incrementos == tamanhoAmostra) {
+            envelhecer();
+        }
+    }
+
+    // Metade de todos os contadores (o bit que desce de um contador para o vizinho é descartado pela máscara)
+    private void envelhecer() {
+        for (int i = 0; i < tabela.length; i++) {
+            tabela[i] = (tabela[i] >>> 1) & 0x7777777777777777L;
+        }
+        incrementos /= 2;
+    }
+
+    private static long misturar(int hash, int linha) {
+        long h = (hash + SEMENTES[linha]) * SEMENTES[(linha + 1) & 3];
+        return h ^ (h >>> 29);
+    }
+}
@@ -0,0 +1,138 @@
+package com.seuprojeto.biblioteca.serializacao;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.seuprojeto.biblioteca.serializacao.PrimitivasBinarias.escreverUtf8;
+import static com.seuprojeto.biblioteca.serializacao.PrimitivasBinarias.escreverVarint;
+import static com.seuprojeto.biblioteca.serializacao.PrimitivasBinarias.tamanhoUtf8;
+import static com.seuprojeto.biblioteca.serializacao.PrimitivasBinarias.tamanhoVarint;
+
+/**
+ * Escreve livros e membros num quadro binário compacto, direto no {@link ByteBuffer} (heap ou direto), a
+ * partir da posição dele. Quem vai ler o quadro dá {@code flip()} no buffer e usa um {@link LeitorBinario}.
+ *
+ * Formato (versão {@value #VERSAO}): o cabeçalho {@code 'B' 'L' versão} e depois os registros, cada um com o
+ * código do {@link TipoObjeto}, o tamanho do corpo em varint e o corpo:
+ * <pre>
+ *   livro:  texto id, texto titulo, autor, varint anoPublicacao, byte estado (bit 0 = emprestado)
+ *   membro: texto id, texto nome, varint quantidade, um texto id para cada livro emprestado
+ *   texto:  varint com o tamanho em bytes, seguido dos bytes UTF-8
+ *   autor:  varint com o código do autor no quadro; 0 = autor novo, seguido do texto, que recebe o próximo
+ *           código (1, 2, ...)
+ * </pre>
+ * Cada autor é escrito uma vez por quadro; os empréstimos de um membro são só os IDs dos livros. Campos novos
+ * entram no fim do corpo e tipos novos ganham códigos novos: leitores antigos pulam os dois pelo tamanho. A
+ * versão só muda com alterações incompatíveis.
+ */
+public final class EscritorBinario {
+
+    public static final byte VERSAO = 1;
+    static final byte MAGICO_1 = 'B';
+    static final byte MAGICO_2 = 'L';
+    static final int TAMANHO_CABECALHO = 3;
+
+    private final ByteBuffer destino;
+    private final Map<String, Integer> autores = new HashMap<>();
+    private int registros;
+
+    /** Começa um quadro em {@code destino}; lança IllegalArgumentException se nem o cabeçalho couber. */
+    public EscritorBinario(ByteBuffer destino) {
+        if (destino == null || destino.remaining() < TAMANHO_CABECALHO) {
+            throw new IllegalArgumentException("Buffer sem espaço para o cabeçalho do quadro.");
+        }
+        this.destino = destino;
+        destino.put(MAGICO_1).put(MAGICO_2).put(VERSAO);
+    }
+
+    /**
+     * Acrescenta o livro ao quadro. Devolve false, sem escrever nada, se ele não couber no espaço restante:
+     * aí o quadro está completo e o livro vai no próximo.
+     */
+    public boolean escrever(Livro livro) {
+        String id = livro.getId();
+        String titulo = livro.getTitulo();
+        String autor = livro.getAutor();
+        int tamanhoId = tamanhoUtf8(id);
+        int tamanhoTitulo = tamanhoUtf8(titulo);
+        Integer codigoAutor = autores.get(autor);
+        int tamanhoAutor = codigoAutor != null ? 0 : tamanhoUtf8(autor);
+        int corpo = texto(tamanhoId) + texto(tamanhoTitulo)
+                + (codigoAutor != null ? tamanhoVarint(codigoAutor) : 1 + texto(tamanhoAutor))
+                + tamanhoVarint(livro.getAnoPublicacao()) + 1;
+        if (!reservar(corpo)) {
+            return false;
+        }
+        destino.put(TipoObjeto.LIVRO.getCodigo());
+        escreverVarint(destino, corpo);
+        escreverTexto(id, tamanhoId);
+        escreverTexto(titulo, tamanhoTitulo);
+        if (codigoAutor != null) {
+            escreverVarint(destino, codigoAutor);
+        } else {
+            destino.put((byte) 0);
+            escreverTexto(autor, tamanhoAutor);
+            autores.put(autor, autores.size() + 1);
+        }
+        escreverVarint(destino, livro.getAnoPublicacao());
+        destino.put((byte) (livro.isDisponivel() ? 0 : 1));
+        registros++;
+        return true;
+    }
+
+    /** Acrescenta o membro ao quadro, com os IDs dos livros emprestados; false se não couber, como acima. */
+    public boolean escrever(Membro membro) {
+        String id = membro.getId();
+        String nome = membro.getNome();
+        List<Livro> emprestados = membro.getLivrosEmprestados();
+        int tamanhoId = tamanhoUtf8(id);
+        int tamanhoNome = tamanhoUtf8(nome);
+        int corpo = texto(tamanhoId) + texto(tamanhoNome) + tamanhoVarint(emprestados.size());
+        for (Livro livro : emprestados) {
+            corpo += texto(tamanhoUtf8(livro.getId()));
+        }
+        if (!reservar(corpo)) {
+            return false;
+        }
+        destino.put(TipoObjeto.MEMBRO.getCodigo());
+        escreverVarint(destino, corpo);
+        escreverTexto(id, tamanhoId);
+        escreverTexto(nome, tamanhoNome);
+        escreverVarint(destino, emprestados.size());
+        for (Livro livro : emprestados) {
+            String idLivro = livro.getId();
+            escreverTexto(idLivro, tamanhoUtf8(idLivro));
+        }
+        registros++;
+        return true;
+    }
+
+    /** Registros escritos neste quadro. */
+    public int getRegistros() {
+        return registros;
+    }
+
+    /** Autores distintos no dicionário deste quadro. */
+    public int getAutores() {
+        return autores.size();
+    }
+
+    private boolean reservar(int corpo) {
+        return destino.remaining() >= 1 + tamanhoVarint(corpo) + corpo;
+    }
+
+    // Tamanho de um texto de n bytes, com o prefixo
+    private static int texto(int bytes) {
+        return tamanhoVarint(bytes) + bytes;
+    }
+
+    private void escreverTexto(String texto, int bytes) {
+        escreverVarint(destino, bytes);
+        escreverUtf8(destino, texto, bytes);
+    }
+}
@@ -0,0 +1,276 @@
+package com.seuprojeto.biblioteca.serializacao;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.Function;
+
+import static com.seuprojeto.biblioteca.serializacao.PrimitivasBinarias.igualUtf8;
+import static com.seuprojeto.biblioteca.serializacao.PrimitivasBinarias.lerUtf8;
+
+/**
+ * Lê um quadro escrito pelo {@link EscritorBinario} (formato descrito lá), da posição ao limite do buffer,
+ * sem alterar a posição dele nem copiar o quadro.
+ *
+ * {@link #proximo()} avança um registro e só anota onde cada campo dele começa; os getters leem o campo
+ * pedido direto do buffer ({@link #getAnoPublicacao()}, {@link #isDisponivel()} e {@link #idIgual} não criam
+ * objeto nenhum), e {@link #lerLivro()}/{@link #lerMembro} montam o objeto inteiro. Cada autor é decodificado
+ * uma vez por quadro e a mesma String serve a todos os livros dele.
+ *
+ * Dados corrompidos ou truncados lançam IllegalStateException. Um leitor não é thread-safe.
+ */
+public final class LeitorBinario {
+
+    private final ByteBuffer origem;
+    private final int limite;
+    private int posicao;
+    private final byte[] rascunho = new byte[256];
+
+    // Dicionário de autores do quadro: posição e tamanho dos bytes, e a String quando já decodificada
+    private int[] posicoesAutores = new int[64];
+    private int[] tamanhosAutores = new int[64];
+    private String[] autores = new String[64];
+    private int quantidadeAutores;
+
+    // Registro atual
+    private TipoObjeto tipo;
+    private int posicaoId;
+    private int tamanhoId;
+    private int posicaoTexto; // título do livro ou nome do membro
+    private int tamanhoTexto;
+    private int codigoAutor;
+    private int ano;
+    private byte estado;
+    private int quantidadeEmprestimos;
+    private int posicaoEmprestimos;
+
+    /** Lança IllegalStateException se o cabeçalho não é de um quadro ou é de uma versão incompatível. */
+    public LeitorBinario(ByteBuffer origem) {
+        if (origem == null) {
+            throw new IllegalArgumentException("Buffer não pode ser nulo.");
+        }
+        this.origem = origem;
+        this.limite = origem.limit();
+        this.posicao = origem.position();
+        if (limite - posicao < EscritorBinario.TAMANHO_CABECALHO || origem.get(posicao) != EscritorBinario.MAGICO_1
+                || origem.get(posicao + 1) != EscritorBinario.MAGICO_2) {
+            throw new IllegalStateException("Buffer não começa com um quadro binário.");
+        }
+        byte versao = origem.get(posicao + 2);
+        if (versao != EscritorBinario.VERSAO) {
+            throw new IllegalStateException("Versão " + versao + " do quadro não suportada (esperada "
+                    + EscritorBinario.VERSAO + ").");
+        }
+        posicao += EscritorBinario.TAMANHO_CABECALHO;
+    }
+
+    /** Avança para o próximo registro conhecido; false no fim do quadro. Registros de tipos novos são pulados. */
+    public boolean proximo() {
+        while (posicao < limite) {
+            TipoObjeto lido = TipoObjeto.doCodigo(origem.get(posicao++));
+            int corpo = lerVarint();
+            int fim = posicao + corpo;
+            if (corpo < 0 || fim > limite || fim < posicao) {
+                throw corrompido();
+            }
+            if (lido == TipoObjeto.LIVRO) {
+                lerCamposLivro();
+            } else if (lido == TipoObjeto.MEMBRO) {
+                lerCamposMembro();
+            }
+            if (posicao > fim) {
+                throw corrompido();
+            }
+            posicao = fim; // campos acrescentados por versões mais novas ficam para trás
+            if (lido != null) {
+                tipo = lido;
+                return true;
+            }
+        }
+        tipo = null;
+        return false;
+    }
+
+    private void lerCamposLivro() {
+        tamanhoId = lerVarint();
+        posicaoId = pular(tamanhoId);
+        tamanhoTexto = lerVarint();
+        posicaoTexto = pular(tamanhoTexto);
+        int codigo = lerVarint();
+        if (codigo == 0) {
+            int tamanho = lerVarint();
+            registrarAutor(pular(tamanho), tamanho);
+            codigo = quantidadeAutores;
+        } else if (codigo > quantidadeAutores) {
+            throw corrompido();
+        }
+        codigoAutor = codigo;
+        ano = lerVarint();
+        estado = byteAtual();
+    }
+
+    private void lerCamposMembro() {
+        tamanhoId = lerVarint();
+        posicaoId = pular(tamanhoId);
+        tamanhoTexto = lerVarint();
+        posicaoTexto = pular(tamanhoTexto);
+        quantidadeEmprestimos = lerVarint();
+        posicaoEmprestimos = posicao;
+        for (int i = 0; i < quantidadeEmprestimos; i++) {
+            pular(lerVarint());
+        }
+    }
+
+    private void registrarAutor(int posicaoAutor, int tamanho) {
+        if (quantidadeAutores == posicoesAutores.length) {
+            posicoesAutores = Arrays.copyOf(posicoesAutores, quantidadeAutores * 2);
+            tamanhosAutores = Arrays.copyOf(tamanhosAutores, quantidadeAutores * 2);
+            autores = Arrays.copyOf(autores, quantidadeAutores * 2);
+        }
+        posicoesAutores[quantidadeAutores] = posicaoAutor;
+        tamanhosAutores[quantidadeAutores] = tamanho;
+        quantidadeAutores++;
+    }
+
+    // --- Campos do registro atual ---
+
+    /** Tipo do registro atual (null antes do primeiro {@link #proximo()} e depois do fim). */
+    public TipoObjeto getTipo() {
+        return tipo;
+    }
+
+    public String getId() {
+        exigirRegistro();
+        return lerUtf8(origem, posicaoId, tamanhoId, rascunho);
+    }
+
+    /** Compara o ID do registro com {@code id} sem decodificá-lo. */
+    public boolean idIgual(String id) {
+        exigirRegistro();
+        return id != null && igualUtf8(origem, posicaoId, tamanhoId, id, rascunho);
+    }
+
+    public String getTitulo() {
+        exigir(TipoObjeto.LIVRO);
+        return lerUtf8(origem, posicaoTexto, tamanhoTexto, rascunho);
+    }
+
+    public String getAutor() {
+        exigir(TipoObjeto.LIVRO);
+        int i = codigoAutor - 1;
+        String autor = autores[i];
+        if (autor == null) {
+            autor = lerUtf8(origem, posicoesAutores[i], tamanhosAutores[i], rascunho);
+            autores[i] = autor;
+        }
+        return autor;
+    }
+
+    public int getAnoPublicacao() {
+        exigir(TipoObjeto.LIVRO);
+        return ano;
+    }
+
+    public boolean isDisponivel() {
+        exigir(TipoObjeto.LIVRO);
+        return (estado & 1) == 0;
+    }
+
+    public String getNome() {
+        exigir(TipoObjeto.MEMBRO);
+        return lerUtf8(origem, posicaoTexto, tamanhoTexto, rascunho);
+    }
+
+    public int quantidadeEmprestimos() {
+        exigir(TipoObjeto.MEMBRO);
+        return quantidadeEmprestimos;
+    }
+
+    // --- Objetos inteiros ---
+
+    /** Livro do registro atual, com a disponibilidade gravada. */
+    public Livro lerLivro() {
+        Livro livro = new Livro(getId(), getTitulo(), getAutor(), getAnoPublicacao());
+        if (!isDisponivel()) {
+            livro.marcarComoEmprestado();
+        }
+        return livro;
+    }
+
+    /**
+     * Membro do registro atual. Os empréstimos são gravados só como IDs: {@code livros} os resolve (por exemplo
+     * {@code biblioteca::buscarLivroPorId}) e um ID sem livro lança IllegalArgumentException.
+     */
+    public Membro lerMembro(Function<String, Livro> livros) {
+        exigir(TipoObjeto.MEMBRO);
+        if (livros == null) {
+            throw new IllegalArgumentException("Resolvedor de livros não pode ser nulo.");
+        }
+        Membro membro = new Membro(getId(), getNome());
+        int atual = posicao;
+        posicao = posicaoEmprestimos;
+        try {
+            for (int i = 0; i < quantidadeEmprestimos; i++) {
+                int tamanho = lerVarint();
+                String idLivro = lerUtf8(origem, pular(tamanho), tamanho, rascunho);
+                Livro livro = livros.apply(idLivro);
+                if (livro == null) {
+                    throw new IllegalArgumentException("Livro com ID " + idLivro + " não encontrado.");
+                }
+                membro.emprestarLivro(livro);
+            }
+        } finally {
+            posicao = atual;
+        }
+        return membro;
+    }
+
+    // --- Auxiliares ---
+
+    private void exigirRegistro() {
+        if (tipo == null) {
+            throw new IllegalStateException("Nenhum registro atual; chame proximo() antes.");
+        }
+    }
+
+    private void exigir(TipoObjeto esperado) {
+        if (tipo != esperado) {
+            throw new IllegalStateException("O registro atual é " + tipo + ", não " + esperado + ".");
+        }
+    }
+
+    private int lerVarint() {
+        int valor = 0;
+        for (int deslocamento = 0; deslocamento < 35; deslocamento += 7) {
+            byte b = byteAtual();
+            valor |= (b & 0x7F) << deslocamento;
+            if (b >= 0) {
+                return valor;
+            }
+        }
+        throw corrompido();
+    }
+
+    private byte byteAtual() {
+        if (posicao >= limite) {
+            throw corrompido();
+        }
+        return origem.get(posicao++);
+    }
+
+    // Pula n bytes e devolve onde eles começam
+    private int pular(int n) {
+        int inicio = posicao;
+        if (n < 0 || n > limite - posicao) {
+            throw corrompido();
+        }
+        posicao += n;
+        return inicio;
+    }
+
+    private IllegalStateException corrompido() {
+        return new IllegalStateException("Quadro binário corrompido ou truncado perto do byte " + posicao + ".");
+    }
+}
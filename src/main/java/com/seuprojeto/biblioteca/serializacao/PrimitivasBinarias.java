@@ -0,0 +1,128 @@
+package com.seuprojeto.biblioteca.serializacao;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Varints (7 bits por byte) e textos UTF-8 escritos e lidos direto no {@link ByteBuffer}, heap ou direto: a
+ * escrita codifica os chars no buffer sem passar por um {@code byte[]} e a leitura usa posições absolutas,
+ * sem mexer na posição do buffer.
+ */
+final class PrimitivasBinarias {
+
+    private PrimitivasBinarias() {
+    }
+
+    static int tamanhoVarint(int valor) {
+        // 1 byte até 7 bits, 2 até 14, ... 5 para negativos
+        return (31 - Integer.numberOfLeadingZeros(valor | 1)) / 7 + 1;
+    }
+
+    static void escreverVarint(ByteBuffer destino, int valor) {
+        while ((valor & ~0x7F) != 0) {
+            destino.put((byte) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        destino.put((byte) valor);
+    }
+
+    /** Bytes do texto em UTF-8; surrogates sem par contam como um byte ('?'), como em {@code getBytes}. */
+    static int tamanhoUtf8(String texto) {
+        int tamanho = texto.length();
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    tamanho += 1;
+                } else if (Character.isHighSurrogate(c) && i + 1 < texto.length()
+                        && Character.isLowSurrogate(texto.charAt(i + 1))) {
+                    tamanho += 2; // 4 bytes para os 2 chars do par
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    tamanho += 2;
+                }
+            }
+        }
+        return tamanho;
+    }
+
+    /** Escreve os {@code tamanhoUtf8} bytes do texto já calculados por {@link #tamanhoUtf8}. */
+    static void escreverUtf8(ByteBuffer destino, String texto, int tamanhoUtf8) {
+        if (destino.hasArray()) {
+            byte[] bytes = destino.array();
+            int inicio = destino.arrayOffset() + destino.position();
+            int fim = codificar(texto, bytes, inicio);
+            destino.position(destino.position() + (fim - inicio));
+            return;
+        }
+        if (tamanhoUtf8 == texto.length()) {
+            for (int i = 0; i < texto.length(); i++) {
+                destino.put((byte) texto.charAt(i));
+            }
+            return;
+        }
+        byte[] bytes = new byte[tamanhoUtf8];
+        codificar(texto, bytes, 0);
+        destino.put(bytes);
+    }
+
+    private static int codificar(String texto, byte[] bytes, int posicao) {
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c < 0x80) {
+                bytes[posicao++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[posicao++] = (byte) (0xC0 | (c >> 6));
+                bytes[posicao++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < texto.length()
+                    && Character.isLowSurrogate(texto.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, texto.charAt(++i));
+                bytes[posicao++] = (byte) (0xF0 | (cp >> 18));
+                bytes[posicao++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                bytes[posicao++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                bytes[posicao++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                bytes[posicao++] = '?';
+            } else {
+                bytes[posicao++] = (byte) (0xE0 | (c >> 12));
+                bytes[posicao++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[posicao++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return posicao;
+    }
+
+    /**
+     * Texto de {@code tamanho} bytes a partir de {@code posicao}. De um buffer heap vira String direto do array;
+     * de um direto passa pelo {@code rascunho} reaproveitado (ou por um array novo, se ele for pequeno).
+     */
+    static String lerUtf8(ByteBuffer origem, int posicao, int tamanho, byte[] rascunho) {
+        if (origem.hasArray()) {
+            return new String(origem.array(), origem.arrayOffset() + posicao, tamanho, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = tamanho <= rascunho.length ? rascunho : new byte[tamanho];
+        origem.get(posicao, bytes, 0, tamanho);
+        return new String(bytes, 0, tamanho, StandardCharsets.UTF_8);
+    }
+
+    /** Compara o texto com os bytes sem decodificá-los (só textos ASCII; os demais são decodificados). */
+    static boolean igualUtf8(ByteBuffer origem, int posicao, int tamanho, String texto, byte[] rascunho) {
+        if (tamanho == texto.length()) {
+            int i = 0;
+            for (; i < tamanho; i++) {
+                char c = texto.charAt(i);
+                if (c >= 0x80) {
+                    break;
+                }
+                if (origem.get(posicao + i) != (byte) c) {
+                    return false;
+                }
+            }
+            if (i == tamanho) {
+                return true;
+            }
+        }
+        return tamanho >= texto.length() && tamanho <= texto.length() * 3
+                && lerUtf8(origem, posicao, tamanho, rascunho).equals(texto);
+    }
+}
@@ -0,0 +1,29 @@
+package com.seuprojeto.biblioteca.serializacao;
+
+/** O que cada registro de um quadro binário guarda; o código é o primeiro byte do registro. */
+public enum TipoObjeto {
+    LIVRO(1),
+    MEMBRO(2);
+
+    private final byte codigo;
+
+    TipoObjeto(int codigo) {
+        this.codigo = (byte) codigo;
+    }
+
+    byte getCodigo() {
+        return codigo;
+    }
+
+    // null para códigos de versões mais novas, que o leitor pula
+    static TipoObjeto doCodigo(byte codigo) {
+        switch (codigo) {
+            case 1:
+                return LIVRO;
+            case 2:
+                return MEMBRO;
+            default:
+                return null;
+        }
+    }
+}
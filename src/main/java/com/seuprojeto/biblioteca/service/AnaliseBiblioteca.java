@@ -0,0 +1,412 @@
+package com.seuprojeto.biblioteca.service;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Relatórios gerenciais (agrupamentos, contagens, os k maiores) sobre um {@link InstantaneoBiblioteca},
+ * calculados em paralelo ({@code biblioteca.analise()}).
+ *
+ * Todas as consultas leem a mesma versão imutável, então são consistentes entre si, e nenhuma toma trava da
+ * Biblioteca: empréstimos e devoluções seguem publicando versões novas enquanto o relatório roda. O trabalho é
+ * dividido pelas subárvores da versão entre as threads de um {@link ForkJoinPool} (o comum, ou o passado em
+ * {@link InstantaneoBiblioteca#analise(ForkJoinPool)} para limitar quantos núcleos o relatório ocupa).
+ *
+ * As contagens por período de publicação não percorrem objetos: usam duas colunas primitivas (ano e
+ * disponibilidade de cada livro), extraídas em paralelo na primeira consulta que as pede e reaproveitadas
+ * pelas seguintes.
+ */
+public final class AnaliseBiblioteca {
+
+    // Livros por tarefa abaixo do qual não vale mais dividir
+    private static final int LIMIAR = 1 << 14;
+    private static final int MAXIMO_FAIXAS = 1 << 20;
+
+    /** Uma chave e quantas vezes ela apareceu. */
+    public static final class Contagem<K> {
+        private final K chave;
+        private final long quantidade;
+
+        Contagem(K chave, long quantidade) {
+            this.chave = chave;
+            this.quantidade = quantidade;
+        }
+
+        public K getChave() { return chave; }
+        public long getQuantidade() { return quantidade; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Contagem)) return false;
+            Contagem<?> outra = (Contagem<?>) o;
+            return quantidade == outra.quantidade && Objects.equals(chave, outra.chave);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(chave, quantidade);
+        }
+
+        @Override
+        public String toString() {
+            return chave + "=" + quantidade;
+        }
+    }
+
+    /** Livros de um período de publicação e quantos deles estão disponíveis. */
+    public static final class Disponibilidade {
+        private final long total;
+        private final long disponiveis;
+
+        Disponibilidade(long total, long disponiveis) {
+            this.total = total;
+            this.disponiveis = disponiveis;
+        }
+
+        public long getTotal() { return total; }
+        public long getDisponiveis() { return disponiveis; }
+        public long getEmprestados() { return total - disponiveis; }
+
+        /** Disponíveis / total, ou 0 sem nenhum livro. */
+        public double getRazao() {
+            return total == 0 ? 0 : (double) disponiveis / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("total=%d disponiveis=%d razao=%.4f", total, disponiveis, getRazao());
+        }
+    }
+
+    private final InstantaneoBiblioteca instantaneo;
+    private final ForkJoinPool pool;
+    private volatile Colunas colunas; // extraídas na primeira consulta por período
+
+    AnaliseBiblioteca(InstantaneoBiblioteca instantaneo, ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool da análise não pode ser nulo.");
+        }
+        this.instantaneo = instantaneo;
+        this.pool = pool;
+    }
+
+    /** A versão analisada. */
+    public InstantaneoBiblioteca getInstantaneo() {
+        return instantaneo;
+    }
+
+    /**
+     * Fluxo paralelo dos livros da versão, para agregações que os métodos abaixo não cobrem. Roda no pool de
+     * quem chama a operação terminal, não no pool da análise.
+     */
+    public Stream<Livro> livros() {
+        return StreamSupport.stream(instantaneo.divisorLivros(), true);
+    }
+
+    // --- Agrupamentos ---
+
+    /** Quantos livros há para cada valor de {@code chave} (que não pode devolver null). */
+    public <K> Map<K, Long> contarLivrosPor(Function<? super Livro, ? extends K> chave) {
+        return contarLivrosPor(chave, livro -> true);
+    }
+
+    /** Como {@link #contarLivrosPor(Function)}, só com os livros aceitos por {@code filtro}. */
+    public <K> Map<K, Long> contarLivrosPor(Function<? super Livro, ? extends K> chave, Predicate<? super Livro> filtro) {
+        if (chave == null || filtro == null) {
+            throw new IllegalArgumentException("Chave e filtro não podem ser nulos.");
+        }
+        // Cada folha conta no seu mapa (contadores mutáveis, sem um Long novo por livro) e os mapas são somados
+        // na volta: sem disputa entre threads por chaves populares
+        Map<K, long[]> contadores = executar(() -> livros().collect(HashMap::new, (mapa, livro) -> {
+            if (filtro.test(livro)) {
+                mapa.computeIfAbsent(chave.apply(livro), k -> new long[1])[0]++;
+            }
+        }, (mapa, outro) -> outro.forEach((k, contador) -> mapa.merge(k, contador, (a, b) -> {
+            a[0] += b[0];
+            return a;
+        }))));
+        Map<K, Long> resultado = new HashMap<>(contadores.size() * 4 / 3 + 1);
+        contadores.forEach((k, contador) -> resultado.put(k, contador[0]));
+        return resultado;
+    }
+
+    /**
+     * Os {@code k} valores de {@code chave} com mais livros aceitos por {@code filtro}, do maior para o menor
+     * (empates em qualquer ordem).
+     */
+    public <K> List<Contagem<K>> maioresGrupos(Function<? super Livro, ? extends K> chave,
+                                               Predicate<? super Livro> filtro, int k) {
+        validarK(k);
+        Map<K, Long> contagens = contarLivrosPor(chave, filtro);
+        return executar(() -> maiores(contagens.entrySet().parallelStream()
+                .map(entrada -> new Contagem<>(entrada.getKey(), entrada.getValue())), k));
+    }
+
+    /** Os {@code k} autores com mais livros emprestados nesta versão. */
+    public List<Contagem<String>> autoresComMaisEmprestimos(int k) {
+        return maioresGrupos(Livro::getAutor, livro -> !livro.isDisponivel(), k);
+    }
+
+    /** Os {@code k} membros com mais livros emprestados nesta versão (membros sem empréstimos ficam de fora). */
+    public List<Contagem<Membro>> membrosComMaisEmprestimos(int k) {
+        validarK(k);
+        return executar(() -> maiores(instantaneo.emprestimosPorMembro().filter(c -> c.quantidade > 0), k));
+    }
+
+    // Seleção com um heap de k por folha; os heaps são juntados e podados na volta
+    private static <K> List<Contagem<K>> maiores(Stream<Contagem<K>> contagens, int k) {
+        Comparator<Contagem<K>> ordem = Comparator.comparingLong(contagem -> contagem.quantidade);
+        PriorityQueue<Contagem<K>> heap = contagens.collect(() -> new PriorityQueue<>(ordem),
+                (h, contagem) -> adicionarLimitado(h, contagem, k),
+                (h, outro) -> outro.forEach(contagem -> adicionarLimitado(h, contagem, k)));
+        List<Contagem<K>> resultado = new ArrayList<>(heap);
+        resultado.sort(ordem.reversed());
+        return resultado;
+    }
+
+    private static <K> void adicionarLimitado(PriorityQueue<Contagem<K>> heap, Contagem<K> contagem, int k) {
+        if (heap.size() < k) {
+            heap.add(contagem);
+        } else if (k > 0 && contagem.quantidade > heap.peek().quantidade) {
+            heap.poll();
+            heap.add(contagem);
+        }
+    }
+
+    private static void validarK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Quantidade de resultados não pode ser negativa.");
+        }
+    }
+
+    // --- Períodos de publicação (colunas primitivas) ---
+
+    /** Total e disponíveis por década de publicação (1990 = 1990 a 1999), em ordem. */
+    public SortedMap<Integer, Disponibilidade> disponibilidadePorDecada() {
+        return disponibilidadePorPeriodo(10);
+    }
+
+    /**
+     * Total e disponíveis por período de {@code anos} anos de publicação, alinhado a múltiplos de {@code anos}.
+     * Períodos sem nenhum livro não aparecem.
+     */
+    public SortedMap<Integer, Disponibilidade> disponibilidadePorPeriodo(int anos) {
+        if (anos < 1) {
+            throw new IllegalArgumentException("Período deve ter pelo menos um ano.");
+        }
+        Colunas c = colunas();
+        SortedMap<Integer, Disponibilidade> resultado = new TreeMap<>();
+        if (c.anos.length == 0) {
+            return resultado;
+        }
+        int base = c.anoMinimo / anos * anos;
+        long faixas = ((long) c.anoMaximo - base) / anos + 1;
+        if (faixas > MAXIMO_FAIXAS) {
+            throw new IllegalArgumentException("Período de " + anos + " anos divide os anos do catálogo em faixas demais.");
+        }
+        long[][] somas = pool.invoke(new Histograma(c, 0, c.anos.length, base, anos, (int) faixas));
+        for (int faixa = 0; faixa < faixas; faixa++) {
+            if (somas[0][faixa] > 0) {
+                resultado.put(base + faixa * anos, new Disponibilidade(somas[0][faixa], somas[1][faixa]));
+            }
+        }
+        return resultado;
+    }
+
+    /** Livros publicados de {@code anoInicial} a {@code anoFinal} (inclusive), só os disponíveis ou todos. */
+    public long contarLivros(int anoInicial, int anoFinal, boolean somenteDisponiveis) {
+        if (anoInicial > anoFinal) {
+            throw new IllegalArgumentException("Ano inicial não pode ser maior que o final.");
+        }
+        Colunas c = colunas();
+        // Anos de publicação são positivos: com o início em 0 ou mais, as subtrações do laço não transbordam
+        return pool.invoke(new ContagemFaixa(c, 0, c.anos.length, Math.max(0, anoInicial), anoFinal,
+                somenteDisponiveis));
+    }
+
+    private Colunas colunas() {
+        Colunas c = colunas;
+        if (c == null) {
+            synchronized (this) {
+                c = colunas;
+                if (c == null) {
+                    c = new Colunas(instantaneo.quantidadeLivros());
+                    pool.invoke(new Extracao(instantaneo.divisorLivros(), c, 0));
+                    c.calcularLimites();
+                    colunas = c;
+                }
+            }
+        }
+        return c;
+    }
+
+    // Roda no pool da análise, a menos que já estejamos nele (as tarefas paralelas herdam o pool de quem as chama)
+    private <T> T executar(Supplier<T> consulta) {
+        if (pool == ForkJoinPool.commonPool() || ForkJoinTask.getPool() == pool) {
+            return consulta.get();
+        }
+        return pool.submit(consulta::get).join();
+    }
+
+    private static final class Colunas {
+        final int[] anos;
+        final byte[] disponiveis; // 1 ou 0, para somar sem desvio
+        int anoMinimo;
+        int anoMaximo;
+
+        Colunas(int tamanho) {
+            anos = new int[tamanho];
+            disponiveis = new byte[tamanho];
+        }
+
+        void calcularLimites() {
+            int minimo = Integer.MAX_VALUE;
+            int maximo = Integer.MIN_VALUE;
+            for (int ano : anos) {
+                minimo = Math.min(minimo, ano);
+                maximo = Math.max(maximo, ano);
+            }
+            anoMinimo = minimo;
+            anoMaximo = maximo;
+        }
+    }
+
+    // Cada parte do divisor tem tamanho exato, então escreve nas colunas a partir do seu deslocamento
+    @SuppressWarnings("serial") // tarefa local, nunca serializada
+    private static final class Extracao extends RecursiveAction {
+        private final Spliterator<Livro> livros;
+        private final Colunas colunas;
+        private final int deslocamento;
+
+        Extracao(Spliterator<Livro> livros, Colunas colunas, int deslocamento) {
+            this.livros = livros;
+            this.colunas = colunas;
+            this.deslocamento = deslocamento;
+        }
+
+        @Override
+        protected void compute() {
+            Spliterator<Livro> prefixo;
+            if (livros.estimateSize() > LIMIAR && (prefixo = livros.trySplit()) != null) {
+                invokeAll(new Extracao(prefixo, colunas, deslocamento),
+                        new Extracao(livros, colunas, deslocamento + (int) prefixo.estimateSize()));
+                return;
+            }
+            int[] posicao = {deslocamento};
+            livros.forEachRemaining(livro -> {
+                colunas.anos[posicao[0]] = livro.getAnoPublicacao();
+                colunas.disponiveis[posicao[0]] = (byte) (livro.isDisponivel() ? 1 : 0);
+                posicao[0]++;
+            });
+        }
+    }
+
+    // [0] = total e [1] = disponíveis por faixa, somados por metades
+    @SuppressWarnings("serial") // tarefa local, nunca serializada
+    private static final class Histograma extends RecursiveTask<long[][]> {
+        private final Colunas colunas;
+        private final int inicio;
+        private final int fim;
+        private final int base;
+        private final int anos;
+        private final int faixas;
+
+        Histograma(Colunas colunas, int inicio, int fim, int base, int anos, int faixas) {
+            this.colunas = colunas;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.base = base;
+            this.anos = anos;
+            this.faixas = faixas;
+        }
+
+        @Override
+        protected long[][] compute() {
+            if (fim - inicio > LIMIAR * 4) {
+                int meio = (inicio + fim) >>> 1;
+                Histograma direita = new Histograma(colunas, meio, fim, base, anos, faixas);
+                direita.fork();
+                long[][] somas = new Histograma(colunas, inicio, meio, base, anos, faixas).compute();
+                long[][] outras = direita.join();
+                for (int faixa = 0; faixa < faixas; faixa++) {
+                    somas[0][faixa] += outras[0][faixa];
+                    somas[1][faixa] += outras[1][faixa];
+                }
+                return somas;
+            }
+            long[] totais = new long[faixas];
+            long[] disponiveis = new long[faixas];
+            int[] colunaAnos = colunas.anos;
+            byte[] colunaDisponiveis = colunas.disponiveis;
+            for (int i = inicio; i < fim; i++) {
+                int faixa = (colunaAnos[i] - base) / anos;
+                totais[faixa]++;
+                disponiveis[faixa] += colunaDisponiveis[i];
+            }
+            return new long[][]{totais, disponiveis};
+        }
+    }
+
+    @SuppressWarnings("serial") // tarefa local, nunca serializada
+    private static final class ContagemFaixa extends RecursiveTask<Long> {
+        private final Colunas colunas;
+        private final int inicio;
+        private final int fim;
+        private final int anoInicial;
+        private final int anoFinal;
+        private final boolean somenteDisponiveis;
+
+        ContagemFaixa(Colunas colunas, int inicio, int fim, int anoInicial, int anoFinal, boolean somenteDisponiveis) {
+            this.colunas = colunas;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.anoInicial = anoInicial;
+            this.anoFinal = anoFinal;
+            this.somenteDisponiveis = somenteDisponiveis;
+        }
+
+        @Override
+        protected Long compute() {
+            if (fim - inicio > LIMIAR * 4) {
+                int meio = (inicio + fim) >>> 1;
+                ContagemFaixa direita = new ContagemFaixa(colunas, meio, fim, anoInicial, anoFinal, somenteDisponiveis);
+                direita.fork();
+                long esquerda = new ContagemFaixa(colunas, inicio, meio, anoInicial, anoFinal, somenteDisponiveis)
+                        .compute();
+                return esquerda + direita.join();
+            }
+            // Sem desvios no laço: cada livro soma 0 ou 1, o que o compilador consegue vetorizar
+            int[] anos = colunas.anos;
+            byte[] disponiveis = colunas.disponiveis;
+            int mascara = somenteDisponiveis ? 0 : 1;
+            long soma = 0;
+            for (int i = inicio; i < fim; i++) {
+                int ano = anos[i];
+                int dentro = ((ano - anoInicial) | (anoFinal - ano)) >>> 31 ^ 1;
+                soma += dentro & (disponiveis[i] | mascara);
+            }
+            return soma;
+        }
+    }
+}
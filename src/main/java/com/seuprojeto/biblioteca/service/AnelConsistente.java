@@ -0,0 +1,60 @@
+package com.seuprojeto.biblioteca.service;
+
+import java.util.Arrays;
+
+/**
+ * Anel de hash consistente que distribui IDs (de livros e de membros) entre partições.
+ *
+ * Cada partição ocupa {@code nosVirtuais} pontos do anel; um ID pertence à partição do primeiro ponto
+ * igual ou posterior ao seu hash, dando a volta no fim. Com muitos nós virtuais as partições recebem
+ * quantidades parecidas de IDs, e trocar o número de partições move só a fração de IDs que muda de dono
+ * (cerca de 1/N), em vez de quase todos como em {@code hash % N}.
+ */
+final class AnelConsistente {
+
+    private final int[] pontos;
+    private final int[] donos;
+
+    AnelConsistente(int particoes, int nosVirtuais) {
+        if (particoes <= 0 || nosVirtuais <= 0) {
+            throw new IllegalArgumentException("Número de partições e de nós virtuais deve ser positivo.");
+        }
+        long[] ordenados = new long[particoes * nosVirtuais];
+        int i = 0;
+        for (int particao = 0; particao < particoes; particao++) {
+            for (int no = 0; no < nosVirtuais; no++) {
+                int ponto = misturar(particao * 0x9E3779B9 + no * 0x85EBCA6B + 1);
+                // Ponto nos 32 bits altos (com sinal, para ordenar como int), dono nos baixos
+                ordenados[i++] = ((long) ponto << 32) | particao;
+            }
+        }
+        Arrays.sort(ordenados);
+        pontos = new int[ordenados.length];
+        donos = new int[ordenados.length];
+        for (i = 0; i < ordenados.length; i++) {
+            pontos[i] = (int) (ordenados[i] >> 32);
+            donos[i] = (int) ordenados[i];
+        }
+    }
+
+    int particao(String id) {
+        int posicao = Arrays.binarySearch(pontos, misturar(id.hashCode()));
+        if (posicao < 0) {
+            posicao = -posicao - 1;
+            if (posicao == pontos.length) {
+                posicao = 0;
+            }
+        }
+        return donos[posicao];
+    }
+
+    // Finalizador do MurmurHash3: IDs parecidos ("L-1", "L-2") caem em pontos distantes do anel
+    private static int misturar(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
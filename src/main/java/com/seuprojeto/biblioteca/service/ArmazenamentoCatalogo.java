@@ -0,0 +1,68 @@
+package com.seuprojeto.biblioteca.service;
+
+import com.seuprojeto.biblioteca.model.Livro;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Guarda o catálogo da {@link Biblioteca}: livros por ID, o conjunto de disponíveis, o índice textual e os
+ * índices por ano e autor.
+ * A Biblioteca chama as mutações de um livro sob a trava (faixa) desse livro.
+ *
+ * Os índices de busca só existem depois de {@link #montarIndices()}: até lá, inserir e remover não pagam a
+ * tokenização nem a manutenção deles, e uma carga grande custa só o armazenamento.
+ */
+interface ArmazenamentoCatalogo {
+
+    Livro buscar(String id);
+
+    /** Guarda o livro (e o indexa, se os índices estão montados); devolve false se o ID já existe. */
+    boolean adicionar(Livro livro);
+
+    /**
+     * Como {@link #adicionar} para vários livros, todos da mesma faixa: as linhas são tomadas de uma vez e os
+     * índices montados recebem os novos numa única passada. Devolve, por posição, se o livro entrou (um ID
+     * repetido, no catálogo ou antes no próprio grupo, não entra).
+     */
+    boolean[] adicionarTodos(List<Livro> livros);
+
+    /** Remove e desindexa um livro devolvido por {@link #buscar}. */
+    void remover(Livro livro);
+
+    /** Troca a disponibilidade de um livro devolvido por {@link #buscar}, mantendo os disponíveis em dia. */
+    void marcarDisponivel(Livro livro, boolean disponivel);
+
+    int quantidadeDisponiveis();
+
+    List<Livro> listarDisponiveis();
+
+    List<Livro> listarDisponiveis(int inicio, int limite);
+
+    /**
+     * Até {@code limite} disponíveis a partir da posição {@code cursor} do catálogo, na ordem das linhas, e a
+     * posição onde a página seguinte começa (-1 na última). O custo não depende do cursor.
+     */
+    PaginaLivros listarDisponiveisDesde(int cursor, int limite);
+
+    /** Visão somente leitura, sem cópia. */
+    Collection<Livro> disponiveis();
+
+    /** Visão somente leitura, sem cópia. */
+    Collection<Livro> todos();
+
+    boolean indicesMontados();
+
+    /**
+     * Monta o índice textual e os secundários de uma vez, com todos os livros do catálogo, e passa a mantê-los a
+     * cada mutação. Não faz nada se já estão montados. A Biblioteca chama com todas as faixas travadas.
+     */
+    void montarIndices();
+
+    IndiceTextual indice();
+
+    IndiceSecundario indiceSecundario();
+
+    /** Prepara espaço (linhas e a tabela de IDs) para mais {@code quantidade} livros, antes de uma carga em lote. */
+    void reservar(int quantidade);
+}
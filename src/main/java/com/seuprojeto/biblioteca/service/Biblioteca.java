@@ -1,152 +1,1018 @@
 package com.seuprojeto.biblioteca.service;
 
+import com.seuprojeto.biblioteca.metricas.MetricasBiblioteca;
+import com.seuprojeto.biblioteca.metricas.OperacaoMedida;
 import com.seuprojeto.biblioteca.model.Livro;
 import com.seuprojeto.biblioteca.model.Membro;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 /**
- * Classe de Servio que gerencia o estado da Biblioteca e a lgica de negcio.
+ * Classe de Serviço que gerencia o estado da Biblioteca e a lógica de negócio.
+ *
+ * No modo concorrente ({@code new Biblioteca(true)}) os índices são {@link ConcurrentHashMap}s e os
+ * empréstimos/devoluções são serializados por livro (travas listradas) e por membro, de modo que a troca
+ * de disponibilidade do livro e a atualização do membro acontecem juntas e livros diferentes escalam em paralelo.
+ * Nesse modo a ordem de iteração do catálogo e dos membros deixa de ser a de inserção.
+ *
+ * O catálogo pode ser guardado como objetos ({@link ModoCatalogo#OBJETOS}, o padrão) ou em colunas
+ * compactas ({@link ModoCatalogo#COLUNAR}); veja {@link ModoCatalogo}. Os índices de busca (texto, ano, autor)
+ * são montados de uma vez na primeira busca ou em {@link #montarIndices()}, não livro a livro.
+ *
+ * Métricas de empréstimos, devoluções, buscas e listagens ficam desligadas até {@link #ativarMetricas()};
+ * desligadas, custam só a leitura de um campo por operação.
+ *
+ * Leitores concorrentes com escritas podem usar {@link #instantaneo()} (depois de {@link #ativarInstantaneos()}):
+ * uma versão imutável e consistente de catálogo e membros, obtida sem trava. Desligados, os instantâneos
+ * também custam só a leitura de um campo por mutação. Sobre eles rodam os relatórios paralelos de
+ * {@link #analise()}.
+ *
+ * Quem quer um livro emprestado pode entrar na fila dele ({@link #reservarLivro}) em vez de tentar de novo
+ * até conseguir: a devolução empresta o livro direto ao primeiro da fila e completa o futuro da reserva.
  */
 public class Biblioteca {
 
-    private final List<Livro> catalogoLivros;
-    private final List<Membro> listaMembros;
+    // Livros por ID, disponíveis (mantidos a cada mutação, nunca recalculados) e índice textual
+    private final ArmazenamentoCatalogo catalogo;
+    private final ModoCatalogo modoCatalogo;
+    // Índice por ID: busca, inserção e remoção em O(1), mantendo a ordem de inserção
+    private final Map<String, Membro> listaMembros;
+    // Cópia na escrita: cada operação lê o array uma vez e percorre-o sem iterador
+    private volatile OuvinteBiblioteca[] ouvintes = new OuvinteBiblioteca[0];
+    private final TravasPorLivro travas;
+    private final boolean concorrente;
+    private volatile MetricasBiblioteca metricas; // null = desligadas
+    // Instantâneos: os escritores consultam o indicador e publicam versões novas sob a trava de publicação
+    private final Object publicacao = new Object();
+    private volatile boolean instantaneosLigados;
+    private volatile InstantaneoBiblioteca instantaneo; // null = desligados
+    // Filas de espera por livro, sob a trava de cada livro
+    private final FilasReservas reservas = new FilasReservas();
+    // Buscas públicas por ID fora da memória (repositórios com cache); null = lê o catálogo e a lista de membros
+    private volatile Function<String, Livro> leituraLivros;
+    private volatile Function<String, Membro> leituraMembros;
 
     public Biblioteca() {
-        this.catalogoLivros = new ArrayList<>();
-        this.listaMembros = new ArrayList<>();
+        this(false);
     }
 
-    // --- Mtodos de Busca (Auxiliares) ---
+    public Biblioteca(boolean concorrente) {
+        this(concorrente, ModoCatalogo.OBJETOS);
+    }
+
+    public Biblioteca(boolean concorrente, ModoCatalogo modoCatalogo) {
+        if (modoCatalogo == null) {
+            throw new IllegalArgumentException("Modo do catálogo não pode ser nulo.");
+        }
+        this.concorrente = concorrente;
+        this.modoCatalogo = modoCatalogo;
+        this.catalogo = modoCatalogo == ModoCatalogo.COLUNAR
+                ? new CatalogoColunar()
+                : new CatalogoObjetos(concorrente);
+        if (concorrente) {
+            this.listaMembros = new ConcurrentHashMap<>();
+            this.travas = new TravasPorLivro(TravasPorLivro.quantidadePadrao());
+        } else {
+            this.listaMembros = new LinkedHashMap<>();
+            this.travas = new TravasPorLivro(1);
+        }
+    }
+
+    public boolean isConcorrente() {
+        return concorrente;
+    }
+
+    public ModoCatalogo getModoCatalogo() {
+        return modoCatalogo;
+    }
+
+    // --- Métricas ---
+    public MetricasBiblioteca ativarMetricas() {
+        return ativarMetricas(new MetricasBiblioteca());
+    }
+
+    // Troca as métricas em uso; o tamanho do catálogo e dos membros é registrado como medidor
+    public MetricasBiblioteca ativarMetricas(MetricasBiblioteca novasMetricas) {
+        if (novasMetricas == null) {
+            throw new IllegalArgumentException("Métricas não podem ser nulas.");
+        }
+        novasMetricas.registrarMedidor("catalogo.livros", () -> catalogo.todos().size());
+        novasMetricas.registrarMedidor("catalogo.disponiveis", catalogo::quantidadeDisponiveis);
+        novasMetricas.registrarMedidor("membros", listaMembros::size);
+        this.metricas = novasMetricas;
+        return novasMetricas;
+    }
+
+    public void desativarMetricas() {
+        this.metricas = null;
+    }
+
+    // null se desligadas
+    public MetricasBiblioteca getMetricas() {
+        return metricas;
+    }
+
+    // --- Instantâneos ---
+    /**
+     * Passa a publicar uma versão imutável a cada mutação e devolve a primeira. Monta a versão inicial com todas
+     * as faixas de livros travadas (empréstimos e alterações do catálogo esperam), uma única vez.
+     */
+    public InstantaneoBiblioteca ativarInstantaneos() {
+        travas.comTodas(() -> {
+            synchronized (publicacao) {
+                if (instantaneosLigados) {
+                    return;
+                }
+                // Ligado antes de ler os membros: quem registra ou remove um membro agora publica depois de nós
+                instantaneosLigados = true;
+                instantaneo = montarInstantaneo();
+            }
+        });
+        return instantaneo;
+    }
+
+    // Com todas as faixas de livros travadas
+    private InstantaneoBiblioteca montarInstantaneo() {
+        InstantaneoBiblioteca inicial = InstantaneoBiblioteca.VAZIO;
+        for (Livro livro : catalogo.todos()) {
+            inicial = inicial.comLivro(livro);
+        }
+        for (Membro membro : listaMembros.values()) {
+            inicial = inicial.comMembro(membro);
+        }
+        return inicial;
+    }
+
+    public void desativarInstantaneos() {
+        synchronized (publicacao) {
+            instantaneosLigados = false;
+            instantaneo = null;
+        }
+    }
+
+    /** A versão mais recente, sem trava; lança IllegalStateException se os instantâneos estão desligados. */
+    public InstantaneoBiblioteca instantaneo() {
+        InstantaneoBiblioteca atual = instantaneo;
+        if (atual == null) {
+            throw new IllegalStateException("Instantâneos desativados; chame ativarInstantaneos() antes.");
+        }
+        return atual;
+    }
+
+    /**
+     * Relatórios paralelos (agrupamentos, contagens, os k maiores) sobre a versão atual, sem trava: empréstimos e
+     * devoluções seguem enquanto eles rodam.
+     *
+     * Com os instantâneos ativados usa a versão mais recente, sem custo extra; mas mantê-los ativados encarece
+     * toda mutação (um empréstimo com devolução passa de ~0,23 para ~3,9 µs), o que só compensa com relatórios
+     * frequentes. Com eles desativados monta uma versão só para esta análise, com todas as faixas de livros
+     * travadas enquanto isso (O(n log n) no tamanho do catálogo, como {@link #ativarInstantaneos()}), e as
+     * mutações seguintes continuam sem custo extra.
+     */
+    public AnaliseBiblioteca analise() {
+        InstantaneoBiblioteca atual = instantaneo;
+        if (atual != null) {
+            return atual.analise();
+        }
+        InstantaneoBiblioteca[] avulso = new InstantaneoBiblioteca[1];
+        travas.comTodas(() -> avulso[0] = montarInstantaneo());
+        return avulso[0].analise();
+    }
+
+    // Chamado dentro das travas da mutação, depois de alterar o estado
+    private void publicar(UnaryOperator<InstantaneoBiblioteca> alteracao) {
+        synchronized (publicacao) {
+            InstantaneoBiblioteca atual = instantaneo;
+            if (atual != null) {
+                instantaneo = alteracao.apply(atual);
+            }
+        }
+    }
+
+    // --- Ouvintes de Mutação ---
+    public synchronized void adicionarOuvinte(OuvinteBiblioteca ouvinte) {
+        if (ouvinte == null) {
+            throw new IllegalArgumentException("Ouvinte não pode ser nulo.");
+        }
+        OuvinteBiblioteca[] novos = Arrays.copyOf(ouvintes, ouvintes.length + 1);
+        novos[novos.length - 1] = ouvinte;
+        ouvintes = novos;
+    }
+
+    public synchronized void removerOuvinte(OuvinteBiblioteca ouvinte) {
+        List<OuvinteBiblioteca> restantes = new ArrayList<>(Arrays.asList(ouvintes));
+        if (restantes.remove(ouvinte)) {
+            ouvintes = restantes.toArray(new OuvinteBiblioteca[0]);
+        }
+    }
+
+    // --- Métodos de Busca (Auxiliares) ---
     public Livro buscarLivroPorId(String idLivro) {
-        return catalogoLivros.stream()
-                .filter(livro -> livro.getId().equals(idLivro))
-                .findFirst()
-                .orElse(null);
+        MetricasBiblioteca m = metricas;
+        Function<String, Livro> leitura = leituraLivros;
+        if (m == null) {
+            return leitura == null ? catalogo.buscar(idLivro) : leitura.apply(idLivro);
+        }
+        // Só contada: medir a latência pesaria numa busca de poucos nanossegundos
+        m.contar(OperacaoMedida.BUSCAR_LIVRO);
+        Livro livro = leitura == null ? catalogo.buscar(idLivro) : leitura.apply(idLivro);
+        if (livro == null) {
+            m.registrarFalha(OperacaoMedida.BUSCAR_LIVRO, Rejeicao.LIVRO_NAO_ENCONTRADO.name(), 0);
+        }
+        return livro;
     }
 
     public Membro buscarMembroPorId(String idMembro) {
-        return listaMembros.stream()
-                .filter(membro -> membro.getId().equals(idMembro))
-                .findFirst()
-                .orElse(null);
+        Function<String, Membro> leitura = leituraMembros;
+        return leitura == null ? listaMembros.get(idMembro) : leitura.apply(idMembro);
+    }
+
+    /**
+     * Faz {@link #buscarLivroPorId} e {@link #buscarMembroPorId} lerem por estas funções, em geral repositórios
+     * com cache mantidos em dia por um ouvinte ({@code SincronizadorRepositorios.conectar} liga os dois); com
+     * null, as buscas voltam à memória. As operações continuam sobre os livros e membros em memória: o que as
+     * buscas devolvem passa a ser o estado salvo, só para leitura.
+     */
+    public void lerPorId(Function<String, Livro> livros, Function<String, Membro> membros) {
+        if ((livros == null) != (membros == null)) {
+            throw new IllegalArgumentException("Informe as duas leituras, ou nenhuma.");
+        }
+        leituraLivros = livros;
+        leituraMembros = membros;
     }
 
     // --- Gerenciamento de Livros ---
     public void adicionarLivro(Livro livro) {
         if (livro == null) {
-            throw new IllegalArgumentException("Livro no pode ser nulo.");
+            throw new IllegalArgumentException("Livro não pode ser nulo.");
         }
-        if (buscarLivroPorId(livro.getId()) != null) {
-            throw new IllegalArgumentException("J existe um livro com o ID " + livro.getId() + " no catlogo.");
+        if (!adicionar(livro)) {
+            throw new IllegalArgumentException("Já existe um livro com o ID " + livro.getId() + " no catálogo.");
+        }
+        concluirOperacao();
+    }
+
+    // Devolve false se o ID já existe no catálogo
+    private boolean adicionar(Livro livro) {
+        antesDaMutacao();
+        synchronized (travas.travaDoLivro(livro.getId())) {
+            if (!catalogo.adicionar(livro)) {
+                return false;
+            }
+            avisarAdicionado(livro);
+            return true;
+        }
+    }
+
+    // Sob a trava do livro, depois de guardá-lo
+    private void avisarAdicionado(Livro livro) {
+        if (instantaneosLigados) {
+            publicar(atual -> atual.comLivro(livro));
+        }
+        for (OuvinteBiblioteca ouvinte : ouvintes) {
+            ouvinte.livroAdicionado(livro);
         }
-        catalogoLivros.add(livro);
     }
 
     public void removerLivro(String idLivro) {
-        Livro livro = buscarLivroPorId(idLivro);
+        antesDaMutacao();
+        synchronized (travas.travaDoLivro(idLivro)) {
+            Livro livro = catalogo.buscar(idLivro);
 
-        if (livro == null) {
-            throw new IllegalArgumentException("Livro com ID " + idLivro + " no encontrado.");
+            if (livro == null) {
+                throw new IllegalArgumentException("Livro com ID " + idLivro + " não encontrado.");
+            }
+            if (!livro.isDisponivel()) {
+                throw new IllegalArgumentException("Livro com ID " + idLivro + " está emprestado e não pode ser removido.");
+            }
+
+            catalogo.remover(livro);
+            if (instantaneosLigados) {
+                publicar(atual -> atual.semLivro(idLivro));
+            }
+            for (OuvinteBiblioteca ouvinte : ouvintes) {
+                ouvinte.livroRemovido(livro);
+            }
+        }
+        concluirOperacao();
+    }
+
+    // --- Índices de Busca ---
+    /**
+     * Monta agora o índice textual e os índices por ano e autor, de uma vez, com as faixas de livros travadas.
+     * Sem esta chamada eles são montados na primeira busca: até lá adicionar e remover livros não pagam a
+     * manutenção deles, o que deixa cargas em lote e importações mais baratas. Depois de montados, cada mutação
+     * os mantém. Chame depois de uma importação para a primeira busca não esperar a montagem.
+     */
+    public void montarIndices() {
+        if (!catalogo.indicesMontados()) {
+            travas.comTodas(catalogo::montarIndices);
+        }
+    }
+
+    public boolean isIndicesMontados() {
+        return catalogo.indicesMontados();
+    }
+
+    // --- Busca Textual (título e autor, sem acentos) ---
+    public List<Livro> buscarLivros(String consulta, int limite) {
+        if (consulta == null) {
+            throw new IllegalArgumentException("Consulta não pode ser nula.");
+        }
+        montarIndices();
+        return catalogo.indice().buscar(consulta, limite, false);
+    }
+
+    // Como buscarLivros, mas a última palavra pode estar incompleta ("machado de as" -> "Assis")
+    public List<Livro> autocompletarLivros(String consulta, int limite) {
+        if (consulta == null) {
+            throw new IllegalArgumentException("Consulta não pode ser nula.");
+        }
+        montarIndices();
+        return catalogo.indice().buscar(consulta, limite, true);
+    }
+
+    public List<String> sugerirTermos(String prefixo, int limite) {
+        if (prefixo == null) {
+            throw new IllegalArgumentException("Prefixo não pode ser nulo.");
+        }
+        montarIndices();
+        return catalogo.indice().sugerirTermos(prefixo, limite);
+    }
+
+    // 0 enquanto os índices não foram montados
+    public long getMemoriaIndiceTextualBytes() {
+        return catalogo.indicesMontados() ? catalogo.indice().bytesEstimados() : 0;
+    }
+
+    // --- Consultas por Ano e Autor (índices secundários, sem varrer o catálogo) ---
+    // Intervalo fechado de anos, em ordem de ano; com somenteDisponiveis, os emprestados ficam de fora
+    public List<Livro> buscarLivrosPorAno(int anoInicial, int anoFinal, boolean somenteDisponiveis, int limite) {
+        if (anoInicial > anoFinal) {
+            throw new IllegalArgumentException("Ano inicial não pode ser maior que o ano final.");
         }
-        if (!livro.isDisponivel()) {
-            throw new IllegalArgumentException("Livro com ID " + idLivro + " est emprestado e no pode ser removido.");
+        if (limite < 0) {
+            throw new IllegalArgumentException("Limite não pode ser negativo.");
         }
+        montarIndices();
+        return catalogo.indiceSecundario().buscarPorAno(anoInicial, anoFinal, somenteDisponiveis, limite);
+    }
 
-        catalogoLivros.remove(livro);
+    // O autor é comparado sem acentos, maiúsculas nem espaços repetidos ("jose  de ALENCAR" -> "José de Alencar")
+    public List<Livro> buscarLivrosPorAutor(String autor, boolean somenteDisponiveis, int limite) {
+        if (autor == null) {
+            throw new IllegalArgumentException("Autor não pode ser nulo.");
+        }
+        if (limite < 0) {
+            throw new IllegalArgumentException("Limite não pode ser negativo.");
+        }
+        montarIndices();
+        return catalogo.indiceSecundario().buscarPorAutor(autor, somenteDisponiveis, limite);
     }
 
     // --- Gerenciamento de Membros ---
     public void registrarMembro(Membro membro) {
         if (membro == null) {
-            throw new IllegalArgumentException("Membro no pode ser nulo.");
+            throw new IllegalArgumentException("Membro não pode ser nulo.");
         }
-        if (buscarMembroPorId(membro.getId()) != null) {
-            throw new IllegalArgumentException("J existe um membro com o ID " + membro.getId() + " registrado.");
+        antesDaMutacao();
+        synchronized (membro) {
+            if (listaMembros.putIfAbsent(membro.getId(), membro) != null) {
+                throw new IllegalArgumentException("Já existe um membro com o ID " + membro.getId() + " registrado.");
+            }
+            if (instantaneosLigados) {
+                publicar(atual -> atual.comMembro(membro));
+            }
+            for (OuvinteBiblioteca ouvinte : ouvintes) {
+                ouvinte.membroRegistrado(membro);
+            }
         }
-        listaMembros.add(membro);
+        concluirOperacao();
     }
 
     public void removerMembro(String idMembro) {
-        Membro membro = buscarMembroPorId(idMembro);
+        Membro membro = listaMembros.get(idMembro);
 
         if (membro == null) {
-            throw new IllegalArgumentException("Membro com ID " + idMembro + " no encontrado.");
+            throw new IllegalArgumentException("Membro com ID " + idMembro + " não encontrado.");
         }
-        if (!membro.getLivrosEmprestados().isEmpty()) {
-            throw new IllegalArgumentException("Membro com ID " + idMembro + " tem livros emprestados e no pode ser removido.");
+        antesDaMutacao();
+        List<FilasReservas.Reserva> reservasDoMembro;
+        synchronized (membro) {
+            if (membro.quantidadeEmprestados() > 0) {
+                throw new IllegalArgumentException("Membro com ID " + idMembro + " tem livros emprestados e não pode ser removido.");
+            }
+            if (!listaMembros.remove(idMembro, membro)) {
+                throw new IllegalArgumentException("Membro com ID " + idMembro + " não encontrado.");
+            }
+            reservasDoMembro = reservas.retirarDoMembro(membro);
+            if (instantaneosLigados) {
+                publicar(atual -> atual.semMembro(idMembro));
+            }
+            for (OuvinteBiblioteca ouvinte : ouvintes) {
+                ouvinte.membroRemovido(membro);
+            }
+        }
+        // Cada fila sai sob a trava do seu livro, já sem a do membro (a ordem das travas é livro, depois membro)
+        for (FilasReservas.Reserva reserva : reservasDoMembro) {
+            synchronized (travas.travaDoLivro(reserva.idLivro)) {
+                reservas.remover(reserva);
+                reserva.recusa = Rejeicao.MEMBRO_NAO_ENCONTRADO;
+            }
+        }
+        try {
+            concluirOperacao();
+        } finally {
+            concluirReservas(reservasDoMembro);
         }
-
-        listaMembros.remove(membro);
     }
 
-    // --- Operaes de Emprstimo ---
+    // --- Operações de Empréstimo ---
     public void emprestarLivro(String idLivro, String idMembro) {
-        Livro livro = buscarLivroPorId(idLivro);
-        Membro membro = buscarMembroPorId(idMembro);
+        Rejeicao rejeicao = emprestar(idLivro, idMembro);
+        if (rejeicao != null) {
+            throw rejeicao.excecao(idLivro, idMembro);
+        }
+    }
 
-        if (livro == null) {
-            throw new IllegalArgumentException("Livro com ID " + idLivro + " no encontrado.");
+    public void devolverLivro(String idLivro, String idMembro) {
+        Rejeicao rejeicao = devolver(idLivro, idMembro);
+        if (rejeicao != null) {
+            throw rejeicao.excecao(idLivro, idMembro);
         }
-        if (membro == null) {
-            throw new IllegalArgumentException("Membro com ID " + idMembro + " no encontrado.");
+    }
+
+    /**
+     * Como {@link #emprestarLivro}, mas a recusa vem no resultado em vez de numa exceção. No modo
+     * {@link ModoCatalogo#OBJETOS} o caminho da recusa não aloca nada: feito para picos de tentativas sobre
+     * títulos concorridos, em que montar exceções (mensagem e pilha) dominaria a CPU.
+     */
+    public ResultadoOperacao tentarEmprestar(String idLivro, String idMembro) {
+        Rejeicao rejeicao = emprestar(idLivro, idMembro);
+        return rejeicao == null ? ResultadoOperacao.SUCESSO : rejeicao.resultado;
+    }
+
+    /** Como {@link #devolverLivro}, mas a recusa vem no resultado em vez de numa exceção. */
+    public ResultadoOperacao tentarDevolver(String idLivro, String idMembro) {
+        Rejeicao rejeicao = devolver(idLivro, idMembro);
+        return rejeicao == null ? ResultadoOperacao.SUCESSO : rejeicao.resultado;
+    }
+
+    // --- Reservas (fila de espera por livro) ---
+
+    /**
+     * Entra na fila de espera de um livro. O futuro completa com o livro quando ele é emprestado ao membro:
+     * na hora, se o livro está disponível, ou na devolução em que chegar a vez do membro (a devolução já
+     * empresta o livro a ele, na ordem de chegada). Completa com exceção se o membro for removido antes.
+     * Cancelar o futuro, ou chamar {@link #cancelarReserva}, tira o membro da fila.
+     */
+    public CompletableFuture<Livro> reservarLivro(String idLivro, String idMembro) {
+        antesDaMutacao();
+        CompletableFuture<Livro> futuro = reservar(idLivro, idMembro);
+        if (futuro.isDone()) {
+            concluirOperacao(); // emprestado na hora
+        }
+        return futuro;
+    }
+
+    private CompletableFuture<Livro> reservar(String idLivro, String idMembro) {
+        synchronized (travas.travaDoLivro(idLivro)) {
+            Livro livro = catalogo.buscar(idLivro);
+            Membro membro = listaMembros.get(idMembro);
+            if (livro == null) {
+                throw Rejeicao.LIVRO_NAO_ENCONTRADO.excecao(idLivro, idMembro);
+            }
+            if (membro == null) {
+                throw Rejeicao.MEMBRO_NAO_ENCONTRADO.excecao(idLivro, idMembro);
+            }
+            // Disponível só com a fila vazia: a devolução entrega o livro ao próximo antes de soltar a trava
+            if (livro.isDisponivel()) {
+                MetricasBiblioteca m = metricas;
+                long inicio = m == null ? 0 : m.iniciar(OperacaoMedida.EMPRESTAR);
+                Rejeicao rejeicao = emprestarSobTravas(idLivro, idMembro);
+                if (m != null) {
+                    registrar(m, OperacaoMedida.EMPRESTAR, rejeicao, inicio);
+                }
+                if (rejeicao != null) {
+                    throw rejeicao.excecao(idLivro, idMembro);
+                }
+                return CompletableFuture.completedFuture(livro);
+            }
+            FilasReservas.Reserva reserva = new FilasReservas.Reserva(idLivro, membro);
+            // Sob a trava do membro: ou removerMembro() já o tirou da lista, ou vai encontrar esta reserva
+            synchronized (membro) {
+                if (listaMembros.get(idMembro) != membro) {
+                    throw Rejeicao.MEMBRO_NAO_ENCONTRADO.excecao(idLivro, idMembro);
+                }
+                if (membro.possuiLivro(livro)) {
+                    throw new IllegalArgumentException("Membro com ID " + idMembro + " já está com o livro " + idLivro + ".");
+                }
+                if (!reservas.enfileirar(idLivro, reserva)) {
+                    throw new IllegalArgumentException("Membro com ID " + idMembro + " já está na fila do livro " + idLivro + ".");
+                }
+            }
+            reserva.futuro.whenComplete((emprestado, erro) -> {
+                if (reserva.futuro.isCancelled()) {
+                    synchronized (travas.travaDoLivro(idLivro)) {
+                        reservas.remover(reserva);
+                    }
+                }
+            });
+            return reserva.futuro;
+        }
+    }
+
+    /** Tira o membro da fila do livro e cancela o futuro da reserva; devolve false se ele não estava na fila. */
+    public boolean cancelarReserva(String idLivro, String idMembro) {
+        FilasReservas.Reserva reserva;
+        synchronized (travas.travaDoLivro(idLivro)) {
+            reserva = reservas.remover(idLivro, idMembro);
         }
-        if (!livro.isDisponivel()) {
-            throw new IllegalStateException("Livro com ID " + idLivro + " no est disponvel para emprstimo.");
+        if (reserva == null) {
+            return false;
+        }
+        reserva.futuro.cancel(false);
+        return true;
+    }
+
+    public int quantidadeReservas(String idLivro) {
+        synchronized (travas.travaDoLivro(idLivro)) {
+            return reservas.quantidade(idLivro);
+        }
+    }
+
+    /** Posição do membro na fila do livro, a partir de 1; 0 se ele não está na fila. */
+    public int posicaoNaFila(String idLivro, String idMembro) {
+        synchronized (travas.travaDoLivro(idLivro)) {
+            return reservas.posicao(idLivro, idMembro);
+        }
+    }
+
+    // Núcleo sem exceções: devolve null em caso de sucesso ou o motivo da recusa
+    private Rejeicao emprestar(String idLivro, String idMembro) {
+        MetricasBiblioteca m = metricas;
+        if (m == null) {
+            return aplicarEmprestimo(idLivro, idMembro);
         }
+        long inicio = m.iniciar(OperacaoMedida.EMPRESTAR);
+        Rejeicao rejeicao = aplicarEmprestimo(idLivro, idMembro);
+        registrar(m, OperacaoMedida.EMPRESTAR, rejeicao, inicio);
+        return rejeicao;
+    }
+
+    private Rejeicao devolver(String idLivro, String idMembro) {
+        MetricasBiblioteca m = metricas;
+        if (m == null) {
+            return aplicarDevolucao(idLivro, idMembro);
+        }
+        long inicio = m.iniciar(OperacaoMedida.DEVOLVER);
+        Rejeicao rejeicao = aplicarDevolucao(idLivro, idMembro);
+        registrar(m, OperacaoMedida.DEVOLVER, rejeicao, inicio);
+        return rejeicao;
+    }
+
+    private static void registrar(MetricasBiblioteca m, OperacaoMedida operacao, Rejeicao rejeicao, long inicio) {
+        if (rejeicao == null) {
+            m.concluir(operacao, inicio);
+        } else {
+            m.registrarFalha(operacao, rejeicao.name(), inicio);
+        }
+    }
+
+    // As esperas dos ouvintes (o fsync do diário) acontecem depois de soltar as travas
+    private Rejeicao aplicarEmprestimo(String idLivro, String idMembro) {
+        antesDaMutacao();
+        Rejeicao rejeicao = emprestarSobTravas(idLivro, idMembro);
+        if (rejeicao == null) {
+            concluirOperacao();
+        }
+        return rejeicao;
+    }
+
+    // Ordem das travas: primeiro a faixa do livro, depois o membro (nunca o contrário)
+    private Rejeicao emprestarSobTravas(String idLivro, String idMembro) {
+        synchronized (travas.travaDoLivro(idLivro)) {
+            Livro livro = catalogo.buscar(idLivro);
+            Membro membro = listaMembros.get(idMembro);
+
+            if (livro == null) {
+                return Rejeicao.LIVRO_NAO_ENCONTRADO;
+            }
+            if (membro == null) {
+                return Rejeicao.MEMBRO_NAO_ENCONTRADO;
+            }
+            if (!livro.isDisponivel()) {
+                return Rejeicao.LIVRO_INDISPONIVEL;
+            }
 
+            synchronized (membro) {
+                // O membro pode ter sido removido entre a busca e a trava
+                if (listaMembros.get(idMembro) != membro) {
+                    return Rejeicao.MEMBRO_NAO_ENCONTRADO;
+                }
+                registrarEmprestimo(livro, membro);
+            }
+            return null;
+        }
+    }
+
+    // Sob a trava do livro e a do membro
+    private void registrarEmprestimo(Livro livro, Membro membro) {
         // Atualiza status e relaciona
-        livro.marcarComoEmprestado();
+        catalogo.marcarDisponivel(livro, false);
         membro.emprestarLivro(livro);
+        if (instantaneosLigados) {
+            publicar(atual -> atual.comEmprestimo(livro, membro));
+        }
+        for (OuvinteBiblioteca ouvinte : ouvintes) {
+            ouvinte.livroEmprestado(livro, membro);
+        }
     }
 
-    public void devolverLivro(String idLivro, String idMembro) {
-        Livro livro = buscarLivroPorId(idLivro);
-        Membro membro = buscarMembroPorId(idMembro);
+    private Rejeicao aplicarDevolucao(String idLivro, String idMembro) {
+        antesDaMutacao();
+        List<FilasReservas.Reserva> atendidas = null;
+        synchronized (travas.travaDoLivro(idLivro)) {
+            Rejeicao rejeicao = devolverSobTravas(idLivro, idMembro);
+            if (rejeicao != null) {
+                return rejeicao;
+            }
+            if (!reservas.isVazia()) {
+                atendidas = entregarAoProximo(catalogo.buscar(idLivro));
+            }
+        }
+        try {
+            concluirOperacao();
+        } finally {
+            concluirReservas(atendidas);
+        }
+        return null;
+    }
+
+    // Sob a trava do livro
+    private Rejeicao devolverSobTravas(String idLivro, String idMembro) {
+        Livro livro = catalogo.buscar(idLivro);
+        Membro membro = listaMembros.get(idMembro);
 
         if (livro == null) {
-            throw new IllegalArgumentException("Livro com ID " + idLivro + " no encontrado.");
+            return Rejeicao.LIVRO_NAO_ENCONTRADO;
         }
         if (membro == null) {
-            throw new IllegalArgumentException("Membro com ID " + idMembro + " no encontrado.");
+            return Rejeicao.MEMBRO_NAO_ENCONTRADO;
         }
 
         if (livro.isDisponivel()) {
-            throw new IllegalStateException("Livro com ID " + idLivro + " no estava emprestado.");
+            return Rejeicao.LIVRO_NAO_EMPRESTADO;
+        }
+
+        synchronized (membro) {
+            if (!membro.possuiLivro(livro)) {
+                return Rejeicao.LIVRO_NAO_ESTA_COM_MEMBRO;
+            }
+            membro.devolverLivro(livro);
+
+            // Atualiza status
+            catalogo.marcarDisponivel(livro, true);
+            if (instantaneosLigados) {
+                publicar(atual -> atual.comDevolucao(livro, membro));
+            }
+            for (OuvinteBiblioteca ouvinte : ouvintes) {
+                ouvinte.livroDevolvido(livro, membro);
+            }
+        }
+        return null;
+    }
+
+    // Fora da trava e depois dos ouvintes (o empréstimo ao próximo já está no diário): as continuações
+    // dos futuros podem chamar a Biblioteca
+    private static void concluirReservas(List<FilasReservas.Reserva> atendidas) {
+        if (atendidas != null) {
+            for (FilasReservas.Reserva reserva : atendidas) {
+                reserva.concluir();
+            }
+        }
+    }
+
+    // Sob a trava do livro, que acabou de ficar disponível: empresta ao primeiro da fila que ainda é membro.
+    // Devolve as reservas resolvidas (a atendida e as de membros removidos), ou null se a fila estava vazia.
+    private List<FilasReservas.Reserva> entregarAoProximo(Livro livro) {
+        List<FilasReservas.Reserva> resolvidas = null;
+        FilasReservas.Reserva reserva;
+        while ((reserva = reservas.proxima(livro.getId())) != null) {
+            if (resolvidas == null) {
+                resolvidas = new ArrayList<>(1);
+            }
+            resolvidas.add(reserva);
+            reserva.livro = livro;
+            if (reserva.futuro.isDone()) {
+                continue; // cancelada agora há pouco, antes de o whenComplete do futuro tirá-la da fila
+            }
+            Membro membro = reserva.membro;
+            synchronized (membro) {
+                if (listaMembros.get(membro.getId()) != membro) {
+                    reserva.recusa = Rejeicao.MEMBRO_NAO_ENCONTRADO;
+                    continue;
+                }
+                registrarEmprestimo(livro, membro);
+            }
+            break;
         }
+        return resolvidas;
+    }
 
-        // O mtodo do Membro verifica se o livro est na lista dele
-        membro.devolverLivro(livro); 
-        
-        // Atualiza status
-        livro.marcarComoDisponivel();
+    // --- Operações em Lote ---
+    // Itens recusados vão para o resultado em vez de interromper o lote. Os itens são agrupados pela faixa do
+    // livro e cada faixa é travada uma única vez para o seu grupo (dentro do grupo, na ordem do lote); os
+    // ouvintes são avisados do lote (o diário faz um único fsync no fim).
+    public ResultadoLote adicionarLivros(Collection<Livro> livros) {
+        if (livros == null) {
+            throw new IllegalArgumentException("Lote de livros não pode ser nulo.");
+        }
+        Livro[] itens = livros.toArray(new Livro[0]);
+        ResultadoLote resultado = new ResultadoLote(itens.length);
+        int[] faixaDoItem = new int[itens.length];
+        for (int i = 0; i < itens.length; i++) {
+            if (itens[i] == null) {
+                resultado.registrarFalha(i, null, "Livro nulo.");
+                faixaDoItem[i] = -1;
+            } else {
+                faixaDoItem[i] = travas.indiceDaFaixa(itens[i].getId());
+            }
+        }
+        int[] inicios = new int[travas.quantidade() + 1];
+        int[] ordem = travas.ordenarPorFaixa(faixaDoItem, inicios);
+        catalogo.reservar(ordem.length);
+        List<Livro> grupo = new ArrayList<>();
+        iniciarLote();
+        try {
+            for (int faixa = 0; faixa < travas.quantidade(); faixa++) {
+                if (inicios[faixa] == inicios[faixa + 1]) {
+                    continue;
+                }
+                grupo.clear();
+                for (int k = inicios[faixa]; k < inicios[faixa + 1]; k++) {
+                    grupo.add(itens[ordem[k]]);
+                }
+                antesDaMutacao();
+                boolean[] adicionados;
+                synchronized (travas.faixa(faixa)) {
+                    adicionados = catalogo.adicionarTodos(grupo);
+                    for (int k = 0; k < adicionados.length; k++) {
+                        if (adicionados[k]) {
+                            avisarAdicionado(grupo.get(k));
+                        }
+                    }
+                }
+                for (int k = 0; k < adicionados.length; k++) {
+                    if (!adicionados[k]) {
+                        resultado.registrarFalha(ordem[inicios[faixa] + k], grupo.get(k).getId(),
+                                "Já existe um livro com este ID no catálogo.");
+                    }
+                }
+                concluirOperacao();
+            }
+        } finally {
+            concluirLote();
+        }
+        resultado.ordenarFalhas();
+        return resultado;
+    }
+
+    public ResultadoLote emprestarLivros(Collection<PedidoEmprestimo> pedidos) {
+        return aplicarLote(pedidos, true);
+    }
+
+    public ResultadoLote devolverLivros(Collection<PedidoEmprestimo> pedidos) {
+        return aplicarLote(pedidos, false);
+    }
+
+    private ResultadoLote aplicarLote(Collection<PedidoEmprestimo> pedidos, boolean emprestimo) {
+        if (pedidos == null) {
+            throw new IllegalArgumentException("Lote de pedidos não pode ser nulo.");
+        }
+        PedidoEmprestimo[] itens = pedidos.toArray(new PedidoEmprestimo[0]);
+        ResultadoLote resultado = new ResultadoLote(itens.length);
+        int[] faixaDoItem = new int[itens.length];
+        for (int i = 0; i < itens.length; i++) {
+            if (itens[i] == null) {
+                resultado.registrarFalha(i, null, "Pedido nulo.");
+                faixaDoItem[i] = -1;
+            } else {
+                faixaDoItem[i] = travas.indiceDaFaixa(itens[i].getIdLivro());
+            }
+        }
+        int[] inicios = new int[travas.quantidade() + 1];
+        int[] ordem = travas.ordenarPorFaixa(faixaDoItem, inicios);
+        OperacaoMedida operacao = emprestimo ? OperacaoMedida.EMPRESTAR : OperacaoMedida.DEVOLVER;
+        iniciarLote();
+        try {
+            for (int faixa = 0; faixa < travas.quantidade(); faixa++) {
+                if (inicios[faixa] == inicios[faixa + 1]) {
+                    continue;
+                }
+                antesDaMutacao();
+                List<FilasReservas.Reserva> atendidas = null;
+                synchronized (travas.faixa(faixa)) {
+                    for (int k = inicios[faixa]; k < inicios[faixa + 1]; k++) {
+                        PedidoEmprestimo pedido = itens[ordem[k]];
+                        MetricasBiblioteca m = metricas;
+                        long inicio = m == null ? 0 : m.iniciar(operacao);
+                        Rejeicao rejeicao = emprestimo
+                                ? emprestarSobTravas(pedido.getIdLivro(), pedido.getIdMembro())
+                                : devolverSobTravas(pedido.getIdLivro(), pedido.getIdMembro());
+                        if (rejeicao == null && !emprestimo && !reservas.isVazia()) {
+                            atendidas = juntar(atendidas, entregarAoProximo(catalogo.buscar(pedido.getIdLivro())));
+                        }
+                        if (m != null) {
+                            registrar(m, operacao, rejeicao, inicio);
+                        }
+                        if (rejeicao != null) {
+                            resultado.registrarFalha(ordem[k], pedido.getIdLivro(), rejeicao.descricao);
+                        }
+                    }
+                }
+                try {
+                    concluirOperacao();
+                } finally {
+                    concluirReservas(atendidas);
+                }
+            }
+        } finally {
+            concluirLote();
+        }
+        resultado.ordenarFalhas();
+        return resultado;
+    }
+
+    private static List<FilasReservas.Reserva> juntar(List<FilasReservas.Reserva> atendidas,
+                                                      List<FilasReservas.Reserva> novas) {
+        if (atendidas == null) {
+            return novas;
+        }
+        if (novas != null) {
+            atendidas.addAll(novas);
+        }
+        return atendidas;
+    }
+
+    private void iniciarLote() {
+        for (OuvinteBiblioteca ouvinte : ouvintes) {
+            ouvinte.loteIniciado();
+        }
+    }
+
+    private void concluirLote() {
+        RuntimeException erro = null;
+        for (OuvinteBiblioteca ouvinte : ouvintes) {
+            try {
+                ouvinte.loteConcluido();
+            } catch (RuntimeException e) {
+                erro = acumular(erro, e);
+            }
+        }
+        if (erro != null) {
+            throw erro;
+        }
+    }
+
+    // Antes de alterar qualquer coisa: um ouvinte pode recusar a mutação (o diário, depois de uma falha)
+    private void antesDaMutacao() {
+        for (OuvinteBiblioteca ouvinte : ouvintes) {
+            ouvinte.antesDaMutacao();
+        }
+    }
+
+    // Fora das travas, depois de uma mutação aplicada: todos os ouvintes são avisados, e a primeira exceção sobe
+    // depois do último
+    private void concluirOperacao() {
+        RuntimeException erro = null;
+        for (OuvinteBiblioteca ouvinte : ouvintes) {
+            try {
+                ouvinte.operacaoConcluida();
+            } catch (RuntimeException e) {
+                erro = acumular(erro, e);
+            }
+        }
+        if (erro != null) {
+            throw erro;
+        }
+    }
+
+    private static RuntimeException acumular(RuntimeException primeira, RuntimeException nova) {
+        if (primeira == null) {
+            return nova;
+        }
+        primeira.addSuppressed(nova);
+        return primeira;
     }
 
     // --- Listagens ---
     public List<Livro> listarLivrosDisponiveis() {
-        return catalogoLivros.stream()
-                .filter(Livro::isDisponivel) 
-                .collect(Collectors.toList());
+        MetricasBiblioteca m = metricas;
+        if (m == null) {
+            return catalogo.listarDisponiveis();
+        }
+        long inicio = m.iniciar(OperacaoMedida.LISTAR_DISPONIVEIS);
+        List<Livro> disponiveis = catalogo.listarDisponiveis();
+        m.concluir(OperacaoMedida.LISTAR_DISPONIVEIS, inicio);
+        return disponiveis;
+    }
+
+    // Página de livros disponíveis por deslocamento: só a página é copiada, mas os disponíveis antes de 'inicio'
+    // são contados a cada chamada; para percorrer o catálogo, prefira paginarLivrosDisponiveis
+    public List<Livro> listarLivrosDisponiveis(int inicio, int limite) {
+        if (inicio < 0 || limite < 0) {
+            throw new IllegalArgumentException("Início e limite da página não podem ser negativos.");
+        }
+        MetricasBiblioteca m = metricas;
+        if (m == null) {
+            return catalogo.listarDisponiveis(inicio, limite);
+        }
+        long inicioMedicao = m.iniciar(OperacaoMedida.LISTAR_DISPONIVEIS);
+        List<Livro> pagina = catalogo.listarDisponiveis(inicio, limite);
+        m.concluir(OperacaoMedida.LISTAR_DISPONIVEIS, inicioMedicao);
+        return pagina;
+    }
+
+    /**
+     * Página de livros disponíveis por cursor: comece com {@link PaginaLivros#INICIO} e passe o
+     * {@code getProximoCursor()} de cada página para pedir a seguinte. A ordem é a das posições no catálogo (a de
+     * inserção, salvo quando um livro novo ocupa a posição de um removido) e não muda com empréstimos e
+     * devoluções, então um livro que segue disponível aparece uma única vez. Cada página
+     * custa o seu tamanho (mais uma leitura por bloco de 64 livros sem disponível), esteja onde estiver, ao
+     * contrário do deslocamento de {@link #listarLivrosDisponiveis(int, int)}.
+     */
+    public PaginaLivros paginarLivrosDisponiveis(int cursor, int limite) {
+        if (cursor < 0 || limite < 0) {
+            throw new IllegalArgumentException("Cursor e limite da página não podem ser negativos.");
+        }
+        MetricasBiblioteca m = metricas;
+        if (m == null) {
+            return catalogo.listarDisponiveisDesde(cursor, limite);
+        }
+        long inicioMedicao = m.iniciar(OperacaoMedida.LISTAR_DISPONIVEIS);
+        PaginaLivros pagina = catalogo.listarDisponiveisDesde(cursor, limite);
+        m.concluir(OperacaoMedida.LISTAR_DISPONIVEIS, inicioMedicao);
+        return pagina;
+    }
+
+    // Visão somente leitura (sem cópia); no modo concorrente o iterador é fracamente consistente
+    public Collection<Livro> getLivrosDisponiveis() {
+        return catalogo.disponiveis();
+    }
+
+    public int countDisponiveis() {
+        return catalogo.quantidadeDisponiveis();
     }
 
     public List<Livro> listarLivrosEmprestadosPorMembro(String idMembro) {
-        Membro membro = buscarMembroPorId(idMembro);
+        MetricasBiblioteca m = metricas;
+        if (m == null) {
+            return listarEmprestados(idMembro);
+        }
+        long inicio = m.iniciar(OperacaoMedida.LISTAR_EMPRESTADOS);
+        try {
+            List<Livro> emprestados = listarEmprestados(idMembro);
+            m.concluir(OperacaoMedida.LISTAR_EMPRESTADOS, inicio);
+            return emprestados;
+        } catch (IllegalArgumentException e) {
+            m.registrarFalha(OperacaoMedida.LISTAR_EMPRESTADOS, Rejeicao.MEMBRO_NAO_ENCONTRADO.name(), inicio);
+            throw e;
+        }
+    }
+
+    private List<Livro> listarEmprestados(String idMembro) {
+        Membro membro = listaMembros.get(idMembro);
         if (membro == null) {
-            throw new IllegalArgumentException("Membro com ID " + idMembro + " no encontrado.");
+            throw new IllegalArgumentException("Membro com ID " + idMembro + " não encontrado.");
+        }
+        if (!concorrente) {
+            return membro.getLivrosEmprestados();
+        }
+        synchronized (membro) {
+            // A lista do membro é alterada sob a trava dele; devolve uma cópia consistente
+            return List.copyOf(membro.getLivrosEmprestados());
         }
-        return membro.getLivrosEmprestados();
     }
     
     // Getters para uso nos testes
+    // (visões somente leitura, sem cópia; na ordem de inserção fora do modo concorrente).
+    // Iterar é O(n), mas get(i) percorre até a posição i: para acesso por posição, copie a lista.
+    // Para ler enquanto outras threads escrevem, use instantaneo().
     public List<Livro> getCatalogoLivros() {
-        return Collections.unmodifiableList(catalogoLivros);
+        return new ListaSomenteLeitura<>(catalogo.todos());
     }
     
     public List<Membro> getListaMembros() {
-        return Collections.unmodifiableList(listaMembros);
+        return new ListaSomenteLeitura<>(listaMembros.values());
     }
 }
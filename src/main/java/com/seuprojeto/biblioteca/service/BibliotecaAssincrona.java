@@ -0,0 +1,206 @@
+package com.seuprojeto.biblioteca.service;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Fachada assíncrona da Biblioteca: cada operação roda numa thread própria e devolve um
+ * {@link CompletableFuture}, para que chamadores (um servidor HTTP, por exemplo) não fiquem presos
+ * esperando E/S da persistência ou do índice.
+ *
+ * As operações rodam em threads virtuais, uma por operação, e o número de threads de plataforma não cresce
+ * com o número de operações em andamento.
+ *
+ * Controle de admissão: no máximo {@code maximoEmAndamento} operações ficam em andamento ao mesmo tempo; as
+ * excedentes falham na hora com {@link RejectedExecutionException}, em vez de formar uma fila sem limite.
+ * Cada futuro expira com {@link java.util.concurrent.TimeoutException} após o tempo limite. A expiração só
+ * libera o chamador: uma operação que já começou vai até o fim (e continua ocupando sua vaga), e uma que
+ * ainda não começou não é executada.
+ *
+ * A Biblioteca precisa ser concorrente ({@code new Biblioteca(true)}): as operações rodam em threads
+ * diferentes ao mesmo tempo, e o construtor recusa uma Biblioteca não concorrente.
+ *
+ * A Biblioteca usa {@code synchronized}; uma thread virtual que bloqueia dentro dessas travas (um
+ * ouvinte que grava em disco de forma síncrona, por exemplo) prende a thread de plataforma que a executa.
+ */
+public class BibliotecaAssincrona implements AutoCloseable {
+
+    public static final int MAXIMO_EM_ANDAMENTO_PADRAO = 10_000;
+    public static final long TEMPO_LIMITE_PADRAO_MILLIS = 30_000;
+
+    private final Biblioteca biblioteca;
+    private final int maximoEmAndamento;
+    private final long tempoLimiteNanos;
+    private final Semaphore vagas;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final LongAdder rejeitadas = new LongAdder();
+
+    public BibliotecaAssincrona(Biblioteca biblioteca) {
+        this(biblioteca, MAXIMO_EM_ANDAMENTO_PADRAO, TEMPO_LIMITE_PADRAO_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public BibliotecaAssincrona(Biblioteca biblioteca, int maximoEmAndamento, long tempoLimite, TimeUnit unidade) {
+        if (biblioteca == null || unidade == null) {
+            throw new IllegalArgumentException("Biblioteca e unidade não podem ser nulas.");
+        }
+        if (maximoEmAndamento <= 0 || tempoLimite <= 0) {
+            throw new IllegalArgumentException("Máximo em andamento e tempo limite devem ser positivos.");
+        }
+        if (!biblioteca.isConcorrente()) {
+            // Os mapas de uma Biblioteca não concorrente não aceitam leituras paralelas às escritas
+            throw new IllegalArgumentException("A fachada assíncrona exige uma Biblioteca concorrente (new Biblioteca(true)).");
+        }
+        this.biblioteca = biblioteca;
+        this.maximoEmAndamento = maximoEmAndamento;
+        this.tempoLimiteNanos = unidade.toNanos(tempoLimite);
+        this.vagas = new Semaphore(maximoEmAndamento);
+    }
+
+    // --- Operações ---
+
+    public CompletableFuture<Livro> buscarLivroPorIdAsync(String idLivro) {
+        return submeter(() -> biblioteca.buscarLivroPorId(idLivro));
+    }
+
+    public CompletableFuture<Membro> buscarMembroPorIdAsync(String idMembro) {
+        return submeter(() -> biblioteca.buscarMembroPorId(idMembro));
+    }
+
+    public CompletableFuture<Void> adicionarLivroAsync(Livro livro) {
+        return submeter(() -> {
+            biblioteca.adicionarLivro(livro);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> registrarMembroAsync(Membro membro) {
+        return submeter(() -> {
+            biblioteca.registrarMembro(membro);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> emprestarLivroAsync(String idLivro, String idMembro) {
+        return submeter(() -> {
+            biblioteca.emprestarLivro(idLivro, idMembro);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> devolverLivroAsync(String idLivro, String idMembro) {
+        return submeter(() -> {
+            biblioteca.devolverLivro(idLivro, idMembro);
+            return null;
+        });
+    }
+
+    public CompletableFuture<ResultadoLote> emprestarLivrosAsync(Collection<PedidoEmprestimo> pedidos) {
+        return submeter(() -> biblioteca.emprestarLivros(pedidos));
+    }
+
+    public CompletableFuture<ResultadoLote> devolverLivrosAsync(Collection<PedidoEmprestimo> pedidos) {
+        return submeter(() -> biblioteca.devolverLivros(pedidos));
+    }
+
+    public CompletableFuture<List<Livro>> buscarLivrosAsync(String consulta, int limite) {
+        return submeter(() -> biblioteca.buscarLivros(consulta, limite));
+    }
+
+    public CompletableFuture<List<Livro>> listarLivrosDisponiveisAsync(int inicio, int limite) {
+        return submeter(() -> biblioteca.listarLivrosDisponiveis(inicio, limite));
+    }
+
+    public CompletableFuture<List<Livro>> listarLivrosEmprestadosPorMembroAsync(String idMembro) {
+        return submeter(() -> biblioteca.listarLivrosEmprestadosPorMembro(idMembro));
+    }
+
+    /**
+     * Executa uma operação composta (várias chamadas à Biblioteca) como uma única operação assíncrona,
+     * com o mesmo controle de admissão e tempo limite das demais.
+     */
+    public <T> CompletableFuture<T> executarAsync(Function<Biblioteca, T> operacao) {
+        if (operacao == null) {
+            throw new IllegalArgumentException("Operação não pode ser nula.");
+        }
+        return submeter(() -> operacao.apply(biblioteca));
+    }
+
+    private <T> CompletableFuture<T> submeter(Supplier<T> operacao) {
+        if (!vagas.tryAcquire()) {
+            rejeitadas.increment();
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "Biblioteca sobrecarregada: " + maximoEmAndamento + " operações em andamento."));
+        }
+        CompletableFuture<T> futuro = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                T resultado = null;
+                Throwable falha = null;
+                try {
+                    if (!futuro.isDone()) {
+                        resultado = operacao.get();
+                    }
+                } catch (Throwable e) {
+                    falha = e;
+                } finally {
+                    // Antes de completar: quem vê o futuro pronto já vê a vaga de volta
+                    vagas.release();
+                }
+                if (falha != null) {
+                    futuro.completeExceptionally(falha);
+                } else {
+                    futuro.complete(resultado);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            vagas.release();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Fachada assíncrona fechada.", e));
+        }
+        return futuro.orTimeout(tempoLimiteNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // --- Estado ---
+
+    public int getMaximoEmAndamento() {
+        return maximoEmAndamento;
+    }
+
+    /** Operações admitidas que ainda não terminaram (inclusive as que já expiraram para o chamador). */
+    public int getEmAndamento() {
+        return maximoEmAndamento - vagas.availablePermits();
+    }
+
+    public long getRejeitadas() {
+        return rejeitadas.sum();
+    }
+
+    public Biblioteca getBiblioteca() {
+        return biblioteca;
+    }
+
+    /** Recusa novas operações e espera as em andamento terminarem, por até um tempo limite. */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(tempoLimiteNanos, TimeUnit.NANOSECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
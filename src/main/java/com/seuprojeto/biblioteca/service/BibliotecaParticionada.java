@@ -0,0 +1,496 @@
+package com.seuprojeto.biblioteca.service;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Biblioteca dividida em partições, cada uma uma {@link Biblioteca} própria, para redes de filiais com
+ * catálogos grandes demais para uma única instância.
+ *
+ * Livros e membros são distribuídos pelo ID num {@link AnelConsistente}. Cada partição pertence a uma única
+ * thread, que executa em ordem as operações da sua fila: as Bibliotecas das partições nunca são acessadas por
+ * duas threads e não disputam travas entre si, então a vazão cresce com o número de partições (e de núcleos).
+ * Todas as operações devolvem um {@link CompletableFuture}; os objetos entregues (livros, membros) passam a
+ * pertencer à partição, e os livros devolvidos pelas consultas são cópias.
+ *
+ * Empréstimo entre partições (livro na partição A, membro na B), em três passos, cada um na thread da partição:
+ * <ol>
+ *   <li>B confere o membro e o reserva: enquanto a transferência corre ele não pode ser removido;</li>
+ *   <li>A empresta o livro a um espelho do membro (mesmo ID e nome, criado na primeira vez), com as regras
+ *       e os ouvintes normais da Biblioteca de A;</li>
+ *   <li>B libera a reserva e, se A aceitou, anota o empréstimo (uma cópia do livro) entre os do membro.</li>
+ * </ol>
+ * A devolução faz o caminho inverso: A devolve o livro do espelho (descartando o espelho sem empréstimos) e B
+ * apaga a anotação. Como os dois passos em B de um mesmo livro são sempre enviados pela thread de A, na ordem
+ * em que A os decidiu, um empréstimo e a devolução seguinte nunca chegam a B trocados. Entre o passo 2 e o 3
+ * o livro já aparece emprestado em A e ainda não na lista do membro em B.
+ *
+ * Continuações não assíncronas ({@code thenApply}, {@code thenAccept}...) registradas antes de o futuro
+ * completar rodam na thread da partição: não devem bloquear nem chamar {@link #close()}.
+ */
+public class BibliotecaParticionada implements AutoCloseable {
+
+    public static final int NOS_VIRTUAIS_PADRAO = 128;
+
+    private static final Runnable PARAR = () -> { };
+
+    private final Particao[] particoes;
+    private final AnelConsistente anel;
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private volatile boolean aberta = true;
+    // Aberta quando, depois do close(), a última operação em andamento termina
+    private final CountDownLatch ociosa = new CountDownLatch(1);
+
+    public BibliotecaParticionada(int quantidadeParticoes) {
+        this(quantidadeParticoes, () -> new Biblioteca(false));
+    }
+
+    /**
+     * @param fabrica cria a Biblioteca de cada partição (modo do catálogo, ouvintes...); cada uma só é usada
+     *                pela thread da sua partição, então o modo concorrente é desnecessário
+     */
+    public BibliotecaParticionada(int quantidadeParticoes, Supplier<Biblioteca> fabrica) {
+        if (fabrica == null) {
+            throw new IllegalArgumentException("Fábrica de bibliotecas não pode ser nula.");
+        }
+        this.anel = new AnelConsistente(quantidadeParticoes, NOS_VIRTUAIS_PADRAO);
+        this.particoes = new Particao[quantidadeParticoes];
+        for (int i = 0; i < quantidadeParticoes; i++) {
+            particoes[i] = new Particao(i, fabrica.get());
+        }
+        for (Particao particao : particoes) {
+            particao.thread.start();
+        }
+    }
+
+    private static final class Particao implements Runnable {
+        final Biblioteca biblioteca;
+        final LinkedTransferQueue<Runnable> fila = new LinkedTransferQueue<>();
+        final Thread thread;
+
+        // Só a thread da partição lê e escreve os campos abaixo
+        // Membros de outras partições com algum livro desta emprestado
+        final Set<String> espelhos = new HashSet<>();
+        // Membros desta partição: livros de outras partições com eles (cópias) e transferências em andamento
+        final Map<String, Map<String, Livro>> emprestimosRemotos = new HashMap<>();
+        final Map<String, Integer> reservas = new HashMap<>();
+
+        Particao(int numero, Biblioteca biblioteca) {
+            if (biblioteca == null) {
+                throw new IllegalArgumentException("A fábrica devolveu uma biblioteca nula.");
+            }
+            this.biblioteca = biblioteca;
+            this.thread = new Thread(this, "biblioteca-particao-" + numero);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Runnable tarefa;
+                try {
+                    tarefa = fila.take();
+                } catch (InterruptedException e) {
+                    continue;
+                }
+                if (tarefa == PARAR) {
+                    return;
+                }
+                try {
+                    tarefa.run();
+                } catch (Throwable e) {
+                    // As tarefas completam os próprios futuros, mesmo com um Error; nada que escape delas pode
+                    // parar a partição, senão as operações seguintes ficariam pendentes para sempre
+                }
+            }
+        }
+
+        void enviar(Runnable tarefa) {
+            fila.add(tarefa);
+        }
+
+        // --- Lado do membro ---
+        void reservar(String idMembro) {
+            reservas.merge(idMembro, 1, Integer::sum);
+        }
+
+        void liberar(String idMembro) {
+            reservas.computeIfPresent(idMembro, (id, quantidade) -> quantidade == 1 ? null : quantidade - 1);
+        }
+
+        void anotarRemoto(String idMembro, Livro copia) {
+            emprestimosRemotos.computeIfAbsent(idMembro, id -> new LinkedHashMap<>()).put(copia.getId(), copia);
+        }
+
+        void apagarRemoto(String idMembro, String idLivro) {
+            Map<String, Livro> remotos = emprestimosRemotos.get(idMembro);
+            if (remotos != null && remotos.remove(idLivro) != null && remotos.isEmpty()) {
+                emprestimosRemotos.remove(idMembro);
+            }
+        }
+
+        void removerMembro(String idMembro) {
+            if (reservas.containsKey(idMembro) || emprestimosRemotos.containsKey(idMembro)) {
+                throw new IllegalArgumentException("Membro com ID " + idMembro + " tem livros emprestados e não pode ser removido.");
+            }
+            biblioteca.removerMembro(idMembro);
+        }
+
+        List<Livro> emprestadosAoMembro(String idMembro) {
+            List<Livro> livros = new ArrayList<>();
+            for (Livro livro : biblioteca.listarLivrosEmprestadosPorMembro(idMembro)) {
+                livros.add(copiar(livro));
+            }
+            Map<String, Livro> remotos = emprestimosRemotos.get(idMembro);
+            if (remotos != null) {
+                for (Livro livro : remotos.values()) {
+                    livros.add(copiar(livro));
+                }
+            }
+            return livros;
+        }
+
+        // --- Lado do livro ---
+        Livro emprestarAoEspelho(String idLivro, String idMembro, String nome) {
+            boolean novo = espelhos.add(idMembro);
+            if (novo) {
+                biblioteca.registrarMembro(new Membro(idMembro, nome));
+            }
+            try {
+                biblioteca.emprestarLivro(idLivro, idMembro);
+            } catch (RuntimeException recusa) {
+                if (novo) {
+                    descartarEspelho(idMembro);
+                }
+                throw recusa;
+            }
+            return copiar(biblioteca.buscarLivroPorId(idLivro));
+        }
+
+        void devolverDoEspelho(String idLivro, String idMembro) {
+            if (!espelhos.contains(idMembro)) {
+                // Nenhum livro desta partição está com o membro
+                Livro livro = biblioteca.buscarLivroPorId(idLivro);
+                Rejeicao rejeicao = livro == null ? Rejeicao.LIVRO_NAO_ENCONTRADO
+                        : livro.isDisponivel() ? Rejeicao.LIVRO_NAO_EMPRESTADO
+                        : Rejeicao.LIVRO_NAO_ESTA_COM_MEMBRO;
+                throw rejeicao.excecao(idLivro, idMembro);
+            }
+            biblioteca.devolverLivro(idLivro, idMembro);
+            if (biblioteca.buscarMembroPorId(idMembro).quantidadeEmprestados() == 0) {
+                descartarEspelho(idMembro);
+            }
+        }
+
+        private void descartarEspelho(String idMembro) {
+            biblioteca.removerMembro(idMembro);
+            espelhos.remove(idMembro);
+        }
+    }
+
+    // --- Roteamento ---
+
+    /** Número da partição dona de um ID (de livro ou de membro). */
+    public int particaoDe(String id) {
+        if (id == null) {
+            throw new IllegalArgumentException("ID não pode ser nulo.");
+        }
+        return anel.particao(id);
+    }
+
+    public int getQuantidadeParticoes() {
+        return particoes.length;
+    }
+
+    private Particao particao(String id) {
+        return particoes[particaoDe(id)];
+    }
+
+    // --- Livros ---
+
+    public CompletableFuture<Void> adicionarLivroAsync(Livro livro) {
+        if (livro == null) {
+            throw new IllegalArgumentException("Livro não pode ser nulo.");
+        }
+        return submeter(particao(livro.getId()), p -> {
+            p.biblioteca.adicionarLivro(livro);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> removerLivroAsync(String idLivro) {
+        return submeter(particao(idLivro), p -> {
+            p.biblioteca.removerLivro(idLivro);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Livro> buscarLivroPorIdAsync(String idLivro) {
+        return submeter(particao(idLivro), p -> {
+            Livro livro = p.biblioteca.buscarLivroPorId(idLivro);
+            return livro == null ? null : copiar(livro);
+        });
+    }
+
+    public CompletableFuture<Integer> countDisponiveisAsync() {
+        return somar(p -> p.biblioteca.countDisponiveis());
+    }
+
+    // --- Membros ---
+
+    public CompletableFuture<Void> registrarMembroAsync(Membro membro) {
+        if (membro == null) {
+            throw new IllegalArgumentException("Membro não pode ser nulo.");
+        }
+        return submeter(particao(membro.getId()), p -> {
+            p.biblioteca.registrarMembro(membro);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> removerMembroAsync(String idMembro) {
+        return submeter(particao(idMembro), p -> {
+            p.removerMembro(idMembro);
+            return null;
+        });
+    }
+
+    /** Membros registrados (os espelhos de membros de outras partições não contam). */
+    public CompletableFuture<Integer> quantidadeMembrosAsync() {
+        return somar(p -> p.biblioteca.getListaMembros().size() - p.espelhos.size());
+    }
+
+    /** Livros com o membro, de todas as partições: primeiro os da partição dele, depois os das outras. */
+    public CompletableFuture<List<Livro>> listarLivrosEmprestadosPorMembroAsync(String idMembro) {
+        return submeter(particao(idMembro), p -> p.emprestadosAoMembro(idMembro));
+    }
+
+    // --- Empréstimos ---
+
+    public CompletableFuture<Void> emprestarLivroAsync(String idLivro, String idMembro) {
+        Particao doLivro = particao(idLivro);
+        Particao doMembro = particao(idMembro);
+        if (doLivro == doMembro) {
+            return submeter(doLivro, p -> {
+                p.biblioteca.emprestarLivro(idLivro, idMembro);
+                return null;
+            });
+        }
+        CompletableFuture<Void> resultado = iniciar();
+        if (resultado.isDone()) {
+            return resultado;
+        }
+        // 1. Na partição do membro: confere e reserva
+        doMembro.enviar(etapa(resultado, () -> {
+            Membro membro = doMembro.biblioteca.buscarMembroPorId(idMembro);
+            if (membro == null) {
+                falhar(resultado, Rejeicao.MEMBRO_NAO_ENCONTRADO.excecao(idLivro, idMembro));
+                return;
+            }
+            doMembro.reservar(idMembro);
+            String nome = membro.getNome();
+            // 2. Na partição do livro: empresta ao espelho
+            doLivro.enviar(etapa(resultado, () -> {
+                Livro copia;
+                try {
+                    copia = doLivro.emprestarAoEspelho(idLivro, idMembro, nome);
+                } catch (Throwable recusa) {
+                    doMembro.enviar(etapa(resultado, () -> {
+                        doMembro.liberar(idMembro);
+                        falhar(resultado, recusa);
+                    }));
+                    return;
+                }
+                // 3. De volta à partição do membro: confirma
+                doMembro.enviar(etapa(resultado, () -> {
+                    doMembro.liberar(idMembro);
+                    doMembro.anotarRemoto(idMembro, copia);
+                    concluir(resultado, null);
+                }));
+            }));
+        }));
+        return resultado;
+    }
+
+    public CompletableFuture<Void> devolverLivroAsync(String idLivro, String idMembro) {
+        Particao doLivro = particao(idLivro);
+        Particao doMembro = particao(idMembro);
+        if (doLivro == doMembro) {
+            return submeter(doLivro, p -> {
+                p.biblioteca.devolverLivro(idLivro, idMembro);
+                return null;
+            });
+        }
+        CompletableFuture<Void> resultado = iniciar();
+        if (resultado.isDone()) {
+            return resultado;
+        }
+        // 1. Na partição do livro: devolve do espelho
+        doLivro.enviar(etapa(resultado, () -> {
+            try {
+                doLivro.devolverDoEspelho(idLivro, idMembro);
+            } catch (RuntimeException recusa) {
+                falhar(resultado, recusa);
+                return;
+            }
+            // 2. Na partição do membro: apaga a anotação
+            doMembro.enviar(etapa(resultado, () -> {
+                doMembro.apagarRemoto(idMembro, idLivro);
+                concluir(resultado, null);
+            }));
+        }));
+        return resultado;
+    }
+
+    // --- Acesso direto ---
+
+    /**
+     * Executa uma operação na thread de uma partição, com acesso à Biblioteca dela (para adicionar ouvintes,
+     * ativar métricas, consultar...). A Biblioteca não deve ser guardada nem usada fora da operação.
+     */
+    public <T> CompletableFuture<T> executarNaParticaoAsync(int particao, Function<Biblioteca, T> operacao) {
+        if (particao < 0 || particao >= particoes.length) {
+            throw new IllegalArgumentException("Partição inexistente: " + particao);
+        }
+        if (operacao == null) {
+            throw new IllegalArgumentException("Operação não pode ser nula.");
+        }
+        return submeter(particoes[particao], p -> operacao.apply(p.biblioteca));
+    }
+
+    // --- Infraestrutura ---
+
+    private <T> CompletableFuture<T> submeter(Particao particao, Function<Particao, T> operacao) {
+        CompletableFuture<T> futuro = iniciar();
+        if (futuro.isDone()) {
+            return futuro;
+        }
+        particao.enviar(() -> {
+            try {
+                concluir(futuro, operacao.apply(particao));
+            } catch (Throwable e) {
+                falhar(futuro, e);
+            }
+        });
+        return futuro;
+    }
+
+    // Passo de uma transferência entre partições: uma falha inesperada (um Error, por exemplo) completa o
+    // futuro, em vez de deixá-lo pendente e o close() esperando por ele para sempre. Os passos de uma mesma
+    // transferência rodam um depois do outro, e cada um completa o futuro no máximo uma vez, no fim.
+    private Runnable etapa(CompletableFuture<?> resultado, Runnable passo) {
+        return () -> {
+            try {
+                passo.run();
+            } catch (Throwable e) {
+                if (!resultado.isDone()) {
+                    falhar(resultado, e);
+                }
+            }
+        };
+    }
+
+    private CompletableFuture<Integer> somar(Function<Particao, Integer> parcial) {
+        List<CompletableFuture<Integer>> parciais = new ArrayList<>(particoes.length);
+        for (Particao particao : particoes) {
+            parciais.add(submeter(particao, parcial));
+        }
+        return CompletableFuture.allOf(parciais.toArray(new CompletableFuture<?>[0])).thenApply(nada -> {
+            int total = 0;
+            for (CompletableFuture<Integer> p : parciais) {
+                total += p.join();
+            }
+            return total;
+        });
+    }
+
+    // Conta a operação até o futuro completar; depois do close(), devolve um futuro já falho
+    private <T> CompletableFuture<T> iniciar() {
+        emAndamento.incrementAndGet();
+        if (!aberta) {
+            descontar();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Biblioteca particionada fechada."));
+        }
+        return new CompletableFuture<>();
+    }
+
+    // Descontam antes de completar: quem vê o futuro pronto já vê a operação fora das em andamento
+    private <T> void concluir(CompletableFuture<T> futuro, T resultado) {
+        descontar();
+        futuro.complete(resultado);
+    }
+
+    private void falhar(CompletableFuture<?> futuro, Throwable falha) {
+        descontar();
+        futuro.completeExceptionally(falha);
+    }
+
+    // Depois do close() nada mais entra, então chegar a zero é definitivo e libera quem espera em close()
+    private void descontar() {
+        if (emAndamento.decrementAndGet() == 0 && !aberta) {
+            ociosa.countDown();
+        }
+    }
+
+    static Livro copiar(Livro livro) {
+        Livro copia = new Livro(livro.getId(), livro.getTitulo(), livro.getAutor(), livro.getAnoPublicacao());
+        if (!livro.isDisponivel()) {
+            copia.marcarComoEmprestado();
+        }
+        return copia;
+    }
+
+    /** Operações que ainda não completaram (uma transferência entre partições conta como uma). */
+    public int getEmAndamento() {
+        return emAndamento.get();
+    }
+
+    /**
+     * Recusa novas operações, espera as em andamento (inclusive transferências entre partições no meio do
+     * caminho) terminarem e encerra as threads das partições.
+     */
+    @Override
+    public void close() {
+        aberta = false;
+        if (emAndamento.get() == 0) {
+            ociosa.countDown();
+        }
+        boolean interrompida = false;
+        while (true) {
+            try {
+                ociosa.await();
+                break;
+            } catch (InterruptedException e) {
+                interrompida = true;
+            }
+        }
+        for (Particao particao : particoes) {
+            particao.enviar(PARAR);
+        }
+        for (Particao particao : particoes) {
+            try {
+                particao.thread.join();
+            } catch (InterruptedException e) {
+                interrompida = true;
+            }
+        }
+        if (interrompida) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,584 @@
+package com.seuprojeto.biblioteca.service;
+
+import com.seuprojeto.biblioteca.model.Livro;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Catálogo {@link ModoCatalogo#COLUNAR}: cada livro é uma linha em colunas de tipos primitivos.
+ *
+ * <ul>
+ *   <li>ID e título em UTF-8 numa arena de páginas de bytes ({@code [varint][id][varint][título]} por linha),
+ *       endereçados por um {@code long} (página, deslocamento);</li>
+ *   <li>autor como índice num dicionário de autores internados;</li>
+ *   <li>ano num {@code int[]};</li>
+ *   <li>linhas ocupadas num bitmap {@code long[]} e livros disponíveis num {@link MapaDeBits};</li>
+ *   <li>ID → linha numa tabela de endereçamento aberto ({@code int[]}), comparando os bytes na arena.</li>
+ * </ul>
+ *
+ * As linhas seguem a ordem de inserção e não são reaproveitadas depois de uma remoção. Mudanças de
+ * estrutura usam a trava de escrita; a troca de disponibilidade usa a de leitura e altera o bit com uma
+ * operação atômica, já que livros diferentes do mesmo bloco de 64 podem mudar ao mesmo tempo. Os disponíveis
+ * ficam num {@link MapaDeBits}, cujas páginas nunca são copiadas: {@link #disponivel} é lido sem trava (pelo
+ * índice secundário) e nunca vê um bitmap antigo deixado para trás por um crescimento.
+ */
+final class CatalogoColunar implements ArmazenamentoCatalogo {
+
+    private static final int TAMANHO_PAGINA = 1 << 20;
+    private static final int VAZIO = 0;
+    private static final int REMOVIDO = -1;
+
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+    // Índices numerados pela linha; montados sob demanda
+    private final IndiceTextual indice = new IndiceTextual(this::livroDaLinha);
+    private final IndiceSecundario secundario = new IndiceSecundario(this::livroDaLinha, this::disponivel);
+    private volatile boolean indicesMontados;
+    private final MapaDeBits disponiveis = new MapaDeBits();
+    private final AtomicInteger quantidadeDisponiveis = new AtomicInteger();
+
+    // Colunas, uma posição por linha
+    private long[] enderecoTexto = new long[1024];
+    private int[] hashes = new int[1024];
+    private int[] autorDaLinha = new int[1024];
+    private int[] anos = new int[1024];
+    private long[] ocupadas = new long[16];
+    private int linhas;
+    private int quantidade;
+
+    private byte[][] paginas = new byte[8][];
+    private int paginaAtual = -1;
+    private int posicaoNaPagina;
+
+    private final Map<String, Integer> autorPorNome = new HashMap<>();
+    private String[] autores = new String[256];
+
+    // linha + 1, VAZIO ou REMOVIDO; nunca mais que metade ocupada
+    private int[] tabela = new int[2048];
+    private int ocupacaoTabela;
+
+    // --- Busca ---
+    @Override
+    public Livro buscar(String id) {
+        byte[] bytesId = id.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(bytesId);
+        trava.readLock().lock();
+        try {
+            int linha = procurar(bytesId, hash);
+            return linha < 0 ? null : vista(linha);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    // Resolvedor dos índices: null para linha removida
+    private Livro livroDaLinha(int linha) {
+        trava.readLock().lock();
+        try {
+            return ocupada(linha) ? vista(linha) : null;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    private LivroColunar vista(int linha) {
+        long endereco = enderecoTexto[linha];
+        byte[] pagina = paginas[(int) (endereco >>> 32)];
+        int posicao = (int) endereco;
+        int tamanhoId = lerVarint(pagina, posicao);
+        posicao += tamanhoVarint(tamanhoId);
+        String id = new String(pagina, posicao, tamanhoId, StandardCharsets.UTF_8);
+        posicao += tamanhoId;
+        int tamanhoTitulo = lerVarint(pagina, posicao);
+        posicao += tamanhoVarint(tamanhoTitulo);
+        String titulo = new String(pagina, posicao, tamanhoTitulo, StandardCharsets.UTF_8);
+        return new LivroColunar(this, linha, id, titulo, autores[autorDaLinha[linha]], anos[linha]);
+    }
+
+    private int procurar(byte[] id, int hash) {
+        int mascara = tabela.length - 1;
+        for (int i = hash & mascara; ; i = (i + 1) & mascara) {
+            int entrada = tabela[i];
+            if (entrada == VAZIO) {
+                return -1;
+            }
+            if (entrada > 0 && hashes[entrada - 1] == hash && idIgual(entrada - 1, id)) {
+                return entrada - 1;
+            }
+        }
+    }
+
+    private boolean idIgual(int linha, byte[] id) {
+        long endereco = enderecoTexto[linha];
+        byte[] pagina = paginas[(int) (endereco >>> 32)];
+        int posicao = (int) endereco;
+        int tamanho = lerVarint(pagina, posicao);
+        posicao += tamanhoVarint(tamanho);
+        return Arrays.equals(pagina, posicao, posicao + tamanho, id, 0, id.length);
+    }
+
+    private static int hash(byte[] bytes) {
+        int h = Arrays.hashCode(bytes) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // --- Mutações ---
+    @Override
+    public boolean adicionar(Livro livro) {
+        byte[] id = livro.getId().getBytes(StandardCharsets.UTF_8);
+        byte[] titulo = livro.getTitulo().getBytes(StandardCharsets.UTF_8);
+        int hash = hash(id);
+        int linha;
+        LivroColunar guardado;
+        trava.writeLock().lock();
+        try {
+            garantirLinhas(linhas + 1);
+            linha = guardar(livro, id, titulo, hash);
+            if (linha < 0) {
+                return false;
+            }
+            guardado = vista(linha);
+        } finally {
+            trava.writeLock().unlock();
+        }
+        // Fora da trava: as consultas do índice resolvem linhas tomando a trava de leitura deste catálogo
+        if (indicesMontados) {
+            indice.adicionar(linha, guardado);
+            secundario.adicionar(linha, guardado);
+        }
+        return true;
+    }
+
+    // Codifica fora da trava e guarda o grupo inteiro sob uma única aquisição dela; as linhas novas ficam
+    // contíguas e vão para os índices montados de uma vez
+    @Override
+    public boolean[] adicionarTodos(List<Livro> livros) {
+        int n = livros.size();
+        byte[][] ids = new byte[n][];
+        byte[][] titulos = new byte[n][];
+        int[] hashesDosIds = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = livros.get(i).getId().getBytes(StandardCharsets.UTF_8);
+            titulos[i] = livros.get(i).getTitulo().getBytes(StandardCharsets.UTF_8);
+            hashesDosIds[i] = hash(ids[i]);
+        }
+        boolean[] adicionados = new boolean[n];
+        int primeira;
+        int ate;
+        trava.writeLock().lock();
+        try {
+            primeira = linhas;
+            garantirLinhas(linhas + n);
+            for (int i = 0; i < n; i++) {
+                adicionados[i] = guardar(livros.get(i), ids[i], titulos[i], hashesDosIds[i]) >= 0;
+            }
+            ate = linhas;
+        } finally {
+            trava.writeLock().unlock();
+        }
+        if (indicesMontados && ate > primeira) {
+            indice.adicionarTodos(primeira, ate, this::livroDaLinha);
+            secundario.adicionarTodos(primeira, ate, this::livroDaLinha);
+        }
+        return adicionados;
+    }
+
+    // Sob a trava de escrita, com espaço já garantido para mais uma linha; -1 se o ID já existe
+    private int guardar(Livro livro, byte[] id, byte[] titulo, int hash) {
+        if (procurar(id, hash) >= 0) {
+            return -1;
+        }
+        int linha = linhas++;
+        enderecoTexto[linha] = gravarTexto(id, titulo);
+        hashes[linha] = hash;
+        autorDaLinha[linha] = internar(livro.getAutor());
+        anos[linha] = livro.getAnoPublicacao();
+        ocupadas[linha >>> 6] |= 1L << linha;
+        if (livro.isDisponivel() && disponiveis.ligar(linha)) {
+            quantidadeDisponiveis.incrementAndGet();
+        }
+        inserirNaTabela(linha, hash);
+        quantidade++;
+        return linha;
+    }
+
+    @Override
+    public void remover(Livro livro) {
+        int linha = ((LivroColunar) livro).linha;
+        trava.writeLock().lock();
+        try {
+            if (!ocupada(linha)) {
+                return;
+            }
+            int mascara = tabela.length - 1;
+            for (int i = hashes[linha] & mascara; ; i = (i + 1) & mascara) {
+                if (tabela[i] == linha + 1) {
+                    tabela[i] = REMOVIDO;
+                    break;
+                }
+            }
+            ocupadas[linha >>> 6] &= ~(1L << linha);
+            if (disponivel(linha)) {
+                quantidadeDisponiveis.decrementAndGet();
+            }
+            quantidade--;
+        } finally {
+            trava.writeLock().unlock();
+        }
+        if (indicesMontados) {
+            indice.remover(linha, livro);
+            secundario.remover(linha, livro);
+        }
+    }
+
+    @Override
+    public void marcarDisponivel(Livro livro, boolean disponivel) {
+        alterarDisponibilidade(((LivroColunar) livro).linha, disponivel);
+    }
+
+    // O bit de uma linha removida é mantido (como o estado do objeto removido), mas não entra na contagem
+    void alterarDisponibilidade(int linha, boolean disponivel) {
+        trava.readLock().lock();
+        try {
+            boolean mudou = disponivel ? disponiveis.ligar(linha) : disponiveis.desligar(linha);
+            if (mudou && ocupada(linha)) {
+                quantidadeDisponiveis.addAndGet(disponivel ? 1 : -1);
+            }
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    // Sem trava
+    boolean disponivel(int linha) {
+        return disponiveis.contem(linha);
+    }
+
+    private boolean ocupada(int linha) {
+        return linha < linhas && (ocupadas[linha >>> 6] & (1L << linha)) != 0;
+    }
+
+    private void garantirLinhas(int necessarias) {
+        if (necessarias > enderecoTexto.length) {
+            int capacidade = Math.max(necessarias, enderecoTexto.length + (enderecoTexto.length >> 1));
+            enderecoTexto = Arrays.copyOf(enderecoTexto, capacidade);
+            hashes = Arrays.copyOf(hashes, capacidade);
+            autorDaLinha = Arrays.copyOf(autorDaLinha, capacidade);
+            anos = Arrays.copyOf(anos, capacidade);
+        }
+        int palavras = (necessarias + 63) >>> 6;
+        if (palavras > ocupadas.length) {
+            int capacidade = Math.max(palavras, ocupadas.length * 2);
+            ocupadas = Arrays.copyOf(ocupadas, capacidade);
+        }
+        disponiveis.garantir(necessarias);
+    }
+
+    private long gravarTexto(byte[] id, byte[] titulo) {
+        int tamanho = tamanhoVarint(id.length) + id.length + tamanhoVarint(titulo.length) + titulo.length;
+        if (paginaAtual < 0 || posicaoNaPagina + tamanho > paginas[paginaAtual].length) {
+            paginaAtual++;
+            if (paginaAtual == paginas.length) {
+                paginas = Arrays.copyOf(paginas, paginas.length * 2);
+            }
+            paginas[paginaAtual] = new byte[Math.max(TAMANHO_PAGINA, tamanho)];
+            posicaoNaPagina = 0;
+        }
+        byte[] pagina = paginas[paginaAtual];
+        long endereco = ((long) paginaAtual << 32) | posicaoNaPagina;
+        int posicao = escreverVarint(pagina, posicaoNaPagina, id.length);
+        System.arraycopy(id, 0, pagina, posicao, id.length);
+        posicao = escreverVarint(pagina, posicao + id.length, titulo.length);
+        System.arraycopy(titulo, 0, pagina, posicao, titulo.length);
+        posicaoNaPagina = posicao + titulo.length;
+        return endereco;
+    }
+
+    private int internar(String autor) {
+        Integer existente = autorPorNome.get(autor);
+        if (existente != null) {
+            return existente;
+        }
+        int indiceAutor = autorPorNome.size();
+        if (indiceAutor == autores.length) {
+            autores = Arrays.copyOf(autores, autores.length * 2);
+        }
+        autores[indiceAutor] = autor;
+        autorPorNome.put(autor, indiceAutor);
+        return indiceAutor;
+    }
+
+    private void inserirNaTabela(int linha, int hash) {
+        if ((ocupacaoTabela + 1) * 2L > tabela.length) {
+            redimensionarTabela(quantidade + 1);
+        }
+        int mascara = tabela.length - 1;
+        for (int i = hash & mascara; ; i = (i + 1) & mascara) {
+            if (tabela[i] <= VAZIO) {
+                if (tabela[i] == VAZIO) {
+                    ocupacaoTabela++;
+                }
+                tabela[i] = linha + 1;
+                return;
+            }
+        }
+    }
+
+    // Reconstrói sem as marcas de removido; dobra só se as linhas vivas pedirem
+    private void redimensionarTabela(int vivas) {
+        int capacidade = tabela.length;
+        while (vivas * 4L > capacidade) {
+            capacidade *= 2;
+        }
+        int[] antiga = tabela;
+        tabela = new int[capacidade];
+        int mascara = capacidade - 1;
+        for (int entrada : antiga) {
+            if (entrada > 0) {
+                int i = hashes[entrada - 1] & mascara;
+                while (tabela[i] != VAZIO) {
+                    i = (i + 1) & mascara;
+                }
+                tabela[i] = entrada;
+            }
+        }
+        ocupacaoTabela = quantidade;
+    }
+
+    private static int tamanhoVarint(int valor) {
+        int bytes = 1;
+        while ((valor >>>= 7) != 0) {
+            bytes++;
+        }
+        return bytes;
+    }
+
+    private static int escreverVarint(byte[] destino, int posicao, int valor) {
+        while ((valor & ~0x7F) != 0) {
+            destino[posicao++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        destino[posicao++] = (byte) valor;
+        return posicao;
+    }
+
+    private static int lerVarint(byte[] origem, int posicao) {
+        int valor = 0;
+        for (int deslocamento = 0; ; deslocamento += 7) {
+            byte b = origem[posicao++];
+            valor |= (b & 0x7F) << deslocamento;
+            if (b >= 0) {
+                return valor;
+            }
+        }
+    }
+
+    // --- Listagens (percorrem os bitmaps, 64 linhas por palavra) ---
+    @Override
+    public int quantidadeDisponiveis() {
+        return quantidadeDisponiveis.get();
+    }
+
+    @Override
+    public List<Livro> listarDisponiveis() {
+        return listarDisponiveis(0, Integer.MAX_VALUE);
+    }
+
+    // Pula 'inicio' disponíveis contando bits por palavra, sem visitar os livros pulados
+    @Override
+    public List<Livro> listarDisponiveis(int inicio, int limite) {
+        trava.readLock().lock();
+        try {
+            List<Livro> pagina = new ArrayList<>(Math.min(limite, quantidadeDisponiveis.get()));
+            int palavras = (linhas + 63) >>> 6;
+            int pular = inicio;
+            for (int w = 0; w < palavras && pagina.size() < limite; w++) {
+                long bits = disponiveis.palavra(w) & ocupadas[w];
+                int contagem = Long.bitCount(bits);
+                if (pular >= contagem) {
+                    pular -= contagem;
+                    continue;
+                }
+                while (bits != 0 && pagina.size() < limite) {
+                    int linha = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    if (pular > 0) {
+                        pular--;
+                    } else {
+                        pagina.add(vista(linha));
+                    }
+                }
+            }
+            return pagina;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    @Override
+    public PaginaLivros listarDisponiveisDesde(int cursor, int limite) {
+        trava.readLock().lock();
+        try {
+            List<Livro> pagina = new ArrayList<>(Math.min(limite, quantidadeDisponiveis.get()));
+            int palavras = (linhas + 63) >>> 6;
+            for (int w = cursor >>> 6; w < palavras; w++) {
+                long bits = disponiveis.palavra(w) & ocupadas[w];
+                if (w == cursor >>> 6) {
+                    bits &= -1L << cursor;
+                }
+                while (bits != 0) {
+                    int linha = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    if (pagina.size() == limite) {
+                        return new PaginaLivros(pagina, linha);
+                    }
+                    bits &= bits - 1;
+                    pagina.add(vista(linha));
+                }
+            }
+            return new PaginaLivros(pagina, -1);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Collection<Livro> disponiveis() {
+        return new Linhas(true);
+    }
+
+    @Override
+    public Collection<Livro> todos() {
+        return new Linhas(false);
+    }
+
+    // Visão somente leitura; o iterador é fracamente consistente e cria uma vista por livro visitado
+    private final class Linhas extends AbstractCollection<Livro> {
+        private final boolean soDisponiveis;
+
+        Linhas(boolean soDisponiveis) {
+            this.soDisponiveis = soDisponiveis;
+        }
+
+        @Override
+        public int size() {
+            if (soDisponiveis) {
+                return quantidadeDisponiveis.get();
+            }
+            trava.readLock().lock();
+            try {
+                return quantidade;
+            } finally {
+                trava.readLock().unlock();
+            }
+        }
+
+        // Materializa uma palavra do bitmap (até 64 livros) por aquisição da trava
+        @Override
+        public Iterator<Livro> iterator() {
+            return new Iterator<>() {
+                private final LivroColunar[] bloco = new LivroColunar[64];
+                private int tamanhoBloco;
+                private int posicao;
+                private int proximaPalavra;
+
+                @Override
+                public boolean hasNext() {
+                    while (posicao == tamanhoBloco) {
+                        if (!carregar()) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }
+
+                @Override
+                public Livro next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    LivroColunar atual = bloco[posicao];
+                    bloco[posicao++] = null;
+                    return atual;
+                }
+
+                private boolean carregar() {
+                    trava.readLock().lock();
+                    try {
+                        if (proximaPalavra >= (linhas + 63) >>> 6) {
+                            return false;
+                        }
+                        int w = proximaPalavra++;
+                        long bits = ocupadas[w];
+                        if (soDisponiveis) {
+                            bits &= disponiveis.palavra(w);
+                        }
+                        tamanhoBloco = 0;
+                        posicao = 0;
+                        while (bits != 0) {
+                            bloco[tamanhoBloco++] = vista((w << 6) + Long.numberOfTrailingZeros(bits));
+                            bits &= bits - 1;
+                        }
+                        return true;
+                    } finally {
+                        trava.readLock().unlock();
+                    }
+                }
+            };
+        }
+    }
+
+    @Override
+    public boolean indicesMontados() {
+        return indicesMontados;
+    }
+
+    @Override
+    public void montarIndices() {
+        if (!indicesMontados) {
+            int quantidade;
+            trava.readLock().lock();
+            try {
+                quantidade = linhas;
+            } finally {
+                trava.readLock().unlock();
+            }
+            indice.adicionarTodos(0, quantidade, this::livroDaLinha);
+            secundario.adicionarTodos(0, quantidade, this::livroDaLinha);
+            indicesMontados = true;
+        }
+    }
+
+    @Override
+    public IndiceTextual indice() {
+        return indice;
+    }
+
+    @Override
+    public IndiceSecundario indiceSecundario() {
+        return secundario;
+    }
+
+    @Override
+    public void reservar(int quantidadeNova) {
+        trava.writeLock().lock();
+        try {
+            garantirLinhas(linhas + quantidadeNova);
+            // A tabela já no tamanho final: a carga não a reconstrói no meio do caminho
+            if ((ocupacaoTabela + quantidadeNova) * 2L > tabela.length) {
+                redimensionarTabela(quantidade + quantidadeNova);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+}
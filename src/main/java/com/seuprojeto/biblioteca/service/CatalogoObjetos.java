@@ -0,0 +1,408 @@
+package com.seuprojeto.biblioteca.service;
+
+import com.seuprojeto.biblioteca.model.Livro;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Catálogo {@link ModoCatalogo#OBJETOS}: os próprios objetos Livro, num mapa por ID. Fora do modo concorrente
+ * o mapa preserva a ordem de inserção.
+ *
+ * Cada livro também recebe uma linha. A linha de um livro removido volta para uma lista de livres e é dada
+ * ao próximo livro inserido, então o armazenamento acompanha o tamanho do catálogo, não o total de inserções.
+ * Com os índices montados, as linhas liberadas passam antes por uma quarentena: os índices removem de forma
+ * preguiçosa, e a linha só é reaproveitada depois que {@link IndiceTextual#compactarMortos} e
+ * {@link IndiceSecundario#compactarMortos} tiram dos índices as entradas antigas dela (uma vez a cada
+ * {@value #QUARENTENA_MINIMA} linhas ou um oitavo do catálogo, o que for maior).
+ *
+ * Os disponíveis são um {@link MapaDeBits} por linha, mantido a cada mutação (nunca recalculado): as listagens
+ * saem sempre na ordem das linhas, e emprestar ou devolver só troca um bit, sem alocar. Um livro nunca muda de
+ * linha, o que dá à paginação por cursor uma ordem estável; um livro novo pode ocupar uma linha anterior ao
+ * cursor e, nesse caso, só aparece na próxima paginação.
+ */
+final class CatalogoObjetos implements ArmazenamentoCatalogo {
+
+    private static final VarHandle LIVROS = MethodHandles.arrayElementVarHandle(Livro[].class);
+    private static final int BITS_PAGINA = 14; // 16.384 linhas por página de livros
+    private static final int QUARENTENA_MINIMA = 64;
+
+    // Trocado por um mapa maior em reservar(), só fora do modo concorrente
+    private Map<String, Entrada> livros;
+    private final MapaDeBits disponiveis = new MapaDeBits();
+    private final AtomicInteger quantidadeDisponiveis = new AtomicInteger();
+    // Livro de cada linha (null depois da remoção), em páginas que nunca são copiadas; crescem sob 'this'
+    private volatile Livro[][] paginas = new Livro[0][];
+    private volatile int linhas;
+    // Linhas removidas prontas para outro livro e, com os índices montados, as que ainda esperam a
+    // compactação deles; pilhas sob 'this'
+    private int[] livres = new int[16];
+    private int quantidadeLivres;
+    private int[] quarentena = new int[16];
+    private int emQuarentena;
+    // Índices numerados pela linha; montados sob demanda
+    private final IndiceTextual indice = new IndiceTextual(this::livroDaLinha);
+    private final IndiceSecundario secundario = new IndiceSecundario(this::livroDaLinha, disponiveis::contem);
+    private volatile boolean indicesMontados;
+
+    private static final class Entrada {
+        final Livro livro;
+        final int linha;
+
+        Entrada(Livro livro, int linha) {
+            this.livro = livro;
+            this.linha = linha;
+        }
+    }
+
+    CatalogoObjetos(boolean concorrente) {
+        this.livros = concorrente ? new ConcurrentHashMap<>() : new LinkedHashMap<>();
+    }
+
+    @Override
+    public Livro buscar(String id) {
+        Entrada entrada = livros.get(id);
+        return entrada == null ? null : entrada.livro;
+    }
+
+    @Override
+    public boolean adicionar(Livro livro) {
+        if (livros.containsKey(livro.getId())) {
+            return false;
+        }
+        // A Biblioteca adiciona sob a trava do livro: ninguém mais insere este ID enquanto isso
+        int linha = novaLinha(livro);
+        livros.put(livro.getId(), new Entrada(livro, linha));
+        if (livro.isDisponivel() && disponiveis.ligar(linha)) {
+            quantidadeDisponiveis.incrementAndGet();
+        }
+        if (indicesMontados) {
+            indice.adicionar(linha, livro);
+            secundario.adicionar(linha, livro);
+        }
+        return true;
+    }
+
+    // Sob a trava da faixa: as linhas do grupo são tomadas juntas, primeiro das livres e depois do fim; os
+    // índices montados recebem as do fim como um intervalo de uma vez e as reaproveitadas uma a uma
+    @Override
+    public boolean[] adicionarTodos(List<Livro> novos) {
+        boolean[] adicionados = new boolean[novos.size()];
+        int[] reaproveitadas;
+        int quantidadeReaproveitadas = 0;
+        int primeira;
+        int ate;
+        synchronized (this) {
+            reaproveitadas = new int[Math.min(novos.size(), quantidadeLivres)];
+            primeira = linhas;
+            garantirLinhas(primeira + Math.max(0, novos.size() - quantidadeLivres));
+            int linha = primeira;
+            for (int i = 0; i < novos.size(); i++) {
+                Livro livro = novos.get(i);
+                if (livros.containsKey(livro.getId())) {
+                    continue;
+                }
+                int destino;
+                if (quantidadeLivres > 0) {
+                    destino = livres[--quantidadeLivres];
+                    reaproveitadas[quantidadeReaproveitadas++] = destino;
+                } else {
+                    destino = linha++;
+                }
+                LIVROS.setRelease(paginas[destino >>> BITS_PAGINA], destino & ((1 << BITS_PAGINA) - 1), livro);
+                livros.put(livro.getId(), new Entrada(livro, destino));
+                if (livro.isDisponivel() && disponiveis.ligar(destino)) {
+                    quantidadeDisponiveis.incrementAndGet();
+                }
+                adicionados[i] = true;
+            }
+            linhas = linha;
+            ate = linha;
+        }
+        if (indicesMontados) {
+            if (ate > primeira) {
+                indice.adicionarTodos(primeira, ate, this::livroDaLinha);
+                secundario.adicionarTodos(primeira, ate, this::livroDaLinha);
+            }
+            for (int i = 0; i < quantidadeReaproveitadas; i++) {
+                Livro livro = livroDaLinha(reaproveitadas[i]);
+                indice.adicionar(reaproveitadas[i], livro);
+                secundario.adicionar(reaproveitadas[i], livro);
+            }
+        }
+        return adicionados;
+    }
+
+    private synchronized int novaLinha(Livro livro) {
+        int linha;
+        if (quantidadeLivres > 0) {
+            linha = livres[--quantidadeLivres];
+        } else {
+            linha = linhas;
+            garantirLinhas(linha + 1);
+            linhas = linha + 1;
+        }
+        LIVROS.setRelease(paginas[linha >>> BITS_PAGINA], linha & ((1 << BITS_PAGINA) - 1), livro);
+        return linha;
+    }
+
+    // Depois de a linha sair do mapa, da página e dos índices; a compactação dos índices roda sob 'this',
+    // então nenhuma linha da quarentena é dada a outro livro antes de as entradas antigas dela sumirem
+    private synchronized void liberarLinha(int linha) {
+        if (!indicesMontados) {
+            livres = empilhar(livres, quantidadeLivres++, linha);
+            return;
+        }
+        quarentena = empilhar(quarentena, emQuarentena++, linha);
+        if (emQuarentena >= Math.max(QUARENTENA_MINIMA, linhas >>> 3)) {
+            indice.compactarMortos();
+            secundario.compactarMortos();
+            for (int i = 0; i < emQuarentena; i++) {
+                livres = empilhar(livres, quantidadeLivres++, quarentena[i]);
+            }
+            emQuarentena = 0;
+        }
+    }
+
+    private static int[] empilhar(int[] pilha, int posicao, int linha) {
+        if (posicao == pilha.length) {
+            pilha = Arrays.copyOf(pilha, pilha.length * 2);
+        }
+        pilha[posicao] = linha;
+        return pilha;
+    }
+
+    // Sob 'this'
+    private void garantirLinhas(int necessarias) {
+        disponiveis.garantir(necessarias);
+        int quantidadePaginas = (int) (((long) necessarias + (1 << BITS_PAGINA) - 1) >>> BITS_PAGINA);
+        Livro[][] atuais = paginas;
+        if (quantidadePaginas > atuais.length) {
+            Livro[][] novas = Arrays.copyOf(atuais, Math.max(quantidadePaginas, atuais.length + (atuais.length >> 1)));
+            for (int i = atuais.length; i < novas.length; i++) {
+                novas[i] = new Livro[1 << BITS_PAGINA];
+            }
+            paginas = novas;
+        }
+    }
+
+    private Livro livroDaLinha(int linha) {
+        Livro[][] atuais = paginas;
+        int pagina = linha >>> BITS_PAGINA;
+        return pagina < atuais.length
+                ? (Livro) LIVROS.getAcquire(atuais[pagina], linha & ((1 << BITS_PAGINA) - 1))
+                : null;
+    }
+
+    @Override
+    public void remover(Livro livro) {
+        Entrada entrada = livros.remove(livro.getId());
+        if (entrada == null) {
+            return;
+        }
+        LIVROS.setRelease(paginas[entrada.linha >>> BITS_PAGINA], entrada.linha & ((1 << BITS_PAGINA) - 1), null);
+        if (disponiveis.desligar(entrada.linha)) {
+            quantidadeDisponiveis.decrementAndGet();
+        }
+        if (indicesMontados) {
+            indice.remover(entrada.linha, livro);
+            secundario.remover(entrada.linha, livro);
+        }
+        liberarLinha(entrada.linha);
+    }
+
+    @Override
+    public void marcarDisponivel(Livro livro, boolean disponivel) {
+        Entrada entrada = livros.get(livro.getId());
+        if (disponivel) {
+            livro.marcarComoDisponivel();
+            if (entrada != null && disponiveis.ligar(entrada.linha)) {
+                quantidadeDisponiveis.incrementAndGet();
+            }
+        } else {
+            livro.marcarComoEmprestado();
+            if (entrada != null && disponiveis.desligar(entrada.linha)) {
+                quantidadeDisponiveis.decrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public int quantidadeDisponiveis() {
+        return quantidadeDisponiveis.get();
+    }
+
+    @Override
+    public List<Livro> listarDisponiveis() {
+        List<Livro> todos = new ArrayList<>(quantidadeDisponiveis.get());
+        for (Livro livro : disponiveis()) {
+            todos.add(livro);
+        }
+        return todos;
+    }
+
+    // Pula 'inicio' disponíveis contando bits por palavra, sem visitar os livros pulados
+    @Override
+    public List<Livro> listarDisponiveis(int inicio, int limite) {
+        List<Livro> pagina = new ArrayList<>(Math.min(limite, quantidadeDisponiveis.get()));
+        int palavras = (linhas + 63) >>> 6;
+        int pular = inicio;
+        for (int w = 0; w < palavras && pagina.size() < limite; w++) {
+            long bits = disponiveis.palavra(w);
+            int contagem = Long.bitCount(bits);
+            if (pular >= contagem) {
+                pular -= contagem;
+                continue;
+            }
+            while (bits != 0 && pagina.size() < limite) {
+                int linha = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                Livro livro = livroDaLinha(linha);
+                if (livro == null) {
+                    continue; // removido agora há pouco
+                }
+                if (pular > 0) {
+                    pular--;
+                } else {
+                    pagina.add(livro);
+                }
+            }
+        }
+        return pagina;
+    }
+
+    @Override
+    public PaginaLivros listarDisponiveisDesde(int cursor, int limite) {
+        List<Livro> pagina = new ArrayList<>(Math.min(limite, quantidadeDisponiveis.get()));
+        int ate = linhas;
+        int linha = disponiveis.proximo(cursor, ate);
+        while (linha >= 0 && pagina.size() < limite) {
+            Livro livro = livroDaLinha(linha);
+            if (livro != null) {
+                pagina.add(livro);
+            }
+            linha = disponiveis.proximo(linha + 1, ate);
+        }
+        return new PaginaLivros(pagina, linha);
+    }
+
+    @Override
+    public Collection<Livro> disponiveis() {
+        return new AbstractCollection<>() {
+            @Override
+            public int size() {
+                return quantidadeDisponiveis.get();
+            }
+
+            // Fracamente consistente, na ordem das linhas
+            @Override
+            public Iterator<Livro> iterator() {
+                return new Iterator<>() {
+                    private final int ate = linhas;
+                    private int linha = -1;
+                    private Livro proximo;
+
+                    @Override
+                    public boolean hasNext() {
+                        while (proximo == null) {
+                            linha = disponiveis.proximo(linha + 1, ate);
+                            if (linha < 0) {
+                                linha = ate;
+                                return false;
+                            }
+                            proximo = livroDaLinha(linha);
+                        }
+                        return true;
+                    }
+
+                    @Override
+                    public Livro next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Livro atual = proximo;
+                        proximo = null;
+                        return atual;
+                    }
+                };
+            }
+        };
+    }
+
+    // Lê o mapa a cada chamada: reservar() pode tê-lo trocado depois que a visão foi criada
+    @Override
+    public Collection<Livro> todos() {
+        return new AbstractCollection<>() {
+            @Override
+            public int size() {
+                return livros.size();
+            }
+
+            @Override
+            public Iterator<Livro> iterator() {
+                Iterator<Entrada> cursor = livros.values().iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return cursor.hasNext();
+                    }
+
+                    @Override
+                    public Livro next() {
+                        return cursor.next().livro;
+                    }
+                };
+            }
+        };
+    }
+
+    @Override
+    public boolean indicesMontados() {
+        return indicesMontados;
+    }
+
+    @Override
+    public void montarIndices() {
+        if (!indicesMontados) {
+            int quantidade = linhas;
+            indice.adicionarTodos(0, quantidade, this::livroDaLinha);
+            secundario.adicionarTodos(0, quantidade, this::livroDaLinha);
+            indicesMontados = true;
+        }
+    }
+
+    @Override
+    public IndiceTextual indice() {
+        return indice;
+    }
+
+    @Override
+    public IndiceSecundario indiceSecundario() {
+        return secundario;
+    }
+
+    // Fora do modo concorrente, um lote maior que o catálogo recria o mapa já no tamanho final, em vez de
+    // dobrá-lo várias vezes no meio da carga (um lote menor custaria no máximo a mesma única duplicação).
+    // O ConcurrentHashMap fica como está: ele cresce sem bloquear leitores nem as outras faixas.
+    @Override
+    public synchronized void reservar(int quantidade) {
+        garantirLinhas(linhas + quantidade);
+        if (livros instanceof LinkedHashMap && quantidade > livros.size()) {
+            long necessarios = (long) livros.size() + quantidade;
+            Map<String, Entrada> maior = new LinkedHashMap<>((int) Math.min(1 << 30, necessarios * 4 / 3 + 1));
+            maior.putAll(livros);
+            livros = maior;
+        }
+    }
+}
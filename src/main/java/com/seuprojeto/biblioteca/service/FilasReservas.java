@@ -0,0 +1,160 @@
+package com.seuprojeto.biblioteca.service;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Filas de espera da {@link Biblioteca}, uma por livro emprestado que alguém reservou, em ordem de chegada.
+ *
+ * Cada fila só é lida e alterada sob a trava (faixa) do seu livro, a mesma dos empréstimos e devoluções
+ * desse livro; o mapa de filas é concorrente, então reservas de livros diferentes não disputam nenhuma trava
+ * global. Por membro, a fila é um {@link LinkedHashMap}: entrar, sair do meio (cancelar) e atender o
+ * primeiro custam O(1), mesmo com milhares de membros esperando um título concorrido.
+ *
+ * Um segundo mapa guarda as reservas de cada membro, para que a remoção do membro encontre as suas filas sem
+ * percorrer todas. Ele é alterado só dentro de {@code compute} do próprio mapa, atômico por membro.
+ */
+final class FilasReservas {
+
+    /** Um membro esperando um livro. O futuro é completado fora das travas, por {@link #concluir()}. */
+    static final class Reserva {
+        final String idLivro;
+        final Membro membro;
+        final CompletableFuture<Livro> futuro = new CompletableFuture<>();
+        Livro livro;
+        Rejeicao recusa;
+
+        Reserva(String idLivro, Membro membro) {
+            this.idLivro = idLivro;
+            this.membro = membro;
+        }
+
+        void concluir() {
+            if (recusa == null) {
+                futuro.complete(livro);
+            } else {
+                futuro.completeExceptionally(recusa.excecao(idLivro, membro.getId()));
+            }
+        }
+    }
+
+    private final ConcurrentHashMap<String, LinkedHashMap<String, Reserva>> filas = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, List<Reserva>> porMembro = new ConcurrentHashMap<>();
+
+    // Lido sem trava pela devolução, para não procurar fila quando não há nenhuma
+    boolean isVazia() {
+        return filas.isEmpty();
+    }
+
+    /** Devolve false se o membro já está na fila do livro. */
+    boolean enfileirar(String idLivro, Reserva reserva) {
+        if (filas.computeIfAbsent(idLivro, id -> new LinkedHashMap<>())
+                .putIfAbsent(reserva.membro.getId(), reserva) != null) {
+            return false;
+        }
+        porMembro.compute(reserva.membro.getId(), (id, doMembro) -> {
+            List<Reserva> lista = doMembro == null ? new ArrayList<>(1) : doMembro;
+            lista.add(reserva);
+            return lista;
+        });
+        return true;
+    }
+
+    /** Tira o primeiro da fila (null se vazia); a fila vazia sai do mapa. */
+    Reserva proxima(String idLivro) {
+        LinkedHashMap<String, Reserva> fila = filas.get(idLivro);
+        if (fila == null) {
+            return null;
+        }
+        Iterator<Reserva> cursor = fila.values().iterator();
+        Reserva primeira = cursor.next();
+        cursor.remove();
+        if (fila.isEmpty()) {
+            filas.remove(idLivro);
+        }
+        esquecer(primeira);
+        return primeira;
+    }
+
+    Reserva remover(String idLivro, String idMembro) {
+        LinkedHashMap<String, Reserva> fila = filas.get(idLivro);
+        if (fila == null) {
+            return null;
+        }
+        Reserva reserva = fila.remove(idMembro);
+        if (fila.isEmpty()) {
+            filas.remove(idLivro);
+        }
+        if (reserva != null) {
+            esquecer(reserva);
+        }
+        return reserva;
+    }
+
+    /** Tira esta reserva da fila, se ela ainda está lá (o membro pode ter entrado de novo com outra). */
+    boolean remover(Reserva reserva) {
+        LinkedHashMap<String, Reserva> fila = filas.get(reserva.idLivro);
+        if (fila == null || !fila.remove(reserva.membro.getId(), reserva)) {
+            return false;
+        }
+        if (fila.isEmpty()) {
+            filas.remove(reserva.idLivro);
+        }
+        esquecer(reserva);
+        return true;
+    }
+
+    /**
+     * As reservas do membro (só as deste objeto, não de um membro novo com o mesmo ID), que deixam de ser
+     * encontradas por ele; cada uma ainda precisa sair da fila sob a trava do seu livro, com {@link #remover(Reserva)}.
+     */
+    List<Reserva> retirarDoMembro(Membro membro) {
+        List<Reserva> retiradas = new ArrayList<>();
+        porMembro.computeIfPresent(membro.getId(), (id, doMembro) -> {
+            for (Iterator<Reserva> cursor = doMembro.iterator(); cursor.hasNext(); ) {
+                Reserva reserva = cursor.next();
+                if (reserva.membro == membro) {
+                    retiradas.add(reserva);
+                    cursor.remove();
+                }
+            }
+            return doMembro.isEmpty() ? null : doMembro;
+        });
+        return retiradas;
+    }
+
+    private void esquecer(Reserva reserva) {
+        porMembro.computeIfPresent(reserva.membro.getId(), (id, doMembro) -> {
+            doMembro.remove(reserva);
+            return doMembro.isEmpty() ? null : doMembro;
+        });
+    }
+
+    int quantidade(String idLivro) {
+        LinkedHashMap<String, Reserva> fila = filas.get(idLivro);
+        return fila == null ? 0 : fila.size();
+    }
+
+    /** Posição do membro na fila, a partir de 1; 0 se ele não está nela. */
+    int posicao(String idLivro, String idMembro) {
+        LinkedHashMap<String, Reserva> fila = filas.get(idLivro);
+        if (fila == null || !fila.containsKey(idMembro)) {
+            return 0;
+        }
+        int posicao = 1;
+        for (String id : fila.keySet()) {
+            if (id.equals(idMembro)) {
+                break;
+            }
+            posicao++;
+        }
+        return posicao;
+    }
+}
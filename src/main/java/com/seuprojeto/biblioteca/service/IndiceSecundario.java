@@ -0,0 +1,276 @@
+package com.seuprojeto.biblioteca.service;
+
+import com.seuprojeto.biblioteca.model.Livro;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+
+/**
+ * Índices secundários do catálogo: ano de publicação, ordenado para consultas por intervalo, e autor
+ * normalizado (minúsculas, sem acentos, espaços colapsados), para consultas por igualdade.
+ *
+ * Cada chave guarda uma lista crescente dos números de documento dos seus livros, na mesma numeração do
+ * {@link IndiceTextual} do catálogo (a linha do livro). Como no índice textual, a remoção é preguiçosa:
+ * o documento sai do mapa de vivos e a lista só é compactada quando metade dela está morta. Uma consulta
+ * percorre só as listas das chaves pedidas, então custa proporcionalmente aos livros selecionados, não ao catálogo.
+ *
+ * O filtro de disponibilidade é aplicado antes de resolver o documento em livro, pelo predicado do catálogo.
+ */
+final class IndiceSecundario {
+
+    private final NavigableMap<Integer, Documentos> porAno = new TreeMap<>();
+    private final Map<String, Documentos> porAutor = new HashMap<>();
+    private final IntFunction<Livro> resolvedor;
+    private final IntPredicate disponivel;
+    private long[] vivos = new long[16];
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+
+    // O resolvedor pode devolver null para um documento que acabou de ser removido
+    IndiceSecundario(IntFunction<Livro> resolvedor, IntPredicate disponivel) {
+        this.resolvedor = resolvedor;
+        this.disponivel = disponivel;
+    }
+
+    private static final class Documentos {
+        int[] entradas = new int[2];
+        int tamanho;
+        int mortos;
+
+        int vivos() {
+            return tamanho - mortos;
+        }
+
+        void adicionar(int documento) {
+            if (tamanho == entradas.length) {
+                entradas = Arrays.copyOf(entradas, tamanho + (tamanho >> 1) + 1);
+            }
+            if (tamanho == 0 || entradas[tamanho - 1] < documento) {
+                entradas[tamanho++] = documento;
+                return;
+            }
+            // Inserções concorrentes: o documento pode chegar fora de ordem
+            int posicao = Arrays.binarySearch(entradas, 0, tamanho, documento);
+            if (posicao >= 0) {
+                return;
+            }
+            posicao = -posicao - 1;
+            System.arraycopy(entradas, posicao, entradas, posicao + 1, tamanho - posicao);
+            entradas[posicao] = documento;
+            tamanho++;
+        }
+    }
+
+    // --- Manutenção ---
+    // 'documento' é dado por quem chama; um número já usado só volta depois de compactarMortos()
+    void adicionar(int documento, Livro livro) {
+        trava.writeLock().lock();
+        try {
+            if (!vivo(documento)) {
+                indexar(documento, livro);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    private void indexar(int documento, Livro livro) {
+        int palavra = documento >>> 6;
+        if (palavra >= vivos.length) {
+            vivos = Arrays.copyOf(vivos, Math.max(palavra + 1, vivos.length * 2));
+        }
+        vivos[palavra] |= 1L << documento;
+        porAno.computeIfAbsent(livro.getAnoPublicacao(), ano -> new Documentos()).adicionar(documento);
+        porAutor.computeIfAbsent(normalizarAutor(livro.getAutor()), autor -> new Documentos()).adicionar(documento);
+    }
+
+    // Como IndiceTextual.adicionarTodos: documentos de desde a ate - 1, sob uma única aquisição da trava
+    void adicionarTodos(int desde, int ate, IntFunction<Livro> livros) {
+        trava.writeLock().lock();
+        try {
+            int palavras = (ate + 63) >>> 6;
+            if (palavras > vivos.length) {
+                vivos = Arrays.copyOf(vivos, Math.max(palavras, vivos.length * 2));
+            }
+            for (int documento = desde; documento < ate; documento++) {
+                Livro livro = livros.apply(documento);
+                if (livro != null && !vivo(documento)) {
+                    indexar(documento, livro);
+                }
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    void remover(int documento, Livro livro) {
+        trava.writeLock().lock();
+        try {
+            if (!vivo(documento)) {
+                return;
+            }
+            vivos[documento >>> 6] &= ~(1L << documento);
+            descartar(porAno, livro.getAnoPublicacao());
+            descartar(porAutor, normalizarAutor(livro.getAutor()));
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    private <K> void descartar(Map<K, Documentos> indice, K chave) {
+        Documentos documentos = indice.get(chave);
+        documentos.mortos++;
+        if (documentos.vivos() == 0) {
+            indice.remove(chave);
+        } else if (documentos.mortos * 2 > documentos.tamanho) {
+            compactar(documentos);
+        }
+    }
+
+    private void compactar(Documentos documentos) {
+        int escrita = 0;
+        for (int i = 0; i < documentos.tamanho; i++) {
+            if (vivo(documentos.entradas[i])) {
+                documentos.entradas[escrita++] = documentos.entradas[i];
+            }
+        }
+        documentos.tamanho = escrita;
+        documentos.mortos = 0;
+        documentos.entradas = Arrays.copyOf(documentos.entradas, Math.max(2, escrita));
+    }
+
+    // Como IndiceTextual.compactarMortos: depois dela os números removidos podem ir para outros livros
+    void compactarMortos() {
+        trava.writeLock().lock();
+        try {
+            for (Documentos documentos : porAno.values()) {
+                if (documentos.mortos > 0) {
+                    compactar(documentos);
+                }
+            }
+            for (Documentos documentos : porAutor.values()) {
+                if (documentos.mortos > 0) {
+                    compactar(documentos);
+                }
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    private boolean vivo(int documento) {
+        int palavra = documento >>> 6;
+        return palavra < vivos.length && (vivos[palavra] & (1L << documento)) != 0;
+    }
+
+    // --- Consultas ---
+
+    /** Livros com ano de publicação no intervalo fechado, em ordem de ano e, no mesmo ano, de inserção. */
+    List<Livro> buscarPorAno(int anoInicial, int anoFinal, boolean somenteDisponiveis, int limite) {
+        int[] selecionados;
+        trava.readLock().lock();
+        try {
+            Selecao selecao = new Selecao(somenteDisponiveis, limite);
+            for (Documentos documentos : porAno.subMap(anoInicial, true, anoFinal, true).values()) {
+                if (!selecao.coletar(documentos)) {
+                    break;
+                }
+            }
+            selecionados = selecao.documentos();
+        } finally {
+            trava.readLock().unlock();
+        }
+        return resolver(selecionados);
+    }
+
+    /** Livros do autor (comparado sem acentos nem maiúsculas), na ordem das linhas do catálogo. */
+    List<Livro> buscarPorAutor(String autor, boolean somenteDisponiveis, int limite) {
+        String chave = normalizarAutor(autor);
+        int[] selecionados;
+        trava.readLock().lock();
+        try {
+            Selecao selecao = new Selecao(somenteDisponiveis, limite);
+            Documentos documentos = porAutor.get(chave);
+            if (documentos != null) {
+                selecao.coletar(documentos);
+            }
+            selecionados = selecao.documentos();
+        } finally {
+            trava.readLock().unlock();
+        }
+        return resolver(selecionados);
+    }
+
+    // Números de documento vivos (e disponíveis, se pedido) até o limite; resolvidos em livros fora da trava
+    private final class Selecao {
+        final boolean somenteDisponiveis;
+        final int limite;
+        int[] documentos = new int[16];
+        int tamanho;
+
+        Selecao(boolean somenteDisponiveis, int limite) {
+            this.somenteDisponiveis = somenteDisponiveis;
+            this.limite = limite;
+        }
+
+        // Devolve false quando o limite foi alcançado
+        boolean coletar(Documentos lista) {
+            for (int i = 0; i < lista.tamanho; i++) {
+                if (tamanho == limite) {
+                    return false;
+                }
+                int documento = lista.entradas[i];
+                if (vivo(documento) && (!somenteDisponiveis || disponivel.test(documento))) {
+                    if (tamanho == documentos.length) {
+                        documentos = Arrays.copyOf(documentos, tamanho * 2);
+                    }
+                    documentos[tamanho++] = documento;
+                }
+            }
+            return tamanho < limite;
+        }
+
+        int[] documentos() {
+            return Arrays.copyOf(documentos, tamanho);
+        }
+    }
+
+    private List<Livro> resolver(int[] documentos) {
+        List<Livro> livros = new ArrayList<>(documentos.length);
+        for (int documento : documentos) {
+            Livro livro = resolvedor.apply(documento);
+            if (livro != null) {
+                livros.add(livro);
+            }
+        }
+        return livros;
+    }
+
+    // --- Normalização ---
+    static String normalizarAutor(String autor) {
+        if (autor == null) {
+            return "";
+        }
+        String normalizado = IndiceTextual.normalizar(autor);
+        StringBuilder sb = new StringBuilder(normalizado.length());
+        for (int i = 0; i < normalizado.length(); i++) {
+            char c = normalizado.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                sb.append(c);
+            } else if (sb.length() > 0 && sb.charAt(sb.length() - 1) != ' ') {
+                sb.append(' ');
+            }
+        }
+        if (sb.length() > 0 && sb.charAt(sb.length() - 1) == ' ') {
+            sb.setLength(sb.length() - 1);
+        }
+        return sb.toString();
+    }
+}
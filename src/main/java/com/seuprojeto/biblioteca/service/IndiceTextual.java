@@ -0,0 +1,530 @@
+package com.seuprojeto.biblioteca.service;
+
+import com.seuprojeto.biblioteca.model.Livro;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+
+/**
+ * Índice invertido em memória sobre o título e o autor dos livros.
+ *
+ * Os termos são normalizados (minúsculas, sem acentos) e as stopwords do português são ignoradas.
+ * Cada livro recebe um número interno crescente; as listas de postings guardam {@code (doc << 1) | campo}
+ * em ordem crescente, o que permite intersectar listas com cursores que só avançam. A remoção é preguiçosa:
+ * o documento sai do mapa de vivos e a lista só é compactada quando metade dela está morta.
+ *
+ * Os números de documento são dados pelo catálogo (a linha do livro no armazenamento) e resolvidos para um
+ * livro só na hora de devolver resultados. O catálogo pode montar o índice de uma vez
+ * ({@link #adicionarTodos}), em vez de livro a livro, e só dá o número de um livro removido a outro depois
+ * de {@link #compactarMortos}.
+ *
+ * Pontuação: para cada termo da consulta, idf(termo) vezes o peso do campo (título vale o dobro do autor).
+ */
+class IndiceTextual {
+
+    private static final int CAMPO_TITULO = 0;
+    private static final int CAMPO_AUTOR = 1;
+    private static final double PESO_TITULO = 2.0;
+    private static final double PESO_AUTOR = 1.0;
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "o", "as", "os", "de", "da", "do", "das", "dos", "e", "em", "no", "na", "nos", "nas",
+            "um", "uma", "uns", "umas", "por", "para", "com", "ao", "aos", "que", "se", "the", "of");
+
+    private final NavigableMap<String, Postings> termos = new TreeMap<>();
+    private final IntFunction<Livro> resolvedor;
+    private long[] vivos = new long[16];
+    private int quantidadeDocumentos;
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+
+    // O resolvedor pode devolver null para um documento que acabou de ser removido
+    IndiceTextual(IntFunction<Livro> resolvedor) {
+        this.resolvedor = resolvedor;
+    }
+
+    private static final class Postings {
+        final String exibicao; // primeira forma original vista, para sugestões
+        int[] entradas = new int[2];
+        int tamanho;
+        int mortos;
+
+        Postings(String exibicao) {
+            this.exibicao = exibicao;
+        }
+
+        int vivos() {
+            return tamanho - mortos;
+        }
+
+        void adicionar(int entrada) {
+            if (tamanho == entradas.length) {
+                entradas = Arrays.copyOf(entradas, tamanho + (tamanho >> 1) + 1);
+            }
+            if (tamanho == 0 || entradas[tamanho - 1] < entrada) {
+                entradas[tamanho++] = entrada;
+                return;
+            }
+            // Numeração externa com inserções concorrentes: o documento pode chegar fora de ordem
+            int posicao = Arrays.binarySearch(entradas, 0, tamanho, entrada);
+            if (posicao >= 0) {
+                return;
+            }
+            posicao = -posicao - 1;
+            System.arraycopy(entradas, posicao, entradas, posicao + 1, tamanho - posicao);
+            entradas[posicao] = entrada;
+            tamanho++;
+        }
+    }
+
+    private static final class Resultado {
+        final int documento;
+        final double pontuacao;
+
+        Resultado(int documento, double pontuacao) {
+            this.documento = documento;
+            this.pontuacao = pontuacao;
+        }
+    }
+
+    // Pior resultado no topo do heap: menor pontuação e, no empate, o livro inserido por último
+    private static final Comparator<Resultado> PIOR_PRIMEIRO = Comparator
+            .comparingDouble((Resultado r) -> r.pontuacao)
+            .thenComparingInt(r -> -r.documento);
+
+    // --- Manutenção ---
+    // 'documento' é dado por quem chama; um número já usado só volta depois de compactarMortos()
+    void adicionar(int documento, Livro livro) {
+        trava.writeLock().lock();
+        try {
+            if (!vivo(documento)) {
+                indexar(documento, livro);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    // Indexa os documentos de desde a ate - 1 (os null são pulados) sob uma única aquisição da trava,
+    // com as listas crescendo pelo fim sempre que o intervalo é o mais recente
+    void adicionarTodos(int desde, int ate, IntFunction<Livro> livros) {
+        trava.writeLock().lock();
+        try {
+            int palavras = (ate + 63) >>> 6;
+            if (palavras > vivos.length) {
+                vivos = Arrays.copyOf(vivos, Math.max(palavras, vivos.length * 2));
+            }
+            for (int documento = desde; documento < ate; documento++) {
+                Livro livro = livros.apply(documento);
+                if (livro != null && !vivo(documento)) {
+                    indexar(documento, livro);
+                }
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    private void indexar(int documento, Livro livro) {
+        int palavra = documento >>> 6;
+        if (palavra >= vivos.length) {
+            vivos = Arrays.copyOf(vivos, Math.max(palavra + 1, vivos.length * 2));
+        }
+        vivos[palavra] |= 1L << documento;
+        quantidadeDocumentos++;
+        indexarCampo(livro.getTitulo(), (documento << 1) | CAMPO_TITULO);
+        indexarCampo(livro.getAutor(), (documento << 1) | CAMPO_AUTOR);
+    }
+
+    private boolean vivo(int documento) {
+        int palavra = documento >>> 6;
+        return palavra < vivos.length && (vivos[palavra] & (1L << documento)) != 0;
+    }
+
+    private void indexarCampo(String texto, int entrada) {
+        for (String[] termo : tokenizarComOriginal(texto)) {
+            termos.computeIfAbsent(termo[0], t -> new Postings(termo[1])).adicionar(entrada);
+        }
+    }
+
+    void remover(int documento, Livro livro) {
+        trava.writeLock().lock();
+        try {
+            if (vivo(documento)) {
+                desindexar(documento, livro);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    private void desindexar(int documento, Livro livro) {
+        vivos[documento >>> 6] &= ~(1L << documento);
+        quantidadeDocumentos--;
+        List<String> doTitulo = tokenizar(livro.getTitulo());
+        List<String> doAutor = tokenizar(livro.getAutor());
+        Set<String> termosDoLivro = new LinkedHashSet<>(doTitulo);
+        termosDoLivro.addAll(doAutor);
+        for (String termo : termosDoLivro) {
+            Postings postings = termos.get(termo);
+            // um termo presente nos dois campos tem duas entradas para o mesmo documento
+            postings.mortos += doTitulo.contains(termo) && doAutor.contains(termo) ? 2 : 1;
+            if (postings.vivos() == 0) {
+                termos.remove(termo);
+            } else if (postings.mortos * 2 > postings.tamanho) {
+                compactar(postings);
+            }
+        }
+    }
+
+    private void compactar(Postings postings) {
+        int escrita = 0;
+        for (int i = 0; i < postings.tamanho; i++) {
+            int entrada = postings.entradas[i];
+            if (vivo(entrada >>> 1)) {
+                postings.entradas[escrita++] = entrada;
+            }
+        }
+        postings.tamanho = escrita;
+        postings.mortos = 0;
+        postings.entradas = Arrays.copyOf(postings.entradas, Math.max(2, escrita));
+    }
+
+    // Tira de todas as listas as entradas de documentos removidos, para que esses números possam ser dados
+    // a outros livros sem que uma entrada antiga volte a valer para eles
+    void compactarMortos() {
+        trava.writeLock().lock();
+        try {
+            for (Postings postings : termos.values()) {
+                if (postings.mortos > 0) {
+                    compactar(postings);
+                }
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    // --- Consultas ---
+
+    /**
+     * Livros que contêm todos os termos da consulta, ordenados por pontuação.
+     * Com {@code ultimoComoPrefixo}, o último termo casa com qualquer palavra que comece com ele (autocompletar);
+     * o prefixo é expandido para, no máximo, as {@value #MAX_EXPANSOES} palavras mais frequentes.
+     */
+    List<Livro> buscar(String consulta, int limite, boolean ultimoComoPrefixo) {
+        List<String> tokens = tokenizar(consulta);
+        if (tokens.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        String prefixo = ultimoComoPrefixo ? tokens.remove(tokens.size() - 1) : null;
+
+        trava.readLock().lock();
+        try {
+            List<Grupo> grupos = new ArrayList<>(tokens.size() + 1);
+            for (String token : tokens) {
+                Postings postings = termos.get(token);
+                if (postings == null) {
+                    return List.of();
+                }
+                grupos.add(new Grupo(new Postings[]{postings}, idf(postings.vivos())));
+            }
+            if (prefixo != null) {
+                Grupo expandido = expandir(prefixo);
+                if (expandido == null) {
+                    return List.of();
+                }
+                grupos.add(expandido);
+            }
+            return ordenar(intersectar(grupos, limite));
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    private static final int MAX_EXPANSOES = 64;
+
+    private Grupo expandir(String prefixo) {
+        List<Postings> expansoes = maisFrequentes(prefixo, MAX_EXPANSOES);
+        if (expansoes.isEmpty()) {
+            return null;
+        }
+        int vivos = 0;
+        for (Postings postings : expansoes) {
+            vivos += postings.vivos();
+        }
+        // O prefixo conta como um único termo, com a frequência somada das expansões
+        return new Grupo(expansoes.toArray(new Postings[0]), idf(vivos));
+    }
+
+    /**
+     * Interseção em ordem de documento guiada pelo grupo mais barato, saltando (leapfrog) para o próximo
+     * documento do grupo que falhou. Os cursores só avançam, por galope. Para assim que o topo está cheio
+     * de pontuações máximas, já que os empates favorecem os livros inseridos antes.
+     */
+    private PriorityQueue<Resultado> intersectar(List<Grupo> grupos, int limite) {
+        Grupo guia = grupos.get(0);
+        double maximo = 0;
+        for (Grupo grupo : grupos) {
+            if (grupo.custo < guia.custo) {
+                guia = grupo;
+            }
+            maximo += grupo.idf * PESO_TITULO;
+        }
+
+        PriorityQueue<Resultado> topo = new PriorityQueue<>(limite, PIOR_PRIMEIRO);
+        int documento = guia.proximoDocumento(0);
+        while (documento != Integer.MAX_VALUE) {
+            int proximo = documento + 1;
+            if (vivo(documento)) {
+                double pontuacao = 0;
+                for (Grupo grupo : grupos) {
+                    double peso = grupo.peso(documento);
+                    if (peso == 0) {
+                        pontuacao = -1;
+                        proximo = grupo.proximoDocumento(proximo);
+                        break;
+                    }
+                    pontuacao += grupo.idf * peso;
+                }
+                if (pontuacao >= 0) {
+                    oferecer(topo, new Resultado(documento, pontuacao), limite);
+                    if (topo.size() == limite && topo.peek().pontuacao >= maximo) {
+                        break;
+                    }
+                }
+            }
+            documento = proximo == Integer.MAX_VALUE ? proximo : guia.proximoDocumento(proximo);
+        }
+        return topo;
+    }
+
+    /** Um termo exato (uma lista) ou um prefixo expandido (várias listas), com um cursor por lista. */
+    private static final class Grupo {
+        final Postings[] listas;
+        final int[] posicoes;
+        final double idf;
+        final long custo;
+
+        Grupo(Postings[] listas, double idf) {
+            this.listas = listas;
+            this.posicoes = new int[listas.length];
+            this.idf = idf;
+            long soma = 0;
+            for (Postings postings : listas) {
+                soma += postings.tamanho;
+            }
+            this.custo = soma;
+        }
+
+        // Menor documento >= minimo presente em alguma das listas, ou Integer.MAX_VALUE
+        int proximoDocumento(int minimo) {
+            int menor = Integer.MAX_VALUE;
+            for (int i = 0; i < listas.length; i++) {
+                Postings postings = listas[i];
+                int posicao = avancar(postings, posicoes[i], minimo << 1);
+                posicoes[i] = posicao;
+                if (posicao < postings.tamanho) {
+                    menor = Math.min(menor, postings.entradas[posicao] >>> 1);
+                }
+            }
+            return menor;
+        }
+
+        // Peso do campo em que o grupo aparece no documento (0 se não aparece)
+        double peso(int documento) {
+            int titulo = (documento << 1) | CAMPO_TITULO;
+            double melhor = 0;
+            for (int i = 0; i < listas.length; i++) {
+                Postings postings = listas[i];
+                int posicao = avancar(postings, posicoes[i], titulo);
+                posicoes[i] = posicao;
+                if (posicao < postings.tamanho) {
+                    int entrada = postings.entradas[posicao];
+                    if (entrada == titulo) {
+                        return PESO_TITULO;
+                    }
+                    if (entrada == ((documento << 1) | CAMPO_AUTOR)) {
+                        melhor = PESO_AUTOR;
+                    }
+                }
+            }
+            return melhor;
+        }
+
+        // Primeira posição >= inicio com entrada >= alvo: galope exponencial seguido de busca binária
+        private static int avancar(Postings postings, int inicio, int alvo) {
+            int[] entradas = postings.entradas;
+            int tamanho = postings.tamanho;
+            if (inicio >= tamanho || entradas[inicio] >= alvo) {
+                return inicio;
+            }
+            int passo = 1;
+            int baixo = inicio;
+            while (baixo + passo < tamanho && entradas[baixo + passo] < alvo) {
+                baixo += passo;
+                passo <<= 1;
+            }
+            int posicao = Arrays.binarySearch(entradas, baixo + 1, Math.min(baixo + passo + 1, tamanho), alvo);
+            return posicao >= 0 ? posicao : -posicao - 1;
+        }
+    }
+
+    private static void oferecer(PriorityQueue<Resultado> topo, Resultado resultado, int limite) {
+        if (topo.size() < limite) {
+            topo.add(resultado);
+        } else if (PIOR_PRIMEIRO.compare(resultado, topo.peek()) > 0) {
+            topo.poll();
+            topo.add(resultado);
+        }
+    }
+
+    private List<Livro> ordenar(PriorityQueue<Resultado> topo) {
+        Livro[] ordenados = new Livro[topo.size()];
+        for (int i = ordenados.length - 1; i >= 0; i--) {
+            ordenados[i] = resolvedor.apply(topo.poll().documento);
+        }
+        List<Livro> resultado = Arrays.asList(ordenados);
+        if (resultado.contains(null)) {
+            resultado = new ArrayList<>(resultado);
+            resultado.removeIf(livro -> livro == null);
+        }
+        return resultado;
+    }
+
+    private double idf(int frequencia) {
+        return Math.log(1.0 + (double) quantidadeDocumentos / Math.max(1, frequencia));
+    }
+
+    // Os "limite" termos com o prefixo de maior frequência, em ordem decrescente (heap limitado, sem ordenar todos)
+    private List<Postings> maisFrequentes(String prefixo, int limite) {
+        PriorityQueue<Postings> topo = new PriorityQueue<>(limite, Comparator.comparingInt(Postings::vivos));
+        for (Postings postings : termos.subMap(prefixo, true, prefixo + Character.MAX_VALUE, false).values()) {
+            if (topo.size() < limite) {
+                topo.add(postings);
+            } else if (postings.vivos() > topo.peek().vivos()) {
+                topo.poll();
+                topo.add(postings);
+            }
+        }
+        Postings[] ordenados = new Postings[topo.size()];
+        for (int i = ordenados.length - 1; i >= 0; i--) {
+            ordenados[i] = topo.poll();
+        }
+        return Arrays.asList(ordenados);
+    }
+
+    /**
+     * Termos do índice que começam com o prefixo, dos mais frequentes para os menos frequentes,
+     * na forma original (com acentos) em que apareceram pela primeira vez.
+     */
+    List<String> sugerirTermos(String prefixo, int limite) {
+        String normalizado = normalizar(prefixo).trim();
+        if (normalizado.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        trava.readLock().lock();
+        try {
+            List<String> sugestoes = new ArrayList<>();
+            for (Postings postings : maisFrequentes(normalizado, limite)) {
+                sugestoes.add(postings.exibicao);
+            }
+            return sugestoes;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    // --- Estatísticas ---
+
+    /**
+     * Estimativa da memória ocupada pelo índice (JVM 64 bits com oops comprimidos):
+     * dicionário de termos, listas de postings e mapa de vivos.
+     */
+    long bytesEstimados() {
+        trava.readLock().lock();
+        try {
+            long total = 16 + 8L * vivos.length;
+            for (Map.Entry<String, Postings> entrada : termos.entrySet()) {
+                total += 40 + 24 + 2L * entrada.getKey().length(); // nó da TreeMap + String
+                total += 32 + 16 + 4L * entrada.getValue().entradas.length; // Postings + vetor
+            }
+            return total;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    int quantidadeTermos() {
+        trava.readLock().lock();
+        try {
+            return termos.size();
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    // --- Normalização ---
+    static String normalizar(String texto) {
+        boolean ascii = true;
+        for (int i = 0; i < texto.length() && ascii; i++) {
+            ascii = texto.charAt(i) < 128;
+        }
+        String base = ascii ? texto : Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(base.length());
+        for (int i = 0; i < base.length(); i++) {
+            char c = base.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    static List<String> tokenizar(String texto) {
+        List<String> tokens = new ArrayList<>();
+        for (String[] termo : tokenizarComOriginal(texto)) {
+            tokens.add(termo[0]);
+        }
+        return tokens;
+    }
+
+    // Pares {termo normalizado, palavra original}, sem repetição e sem stopwords
+    private static List<String[]> tokenizarComOriginal(String texto) {
+        if (texto == null) {
+            return List.of();
+        }
+        String normalizado = normalizar(texto);
+        // NFD pode alterar o comprimento; nesse caso a forma original exibida é a normalizada
+        boolean alinhado = normalizado.length() == texto.length();
+        Set<String> vistos = new LinkedHashSet<>();
+        List<String[]> termosEncontrados = new ArrayList<>();
+        int i = 0;
+        while (i < normalizado.length()) {
+            while (i < normalizado.length() && !Character.isLetterOrDigit(normalizado.charAt(i))) {
+                i++;
+            }
+            int inicio = i;
+            while (i < normalizado.length() && Character.isLetterOrDigit(normalizado.charAt(i))) {
+                i++;
+            }
+            if (i > inicio) {
+                String termo = normalizado.substring(inicio, i);
+                if (!STOPWORDS.contains(termo) && vistos.add(termo)) {
+                    termosEncontrados.add(new String[]{termo, alinhado ? texto.substring(inicio, i) : termo});
+                }
+            }
+        }
+        return termosEncontrados;
+    }
+}
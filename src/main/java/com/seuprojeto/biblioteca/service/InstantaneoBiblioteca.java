@@ -0,0 +1,206 @@
+package com.seuprojeto.biblioteca.service;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Versão imutável do catálogo e dos membros, num único ponto no tempo ({@code biblioteca.instantaneo()}).
+ *
+ * Pegar um instantâneo é ler um campo volátil: os leitores nunca esperam pelos escritores nem repetem
+ * leituras, e tudo o que leem de uma mesma versão é consistente entre si (um livro emprestado aparece
+ * indisponível e na lista do membro que o levou). Cada mutação da Biblioteca publica uma versão nova que
+ * compartilha com a anterior tudo o que não mudou ({@link MapaPersistente}), então escrever custa O(log n),
+ * não uma cópia do catálogo.
+ *
+ * Os livros devolvidos são cópias congeladas: {@code isDisponivel()} é o da versão e {@code marcarComo...}
+ * lança {@link UnsupportedOperationException}. Livros e empréstimos de um membro são listados na ordem do hash
+ * do ID, a mesma em todas as versões. Relatórios paralelos sobre a versão ficam em {@link #analise()}.
+ */
+public final class InstantaneoBiblioteca {
+
+    static final InstantaneoBiblioteca VAZIO = new InstantaneoBiblioteca(0,
+            MapaPersistente.vazio(livro -> livro.isDisponivel() ? 1 : 0), MapaPersistente.vazio(membro -> 0));
+
+    private static final MapaPersistente<Livro> SEM_EMPRESTIMOS = MapaPersistente.vazio(livro -> 0);
+
+    private final long versao;
+    private final MapaPersistente<Livro> livros;
+    private final MapaPersistente<EmprestimosMembro> membros;
+
+    private InstantaneoBiblioteca(long versao, MapaPersistente<Livro> livros, MapaPersistente<EmprestimosMembro> membros) {
+        this.versao = versao;
+        this.livros = livros;
+        this.membros = membros;
+    }
+
+    private static final class EmprestimosMembro {
+        final Membro membro;
+        final MapaPersistente<Livro> emprestados;
+
+        EmprestimosMembro(Membro membro, MapaPersistente<Livro> emprestados) {
+            this.membro = membro;
+            this.emprestados = emprestados;
+        }
+    }
+
+    // --- Leitura ---
+
+    /** Cresce a cada mutação publicada desde que os instantâneos foram ativados. */
+    public long getVersao() {
+        return versao;
+    }
+
+    public Livro buscarLivroPorId(String idLivro) {
+        return idLivro == null ? null : livros.buscar(idLivro);
+    }
+
+    public int quantidadeLivros() {
+        return livros.tamanho();
+    }
+
+    public int countDisponiveis() {
+        return livros.peso();
+    }
+
+    public List<Livro> listarLivrosDisponiveis() {
+        return livros.pagina(0, Integer.MAX_VALUE);
+    }
+
+    // Subárvores sem disponíveis suficientes são puladas inteiras: O(log n + limite)
+    public List<Livro> listarLivrosDisponiveis(int inicio, int limite) {
+        if (inicio < 0 || limite < 0) {
+            throw new IllegalArgumentException("Início e limite da página não podem ser negativos.");
+        }
+        return livros.pagina(inicio, limite);
+    }
+
+    /** Todos os livros da versão (somente leitura, sem cópia). */
+    public Collection<Livro> getLivros() {
+        return visao(livros);
+    }
+
+    public boolean existeMembro(String idMembro) {
+        return idMembro != null && membros.buscar(idMembro) != null;
+    }
+
+    public int quantidadeMembros() {
+        return membros.tamanho();
+    }
+
+    /**
+     * Os membros da versão. São os objetos da Biblioteca (ID e nome); os empréstimos de cada um nesta versão
+     * vêm de {@link #listarLivrosEmprestadosPorMembro}, não de {@code Membro.getLivrosEmprestados()}.
+     */
+    public Collection<Membro> getMembros() {
+        List<Membro> resultado = new ArrayList<>(membros.tamanho());
+        for (EmprestimosMembro emprestimos : membros) {
+            resultado.add(emprestimos.membro);
+        }
+        return resultado;
+    }
+
+    public List<Livro> listarLivrosEmprestadosPorMembro(String idMembro) {
+        EmprestimosMembro emprestimos = idMembro == null ? null : membros.buscar(idMembro);
+        if (emprestimos == null) {
+            throw new IllegalArgumentException("Membro com ID " + idMembro + " não encontrado.");
+        }
+        List<Livro> resultado = new ArrayList<>(emprestimos.emprestados.tamanho());
+        for (Livro livro : emprestimos.emprestados) {
+            resultado.add(livro);
+        }
+        return resultado;
+    }
+
+    // --- Relatórios ---
+
+    /** Agrupamentos e contagens paralelas sobre esta versão, no pool comum do fork-join. */
+    public AnaliseBiblioteca analise() {
+        return new AnaliseBiblioteca(this, ForkJoinPool.commonPool());
+    }
+
+    /** Como {@link #analise()}, com as consultas rodando em {@code pool}. */
+    public AnaliseBiblioteca analise(ForkJoinPool pool) {
+        return new AnaliseBiblioteca(this, pool);
+    }
+
+    Spliterator<Livro> divisorLivros() {
+        return livros.spliterator();
+    }
+
+    // Fluxo paralelo de (membro, quantos livros ele tem emprestados nesta versão)
+    Stream<AnaliseBiblioteca.Contagem<Membro>> emprestimosPorMembro() {
+        return StreamSupport.stream(membros.spliterator(), true)
+                .map(emprestimos -> new AnaliseBiblioteca.Contagem<>(emprestimos.membro, emprestimos.emprestados.tamanho()));
+    }
+
+    private static Collection<Livro> visao(MapaPersistente<Livro> mapa) {
+        return new AbstractCollection<Livro>() {
+            @Override
+            public Iterator<Livro> iterator() {
+                return mapa.iterator();
+            }
+
+            @Override
+            public int size() {
+                return mapa.tamanho();
+            }
+        };
+    }
+
+    // --- Versões novas (chamadas pela Biblioteca sob a trava de publicação) ---
+
+    InstantaneoBiblioteca comLivro(Livro livro) {
+        return new InstantaneoBiblioteca(versao + 1,
+                livros.com(livro.getId(), new LivroInstantaneo(livro, livro.isDisponivel())), membros);
+    }
+
+    InstantaneoBiblioteca semLivro(String idLivro) {
+        return new InstantaneoBiblioteca(versao + 1, livros.sem(idLivro), membros);
+    }
+
+    InstantaneoBiblioteca comMembro(Membro membro) {
+        MapaPersistente<Livro> emprestados = SEM_EMPRESTIMOS;
+        for (Livro livro : membro.getLivrosEmprestados()) {
+            Livro congelado = livros.buscar(livro.getId());
+            emprestados = emprestados.com(livro.getId(), congelado != null ? congelado : new LivroInstantaneo(livro, false));
+        }
+        return new InstantaneoBiblioteca(versao + 1, livros,
+                membros.com(membro.getId(), new EmprestimosMembro(membro, emprestados)));
+    }
+
+    InstantaneoBiblioteca semMembro(String idMembro) {
+        return new InstantaneoBiblioteca(versao + 1, livros, membros.sem(idMembro));
+    }
+
+    InstantaneoBiblioteca comEmprestimo(Livro livro, Membro membro) {
+        Livro congelado = new LivroInstantaneo(livro, false);
+        return new InstantaneoBiblioteca(versao + 1, livros.com(livro.getId(), congelado),
+                alterarEmprestimos(membro, livro.getId(), congelado));
+    }
+
+    InstantaneoBiblioteca comDevolucao(Livro livro, Membro membro) {
+        return new InstantaneoBiblioteca(versao + 1, livros.com(livro.getId(), new LivroInstantaneo(livro, true)),
+                alterarEmprestimos(membro, livro.getId(), null));
+    }
+
+    private MapaPersistente<EmprestimosMembro> alterarEmprestimos(Membro membro, String idLivro, Livro congelado) {
+        EmprestimosMembro atual = membros.buscar(membro.getId());
+        if (atual == null) {
+            return membros;
+        }
+        MapaPersistente<Livro> emprestados = congelado == null
+                ? atual.emprestados.sem(idLivro)
+                : atual.emprestados.com(idLivro, congelado);
+        return membros.com(membro.getId(), new EmprestimosMembro(atual.membro, emprestados));
+    }
+}
@@ -0,0 +1,61 @@
+package com.seuprojeto.biblioteca.service;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * Visão {@code List} somente leitura sobre uma coleção, sem cópia: tamanho, iteração e {@code contains} vão
+ * direto à coleção. Como a coleção não tem posições, {@link #get(int)} percorre até o índice (O(i)); para
+ * acesso aleatório repetido copie antes ({@code new ArrayList<>(lista)}).
+ */
+final class ListaSomenteLeitura<E> extends AbstractList<E> {
+
+    private final Collection<E> origem;
+
+    ListaSomenteLeitura(Collection<E> origem) {
+        this.origem = origem;
+    }
+
+    @Override
+    public E get(int indice) {
+        if (indice < 0) {
+            throw new IndexOutOfBoundsException("Índice: " + indice);
+        }
+        Iterator<E> cursor = origem.iterator();
+        for (int i = 0; i < indice && cursor.hasNext(); i++) {
+            cursor.next();
+        }
+        if (!cursor.hasNext()) {
+            throw new IndexOutOfBoundsException("Índice: " + indice + ", tamanho: " + origem.size());
+        }
+        return cursor.next();
+    }
+
+    @Override
+    public int size() {
+        return origem.size();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        Iterator<E> cursor = origem.iterator();
+        // Sem remove(): a visão é somente leitura
+        return new Iterator<E>() {
+            @Override
+            public boolean hasNext() {
+                return cursor.hasNext();
+            }
+
+            @Override
+            public E next() {
+                return cursor.next();
+            }
+        };
+    }
+
+    @Override
+    public boolean contains(Object objeto) {
+        return origem.contains(objeto);
+    }
+}
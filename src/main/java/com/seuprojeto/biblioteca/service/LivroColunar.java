@@ -0,0 +1,35 @@
+package com.seuprojeto.biblioteca.service;
+
+import com.seuprojeto.biblioteca.model.Livro;
+
+/**
+ * Vista (flyweight) de uma linha do {@link CatalogoColunar}. Os textos são decodificados na criação da vista;
+ * a disponibilidade é lida e escrita direto no bitmap do catálogo, então todas as vistas do mesmo livro
+ * concordam entre si.
+ */
+final class LivroColunar extends Livro {
+
+    private final CatalogoColunar catalogo;
+    final int linha;
+
+    LivroColunar(CatalogoColunar catalogo, int linha, String id, String titulo, String autor, int anoPublicacao) {
+        super(id, titulo, autor, anoPublicacao);
+        this.catalogo = catalogo;
+        this.linha = linha;
+    }
+
+    @Override
+    public boolean isDisponivel() {
+        return catalogo.disponivel(linha);
+    }
+
+    @Override
+    public void marcarComoEmprestado() {
+        catalogo.alterarDisponibilidade(linha, false);
+    }
+
+    @Override
+    public void marcarComoDisponivel() {
+        catalogo.alterarDisponibilidade(linha, true);
+    }
+}
@@ -0,0 +1,32 @@
+package com.seuprojeto.biblioteca.service;
+
+import com.seuprojeto.biblioteca.model.Livro;
+
+/**
+ * Cópia congelada de um livro dentro de um {@link InstantaneoBiblioteca}: a disponibilidade é a do momento do
+ * instantâneo e não pode ser alterada, já que a mesma instância é vista por todos os leitores da versão.
+ */
+final class LivroInstantaneo extends Livro {
+
+    private final boolean disponivelNoInstantaneo;
+
+    LivroInstantaneo(Livro livro, boolean disponivel) {
+        super(livro.getId(), livro.getTitulo(), livro.getAutor(), livro.getAnoPublicacao());
+        this.disponivelNoInstantaneo = disponivel;
+    }
+
+    @Override
+    public boolean isDisponivel() {
+        return disponivelNoInstantaneo;
+    }
+
+    @Override
+    public void marcarComoEmprestado() {
+        throw new UnsupportedOperationException("Livros de um instantâneo não podem ser alterados.");
+    }
+
+    @Override
+    public void marcarComoDisponivel() {
+        throw new UnsupportedOperationException("Livros de um instantâneo não podem ser alterados.");
+    }
+}
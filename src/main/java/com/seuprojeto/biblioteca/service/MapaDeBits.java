@@ -0,0 +1,93 @@
+package com.seuprojeto.biblioteca.service;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Conjunto de bits indexado por linha, em páginas de tamanho fixo que nunca são copiadas.
+ *
+ * Crescer só acrescenta páginas a um diretório novo, publicado num campo volátil; as páginas existentes são
+ * as mesmas. Por isso ligar ou desligar um bit (uma operação atômica na palavra dele) nunca se perde por causa
+ * de um crescimento concorrente, e nem quem altera bits nem quem lê precisa de trava. Só os crescimentos
+ * ({@link #garantir}) são serializados entre si.
+ */
+final class MapaDeBits {
+
+    private static final VarHandle PALAVRAS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int BITS_PAGINA = 16; // 65.536 bits (8 KB) por página
+    private static final int PALAVRAS_PAGINA = 1 << (BITS_PAGINA - 6);
+
+    private volatile long[][] paginas = new long[0][];
+
+    /** Garante espaço para os bits de 0 a {@code tamanho - 1}. */
+    synchronized void garantir(int tamanho) {
+        int necessarias = (int) (((long) tamanho + (1 << BITS_PAGINA) - 1) >>> BITS_PAGINA);
+        long[][] atuais = paginas;
+        if (necessarias <= atuais.length) {
+            return;
+        }
+        long[][] novas = Arrays.copyOf(atuais, Math.max(necessarias, atuais.length + (atuais.length >> 1)));
+        for (int i = atuais.length; i < novas.length; i++) {
+            novas[i] = new long[PALAVRAS_PAGINA];
+        }
+        paginas = novas;
+    }
+
+    /** Liga o bit; devolve false se ele já estava ligado. O bit precisa estar dentro de {@link #garantir}. */
+    boolean ligar(int bit) {
+        long mascara = 1L << bit;
+        long anterior = (long) PALAVRAS.getAndBitwiseOr(pagina(bit), palavraNaPagina(bit), mascara);
+        return (anterior & mascara) == 0;
+    }
+
+    /** Desliga o bit; devolve false se ele já estava desligado. */
+    boolean desligar(int bit) {
+        long mascara = 1L << bit;
+        long anterior = (long) PALAVRAS.getAndBitwiseAnd(pagina(bit), palavraNaPagina(bit), ~mascara);
+        return (anterior & mascara) != 0;
+    }
+
+    /** Bits fora do espaço garantido estão desligados. */
+    boolean contem(int bit) {
+        return (palavra(bit >>> 6) & (1L << bit)) != 0;
+    }
+
+    /** Palavra {@code indice} (bits {@code 64 * indice} a {@code 64 * indice + 63}); 0 fora do espaço garantido. */
+    long palavra(int indice) {
+        long[][] atuais = paginas;
+        int numeroPagina = indice >>> (BITS_PAGINA - 6);
+        if (numeroPagina >= atuais.length) {
+            return 0;
+        }
+        return (long) PALAVRAS.getOpaque(atuais[numeroPagina], indice & (PALAVRAS_PAGINA - 1));
+    }
+
+    /** Primeiro bit ligado em {@code desde} ou depois, e antes de {@code ate}; -1 se não há. */
+    int proximo(int desde, int ate) {
+        if (desde >= ate) {
+            return -1;
+        }
+        int indice = desde >>> 6;
+        long bits = palavra(indice) & (-1L << desde);
+        int ultima = (ate - 1) >>> 6;
+        while (true) {
+            if (bits != 0) {
+                int bit = (indice << 6) + Long.numberOfTrailingZeros(bits);
+                return bit < ate ? bit : -1;
+            }
+            if (++indice > ultima) {
+                return -1;
+            }
+            bits = palavra(indice);
+        }
+    }
+
+    private long[] pagina(int bit) {
+        return paginas[bit >>> BITS_PAGINA];
+    }
+
+    private static int palavraNaPagina(int bit) {
+        return (bit >>> 6) & (PALAVRAS_PAGINA - 1);
+    }
+}
@@ -0,0 +1,461 @@
+package com.seuprojeto.biblioteca.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Mapa imutável de ID para valor, persistente: {@link #com} e {@link #sem} devolvem um mapa novo que
+ * compartilha com o anterior tudo o que não mudou. É uma trie de hash compacta (CHAMP, Steindorfer e Vinju):
+ * 5 bits do hash por nível, cada nó com um bitmap de valores guardados nele e outro de filhos, e arrays só do
+ * tamanho ocupado. Uma alteração copia o caminho da raiz até o valor, O(log32 n) nós.
+ *
+ * Cada nó guarda o tamanho e o peso (soma de {@code peso(valor)}) da sua subárvore, então páginas de valores
+ * com peso pulam subárvores inteiras. A ordem de iteração é a do hash, estável entre versões. O
+ * {@link #spliterator()} se divide pelas subárvores, com tamanho exato, para percursos paralelos.
+ */
+final class MapaPersistente<V> implements Iterable<V> {
+
+    private static final int BITS = 5;
+    private static final No VAZIO = new No(0, 0, new Object[0], new No[0], false, 0, 0);
+
+    private final No raiz;
+    private final ToIntFunction<? super V> peso;
+
+    private MapaPersistente(No raiz, ToIntFunction<? super V> peso) {
+        this.raiz = raiz;
+        this.peso = peso;
+    }
+
+    /** Mapa vazio; {@code peso} deve ser uma função pura do valor, 0 ou 1. */
+    static <V> MapaPersistente<V> vazio(ToIntFunction<? super V> peso) {
+        return new MapaPersistente<>(VAZIO, peso);
+    }
+
+    // dados = [chave0, valor0, chave1, valor1, ...] na ordem dos bits; num nó de colisão (hashes iguais), em qualquer ordem
+    private static final class No {
+        final int mapaDados;
+        final int mapaFilhos;
+        final Object[] dados;
+        final No[] filhos;
+        final boolean colisao;
+        final int tamanho;
+        final int peso;
+
+        No(int mapaDados, int mapaFilhos, Object[] dados, No[] filhos, boolean colisao, int tamanho, int peso) {
+            this.mapaDados = mapaDados;
+            this.mapaFilhos = mapaFilhos;
+            this.dados = dados;
+            this.filhos = filhos;
+            this.colisao = colisao;
+            this.tamanho = tamanho;
+            this.peso = peso;
+        }
+    }
+
+    private No no(int mapaDados, int mapaFilhos, Object[] dados, No[] filhos, boolean colisao) {
+        int tamanho = dados.length / 2;
+        int soma = 0;
+        for (int i = 1; i < dados.length; i += 2) {
+            soma += pesoDe(dados[i]);
+        }
+        for (No filho : filhos) {
+            tamanho += filho.tamanho;
+            soma += filho.peso;
+        }
+        return new No(mapaDados, mapaFilhos, dados, filhos, colisao, tamanho, soma);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int pesoDe(Object valor) {
+        return peso.applyAsInt((V) valor);
+    }
+
+    private static int espalhar(String chave) {
+        int h = chave.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int deslocamento) {
+        return 1 << ((hash >>> deslocamento) & 31);
+    }
+
+    private static int indice(int mapa, int bit) {
+        return Integer.bitCount(mapa & (bit - 1));
+    }
+
+    // --- Leitura ---
+
+    int tamanho() {
+        return raiz.tamanho;
+    }
+
+    int peso() {
+        return raiz.peso;
+    }
+
+    @SuppressWarnings("unchecked")
+    V buscar(String chave) {
+        int hash = espalhar(chave);
+        No no = raiz;
+        for (int deslocamento = 0; ; deslocamento += BITS) {
+            if (no.colisao) {
+                for (int i = 0; i < no.dados.length; i += 2) {
+                    if (chave.equals(no.dados[i])) {
+                        return (V) no.dados[i + 1];
+                    }
+                }
+                return null;
+            }
+            int bit = bit(hash, deslocamento);
+            if ((no.mapaDados & bit) != 0) {
+                int i = 2 * indice(no.mapaDados, bit);
+                return chave.equals(no.dados[i]) ? (V) no.dados[i + 1] : null;
+            }
+            if ((no.mapaFilhos & bit) == 0) {
+                return null;
+            }
+            no = no.filhos[indice(no.mapaFilhos, bit)];
+        }
+    }
+
+    /** Os valores com peso, pulando os {@code inicio} primeiros, até {@code limite}. */
+    List<V> pagina(int inicio, int limite) {
+        List<V> destino = new ArrayList<>(Math.min(limite, Math.max(0, raiz.peso - inicio)));
+        paginar(raiz, inicio, limite, destino);
+        return destino;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int paginar(No no, int pular, int limite, List<V> destino) {
+        if (pular >= no.peso) {
+            return pular - no.peso;
+        }
+        for (int i = 1; i < no.dados.length && destino.size() < limite; i += 2) {
+            if (pesoDe(no.dados[i]) > 0) {
+                if (pular > 0) {
+                    pular--;
+                } else {
+                    destino.add((V) no.dados[i]);
+                }
+            }
+        }
+        for (int i = 0; i < no.filhos.length && destino.size() < limite; i++) {
+            pular = paginar(no.filhos[i], pular, limite, destino);
+        }
+        return pular;
+    }
+
+    @Override
+    public Iterator<V> iterator() {
+        return new Cursor<>(raiz);
+    }
+
+    // Percurso em profundidade com pilha explícita: valores do nó, depois os filhos
+    private static final class Cursor<V> implements Iterator<V> {
+        private final No[] nos = new No[9];
+        private final int[] posicoes = new int[9];
+        private int topo;
+        private Object proximo;
+
+        Cursor(No raiz) {
+            nos[0] = raiz;
+            avancar();
+        }
+
+        private void avancar() {
+            proximo = null;
+            while (topo >= 0) {
+                No no = nos[topo];
+                int posicao = posicoes[topo];
+                if (posicao < no.dados.length) {
+                    posicoes[topo] = posicao + 2;
+                    proximo = no.dados[posicao + 1];
+                    return;
+                }
+                int filho = (posicao - no.dados.length) / 2;
+                if (filho < no.filhos.length) {
+                    posicoes[topo] = posicao + 2;
+                    topo++;
+                    nos[topo] = no.filhos[filho];
+                    posicoes[topo] = 0;
+                } else {
+                    topo--;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return proximo != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next() {
+            if (proximo == null) {
+                throw new NoSuchElementException();
+            }
+            V valor = (V) proximo;
+            avancar();
+            return valor;
+        }
+    }
+
+    /** Divide-se pelas subárvores (tamanho exato em cada parte), sem copiar nada: o mapa é imutável. */
+    @Override
+    public Spliterator<V> spliterator() {
+        return new Divisor<>(new No[]{raiz}, 0, 1, null);
+    }
+
+    // Percorre os valores soltos de um nó já aberto e depois as subárvores nos[inicio, fim)
+    private static final class Divisor<V> implements Spliterator<V> {
+        private No[] nos;
+        private int inicio;
+        private int fim;
+        private Object[] soltos;
+        private int posicaoSoltos;
+        private Cursor<V> cursor;
+        private long restantes;
+
+        Divisor(No[] nos, int inicio, int fim, Object[] soltos) {
+            this.nos = nos;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.soltos = soltos;
+            long tamanho = soltos == null ? 0 : soltos.length / 2;
+            for (int i = inicio; i < fim; i++) {
+                tamanho += nos[i].tamanho;
+            }
+            this.restantes = tamanho;
+        }
+
+        @Override
+        public Spliterator<V> trySplit() {
+            if (cursor != null || posicaoSoltos > 0) {
+                return null;
+            }
+            Divisor<V> prefixo;
+            if (fim - inicio >= 2) {
+                int meio = (inicio + fim) >>> 1;
+                prefixo = new Divisor<>(nos, inicio, meio, soltos);
+                soltos = null;
+                inicio = meio;
+            } else if (fim - inicio == 1 && nos[inicio].filhos.length > 0) {
+                // Uma subárvore só: abre o nó, metade dos filhos para cada lado e os valores dele ficam aqui
+                No no = nos[inicio];
+                int meio = no.filhos.length >>> 1;
+                prefixo = new Divisor<>(no.filhos, 0, meio, soltos);
+                soltos = no.dados;
+                nos = no.filhos;
+                inicio = meio;
+                fim = no.filhos.length;
+            } else {
+                return null;
+            }
+            restantes -= prefixo.restantes;
+            return prefixo;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super V> acao) {
+            while (true) {
+                if (soltos != null && posicaoSoltos < soltos.length) {
+                    V valor = (V) soltos[posicaoSoltos + 1];
+                    posicaoSoltos += 2;
+                    restantes--;
+                    acao.accept(valor);
+                    return true;
+                }
+                if (cursor != null && cursor.hasNext()) {
+                    restantes--;
+                    acao.accept(cursor.next());
+                    return true;
+                }
+                if (inicio >= fim) {
+                    return false;
+                }
+                cursor = new Cursor<>(nos[inicio++]);
+            }
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super V> acao) {
+            while (cursor != null && cursor.hasNext() || soltos != null && posicaoSoltos < soltos.length) {
+                tryAdvance(acao);
+            }
+            for (; inicio < fim; inicio++) {
+                percorrer(nos[inicio], acao);
+            }
+            restantes = 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <V> void percorrer(No no, Consumer<? super V> acao) {
+            Object[] dados = no.dados;
+            for (int i = 1; i < dados.length; i += 2) {
+                acao.accept((V) dados[i]);
+            }
+            for (No filho : no.filhos) {
+                percorrer(filho, acao);
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return restantes;
+        }
+
+        @Override
+        public int characteristics() {
+            return SIZED | SUBSIZED | IMMUTABLE | NONNULL | DISTINCT;
+        }
+    }
+
+    // --- Versões novas ---
+
+    MapaPersistente<V> com(String chave, V valor) {
+        if (chave == null || valor == null) {
+            throw new IllegalArgumentException("Chave e valor não podem ser nulos.");
+        }
+        No novaRaiz = com(raiz, chave, espalhar(chave), valor, 0);
+        return novaRaiz == raiz ? this : new MapaPersistente<>(novaRaiz, peso);
+    }
+
+    MapaPersistente<V> sem(String chave) {
+        No novaRaiz = sem(raiz, chave, espalhar(chave), 0);
+        return novaRaiz == raiz ? this : new MapaPersistente<>(novaRaiz, peso);
+    }
+
+    private No com(No no, String chave, int hash, Object valor, int deslocamento) {
+        if (no.colisao) {
+            for (int i = 0; i < no.dados.length; i += 2) {
+                if (chave.equals(no.dados[i])) {
+                    if (no.dados[i + 1] == valor) {
+                        return no;
+                    }
+                    Object[] dados = no.dados.clone();
+                    dados[i + 1] = valor;
+                    return no(0, 0, dados, no.filhos, true);
+                }
+            }
+            Object[] dados = Arrays.copyOf(no.dados, no.dados.length + 2);
+            dados[no.dados.length] = chave;
+            dados[no.dados.length + 1] = valor;
+            return no(0, 0, dados, no.filhos, true);
+        }
+        int bit = bit(hash, deslocamento);
+        if ((no.mapaDados & bit) != 0) {
+            int i = 2 * indice(no.mapaDados, bit);
+            String existente = (String) no.dados[i];
+            if (existente.equals(chave)) {
+                if (no.dados[i + 1] == valor) {
+                    return no;
+                }
+                Object[] dados = no.dados.clone();
+                dados[i + 1] = valor;
+                return no(no.mapaDados, no.mapaFilhos, dados, no.filhos, false);
+            }
+            // Duas chaves no mesmo bit: descem juntas para um filho novo
+            No filho = juntar(existente, espalhar(existente), no.dados[i + 1], chave, hash, valor, deslocamento + BITS);
+            Object[] dados = new Object[no.dados.length - 2];
+            System.arraycopy(no.dados, 0, dados, 0, i);
+            System.arraycopy(no.dados, i + 2, dados, i, no.dados.length - i - 2);
+            int mapaFilhos = no.mapaFilhos | bit;
+            int j = indice(mapaFilhos, bit);
+            No[] filhos = new No[no.filhos.length + 1];
+            System.arraycopy(no.filhos, 0, filhos, 0, j);
+            filhos[j] = filho;
+            System.arraycopy(no.filhos, j, filhos, j + 1, no.filhos.length - j);
+            return no(no.mapaDados & ~bit, mapaFilhos, dados, filhos, false);
+        }
+        if ((no.mapaFilhos & bit) != 0) {
+            int j = indice(no.mapaFilhos, bit);
+            No filho = com(no.filhos[j], chave, hash, valor, deslocamento + BITS);
+            if (filho == no.filhos[j]) {
+                return no;
+            }
+            No[] filhos = no.filhos.clone();
+            filhos[j] = filho;
+            return no(no.mapaDados, no.mapaFilhos, no.dados, filhos, false);
+        }
+        int i = 2 * indice(no.mapaDados, bit);
+        Object[] dados = new Object[no.dados.length + 2];
+        System.arraycopy(no.dados, 0, dados, 0, i);
+        dados[i] = chave;
+        dados[i + 1] = valor;
+        System.arraycopy(no.dados, i, dados, i + 2, no.dados.length - i);
+        return no(no.mapaDados | bit, no.mapaFilhos, dados, no.filhos, false);
+    }
+
+    private No juntar(String chave1, int hash1, Object valor1, String chave2, int hash2, Object valor2, int deslocamento) {
+        if (deslocamento >= 32) {
+            return no(0, 0, new Object[]{chave1, valor1, chave2, valor2}, new No[0], true);
+        }
+        int posicao1 = (hash1 >>> deslocamento) & 31;
+        int posicao2 = (hash2 >>> deslocamento) & 31;
+        if (posicao1 == posicao2) {
+            No filho = juntar(chave1, hash1, valor1, chave2, hash2, valor2, deslocamento + BITS);
+            return no(0, 1 << posicao1, new Object[0], new No[]{filho}, false);
+        }
+        Object[] dados = posicao1 < posicao2
+                ? new Object[]{chave1, valor1, chave2, valor2}
+                : new Object[]{chave2, valor2, chave1, valor1};
+        return no((1 << posicao1) | (1 << posicao2), 0, dados, new No[0], false);
+    }
+
+    private No sem(No no, String chave, int hash, int deslocamento) {
+        if (no.colisao) {
+            for (int i = 0; i < no.dados.length; i += 2) {
+                if (chave.equals(no.dados[i])) {
+                    Object[] dados = new Object[no.dados.length - 2];
+                    System.arraycopy(no.dados, 0, dados, 0, i);
+                    System.arraycopy(no.dados, i + 2, dados, i, no.dados.length - i - 2);
+                    return no(0, 0, dados, no.filhos, true);
+                }
+            }
+            return no;
+        }
+        int bit = bit(hash, deslocamento);
+        if ((no.mapaDados & bit) != 0) {
+            int i = 2 * indice(no.mapaDados, bit);
+            if (!chave.equals(no.dados[i])) {
+                return no;
+            }
+            Object[] dados = new Object[no.dados.length - 2];
+            System.arraycopy(no.dados, 0, dados, 0, i);
+            System.arraycopy(no.dados, i + 2, dados, i, no.dados.length - i - 2);
+            return no(no.mapaDados & ~bit, no.mapaFilhos, dados, no.filhos, false);
+        }
+        if ((no.mapaFilhos & bit) == 0) {
+            return no;
+        }
+        int j = indice(no.mapaFilhos, bit);
+        No filho = sem(no.filhos[j], chave, hash, deslocamento + BITS);
+        if (filho == no.filhos[j]) {
+            return no;
+        }
+        if (filho.tamanho == 1) {
+            // Filho com um único valor volta para este nó (forma canônica: nenhum filho guarda só um valor)
+            No[] filhos = new No[no.filhos.length - 1];
+            System.arraycopy(no.filhos, 0, filhos, 0, j);
+            System.arraycopy(no.filhos, j + 1, filhos, j, no.filhos.length - j - 1);
+            int i = 2 * indice(no.mapaDados, bit);
+            Object[] dados = new Object[no.dados.length + 2];
+            System.arraycopy(no.dados, 0, dados, 0, i);
+            dados[i] = filho.dados[0];
+            dados[i + 1] = filho.dados[1];
+            System.arraycopy(no.dados, i, dados, i + 2, no.dados.length - i);
+            return no(no.mapaDados | bit, no.mapaFilhos & ~bit, dados, filhos, false);
+        }
+        No[] filhos = no.filhos.clone();
+        filhos[j] = filho;
+        return no(no.mapaDados, no.mapaFilhos, no.dados, filhos, false);
+    }
+}
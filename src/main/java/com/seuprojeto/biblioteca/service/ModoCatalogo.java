@@ -0,0 +1,16 @@
+package com.seuprojeto.biblioteca.service;
+
+/**
+ * Como a {@link Biblioteca} guarda o catálogo de livros.
+ */
+public enum ModoCatalogo {
+    /** Cada livro é o próprio objeto {@code Livro} recebido, guardado em mapa por ID. */
+    OBJETOS,
+    /**
+     * Livros em colunas de tipos primitivos (ID e título em UTF-8 numa arena de bytes, autores internados,
+     * anos num {@code int[]}, disponibilidade num bitmap). Ocupa bem menos memória por livro e as listagens
+     * de disponíveis percorrem o bitmap. Os livros devolvidos são vistas criadas na hora: iguais (por ID) a
+     * cada chamada, mas não a mesma instância, e o objeto passado a {@code adicionarLivro} é copiado.
+     */
+    COLUNAR
+}
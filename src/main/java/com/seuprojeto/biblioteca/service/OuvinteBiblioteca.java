@@ -0,0 +1,58 @@
+package com.seuprojeto.biblioteca.service;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+
+/**
+ * Recebe cada mutação bem-sucedida da {@link Biblioteca}, depois que o estado já foi alterado.
+ *
+ * As chamadas acontecem dentro das travas da operação (faixa do livro e/ou monitor do membro), então
+ * eventos que tocam o mesmo livro ou o mesmo membro chegam na mesma ordem em que foram aplicados.
+ * Implementações devem ser rápidas, não devem esperar, lançar exceções nem chamar a Biblioteca de volta:
+ * o estado já mudou, e uma exceção deixaria os ouvintes seguintes sem o evento.
+ *
+ * O que precisa esperar (um fsync, espaço numa fila) vai em {@link #operacaoConcluida()}, chamado na mesma
+ * thread depois que a operação soltou as travas; o que precisa recusar a mutação vai em
+ * {@link #antesDaMutacao()}, chamado antes de qualquer alteração.
+ *
+ * As operações em lote envolvem os eventos individuais entre {@link #loteIniciado()} e
+ * {@link #loteConcluido()}, chamados na thread que executa o lote e fora de qualquer trava.
+ */
+public interface OuvinteBiblioteca {
+
+    /** Antes de cada mutação; uma exceção aqui recusa a operação sem alterar nada. */
+    default void antesDaMutacao() {
+    }
+
+    /**
+     * Depois de cada operação que alterou o estado, fora das travas. Todos os ouvintes são chamados mesmo que um
+     * deles lance exceção; a primeira exceção chega a quem chamou a Biblioteca. Dentro de um lote é chamado
+     * a cada grupo de itens aplicado sob a mesma trava, antes de {@link #loteConcluido()}.
+     */
+    default void operacaoConcluida() {
+    }
+
+    default void livroAdicionado(Livro livro) {
+    }
+
+    default void livroRemovido(Livro livro) {
+    }
+
+    default void membroRegistrado(Membro membro) {
+    }
+
+    default void membroRemovido(Membro membro) {
+    }
+
+    default void livroEmprestado(Livro livro, Membro membro) {
+    }
+
+    default void livroDevolvido(Livro livro, Membro membro) {
+    }
+
+    default void loteIniciado() {
+    }
+
+    default void loteConcluido() {
+    }
+}
@@ -0,0 +1,38 @@
+package com.seuprojeto.biblioteca.service;
+
+import com.seuprojeto.biblioteca.model.Livro;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Uma página de livros disponíveis lida por cursor ({@link Biblioteca#paginarLivrosDisponiveis}) e o cursor
+ * da página seguinte. O cursor é uma posição no catálogo (a linha do livro), não um deslocamento: livros
+ * emprestados ou devolvidos durante a paginação não fazem os outros pularem nem se repetirem.
+ */
+public class PaginaLivros {
+
+    /** Cursor da primeira página. */
+    public static final int INICIO = 0;
+
+    private final List<Livro> livros;
+    private final int proximoCursor;
+
+    PaginaLivros(List<Livro> livros, int proximoCursor) {
+        this.livros = livros;
+        this.proximoCursor = proximoCursor;
+    }
+
+    public List<Livro> getLivros() {
+        return Collections.unmodifiableList(livros);
+    }
+
+    /** Cursor para pedir a página seguinte; -1 quando esta foi a última. */
+    public int getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public boolean isUltima() {
+        return proximoCursor < 0;
+    }
+}
@@ -0,0 +1,17 @@
+package com.seuprojeto.biblioteca.service;
+
+/**
+ * Par (livro, membro) usado pelas operações em lote de empréstimo e devolução.
+ */
+public class PedidoEmprestimo {
+    private final String idLivro;
+    private final String idMembro;
+
+    public PedidoEmprestimo(String idLivro, String idMembro) {
+        this.idLivro = idLivro;
+        this.idMembro = idMembro;
+    }
+
+    public String getIdLivro() { return idLivro; }
+    public String getIdMembro() { return idMembro; }
+}
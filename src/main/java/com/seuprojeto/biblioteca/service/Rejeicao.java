@@ -0,0 +1,38 @@
+package com.seuprojeto.biblioteca.service;
+
+/**
+ * Motivos pelos quais um empréstimo ou devolução é recusado. Usado pelo núcleo das operações, que não
+ * lança exceções; os métodos públicos que lançam convertem o motivo com {@link #excecao}, e os que não
+ * lançam ({@code tentarEmprestar}, {@code tentarDevolver}) o devolvem como {@link ResultadoOperacao}.
+ */
+enum Rejeicao {
+    LIVRO_NAO_ENCONTRADO("Livro não encontrado.", ResultadoOperacao.LIVRO_NAO_ENCONTRADO),
+    MEMBRO_NAO_ENCONTRADO("Membro não encontrado.", ResultadoOperacao.MEMBRO_NAO_ENCONTRADO),
+    LIVRO_INDISPONIVEL("Livro não está disponível para empréstimo.", ResultadoOperacao.LIVRO_INDISPONIVEL),
+    LIVRO_NAO_EMPRESTADO("Livro não estava emprestado.", ResultadoOperacao.LIVRO_NAO_EMPRESTADO),
+    LIVRO_NAO_ESTA_COM_MEMBRO("Livro não está na lista de livros emprestados do membro.", ResultadoOperacao.LIVRO_NAO_ESTA_COM_MEMBRO);
+
+    final String descricao;
+    final ResultadoOperacao resultado;
+
+    Rejeicao(String descricao, ResultadoOperacao resultado) {
+        this.descricao = descricao;
+        this.resultado = resultado;
+    }
+
+    // Mesmas exceções e mensagens que as operações sempre lançaram
+    RuntimeException excecao(String idLivro, String idMembro) {
+        switch (this) {
+            case LIVRO_NAO_ENCONTRADO:
+                return new IllegalArgumentException("Livro com ID " + idLivro + " não encontrado.");
+            case MEMBRO_NAO_ENCONTRADO:
+                return new IllegalArgumentException("Membro com ID " + idMembro + " não encontrado.");
+            case LIVRO_INDISPONIVEL:
+                return new IllegalStateException("Livro com ID " + idLivro + " não está disponível para empréstimo.");
+            case LIVRO_NAO_EMPRESTADO:
+                return new IllegalStateException("Livro com ID " + idLivro + " não estava emprestado.");
+            default:
+                return new IllegalArgumentException("O livro com ID " + idLivro + " não está na lista de livros emprestados deste membro.");
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.seuprojeto.biblioteca.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Resultado de uma operação em lote: quantos itens foram aplicados e, para cada item recusado,
+ * a posição no lote, o ID e o motivo. Um item recusado não interrompe os demais.
+ */
+public class ResultadoLote {
+
+    public static class Falha {
+        private final int indice;
+        private final String id;
+        private final String motivo;
+
+        Falha(int indice, String id, String motivo) {
+            this.indice = indice;
+            this.id = id;
+            this.motivo = motivo;
+        }
+
+        public int getIndice() { return indice; }
+        public String getId() { return id; }
+        public String getMotivo() { return motivo; }
+
+        @Override
+        public String toString() {
+            return "#" + indice + " (" + id + "): " + motivo;
+        }
+    }
+
+    private final int total;
+    private final List<Falha> falhas = new ArrayList<>();
+
+    ResultadoLote(int total) {
+        this.total = total;
+    }
+
+    void registrarFalha(int indice, String id, String motivo) {
+        falhas.add(new Falha(indice, id, motivo));
+    }
+
+    // O lote é aplicado faixa por faixa; as falhas voltam para a ordem do lote
+    void ordenarFalhas() {
+        falhas.sort(Comparator.comparingInt(Falha::getIndice));
+    }
+
+    public int getTotal() { return total; }
+    public int getSucessos() { return total - falhas.size(); }
+    public boolean isSemFalhas() { return falhas.isEmpty(); }
+
+    public List<Falha> getFalhas() {
+        return Collections.unmodifiableList(falhas);
+    }
+}
@@ -0,0 +1,24 @@
+package com.seuprojeto.biblioteca.service;
+
+/**
+ * Resultado de {@link Biblioteca#tentarEmprestar} e {@link Biblioteca#tentarDevolver}: sucesso ou o motivo
+ * da recusa, sem exceção. Cada motivo corresponde à exceção que {@code emprestarLivro}/{@code devolverLivro}
+ * lançariam no mesmo caso.
+ */
+public enum ResultadoOperacao {
+    SUCESSO,
+    /** {@link IllegalArgumentException} nos métodos que lançam. */
+    LIVRO_NAO_ENCONTRADO,
+    /** {@link IllegalArgumentException} nos métodos que lançam. */
+    MEMBRO_NAO_ENCONTRADO,
+    /** Só no empréstimo; {@link IllegalStateException} nos métodos que lançam. */
+    LIVRO_INDISPONIVEL,
+    /** Só na devolução; {@link IllegalStateException} nos métodos que lançam. */
+    LIVRO_NAO_EMPRESTADO,
+    /** Só na devolução; {@link IllegalArgumentException} nos métodos que lançam. */
+    LIVRO_NAO_ESTA_COM_MEMBRO;
+
+    public boolean isSucesso() {
+        return this == SUCESSO;
+    }
+}
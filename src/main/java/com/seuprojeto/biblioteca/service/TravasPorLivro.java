@@ -0,0 +1,88 @@
+package com.seuprojeto.biblioteca.service;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de travas "listradas" (lock striping) indexadas pelo ID do livro.
+ * Empréstimos de livros diferentes caem, em geral, em faixas diferentes e não competem entre si.
+ */
+class TravasPorLivro {
+
+    private final Object[] faixas;
+    private final int mascara;
+
+    TravasPorLivro(int quantidade) {
+        if (quantidade <= 0 || Integer.bitCount(quantidade) != 1) {
+            throw new IllegalArgumentException("A quantidade de faixas deve ser uma potência de 2.");
+        }
+        this.faixas = new Object[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            faixas[i] = new Object();
+        }
+        this.mascara = quantidade - 1;
+    }
+
+    // Bastante faixas para que a chance de colisão entre threads seja baixa
+    static int quantidadePadrao() {
+        int alvo = Runtime.getRuntime().availableProcessors() * 16;
+        return Math.max(64, Integer.highestOneBit(alvo - 1) << 1);
+    }
+
+    // Executa a ação segurando todas as faixas, tomadas em ordem. Quem segura uma faixa nunca espera por outra,
+    // então não há ciclo com as operações comuns.
+    void comTodas(Runnable acao) {
+        comTodas(0, acao);
+    }
+
+    private void comTodas(int faixa, Runnable acao) {
+        if (faixa == faixas.length) {
+            acao.run();
+            return;
+        }
+        synchronized (faixas[faixa]) {
+            comTodas(faixa + 1, acao);
+        }
+    }
+
+    Object travaDoLivro(String idLivro) {
+        return faixas[indiceDaFaixa(idLivro)];
+    }
+
+    int indiceDaFaixa(String idLivro) {
+        int h = idLivro == null ? 0 : idLivro.hashCode();
+        h ^= (h >>> 16); // espalha os bits altos, como o HashMap
+        return h & mascara;
+    }
+
+    Object faixa(int indice) {
+        return faixas[indice];
+    }
+
+    int quantidade() {
+        return faixas.length;
+    }
+
+    /**
+     * Ordena as posições de um lote pela faixa de cada item (contagem, estável: dentro de uma faixa, na ordem do
+     * lote), para que a operação em lote tome cada faixa uma única vez. As posições da faixa f ficam de
+     * {@code inicios[f]} a {@code inicios[f + 1] - 1}; itens com faixa -1 ficam de fora.
+     */
+    int[] ordenarPorFaixa(int[] faixaDoItem, int[] inicios) {
+        for (int faixa : faixaDoItem) {
+            if (faixa >= 0) {
+                inicios[faixa + 1]++;
+            }
+        }
+        for (int f = 0; f < faixas.length; f++) {
+            inicios[f + 1] += inicios[f];
+        }
+        int[] ordem = new int[inicios[faixas.length]];
+        int[] proxima = Arrays.copyOf(inicios, faixas.length);
+        for (int i = 0; i < faixaDoItem.length; i++) {
+            if (faixaDoItem[i] >= 0) {
+                ordem[proxima[faixaDoItem[i]]++] = i;
+            }
+        }
+        return ordem;
+    }
+}
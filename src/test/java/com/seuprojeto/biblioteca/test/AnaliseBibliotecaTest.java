@@ -0,0 +1,237 @@
+package com.seuprojeto.biblioteca.test;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.service.AnaliseBiblioteca;
+import com.seuprojeto.biblioteca.service.AnaliseBiblioteca.Contagem;
+import com.seuprojeto.biblioteca.service.AnaliseBiblioteca.Disponibilidade;
+import com.seuprojeto.biblioteca.service.Biblioteca;
+import com.seuprojeto.biblioteca.service.ModoCatalogo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para a Análise paralela da Biblioteca")
+class AnaliseBibliotecaTest {
+
+    private static final int LIVROS = 50_000;
+    private static final int MEMBROS = 500;
+
+    // Catálogo grande o bastante para as consultas se dividirem entre várias tarefas
+    private static Biblioteca popular(ModoCatalogo modo, long semente) {
+        Biblioteca biblioteca = new Biblioteca(true, modo);
+        Random aleatorio = new Random(semente);
+        for (int i = 0; i < LIVROS; i++) {
+            biblioteca.adicionarLivro(new Livro("L-" + i, "Titulo " + i, "Autor " + aleatorio.nextInt(300),
+                    1800 + aleatorio.nextInt(225)));
+        }
+        for (int i = 0; i < MEMBROS; i++) {
+            biblioteca.registrarMembro(new Membro("M-" + i, "Membro " + i));
+        }
+        for (int i = 0; i < LIVROS / 5; i++) {
+            biblioteca.tentarEmprestar("L-" + aleatorio.nextInt(LIVROS), "M-" + aleatorio.nextInt(MEMBROS));
+        }
+        return biblioteca;
+    }
+
+    @Test
+    @DisplayName("Lê só a versão de quando foi criada")
+    void testVersao() {
+        Biblioteca biblioteca = new Biblioteca(true);
+        biblioteca.adicionarLivro(new Livro("L-1", "Dom Casmurro", "Machado de Assis", 1899));
+        biblioteca.registrarMembro(new Membro("M-1", "Carlos Dantas"));
+
+        biblioteca.ativarInstantaneos();
+        AnaliseBiblioteca antes = biblioteca.analise();
+        biblioteca.emprestarLivro("L-1", "M-1");
+        biblioteca.adicionarLivro(new Livro("L-2", "Vidas Secas", "Graciliano Ramos", 1938));
+        AnaliseBiblioteca depois = biblioteca.analise();
+
+        assertEquals(Map.of("Machado de Assis", 1L), antes.contarLivrosPor(Livro::getAutor));
+        assertTrue(antes.autoresComMaisEmprestimos(5).isEmpty());
+        assertTrue(antes.membrosComMaisEmprestimos(5).isEmpty());
+        assertEquals(1, antes.disponibilidadePorDecada().get(1890).getDisponiveis());
+
+        assertEquals("[Machado de Assis=1]", depois.autoresComMaisEmprestimos(5).toString());
+        assertEquals("M-1", depois.membrosComMaisEmprestimos(5).get(0).getChave().getId());
+        assertEquals(0, depois.disponibilidadePorDecada().get(1890).getDisponiveis());
+        assertEquals(2, depois.contarLivros(1800, 2000, false));
+        assertEquals(1, depois.contarLivros(1800, 2000, true));
+    }
+
+    @Test
+    @DisplayName("Agrupamentos paralelos dão o mesmo que o laço sequencial sobre o catálogo")
+    void testAgrupamentos() {
+        for (ModoCatalogo modo : ModoCatalogo.values()) {
+            Biblioteca biblioteca = popular(modo, 42);
+            biblioteca.ativarInstantaneos();
+            AnaliseBiblioteca analise = biblioteca.analise();
+
+            Map<String, Long> porAutor = new HashMap<>();
+            Map<String, Long> emprestadosPorAutor = new HashMap<>();
+            for (Livro livro : biblioteca.getCatalogoLivros()) {
+                porAutor.merge(livro.getAutor(), 1L, Long::sum);
+                if (!livro.isDisponivel()) {
+                    emprestadosPorAutor.merge(livro.getAutor(), 1L, Long::sum);
+                }
+            }
+            assertEquals(porAutor, analise.contarLivrosPor(Livro::getAutor), modo.name());
+            assertEquals(emprestadosPorAutor, analise.contarLivrosPor(Livro::getAutor, livro -> !livro.isDisponivel()),
+                    modo.name());
+            assertEquals(LIVROS, analise.livros().count(), modo.name());
+        }
+    }
+
+    @Test
+    @DisplayName("Os k maiores vêm do maior para o menor e batem com a ordenação completa")
+    void testMaiores() {
+        for (ModoCatalogo modo : ModoCatalogo.values()) {
+            Biblioteca biblioteca = popular(modo, 7);
+            biblioteca.ativarInstantaneos();
+            AnaliseBiblioteca analise = biblioteca.analise();
+
+            List<Long> esperadoAutores = analise.contarLivrosPor(Livro::getAutor, livro -> !livro.isDisponivel())
+                    .values().stream().sorted((a, b) -> Long.compare(b, a)).limit(10).collect(Collectors.toList());
+            List<Contagem<String>> autores = analise.autoresComMaisEmprestimos(10);
+            assertEquals(esperadoAutores, quantidades(autores), modo.name());
+
+            List<Long> esperadoMembros = biblioteca.getListaMembros().stream()
+                    .map(membro -> (long) membro.getLivrosEmprestados().size())
+                    .sorted((a, b) -> Long.compare(b, a)).limit(10).collect(Collectors.toList());
+            List<Contagem<Membro>> membros = analise.membrosComMaisEmprestimos(10);
+            assertEquals(esperadoMembros, quantidades(membros), modo.name());
+            for (Contagem<Membro> contagem : membros) {
+                assertEquals(contagem.getQuantidade(), contagem.getChave().getLivrosEmprestados().size());
+            }
+
+            assertTrue(analise.autoresComMaisEmprestimos(0).isEmpty());
+            assertEquals(300, analise.maioresGrupos(Livro::getAutor, livro -> true, 1_000).size());
+            assertThrows(IllegalArgumentException.class, () -> analise.membrosComMaisEmprestimos(-1));
+        }
+    }
+
+    @Test
+    @DisplayName("Disponibilidade por década e contagens por faixa de anos pelas colunas primitivas")
+    void testPeriodos() {
+        for (ModoCatalogo modo : ModoCatalogo.values()) {
+            Biblioteca biblioteca = popular(modo, 3);
+            biblioteca.ativarInstantaneos();
+            AnaliseBiblioteca analise = biblioteca.analise();
+
+            Map<Integer, long[]> esperado = new HashMap<>();
+            long disponiveisDe1900a1950 = 0;
+            for (Livro livro : biblioteca.getCatalogoLivros()) {
+                long[] soma = esperado.computeIfAbsent(livro.getAnoPublicacao() / 10 * 10, decada -> new long[2]);
+                soma[0]++;
+                soma[1] += livro.isDisponivel() ? 1 : 0;
+                if (livro.isDisponivel() && livro.getAnoPublicacao() >= 1900 && livro.getAnoPublicacao() <= 1950) {
+                    disponiveisDe1900a1950++;
+                }
+            }
+            SortedMap<Integer, Disponibilidade> porDecada = analise.disponibilidadePorDecada();
+            assertEquals(esperado.keySet(), porDecada.keySet(), modo.name());
+            assertEquals(1800, porDecada.firstKey());
+            for (Map.Entry<Integer, Disponibilidade> entrada : porDecada.entrySet()) {
+                long[] soma = esperado.get(entrada.getKey());
+                assertEquals(soma[0], entrada.getValue().getTotal(), modo + " " + entrada.getKey());
+                assertEquals(soma[1], entrada.getValue().getDisponiveis(), modo + " " + entrada.getKey());
+            }
+            assertEquals(LIVROS, analise.disponibilidadePorPeriodo(1000).get(1000).getTotal()
+                    + analise.disponibilidadePorPeriodo(1000).get(2000).getTotal());
+            assertEquals(disponiveisDe1900a1950, analise.contarLivros(1900, 1950, true), modo.name());
+            assertEquals(LIVROS, analise.contarLivros(Integer.MIN_VALUE, Integer.MAX_VALUE, false), modo.name());
+            assertEquals(0, analise.contarLivros(2100, 2200, false));
+            assertThrows(IllegalArgumentException.class, () -> analise.disponibilidadePorPeriodo(0));
+            assertThrows(IllegalArgumentException.class, () -> analise.contarLivros(2000, 1900, false));
+        }
+    }
+
+    @Test
+    @DisplayName("Sem instantâneos ativados, monta uma versão só para a análise e os deixa desativados")
+    void testVersaoAvulsa() {
+        Biblioteca biblioteca = new Biblioteca(true);
+        biblioteca.adicionarLivro(new Livro("L-1", "Dom Casmurro", "Machado de Assis", 1899));
+        biblioteca.adicionarLivro(new Livro("L-2", "Vidas Secas", "Graciliano Ramos", 1938));
+        biblioteca.registrarMembro(new Membro("M-1", "Carlos Dantas"));
+        biblioteca.emprestarLivro("L-1", "M-1");
+
+        AnaliseBiblioteca antes = biblioteca.analise();
+        biblioteca.devolverLivro("L-1", "M-1");
+        AnaliseBiblioteca depois = biblioteca.analise();
+
+        assertThrows(IllegalStateException.class, biblioteca::instantaneo);
+        assertEquals("[Machado de Assis=1]", antes.autoresComMaisEmprestimos(5).toString());
+        assertEquals("M-1", antes.membrosComMaisEmprestimos(5).get(0).getChave().getId());
+        assertEquals(0, antes.disponibilidadePorDecada().get(1890).getDisponiveis());
+        assertTrue(depois.autoresComMaisEmprestimos(5).isEmpty());
+        assertEquals(1, depois.disponibilidadePorDecada().get(1890).getDisponiveis());
+        assertEquals(2, depois.getInstantaneo().quantidadeLivros());
+    }
+
+    @Test
+    @DisplayName("Relatórios consistentes enquanto empréstimos e devoluções continuam em outras threads")
+    void testConsistenteComEscritas() throws Exception {
+        Biblioteca biblioteca = popular(ModoCatalogo.OBJETOS, 11);
+        biblioteca.ativarInstantaneos();
+        AtomicBoolean parar = new AtomicBoolean();
+        AtomicReference<Throwable> erro = new AtomicReference<>();
+        List<Thread> escritores = new ArrayList<>();
+        for (int t = 0; t < 2; t++) {
+            Random aleatorio = new Random(t);
+            Thread escritor = new Thread(() -> {
+                try {
+                    while (!parar.get()) {
+                        String idLivro = "L-" + aleatorio.nextInt(LIVROS);
+                        String idMembro = "M-" + aleatorio.nextInt(MEMBROS);
+                        if (biblioteca.tentarEmprestar(idLivro, idMembro) != null) {
+                            biblioteca.tentarDevolver(idLivro, idMembro);
+                        }
+                    }
+                } catch (Throwable e) {
+                    erro.set(e);
+                }
+            });
+            escritor.start();
+            escritores.add(escritor);
+        }
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            for (int rodada = 0; rodada < 5; rodada++) {
+                AnaliseBiblioteca analise = biblioteca.instantaneo().analise(pool);
+                long emprestados = analise.getInstantaneo().quantidadeLivros() - analise.getInstantaneo().countDisponiveis();
+                long porAutor = analise.contarLivrosPor(Livro::getAutor, livro -> !livro.isDisponivel()).values()
+                        .stream().mapToLong(Long::longValue).sum();
+                long porMembro = analise.membrosComMaisEmprestimos(MEMBROS).stream()
+                        .mapToLong(Contagem::getQuantidade).sum();
+                long porDecada = analise.disponibilidadePorDecada().values().stream()
+                        .mapToLong(Disponibilidade::getEmprestados).sum();
+                assertEquals(emprestados, porAutor);
+                assertEquals(emprestados, porMembro);
+                assertEquals(emprestados, porDecada);
+            }
+        } finally {
+            parar.set(true);
+            for (Thread escritor : escritores) {
+                escritor.join();
+            }
+            pool.shutdown();
+        }
+        assertNull(erro.get());
+    }
+
+    private static List<Long> quantidades(List<? extends Contagem<?>> contagens) {
+        return contagens.stream().map(Contagem::getQuantidade).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,298 @@
+package com.seuprojeto.biblioteca.test;
+
+import com.seuprojeto.biblioteca.eventos.Assinatura;
+import com.seuprojeto.biblioteca.eventos.BarramentoEventos;
+import com.seuprojeto.biblioteca.eventos.Contrapressao;
+import com.seuprojeto.biblioteca.eventos.EventoBiblioteca;
+import com.seuprojeto.biblioteca.eventos.TipoEvento;
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.service.Biblioteca;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DisplayName("Testes para o Barramento de Eventos (CDC)")
+class BarramentoEventosTest {
+
+    private final List<BarramentoEventos> barramentos = new ArrayList<>();
+
+    private BarramentoEventos novoBarramento(Biblioteca biblioteca, int capacidade) {
+        BarramentoEventos barramento = new BarramentoEventos(capacidade);
+        biblioteca.adicionarOuvinte(barramento);
+        barramentos.add(barramento);
+        return barramento;
+    }
+
+    @AfterEach
+    void fechar() {
+        barramentos.forEach(BarramentoEventos::close);
+    }
+
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!condicao.getAsBoolean()) {
+            assertTrue(System.nanoTime() < limite, "Tempo esgotado esperando os eventos.");
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Cada mutação vira um evento, em ordem, com os dados do tipo")
+    void testEventosDasMutacoes() throws InterruptedException {
+        Biblioteca biblioteca = new Biblioteca(true);
+        BarramentoEventos barramento = novoBarramento(biblioteca, 64);
+        List<EventoBiblioteca> recebidos = Collections.synchronizedList(new ArrayList<>());
+        barramento.assinar(recebidos::addAll);
+
+        biblioteca.adicionarLivro(new Livro("L-1", "Iracema", "José de Alencar", 1865));
+        biblioteca.registrarMembro(new Membro("M-1", "Martim Soares"));
+        biblioteca.emprestarLivro("L-1", "M-1");
+        biblioteca.devolverLivro("L-1", "M-1");
+        biblioteca.removerMembro("M-1");
+        biblioteca.removerLivro("L-1");
+        assertThrows(IllegalArgumentException.class, () -> biblioteca.devolverLivro("L-1", "M-1")); // recusas não geram evento
+        aguardar(() -> recebidos.size() == 6);
+
+        List<TipoEvento> tipos = new ArrayList<>();
+        for (int i = 0; i < recebidos.size(); i++) {
+            assertEquals(i, recebidos.get(i).getDeslocamento());
+            tipos.add(recebidos.get(i).getTipo());
+        }
+        assertEquals(List.of(TipoEvento.LIVRO_ADICIONADO, TipoEvento.MEMBRO_REGISTRADO, TipoEvento.LIVRO_EMPRESTADO,
+                TipoEvento.LIVRO_DEVOLVIDO, TipoEvento.MEMBRO_REMOVIDO, TipoEvento.LIVRO_REMOVIDO), tipos);
+        EventoBiblioteca adicionado = recebidos.get(0);
+        assertEquals("Iracema", adicionado.getTitulo());
+        assertEquals("José de Alencar", adicionado.getAutor());
+        assertEquals(1865, adicionado.getAnoPublicacao());
+        assertNull(adicionado.getIdMembro());
+        assertEquals("Martim Soares", recebidos.get(1).getNomeMembro());
+        assertEquals("L-1", recebidos.get(2).getIdLivro());
+        assertEquals("M-1", recebidos.get(2).getIdMembro());
+        assertEquals(6, barramento.getProximoDeslocamento());
+    }
+
+    @Test
+    @DisplayName("Assinatura reproduz a partir de um deslocamento ainda no buffer, em lotes limitados")
+    void testReproducao() throws InterruptedException {
+        Biblioteca biblioteca = new Biblioteca(true);
+        BarramentoEventos barramento = novoBarramento(biblioteca, 16);
+        biblioteca.registrarMembro(new Membro("M-1", "Leitor"));
+        for (int i = 0; i < 40; i++) {
+            biblioteca.adicionarLivro(new Livro("L-" + i, "Título " + i, "Autor", 2000));
+        }
+        assertEquals(41, barramento.getProximoDeslocamento());
+        assertEquals(25, barramento.getDeslocamentoMaisAntigo());
+        assertThrows(IllegalArgumentException.class,
+                () -> barramento.assinar(10, Contrapressao.BLOQUEAR, 4, lote -> { }));
+        assertThrows(IllegalArgumentException.class,
+                () -> barramento.assinar(42, Contrapressao.BLOQUEAR, 4, lote -> { }));
+
+        List<EventoBiblioteca> recebidos = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> tamanhos = Collections.synchronizedList(new ArrayList<>());
+        Assinatura assinatura = barramento.assinar(30, Contrapressao.BLOQUEAR, 4, lote -> {
+            tamanhos.add(lote.size());
+            recebidos.addAll(lote);
+        });
+        biblioteca.adicionarLivro(new Livro("L-40", "Título 40", "Autor", 2000));
+        aguardar(() -> recebidos.size() == 12);
+
+        assertEquals(30, recebidos.get(0).getDeslocamento());
+        assertEquals("L-29", recebidos.get(0).getIdLivro());
+        assertEquals("L-40", recebidos.get(11).getIdLivro());
+        assertTrue(tamanhos.stream().allMatch(n -> n <= 4), tamanhos.toString());
+        aguardar(() -> assinatura.getDeslocamento() == 42);
+        assertEquals(0, assinatura.getEventosPerdidos());
+        assinatura.close();
+        assertFalse(assinatura.isAtiva());
+        assertTrue(barramento.getAssinaturas().isEmpty());
+    }
+
+    @Test
+    @DisplayName("BLOQUEAR segura os produtores e não perde eventos; DESCARTAR pula e conta os perdidos")
+    void testContrapressao() throws InterruptedException {
+        Biblioteca biblioteca = new Biblioteca(true);
+        biblioteca.adicionarLivro(new Livro("L-1", "Título", "Autor", 2000));
+        biblioteca.registrarMembro(new Membro("M-1", "Leitor"));
+        biblioteca.registrarMembro(new Membro("M-2", "Outro leitor"));
+        BarramentoEventos barramento = novoBarramento(biblioteca, 8);
+
+        CountDownLatch liberar = new CountDownLatch(1);
+        List<Long> bloqueante = Collections.synchronizedList(new ArrayList<>());
+        List<Long> descartante = Collections.synchronizedList(new ArrayList<>());
+        barramento.assinar(0, Contrapressao.BLOQUEAR, 3, lote -> {
+            lote.forEach(evento -> bloqueante.add(evento.getDeslocamento()));
+            esperar(liberar);
+        });
+        Assinatura descarte = barramento.assinar(0, Contrapressao.DESCARTAR, 3, lote -> {
+            lote.forEach(evento -> descartante.add(evento.getDeslocamento()));
+            esperar(liberar);
+        });
+
+        Thread produtor = new Thread(() -> {
+            for (int i = 0; i < 500; i++) {
+                biblioteca.emprestarLivro("L-1", "M-1");
+                biblioteca.devolverLivro("L-1", "M-1");
+            }
+        });
+        produtor.start();
+        // O assinante BLOQUEAR está parado no primeiro lote (deslocamentos 0 a 2): os deslocamentos 0 a 7 cabem,
+        // o 8 fica guardado e o produtor cochila esperando, já fora das travas
+        aguardar(() -> produtor.getState() == Thread.State.TIMED_WAITING);
+        assertEquals(9, barramento.getProximoDeslocamento());
+        // Sem as travas presas, outra thread opera sobre o mesmo livro (uma recusa não gera evento)
+        assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> assertFalse(biblioteca.tentarDevolver("L-1", "M-2").isSucesso()));
+        assertTrue(produtor.isAlive());
+        assertEquals(9, barramento.getProximoDeslocamento());
+
+        liberar.countDown();
+        produtor.join();
+        aguardar(() -> bloqueante.size() == 1_000);
+        aguardar(() -> descarte.getDeslocamento() == 1_000);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(i, bloqueante.get(i));
+        }
+        // O DESCARTAR também ficou parado: entregues e perdidos cobrem todos os eventos, em ordem
+        for (int i = 1; i < descartante.size(); i++) {
+            assertTrue(descartante.get(i) > descartante.get(i - 1));
+        }
+        assertEquals(1_000, descartante.size() + descarte.getEventosPerdidos());
+    }
+
+    @Test
+    @DisplayName("DESCARTAR: um assinante parado não segura os produtores")
+    void testDescarteNaoSeguraProdutores() throws InterruptedException {
+        Biblioteca biblioteca = new Biblioteca(true);
+        biblioteca.adicionarLivro(new Livro("L-1", "Título", "Autor", 2000));
+        biblioteca.registrarMembro(new Membro("M-1", "Leitor"));
+        BarramentoEventos barramento = novoBarramento(biblioteca, 16);
+        CountDownLatch liberar = new CountDownLatch(1);
+        List<Long> recebidos = Collections.synchronizedList(new ArrayList<>());
+        Assinatura assinatura = barramento.assinar(0, Contrapressao.DESCARTAR, 4, lote -> {
+            lote.forEach(evento -> recebidos.add(evento.getDeslocamento()));
+            esperar(liberar);
+        });
+        biblioteca.emprestarLivro("L-1", "M-1");
+        aguardar(() -> recebidos.size() == 1);
+
+        biblioteca.devolverLivro("L-1", "M-1");
+        for (int i = 0; i < 99; i++) {
+            biblioteca.emprestarLivro("L-1", "M-1");
+            biblioteca.devolverLivro("L-1", "M-1");
+        }
+        liberar.countDown();
+        aguardar(() -> assinatura.getDeslocamento() == 200);
+
+        assertTrue(assinatura.getEventosPerdidos() > 0);
+        assertEquals(200, recebidos.size() + assinatura.getEventosPerdidos());
+        assertEquals(199L, recebidos.get(recebidos.size() - 1));
+    }
+
+    @Test
+    @DisplayName("Vários produtores: cada evento é entregue uma vez, e os do mesmo livro em ordem")
+    void testProdutoresConcorrentes() throws InterruptedException {
+        final int threads = 4;
+        final int ciclos = 2_000;
+        Biblioteca biblioteca = new Biblioteca(true);
+        for (int t = 0; t < threads; t++) {
+            biblioteca.adicionarLivro(new Livro("L-" + t, "Título " + t, "Autor", 2000));
+            biblioteca.registrarMembro(new Membro("M-" + t, "Leitor " + t));
+        }
+        BarramentoEventos barramento = novoBarramento(biblioteca, 64);
+        long inicio = barramento.getProximoDeslocamento();
+        List<EventoBiblioteca> recebidos = Collections.synchronizedList(new ArrayList<>());
+        barramento.assinar(inicio, Contrapressao.BLOQUEAR, 32, recebidos::addAll);
+
+        List<Thread> produtores = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String idLivro = "L-" + t;
+            String idMembro = "M-" + t;
+            Thread produtor = new Thread(() -> {
+                for (int i = 0; i < ciclos; i++) {
+                    biblioteca.emprestarLivro(idLivro, idMembro);
+                    biblioteca.devolverLivro(idLivro, idMembro);
+                }
+            });
+            produtores.add(produtor);
+            produtor.start();
+        }
+        for (Thread produtor : produtores) {
+            produtor.join();
+        }
+        aguardar(() -> recebidos.size() == threads * ciclos * 2);
+
+        TipoEvento[] ultimo = new TipoEvento[threads];
+        for (int i = 0; i < recebidos.size(); i++) {
+            EventoBiblioteca evento = recebidos.get(i);
+            assertEquals(inicio + i, evento.getDeslocamento());
+            int t = Integer.parseInt(evento.getIdLivro().substring(2));
+            assertNotEquals(ultimo[t], evento.getTipo(), "Empréstimos e devoluções do mesmo livro devem alternar");
+            ultimo[t] = evento.getTipo();
+        }
+    }
+
+    @Test
+    @DisplayName("Assinante que lança é encerrado e deixa de segurar os produtores")
+    void testFalhaDoAssinante() throws InterruptedException {
+        Biblioteca biblioteca = new Biblioteca(true);
+        BarramentoEventos barramento = novoBarramento(biblioteca, 4);
+        Assinatura assinatura = barramento.assinar(0, Contrapressao.BLOQUEAR, 1, lote -> {
+            throw new IllegalStateException("falha do assinante");
+        });
+        for (int i = 0; i < 20; i++) {
+            biblioteca.adicionarLivro(new Livro("L-" + i, "Título " + i, "Autor", 2000));
+        }
+        aguardar(() -> !assinatura.isAtiva());
+        assertEquals("falha do assinante", assinatura.getFalha().getMessage());
+        assertTrue(barramento.getAssinaturas().isEmpty());
+        assertEquals(20, barramento.getProximoDeslocamento());
+    }
+
+    @Test
+    @DisplayName("Publicar um evento não aloca memória na thread da mutação")
+    void testPublicacaoSemAlocacao() throws InterruptedException {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean medidor = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(medidor.isThreadAllocatedMemorySupported() && medidor.isThreadAllocatedMemoryEnabled());
+
+        BarramentoEventos barramento = new BarramentoEventos(1 << 10);
+        barramentos.add(barramento);
+        barramento.assinar(lote -> { });
+        Livro livro = new Livro("L-1", "Título", "Autor", 2000);
+        Membro membro = new Membro("M-1", "Leitor");
+        for (int i = 0; i < 20_000; i++) {
+            barramento.livroEmprestado(livro, membro);
+        }
+        long id = Thread.currentThread().threadId();
+        long antes = medidor.getThreadAllocatedBytes(id);
+        for (int i = 0; i < 100_000; i++) {
+            barramento.livroEmprestado(livro, membro);
+            barramento.livroDevolvido(livro, membro);
+        }
+        long alocados = medidor.getThreadAllocatedBytes(id) - antes;
+        assertTrue(alocados < 64 * 1024, alocados + " bytes alocados");
+    }
+
+    private static void esperar(CountDownLatch liberar) {
+        try {
+            liberar.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.seuprojeto.biblioteca.test;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.service.Biblioteca;
+import com.seuprojeto.biblioteca.service.BibliotecaAssincrona;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para a fachada assíncrona da Biblioteca")
+class BibliotecaAssincronaTest {
+
+    private Biblioteca biblioteca;
+    private BibliotecaAssincrona assincrona;
+
+    @BeforeEach
+    void setUp() {
+        biblioteca = new Biblioteca(true);
+        biblioteca.adicionarLivro(new Livro("L-1", "Dom Casmurro", "Machado de Assis", 1899));
+        biblioteca.adicionarLivro(new Livro("L-2", "Vidas Secas", "Graciliano Ramos", 1938));
+        biblioteca.registrarMembro(new Membro("M-1", "Carlos Dantas"));
+        biblioteca.registrarMembro(new Membro("M-2", "Mariana Lima"));
+        assincrona = new BibliotecaAssincrona(biblioteca);
+    }
+
+    @AfterEach
+    void tearDown() {
+        assincrona.close();
+    }
+
+    @Test
+    @DisplayName("As operações assíncronas têm o mesmo efeito e os mesmos erros das síncronas")
+    void testOperacoes() throws Exception {
+        assincrona.emprestarLivroAsync("L-1", "M-1").get(5, TimeUnit.SECONDS);
+
+        assertFalse(assincrona.buscarLivroPorIdAsync("L-1").get(5, TimeUnit.SECONDS).isDisponivel());
+        assertEquals(List.of(biblioteca.buscarLivroPorId("L-1")),
+                assincrona.listarLivrosEmprestadosPorMembroAsync("M-1").get(5, TimeUnit.SECONDS));
+        assertEquals(1, assincrona.listarLivrosDisponiveisAsync(0, 10).get(5, TimeUnit.SECONDS).size());
+
+        ExecutionException erro = assertThrows(ExecutionException.class,
+                () -> assincrona.emprestarLivroAsync("L-1", "M-2").get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, erro.getCause());
+
+        assincrona.devolverLivroAsync("L-1", "M-1").get(5, TimeUnit.SECONDS);
+        assertTrue(biblioteca.buscarLivroPorId("L-1").isDisponivel());
+        assertEquals(0, assincrona.getEmAndamento());
+    }
+
+    @Test
+    @DisplayName("Acima do máximo em andamento as operações são rejeitadas na hora")
+    void testControleDeAdmissao() throws Exception {
+        try (BibliotecaAssincrona limitada = new BibliotecaAssincrona(biblioteca, 2, 5, TimeUnit.SECONDS)) {
+            CountDownLatch liberar = new CountDownLatch(1);
+            CompletableFuture<Object> primeira = limitada.executarAsync(b -> aguardar(liberar));
+            CompletableFuture<Object> segunda = limitada.executarAsync(b -> aguardar(liberar));
+
+            ExecutionException erro = assertThrows(ExecutionException.class,
+                    () -> limitada.buscarLivroPorIdAsync("L-1").get(5, TimeUnit.SECONDS));
+            assertInstanceOf(RejectedExecutionException.class, erro.getCause());
+            assertEquals(2, limitada.getEmAndamento());
+            assertEquals(1, limitada.getRejeitadas());
+
+            liberar.countDown();
+            CompletableFuture.allOf(primeira, segunda).get(5, TimeUnit.SECONDS);
+            assertEquals("L-1", limitada.buscarLivroPorIdAsync("L-1").get(5, TimeUnit.SECONDS).getId());
+        }
+    }
+
+    @Test
+    @DisplayName("O futuro expira após o tempo limite; a operação em curso segue ocupando a vaga")
+    void testTempoLimite() throws Exception {
+        try (BibliotecaAssincrona comPrazo = new BibliotecaAssincrona(biblioteca, 10, 50, TimeUnit.MILLISECONDS)) {
+            CountDownLatch liberar = new CountDownLatch(1);
+            CompletableFuture<Object> lenta = comPrazo.executarAsync(b -> aguardar(liberar));
+
+            ExecutionException erro = assertThrows(ExecutionException.class, () -> lenta.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(TimeoutException.class, erro.getCause());
+            assertEquals(1, comPrazo.getEmAndamento());
+
+            liberar.countDown();
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (comPrazo.getEmAndamento() > 0 && System.nanoTime() < limite) {
+                Thread.sleep(1);
+            }
+            assertEquals(0, comPrazo.getEmAndamento());
+        }
+    }
+
+    @Test
+    @DisplayName("Depois de fechada, a fachada rejeita novas operações")
+    void testFechar() {
+        assincrona.close();
+
+        ExecutionException erro = assertThrows(ExecutionException.class,
+                () -> assincrona.buscarLivroPorIdAsync("L-1").get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, erro.getCause());
+        assertEquals(0, assincrona.getEmAndamento());
+        assertThrows(IllegalArgumentException.class, () -> new BibliotecaAssincrona(biblioteca, 0, 1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("A fachada recusa uma Biblioteca não concorrente")
+    void testRecusaBibliotecaNaoConcorrente() {
+        IllegalArgumentException erro = assertThrows(IllegalArgumentException.class,
+                () -> new BibliotecaAssincrona(new Biblioteca()));
+        assertTrue(erro.getMessage().contains("concorrente"));
+    }
+
+    @Test
+    @DisplayName("Carga: 100 mil operações em andamento sem multiplicar as threads de plataforma")
+    void testCemMilEmAndamento() throws Exception {
+        int operacoes = 100_000;
+        try (BibliotecaAssincrona carga = new BibliotecaAssincrona(biblioteca, operacoes, 60, TimeUnit.SECONDS)) {
+            int threadsAntes = ManagementFactory.getThreadMXBean().getThreadCount();
+            CountDownLatch liberar = new CountDownLatch(1);
+            AtomicInteger iniciadas = new AtomicInteger();
+            List<CompletableFuture<Livro>> futuros = new ArrayList<>(operacoes);
+
+            for (int i = 0; i < operacoes; i++) {
+                String idLivro = i % 2 == 0 ? "L-1" : "L-2";
+                futuros.add(carga.executarAsync(b -> {
+                    iniciadas.incrementAndGet();
+                    aguardar(liberar);
+                    return b.buscarLivroPorId(idLivro);
+                }));
+            }
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (iniciadas.get() < operacoes && System.nanoTime() < limite) {
+                Thread.sleep(10);
+            }
+
+            assertEquals(operacoes, iniciadas.get());
+            assertEquals(operacoes, carga.getEmAndamento());
+            int threadsDurante = ManagementFactory.getThreadMXBean().getThreadCount();
+            assertTrue(threadsDurante - threadsAntes <= 2 * Runtime.getRuntime().availableProcessors() + 16,
+                    "threads de plataforma: " + threadsAntes + " -> " + threadsDurante);
+
+            liberar.countDown();
+            CompletableFuture.allOf(futuros.toArray(new CompletableFuture<?>[0])).get(60, TimeUnit.SECONDS);
+            assertEquals(0, carga.getEmAndamento());
+            assertEquals(0, carga.getRejeitadas());
+        }
+    }
+
+    private static Object aguardar(CountDownLatch liberar) {
+        try {
+            liberar.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+}
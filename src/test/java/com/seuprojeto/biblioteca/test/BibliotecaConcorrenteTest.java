@@ -0,0 +1,192 @@
+package com.seuprojeto.biblioteca.test;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.service.Biblioteca;
+import com.seuprojeto.biblioteca.service.ModoCatalogo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes de estresse para a Biblioteca no modo concorrente")
+class BibliotecaConcorrenteTest {
+
+    private static final int THREADS = 16;
+    private static final int LIVROS = 8;
+    private static final int ITERACOES = 20_000;
+
+    private Biblioteca biblioteca;
+
+    @BeforeEach
+    void setUp() {
+        biblioteca = novaBiblioteca(ModoCatalogo.OBJETOS);
+    }
+
+    private static Biblioteca novaBiblioteca(ModoCatalogo modo) {
+        Biblioteca biblioteca = new Biblioteca(true, modo);
+        for (int i = 0; i < LIVROS; i++) {
+            biblioteca.adicionarLivro(new Livro("L-" + i, "Titulo " + i, "Autor", 2000));
+        }
+        for (int t = 0; t < THREADS; t++) {
+            biblioteca.registrarMembro(new Membro("M-" + t, "Membro " + t));
+        }
+        return biblioteca;
+    }
+
+    @Test
+    @DisplayName("Nenhum livro é emprestado a dois membros ao mesmo tempo")
+    void testSemEmprestimoDuplo() throws InterruptedException {
+        AtomicIntegerArray portadores = new AtomicIntegerArray(LIVROS);
+        AtomicInteger violacoes = new AtomicInteger();
+        AtomicInteger sucessos = new AtomicInteger();
+
+        executarEmParalelo(t -> {
+            String idMembro = "M-" + t;
+            for (int i = 0; i < ITERACOES; i++) {
+                int indice = ThreadLocalRandom.current().nextInt(LIVROS);
+                try {
+                    biblioteca.emprestarLivro("L-" + indice, idMembro);
+                } catch (IllegalStateException indisponivel) {
+                    continue;
+                }
+                sucessos.incrementAndGet();
+                if (portadores.incrementAndGet(indice) != 1) {
+                    violacoes.incrementAndGet();
+                }
+                portadores.decrementAndGet(indice);
+                biblioteca.devolverLivro("L-" + indice, idMembro);
+            }
+        });
+
+        assertEquals(0, violacoes.get());
+        assertTrue(sucessos.get() > 0);
+        assertEquals(LIVROS, biblioteca.listarLivrosDisponiveis().size());
+        for (Membro membro : biblioteca.getListaMembros()) {
+            assertTrue(membro.getLivrosEmprestados().isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Membro removido durante empréstimos nunca fica com livros")
+    void testRemocaoDeMembroConcorrente() throws InterruptedException {
+        executarEmParalelo(t -> {
+            String idMembro = "M-" + t;
+            if (t % 2 == 0) {
+                // Metade das threads tenta remover o próprio membro enquanto a outra metade empresta para ele
+                try {
+                    biblioteca.removerMembro(idMembro);
+                } catch (IllegalArgumentException comLivros) {
+                    // o empréstimo chegou antes; a remoção é rejeitada
+                }
+            } else {
+                String alvo = "M-" + (t - 1);
+                try {
+                    biblioteca.emprestarLivro("L-" + (t % LIVROS), alvo);
+                } catch (IllegalArgumentException | IllegalStateException rejeitado) {
+                    // membro já removido ou livro ocupado
+                }
+            }
+        });
+
+        for (int i = 0; i < LIVROS; i++) {
+            Livro livro = biblioteca.buscarLivroPorId("L-" + i);
+            if (!livro.isDisponivel()) {
+                long portadores = biblioteca.getListaMembros().stream()
+                        .filter(m -> m.getLivrosEmprestados().contains(livro))
+                        .count();
+                assertEquals(1, portadores, "Livro emprestado deve pertencer a um membro registrado.");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Catálogo colunar: disponibilidade consistente enquanto o catálogo cresce")
+    void testColunarCrescendoDuranteEmprestimos() throws InterruptedException {
+        biblioteca = novaBiblioteca(ModoCatalogo.COLUNAR);
+        biblioteca.montarIndices();
+        int porThread = 2_000; // os novos passam várias vezes da capacidade inicial dos bitmaps
+        AtomicIntegerArray portadores = new AtomicIntegerArray(LIVROS);
+        AtomicInteger violacoes = new AtomicInteger();
+
+        executarEmParalelo(t -> {
+            String idMembro = "M-" + t;
+            if (t % 4 == 0) {
+                // Livros novos, de 1990, que ninguém empresta
+                for (int i = 0; i < porThread; i++) {
+                    biblioteca.adicionarLivro(new Livro("N-" + t + "-" + i, "Novo " + i, "Autor", 1990));
+                }
+            } else if (t % 4 == 1) {
+                // Os livros de 1990 só aumentam e nunca saem: lidos depois, os disponíveis são ao menos os de antes.
+                // A disponibilidade é lida sem trava pelo índice secundário, durante os crescimentos
+                for (int i = 0; i < 200; i++) {
+                    int todos = biblioteca.buscarLivrosPorAno(1990, 1990, false, Integer.MAX_VALUE).size();
+                    int disponiveis = biblioteca.buscarLivrosPorAno(1990, 1990, true, Integer.MAX_VALUE).size();
+                    if (disponiveis < todos) {
+                        violacoes.incrementAndGet();
+                    }
+                }
+            } else {
+                for (int i = 0; i < ITERACOES / 4; i++) {
+                    int indice = ThreadLocalRandom.current().nextInt(LIVROS);
+                    try {
+                        biblioteca.emprestarLivro("L-" + indice, idMembro);
+                    } catch (IllegalStateException indisponivel) {
+                        continue;
+                    }
+                    if (portadores.incrementAndGet(indice) != 1) {
+                        violacoes.incrementAndGet();
+                    }
+                    portadores.decrementAndGet(indice);
+                    biblioteca.devolverLivro("L-" + indice, idMembro);
+                }
+            }
+        });
+
+        assertEquals(0, violacoes.get());
+        int novos = THREADS / 4 * porThread;
+        assertEquals(LIVROS + novos, biblioteca.countDisponiveis());
+        assertEquals(LIVROS + novos, biblioteca.listarLivrosDisponiveis().size());
+        assertEquals(novos, biblioteca.buscarLivrosPorAno(1990, 1990, true, Integer.MAX_VALUE).size());
+        assertEquals(LIVROS, biblioteca.buscarLivrosPorAno(2000, 2000, true, Integer.MAX_VALUE).size());
+    }
+
+    private void executarEmParalelo(Tarefa tarefa) throws InterruptedException {
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> erros = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int indice = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    largada.await();
+                    tarefa.executar(indice);
+                } catch (Throwable e) {
+                    synchronized (erros) {
+                        erros.add(e);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        largada.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(erros.isEmpty(), () -> "Falhas nas threads: " + erros);
+    }
+
+    @FunctionalInterface
+    private interface Tarefa {
+        void executar(int indiceThread) throws Exception;
+    }
+}
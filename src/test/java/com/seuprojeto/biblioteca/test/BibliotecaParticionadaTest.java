@@ -0,0 +1,246 @@
+package com.seuprojeto.biblioteca.test;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.service.BibliotecaParticionada;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para a Biblioteca Particionada")
+class BibliotecaParticionadaTest {
+
+    private BibliotecaParticionada biblioteca;
+
+    @BeforeEach
+    void setUp() {
+        biblioteca = new BibliotecaParticionada(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        biblioteca.close();
+    }
+
+    // Primeiro ID com o prefixo que cai na partição pedida
+    private String idNaParticao(String prefixo, int particao) {
+        for (int i = 0; ; i++) {
+            if (biblioteca.particaoDe(prefixo + i) == particao) {
+                return prefixo + i;
+            }
+        }
+    }
+
+    private static Throwable causa(CompletableFuture<?> futuro) {
+        CompletionException erro = assertThrows(CompletionException.class, futuro::join);
+        return erro.getCause();
+    }
+
+    @Test
+    @DisplayName("O anel distribui os IDs entre todas as partições, sempre para a mesma")
+    void testDistribuicao() {
+        int[] contagem = new int[4];
+        for (int i = 0; i < 40_000; i++) {
+            contagem[biblioteca.particaoDe("L-" + i)]++;
+        }
+        for (int quantidade : contagem) {
+            assertTrue(quantidade > 7_000 && quantidade < 13_000, "partição com " + quantidade);
+        }
+        assertEquals(biblioteca.particaoDe("L-123"), biblioteca.particaoDe("L-123"));
+        assertThrows(IllegalArgumentException.class, () -> biblioteca.particaoDe(null));
+    }
+
+    @Test
+    @DisplayName("Empréstimo e devolução na mesma partição")
+    void testMesmaParticao() {
+        String idLivro = idNaParticao("L-", 0);
+        String idMembro = idNaParticao("M-", 0);
+        biblioteca.adicionarLivroAsync(new Livro(idLivro, "Dom Casmurro", "Machado de Assis", 1899)).join();
+        biblioteca.registrarMembroAsync(new Membro(idMembro, "Carlos Dantas")).join();
+
+        biblioteca.emprestarLivroAsync(idLivro, idMembro).join();
+        assertFalse(biblioteca.buscarLivroPorIdAsync(idLivro).join().isDisponivel());
+        assertEquals(List.of(idLivro), ids(biblioteca.listarLivrosEmprestadosPorMembroAsync(idMembro).join()));
+        assertInstanceOf(IllegalStateException.class, causa(biblioteca.emprestarLivroAsync(idLivro, idMembro)));
+
+        biblioteca.devolverLivroAsync(idLivro, idMembro).join();
+        assertTrue(biblioteca.buscarLivroPorIdAsync(idLivro).join().isDisponivel());
+    }
+
+    @Test
+    @DisplayName("Empréstimo entre partições aparece nas duas e é desfeito pela devolução")
+    void testEntreParticoes() {
+        String idLivro = idNaParticao("L-", 1);
+        String idMembro = idNaParticao("M-", 2);
+        biblioteca.adicionarLivroAsync(new Livro(idLivro, "Vidas Secas", "Graciliano Ramos", 1938)).join();
+        biblioteca.registrarMembroAsync(new Membro(idMembro, "Mariana Lima")).join();
+
+        biblioteca.emprestarLivroAsync(idLivro, idMembro).join();
+
+        assertFalse(biblioteca.buscarLivroPorIdAsync(idLivro).join().isDisponivel());
+        List<Livro> doMembro = biblioteca.listarLivrosEmprestadosPorMembroAsync(idMembro).join();
+        assertEquals(List.of(idLivro), ids(doMembro));
+        assertFalse(doMembro.get(0).isDisponivel());
+        assertEquals(1, biblioteca.quantidadeMembrosAsync().join());
+        assertEquals(0, biblioteca.countDisponiveisAsync().join());
+        // Na partição do livro, o empréstimo está com um espelho do membro
+        assertEquals(List.of(idLivro), ids(biblioteca.executarNaParticaoAsync(1,
+                b -> b.listarLivrosEmprestadosPorMembro(idMembro)).join()));
+
+        assertInstanceOf(IllegalArgumentException.class, causa(biblioteca.removerMembroAsync(idMembro)));
+        assertInstanceOf(IllegalArgumentException.class, causa(biblioteca.removerLivroAsync(idLivro)));
+
+        biblioteca.devolverLivroAsync(idLivro, idMembro).join();
+
+        assertTrue(biblioteca.buscarLivroPorIdAsync(idLivro).join().isDisponivel());
+        assertTrue(biblioteca.listarLivrosEmprestadosPorMembroAsync(idMembro).join().isEmpty());
+        assertNull(biblioteca.executarNaParticaoAsync(1, b -> b.buscarMembroPorId(idMembro)).join());
+        biblioteca.removerMembroAsync(idMembro).join();
+        assertEquals(0, biblioteca.quantidadeMembrosAsync().join());
+    }
+
+    @Test
+    @DisplayName("Recusas entre partições trazem as mesmas exceções e não deixam rastros")
+    void testRecusasEntreParticoes() {
+        String idLivro = idNaParticao("L-", 0);
+        String idMembro = idNaParticao("M-", 3);
+        String outroMembro = idNaParticao("N-", 2);
+        biblioteca.adicionarLivroAsync(new Livro(idLivro, "Iracema", "José de Alencar", 1865)).join();
+        biblioteca.registrarMembroAsync(new Membro(idMembro, "Carlos Dantas")).join();
+        biblioteca.registrarMembroAsync(new Membro(outroMembro, "Paulo Freire")).join();
+
+        assertInstanceOf(IllegalArgumentException.class,
+                causa(biblioteca.emprestarLivroAsync(idNaParticao("X-", 1), idMembro)));
+        assertInstanceOf(IllegalArgumentException.class,
+                causa(biblioteca.emprestarLivroAsync(idLivro, idNaParticao("Y-", 1))));
+        assertInstanceOf(IllegalStateException.class, causa(biblioteca.devolverLivroAsync(idLivro, idMembro)));
+
+        biblioteca.emprestarLivroAsync(idLivro, idMembro).join();
+        assertInstanceOf(IllegalStateException.class, causa(biblioteca.emprestarLivroAsync(idLivro, outroMembro)));
+        assertInstanceOf(IllegalArgumentException.class, causa(biblioteca.devolverLivroAsync(idLivro, outroMembro)));
+
+        // A recusa não deixou espelho nem reserva: o outro membro pode ser removido
+        assertNull(biblioteca.executarNaParticaoAsync(0, b -> b.buscarMembroPorId(outroMembro)).join());
+        biblioteca.removerMembroAsync(outroMembro).join();
+        assertEquals(1, biblioteca.quantidadeMembrosAsync().join());
+    }
+
+    @Test
+    @DisplayName("Com muitos clientes concorrentes, cada livro fica com no máximo um membro")
+    void testConcorrencia() throws Exception {
+        int livros = 200;
+        int membros = 40;
+        for (int i = 0; i < livros; i++) {
+            biblioteca.adicionarLivroAsync(new Livro("C-" + i, "Livro " + i, "Autor", 2000));
+        }
+        for (int m = 0; m < membros; m++) {
+            biblioteca.registrarMembroAsync(new Membro("N-" + m, "Membro " + m)).join();
+        }
+
+        List<Thread> clientes = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            long semente = t;
+            clientes.add(new Thread(() -> {
+                Random aleatorio = new Random(semente);
+                List<CompletableFuture<Void>> pendentes = new ArrayList<>();
+                for (int i = 0; i < 5_000; i++) {
+                    String idLivro = "C-" + aleatorio.nextInt(livros);
+                    String idMembro = "N-" + aleatorio.nextInt(membros);
+                    pendentes.add(aleatorio.nextBoolean()
+                            ? biblioteca.emprestarLivroAsync(idLivro, idMembro)
+                            : biblioteca.devolverLivroAsync(idLivro, idMembro));
+                }
+                for (CompletableFuture<Void> pendente : pendentes) {
+                    pendente.handle((nada, falha) -> null).join();
+                }
+            }));
+        }
+        clientes.forEach(Thread::start);
+        for (Thread cliente : clientes) {
+            cliente.join();
+        }
+
+        Set<String> emprestados = new HashSet<>();
+        for (int m = 0; m < membros; m++) {
+            for (Livro livro : biblioteca.listarLivrosEmprestadosPorMembroAsync("N-" + m).join()) {
+                assertTrue(emprestados.add(livro.getId()), "livro com dois membros: " + livro.getId());
+                assertFalse(biblioteca.buscarLivroPorIdAsync(livro.getId()).join().isDisponivel());
+            }
+        }
+        assertEquals(livros - emprestados.size(), biblioteca.countDisponiveisAsync().join());
+        assertEquals(membros, biblioteca.quantidadeMembrosAsync().join());
+        assertEquals(0, biblioteca.getEmAndamento());
+    }
+
+    @Test
+    @DisplayName("Depois de fechada, recusa novas operações")
+    void testFechar() {
+        biblioteca.adicionarLivroAsync(new Livro("L-1", "Dom Casmurro", "Machado de Assis", 1899));
+        biblioteca.close();
+
+        assertInstanceOf(RejectedExecutionException.class, causa(biblioteca.buscarLivroPorIdAsync("L-1")));
+        assertEquals(0, biblioteca.getEmAndamento());
+    }
+
+    @Test
+    @DisplayName("O fechamento espera as operações em andamento")
+    void testFecharEsperaOperacoes() throws Exception {
+        CountDownLatch comecou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<Integer> lenta = biblioteca.executarNaParticaoAsync(0, b -> {
+            comecou.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 42;
+        });
+        assertTrue(comecou.await(5, TimeUnit.SECONDS));
+
+        Thread fechamento = new Thread(biblioteca::close);
+        fechamento.start();
+        fechamento.join(100);
+        assertTrue(fechamento.isAlive(), "close() deve esperar a operação em andamento");
+        assertFalse(lenta.isDone());
+
+        liberar.countDown();
+        fechamento.join(5_000);
+        assertFalse(fechamento.isAlive());
+        assertEquals(42, lenta.join());
+        assertEquals(0, biblioteca.getEmAndamento());
+    }
+
+    @Test
+    @DisplayName("Um Error numa operação falha só o futuro dela; a partição continua atendendo")
+    void testErroNaoParaParticao() {
+        CompletableFuture<Object> comErro = biblioteca.executarNaParticaoAsync(0, b -> {
+            throw new StackOverflowError("simulado");
+        });
+        assertInstanceOf(StackOverflowError.class, causa(comErro));
+
+        String idLivro = idNaParticao("L-", 0);
+        biblioteca.adicionarLivroAsync(new Livro(idLivro, "Dom Casmurro", "Machado de Assis", 1899)).join();
+        assertEquals(idLivro, biblioteca.buscarLivroPorIdAsync(idLivro).join().getId());
+        assertEquals(0, biblioteca.getEmAndamento());
+    }
+
+    private static List<String> ids(List<Livro> livros) {
+        return livros.stream().map(Livro::getId).collect(Collectors.toList());
+    }
+}
@@ -3,15 +3,19 @@ package com.seuprojeto.biblioteca.test;
 import com.seuprojeto.biblioteca.model.Livro;
 import com.seuprojeto.biblioteca.model.Membro;
 import com.seuprojeto.biblioteca.service.Biblioteca;
+import com.seuprojeto.biblioteca.service.ModoCatalogo;
+import com.seuprojeto.biblioteca.service.PaginaLivros;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DisplayName("Testes para a Classe de Servio Biblioteca")
+@DisplayName("Testes para a Classe de Serviço Biblioteca")
 class BibliotecaTest {
 
     private Biblioteca biblioteca;
@@ -38,7 +42,7 @@ class BibliotecaTest {
 
     // --- Testes de Adicionar/Remover Livro ---
     @Test
-    @DisplayName("Adicionar um livro com sucesso e ID duplicado (Exceo)")
+    @DisplayName("Adicionar um livro com sucesso e ID duplicado (Exceção)")
     void testAdicionarLivro() {
         Livro livro3 = new Livro("ISBN-L3", "Clean Code", "R.C. Martin", 2008);
         biblioteca.adicionarLivro(livro3);
@@ -52,7 +56,7 @@ class BibliotecaTest {
     }
 
     @Test
-    @DisplayName("Remover livro com sucesso e emprestado (Exceo)")
+    @DisplayName("Remover livro com sucesso e emprestado (Exceção)")
     void testRemoverLivro() {
         // Remover sucesso
         biblioteca.removerLivro(livro1.getId());
@@ -62,13 +66,13 @@ class BibliotecaTest {
         biblioteca.emprestarLivro(livro2.getId(), membro1.getId());
         assertThrows(IllegalArgumentException.class, () -> biblioteca.removerLivro(livro2.getId()));
         
-        // Tenta remover livro que no existe
+        // Tenta remover livro que não existe
         assertThrows(IllegalArgumentException.class, () -> biblioteca.removerLivro("ISBN-999"));
     }
 
     // --- Testes de Registrar/Remover Membro ---
     @Test
-    @DisplayName("Registrar membro com sucesso e ID duplicado (Exceo)")
+    @DisplayName("Registrar membro com sucesso e ID duplicado (Exceção)")
     void testRegistrarMembro() {
         Membro membro3 = new Membro("M-300", "Diana");
         biblioteca.registrarMembro(membro3);
@@ -81,7 +85,7 @@ class BibliotecaTest {
     }
 
     @Test
-    @DisplayName("Remover membro com sucesso e com livros emprestados (Exceo)")
+    @DisplayName("Remover membro com sucesso e com livros emprestados (Exceção)")
     void testRemoverMembro() {
         // Remover sucesso
         biblioteca.removerMembro(membro2.getId());
@@ -91,20 +95,20 @@ class BibliotecaTest {
         biblioteca.emprestarLivro(livro1.getId(), membro1.getId());
         assertThrows(IllegalArgumentException.class, () -> biblioteca.removerMembro(membro1.getId()));
 
-        // Tenta remover membro que no existe
+        // Tenta remover membro que não existe
         assertThrows(IllegalArgumentException.class, () -> biblioteca.removerMembro("M-999"));
     }
 
-    // --- Testes de Emprstimo ---
+    // --- Testes de Empréstimo ---
     @Test
-    @DisplayName("Emprstimo com sucesso e tentativa em livro indisponvel (Exceo)")
+    @DisplayName("Empréstimo com sucesso e tentativa em livro indisponível (Exceção)")
     void testEmprestarLivro() {
         // Sucesso
         biblioteca.emprestarLivro(livro1.getId(), membro1.getId());
         assertFalse(livro1.isDisponivel());
         assertTrue(membro1.getLivrosEmprestados().contains(livro1));
 
-        // Tentar emprestar livro indisponvel
+        // Tentar emprestar livro indisponível
         assertThrows(IllegalStateException.class, () -> biblioteca.emprestarLivro(livro1.getId(), membro2.getId()));
 
         // Tentar emprestar livro ou membro inexistente
@@ -112,11 +116,11 @@ class BibliotecaTest {
         assertThrows(IllegalArgumentException.class, () -> biblioteca.emprestarLivro(livro2.getId(), "M-999"));
     }
 
-    // --- Testes de Devoluo ---
+    // --- Testes de Devolução ---
     @Test
-    @DisplayName("Devoluo com sucesso e casos de falha (Excees)")
+    @DisplayName("Devolução com sucesso e casos de falha (Exceções)")
     void testDevolverLivro() {
-        // Setup: Emprstimo inicial
+        // Setup: Empréstimo inicial
         biblioteca.emprestarLivro(livro1.getId(), membro1.getId());
 
         // Sucesso
@@ -124,14 +128,14 @@ class BibliotecaTest {
         assertTrue(livro1.isDisponivel());
         assertFalse(membro1.getLivrosEmprestados().contains(livro1));
 
-        // Tentar devolver livro no emprestado (livro2)
+        // Tentar devolver livro não emprestado (livro2)
         assertThrows(IllegalStateException.class, () -> biblioteca.devolverLivro(livro2.getId(), membro2.getId()),
-                "Deve falhar: Livro no estava emprestado.");
+                "Deve falhar: Livro não estava emprestado.");
 
         // Tentar devolver livro, mas pelo membro errado 
         biblioteca.emprestarLivro(livro2.getId(), membro2.getId());
         assertThrows(IllegalArgumentException.class, () -> biblioteca.devolverLivro(livro2.getId(), membro1.getId()),
-                "Deve falhar: Livro no est na lista do membro1.");
+                "Deve falhar: Livro não está na lista do membro1.");
         
         // Tentar devolver livro ou membro inexistente
         assertThrows(IllegalArgumentException.class, () -> biblioteca.devolverLivro("ISBN-999", membro1.getId()));
@@ -140,15 +144,15 @@ class BibliotecaTest {
 
     // --- Testes de Listagem ---
     @Test
-    @DisplayName("Verificar listagens de livros disponveis e emprestados")
+    @DisplayName("Verificar listagens de livros disponíveis e emprestados")
     void testListagens() {
-        // Inicialmente 2 disponveis
+        // Inicialmente 2 disponíveis
         assertEquals(2, biblioteca.listarLivrosDisponiveis().size());
         
         // Emprestar Livro 1
         biblioteca.emprestarLivro(livro1.getId(), membro1.getId());
         
-        // Agora 1 disponvel
+        // Agora 1 disponível
         assertEquals(1, biblioteca.listarLivrosDisponiveis().size());
         
         // Membro 1 tem 1 livro emprestado
@@ -159,4 +163,126 @@ class BibliotecaTest {
         // Membro inexistente na listagem
         assertThrows(IllegalArgumentException.class, () -> biblioteca.listarLivrosEmprestadosPorMembro("M-999"));
     }
+
+    @Test
+    @DisplayName("Índice de disponíveis acompanha empréstimo, devolução, adição e remoção")
+    void testIndiceDeDisponiveis() {
+        assertEquals(2, biblioteca.countDisponiveis());
+
+        biblioteca.emprestarLivro(livro1.getId(), membro1.getId());
+        assertEquals(1, biblioteca.countDisponiveis());
+        assertFalse(biblioteca.getLivrosDisponiveis().contains(livro1));
+
+        Livro livro3 = new Livro("ISBN-L3", "Clean Code", "R.C. Martin", 2008);
+        biblioteca.adicionarLivro(livro3);
+        biblioteca.removerLivro(livro2.getId());
+        assertEquals(List.of(livro3), biblioteca.listarLivrosDisponiveis());
+
+        biblioteca.devolverLivro(livro1.getId(), membro1.getId());
+        assertEquals(2, biblioteca.countDisponiveis());
+        assertTrue(biblioteca.getLivrosDisponiveis().contains(livro1));
+        assertThrows(UnsupportedOperationException.class, () -> biblioteca.getLivrosDisponiveis().clear());
+    }
+
+    @Test
+    @DisplayName("Paginação de livros disponíveis")
+    void testPaginacaoDeDisponiveis() {
+        for (int i = 3; i <= 10; i++) {
+            biblioteca.adicionarLivro(new Livro("ISBN-L" + i, "Livro " + i, "Autor", 2000 + i));
+        }
+        biblioteca.emprestarLivro("ISBN-L5", membro1.getId());
+
+        List<Livro> primeira = biblioteca.listarLivrosDisponiveis(0, 4);
+        List<Livro> segunda = biblioteca.listarLivrosDisponiveis(4, 4);
+        List<Livro> terceira = biblioteca.listarLivrosDisponiveis(8, 4);
+
+        assertEquals(4, primeira.size());
+        assertEquals(4, segunda.size());
+        assertEquals(1, terceira.size());
+        assertTrue(biblioteca.listarLivrosDisponiveis(20, 4).isEmpty());
+        assertFalse(segunda.contains(biblioteca.buscarLivroPorId("ISBN-L5")));
+        assertThrows(IllegalArgumentException.class, () -> biblioteca.listarLivrosDisponiveis(-1, 4));
+    }
+
+    @Test
+    @DisplayName("Paginação por cursor não pula nem repete livros com devoluções e empréstimos no meio")
+    void testPaginacaoPorCursor() {
+        for (ModoCatalogo modo : ModoCatalogo.values()) {
+            Biblioteca catalogo = new Biblioteca(false, modo);
+            catalogo.registrarMembro(new Membro("M-1", "Carlos Dantas"));
+            for (int i = 0; i < 300; i++) {
+                catalogo.adicionarLivro(new Livro("L-" + i, "Livro " + i, "Autor", 2000));
+            }
+            for (int i = 0; i < 300; i += 3) {
+                catalogo.emprestarLivro("L-" + i, "M-1");
+            }
+
+            List<String> vistos = new ArrayList<>();
+            int cursor = PaginaLivros.INICIO;
+            int paginas = 0;
+            while (cursor >= 0) {
+                PaginaLivros pagina = catalogo.paginarLivrosDisponiveis(cursor, 25);
+                pagina.getLivros().forEach(livro -> vistos.add(livro.getId()));
+                cursor = pagina.getProximoCursor();
+                // Entre as páginas: um livro já visto é emprestado e um emprestado de antes do cursor volta
+                if (paginas < 6) {
+                    catalogo.emprestarLivro(pagina.getLivros().get(0).getId(), "M-1");
+                    catalogo.devolverLivro("L-" + (paginas * 3), "M-1");
+                }
+                paginas++;
+            }
+
+            List<String> esperados = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                if (i % 3 != 0) {
+                    esperados.add("L-" + i);
+                }
+            }
+            assertEquals(esperados, vistos, modo.name());
+            assertEquals(8, paginas, modo.name());
+        }
+        assertTrue(biblioteca.paginarLivrosDisponiveis(PaginaLivros.INICIO, 0).getLivros().isEmpty());
+        assertTrue(biblioteca.paginarLivrosDisponiveis(1_000, 10).isUltima());
+        assertThrows(IllegalArgumentException.class, () -> biblioteca.paginarLivrosDisponiveis(-1, 10));
+    }
+
+    // --- Testes dos Índices por ID ---
+    @Test
+    @DisplayName("Catálogo e membros mantêm a ordem de inserção após remoções")
+    void testOrdemDeInsercao() {
+        Livro livro3 = new Livro("ISBN-L3", "Clean Code", "R.C. Martin", 2008);
+        biblioteca.adicionarLivro(livro3);
+        biblioteca.removerLivro(livro2.getId());
+        biblioteca.adicionarLivro(livro2);
+
+        assertEquals(List.of(livro1, livro3, livro2), new ArrayList<>(biblioteca.getCatalogoLivros()));
+
+        biblioteca.removerMembro(membro1.getId());
+        biblioteca.registrarMembro(membro1);
+        assertEquals(List.of(membro2, membro1), new ArrayList<>(biblioteca.getListaMembros()));
+        assertThrows(UnsupportedOperationException.class, () -> biblioteca.getCatalogoLivros().clear());
+    }
+
+    @Test
+    @DisplayName("Catálogo e membros são listas somente leitura, sem cópia, com acesso por posição")
+    void testListasSomenteLeitura() {
+        List<Livro> catalogo = biblioteca.getCatalogoLivros();
+        List<Membro> membros = biblioteca.getListaMembros();
+        assertEquals(livro2, catalogo.get(1));
+        assertEquals(1, membros.indexOf(membro2));
+        assertThrows(IndexOutOfBoundsException.class, () -> catalogo.get(2));
+
+        Livro livro3 = new Livro("ISBN-L3", "Clean Code", "R.C. Martin", 2008);
+        biblioteca.adicionarLivro(livro3);
+        assertEquals(3, catalogo.size());
+        assertSame(livro3, catalogo.get(2));
+        assertTrue(catalogo.contains(livro3));
+        assertThrows(UnsupportedOperationException.class, () -> catalogo.remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> membros.add(membro1));
+        assertThrows(UnsupportedOperationException.class, () -> {
+            Iterator<Livro> cursor = catalogo.iterator();
+            cursor.next();
+            cursor.remove();
+        });
+    }
 }
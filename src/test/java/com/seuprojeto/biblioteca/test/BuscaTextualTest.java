@@ -0,0 +1,127 @@
+package com.seuprojeto.biblioteca.test;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.service.Biblioteca;
+import com.seuprojeto.biblioteca.service.ModoCatalogo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para a Busca Textual da Biblioteca")
+class BuscaTextualTest {
+
+    private Biblioteca biblioteca;
+    private Livro domCasmurro;
+    private Livro memorias;
+    private Livro coracao;
+    private Livro historia;
+
+    @BeforeEach
+    void setUp() {
+        biblioteca = new Biblioteca();
+
+        domCasmurro = new Livro("L-1", "Dom Casmurro", "Machado de Assis", 1899);
+        memorias = new Livro("L-2", "Memórias Póstumas de Brás Cubas", "Machado de Assis", 1881);
+        coracao = new Livro("L-3", "A Hora da Estrela", "Clarice Lispector", 1977);
+        historia = new Livro("L-4", "História da Literatura: Machado e Outros", "Alfredo Bosi", 1970);
+
+        biblioteca.adicionarLivro(domCasmurro);
+        biblioteca.adicionarLivro(memorias);
+        biblioteca.adicionarLivro(coracao);
+        biblioteca.adicionarLivro(historia);
+    }
+
+    @Test
+    @DisplayName("Busca ignora acentos, maiúsculas e stopwords")
+    void testBuscaSemAcentos() {
+        assertEquals(List.of(memorias), biblioteca.buscarLivros("MEMORIAS postumas", 10));
+        assertEquals(List.of(memorias), biblioteca.buscarLivros("brás de cubas", 10));
+        assertEquals(List.of(historia), biblioteca.buscarLivros("historia", 10));
+        assertTrue(biblioteca.buscarLivros("inexistente", 10).isEmpty());
+        assertTrue(biblioteca.buscarLivros("de da", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Ocorrência no título pesa mais que no autor")
+    void testRanqueamento() {
+        List<Livro> resultado = biblioteca.buscarLivros("machado", 10);
+
+        assertEquals(3, resultado.size());
+        assertEquals(historia, resultado.get(0), "Título deve vir antes de autor.");
+        assertEquals(List.of(domCasmurro, memorias), resultado.subList(1, 3), "Empates seguem a ordem de inserção.");
+        assertEquals(1, biblioteca.buscarLivros("machado", 1).size());
+    }
+
+    @Test
+    @DisplayName("Autocompletar usa a última palavra como prefixo")
+    void testAutocompletar() {
+        assertEquals(List.of(domCasmurro, memorias), biblioteca.autocompletarLivros("machado ass", 10));
+        assertEquals(List.of(coracao), biblioteca.autocompletarLivros("clar", 10));
+        assertEquals(List.of(domCasmurro), biblioteca.autocompletarLivros("casm", 10));
+        assertTrue(biblioteca.autocompletarLivros("zz", 10).isEmpty());
+
+        assertEquals(List.of("Machado"), biblioteca.sugerirTermos("mach", 5));
+        assertEquals(List.of("Memórias"), biblioteca.sugerirTermos("memo", 5));
+    }
+
+    @Test
+    @DisplayName("Índice acompanha a remoção de livros")
+    void testRemocao() {
+        biblioteca.removerLivro(domCasmurro.getId());
+        biblioteca.removerLivro(memorias.getId());
+
+        assertEquals(List.of(historia), biblioteca.buscarLivros("machado", 10));
+        assertTrue(biblioteca.autocompletarLivros("assi", 10).isEmpty());
+        assertTrue(biblioteca.sugerirTermos("assis", 5).isEmpty());
+
+        biblioteca.adicionarLivro(domCasmurro);
+        assertEquals(List.of(domCasmurro), biblioteca.buscarLivros("dom casmurro", 10));
+        assertTrue(biblioteca.getMemoriaIndiceTextualBytes() > 0);
+    }
+
+    @Test
+    @DisplayName("Índices são montados de uma vez na primeira busca e mantidos a cada mutação depois")
+    void testMontagemSobDemanda() {
+        for (ModoCatalogo modo : ModoCatalogo.values()) {
+            Biblioteca carga = new Biblioteca(false, modo);
+            for (int i = 0; i < 1_000; i++) {
+                carga.adicionarLivro(new Livro("C-" + i, "Volume " + i, i % 2 == 0 ? "Machado de Assis" : "Outro", 1900 + i % 50));
+            }
+            carga.removerLivro("C-0");
+            assertFalse(carga.isIndicesMontados(), modo.name());
+            assertEquals(0, carga.getMemoriaIndiceTextualBytes(), modo.name());
+
+            assertEquals(499, carga.buscarLivros("machado", 1_000).size(), modo.name());
+            assertTrue(carga.isIndicesMontados(), modo.name());
+            assertEquals(List.of("C-998"), ids(carga.buscarLivros("volume 998", 10)));
+
+            carga.adicionarLivro(new Livro("C-novo", "Volume Novo", "Machado de Assis", 1901));
+            carga.removerLivro("C-2");
+            assertEquals(499, carga.buscarLivrosPorAutor("machado de assis", false, 1_000).size(), modo.name());
+            assertEquals(List.of("C-novo"), ids(carga.autocompletarLivros("volume nov", 10)), modo.name());
+        }
+
+        Biblioteca explicita = new Biblioteca();
+        explicita.adicionarLivro(new Livro("E-1", "Vidas Secas", "Graciliano Ramos", 1938));
+        explicita.montarIndices();
+        assertTrue(explicita.isIndicesMontados());
+        assertTrue(explicita.getMemoriaIndiceTextualBytes() > 0);
+        assertEquals(1, explicita.buscarLivrosPorAno(1930, 1940, true, 10).size());
+    }
+
+    private static List<String> ids(List<Livro> livros) {
+        return livros.stream().map(Livro::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Consulta nula (Exceção)")
+    void testConsultaNula() {
+        assertThrows(IllegalArgumentException.class, () -> biblioteca.buscarLivros(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> biblioteca.autocompletarLivros(null, 10));
+    }
+}
@@ -0,0 +1,190 @@
+package com.seuprojeto.biblioteca.test;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.service.Biblioteca;
+import com.seuprojeto.biblioteca.service.ModoCatalogo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para o Catálogo Colunar")
+class CatalogoColunarTest {
+
+    private Biblioteca biblioteca;
+
+    @BeforeEach
+    void setUp() {
+        biblioteca = new Biblioteca(false, ModoCatalogo.COLUNAR);
+        biblioteca.adicionarLivro(new Livro("L-1", "Dom Casmurro", "Machado de Assis", 1899));
+        biblioteca.adicionarLivro(new Livro("L-2", "Memórias Póstumas de Brás Cubas", "Machado de Assis", 1881));
+        biblioteca.adicionarLivro(new Livro("L-3", "Vidas Secas", "Graciliano Ramos", 1938));
+        biblioteca.registrarMembro(new Membro("M-1", "Carlos Dantas"));
+    }
+
+    @Test
+    @DisplayName("Guarda e devolve os campos do livro, inclusive texto acentuado")
+    void testCamposPreservados() {
+        Livro livro = biblioteca.buscarLivroPorId("L-2");
+
+        assertEquals(ModoCatalogo.COLUNAR, biblioteca.getModoCatalogo());
+        assertEquals("Memórias Póstumas de Brás Cubas", livro.getTitulo());
+        assertEquals("Machado de Assis", livro.getAutor());
+        assertEquals(1881, livro.getAnoPublicacao());
+        assertTrue(livro.isDisponivel());
+        assertNull(biblioteca.buscarLivroPorId("L-9"));
+    }
+
+    @Test
+    @DisplayName("As vistas são iguais ao livro original e entre si")
+    void testVistasIguais() {
+        Livro original = new Livro("L-4", "O Cortiço", "Aluísio Azevedo", 1890);
+        biblioteca.adicionarLivro(original);
+
+        Livro vista = biblioteca.buscarLivroPorId("L-4");
+        assertEquals(original, vista);
+        assertEquals(vista, original);
+        assertEquals(original.hashCode(), vista.hashCode());
+        assertEquals(vista, biblioteca.buscarLivroPorId("L-4"));
+    }
+
+    @Test
+    @DisplayName("Rejeita ID duplicado")
+    void testIdDuplicado() {
+        assertThrows(IllegalArgumentException.class,
+                () -> biblioteca.adicionarLivro(new Livro("L-1", "Outro", "Outro Autor", 2000)));
+        assertEquals(3, biblioteca.getCatalogoLivros().size());
+    }
+
+    @Test
+    @DisplayName("Empréstimo e devolução atualizam o bitmap de disponíveis")
+    void testEmprestimoEDevolucao() {
+        biblioteca.emprestarLivro("L-2", "M-1");
+
+        assertFalse(biblioteca.buscarLivroPorId("L-2").isDisponivel());
+        assertEquals(2, biblioteca.countDisponiveis());
+        assertEquals(List.of("L-1", "L-3"), ids(biblioteca.listarLivrosDisponiveis()));
+        assertEquals(List.of("L-2"), ids(biblioteca.listarLivrosEmprestadosPorMembro("M-1")));
+        assertThrows(IllegalStateException.class, () -> biblioteca.emprestarLivro("L-2", "M-1"));
+        assertThrows(IllegalArgumentException.class, () -> biblioteca.removerLivro("L-2"));
+
+        biblioteca.devolverLivro("L-2", "M-1");
+
+        assertTrue(biblioteca.buscarLivroPorId("L-2").isDisponivel());
+        assertEquals(3, biblioteca.countDisponiveis());
+        assertEquals(List.of("L-1", "L-2", "L-3"), ids(biblioteca.getLivrosDisponiveis()));
+        assertTrue(biblioteca.listarLivrosEmprestadosPorMembro("M-1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Remoção some do catálogo, das listagens e da busca; o ID pode voltar")
+    void testRemocao() {
+        biblioteca.removerLivro("L-1");
+
+        assertNull(biblioteca.buscarLivroPorId("L-1"));
+        assertEquals(List.of("L-2", "L-3"), ids(biblioteca.getCatalogoLivros()));
+        assertEquals(2, biblioteca.countDisponiveis());
+        assertEquals(List.of("L-2"), ids(biblioteca.buscarLivros("machado", 10)));
+
+        biblioteca.adicionarLivro(new Livro("L-1", "Quincas Borba", "Machado de Assis", 1891));
+        assertEquals("Quincas Borba", biblioteca.buscarLivroPorId("L-1").getTitulo());
+        assertEquals(List.of("L-2", "L-3", "L-1"), ids(biblioteca.getCatalogoLivros()));
+        assertEquals(2, biblioteca.buscarLivros("machado", 10).size());
+    }
+
+    @Test
+    @DisplayName("Paginação pula palavras inteiras do bitmap sem perder a ordem")
+    void testPaginacao() {
+        Biblioteca grande = new Biblioteca(false, ModoCatalogo.COLUNAR);
+        List<Livro> livros = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            livros.add(new Livro("G-" + i, "Título " + i, "Autor " + (i % 7), 1900 + i % 100));
+        }
+        grande.adicionarLivros(livros);
+        grande.registrarMembro(new Membro("M-1", "Carlos Dantas"));
+        for (int i = 0; i < 500; i += 3) {
+            grande.emprestarLivro("G-" + i, "M-1");
+        }
+
+        List<String> esperados = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            if (i % 3 != 0) {
+                esperados.add("G-" + i);
+            }
+        }
+        assertEquals(esperados.size(), grande.countDisponiveis());
+        assertEquals(esperados.subList(150, 170), ids(grande.listarLivrosDisponiveis(150, 20)));
+        assertEquals(esperados.subList(320, esperados.size()), ids(grande.listarLivrosDisponiveis(320, 100)));
+        assertTrue(grande.listarLivrosDisponiveis(1000, 10).isEmpty());
+        assertEquals(esperados, ids(grande.getLivrosDisponiveis()));
+        assertEquals(500, grande.getCatalogoLivros().size());
+    }
+
+    @Test
+    @DisplayName("Busca textual resolve as linhas do catálogo")
+    void testBuscaTextual() {
+        assertEquals(List.of("L-1", "L-2"), ids(biblioteca.buscarLivros("machado", 10)).stream().sorted().toList());
+        assertEquals(List.of("L-2"), ids(biblioteca.buscarLivros("memorias bras", 10)));
+        assertEquals(List.of("L-3"), ids(biblioteca.autocompletarLivros("vidas se", 10)));
+    }
+
+    @Test
+    @DisplayName("Empréstimos concorrentes mantêm o bitmap e a contagem consistentes")
+    void testConcorrente() throws Exception {
+        Biblioteca concorrente = new Biblioteca(true, ModoCatalogo.COLUNAR);
+        int livros = 2000;
+        for (int i = 0; i < livros; i++) {
+            concorrente.adicionarLivro(new Livro("C-" + i, "Título " + i, "Autor", 2000));
+        }
+        int threads = 8;
+        for (int t = 0; t < threads; t++) {
+            concorrente.registrarMembro(new Membro("M-" + t, "Membro " + t));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            tarefas.add(executor.submit(() -> {
+                // Cada thread empresta e devolve livros intercalados com os das outras (mesmas palavras do bitmap)
+                for (int i = thread; i < livros; i += threads) {
+                    concorrente.emprestarLivro("C-" + i, "M-" + thread);
+                }
+                for (int i = thread; i < livros; i += 2 * threads) {
+                    concorrente.devolverLivro("C-" + i, "M-" + thread);
+                }
+            }));
+        }
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        int esperados = livros / 2;
+        assertEquals(esperados, concorrente.countDisponiveis());
+        assertEquals(esperados, concorrente.listarLivrosDisponiveis().size());
+        int emprestados = 0;
+        for (Membro membro : concorrente.getListaMembros()) {
+            emprestados += membro.getLivrosEmprestados().size();
+        }
+        assertEquals(livros - esperados, emprestados);
+    }
+
+    private static List<String> ids(Iterable<Livro> livros) {
+        List<String> ids = new ArrayList<>();
+        for (Livro livro : livros) {
+            ids.add(livro.getId());
+        }
+        return ids;
+    }
+}
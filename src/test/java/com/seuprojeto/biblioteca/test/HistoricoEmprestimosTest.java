@@ -0,0 +1,229 @@
+package com.seuprojeto.biblioteca.test;
+
+import com.seuprojeto.biblioteca.historico.HistoricoEmprestimos;
+import com.seuprojeto.biblioteca.historico.RegistroEmprestimo;
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.service.Biblioteca;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para o Histórico de Empréstimos")
+class HistoricoEmprestimosTest {
+
+    private static final Instant INICIO = Instant.parse("2024-03-01T10:00:00.250Z");
+
+    private RelogioAjustavel relogio;
+    private HistoricoEmprestimos historico;
+    private Biblioteca biblioteca;
+
+    // Relógio parado que o teste adianta
+    private static final class RelogioAjustavel extends Clock {
+        private Instant agora;
+
+        RelogioAjustavel(Instant agora) {
+            this.agora = agora;
+        }
+
+        void adiantar(Duration duracao) {
+            agora = agora.plus(duracao);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zona) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return agora;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        relogio = new RelogioAjustavel(INICIO);
+        historico = new HistoricoEmprestimos(relogio, Duration.ofDays(14));
+        biblioteca = new Biblioteca();
+        biblioteca.adicionarOuvinte(historico);
+        for (int i = 1; i <= 5; i++) {
+            biblioteca.adicionarLivro(new Livro("L-" + i, "Livro " + i, "Autor " + i, 1900 + i));
+        }
+        biblioteca.registrarMembro(new Membro("M-1", "Carlos Dantas"));
+        biblioteca.registrarMembro(new Membro("M-2", "Mariana Lima"));
+    }
+
+    @Test
+    @DisplayName("Empréstimo e devolução gravam instantes e vencimento")
+    void testRegistro() {
+        biblioteca.emprestarLivro("L-1", "M-1");
+
+        RegistroEmprestimo aberto = historico.emprestimoEmAberto("L-1");
+        assertEquals("M-1", aberto.getIdMembro());
+        assertEquals(INICIO, aberto.getEmprestadoEm());
+        assertEquals(Instant.parse("2024-03-15T10:00:00Z"), aberto.getVencimento());
+        assertTrue(aberto.isAberto());
+
+        relogio.adiantar(Duration.ofDays(3));
+        biblioteca.devolverLivro("L-1", "M-1");
+
+        assertNull(historico.emprestimoEmAberto("L-1"));
+        RegistroEmprestimo devolvido = historico.historicoDoMembro("M-1", 10).get(0);
+        assertEquals(Instant.parse("2024-03-04T10:00:00Z"), devolvido.getDevolvidoEm());
+        assertFalse(devolvido.isAberto());
+        assertEquals(1, historico.getTotalRegistros());
+        assertEquals(0, historico.getQuantidadeAbertos());
+    }
+
+    @Test
+    @DisplayName("Histórico do membro vem do mais recente ao mais antigo, respeitando o limite")
+    void testHistoricoDoMembro() {
+        for (int vez = 0; vez < 3; vez++) {
+            biblioteca.emprestarLivro("L-1", "M-1");
+            biblioteca.emprestarLivro("L-2", "M-2");
+            relogio.adiantar(Duration.ofHours(1));
+            biblioteca.devolverLivro("L-1", "M-1");
+            biblioteca.devolverLivro("L-2", "M-2");
+        }
+        biblioteca.emprestarLivro("L-3", "M-1");
+
+        List<RegistroEmprestimo> doMembro = historico.historicoDoMembro("M-1", 10);
+        assertEquals(List.of("L-3", "L-1", "L-1", "L-1"),
+                doMembro.stream().map(RegistroEmprestimo::getIdLivro).collect(Collectors.toList()));
+        assertTrue(doMembro.get(0).isAberto());
+        assertTrue(doMembro.get(1).getEmprestadoEm().isAfter(doMembro.get(2).getEmprestadoEm()));
+        assertEquals(2, historico.historicoDoMembro("M-1", 2).size());
+        assertTrue(historico.historicoDoMembro("M-9", 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> historico.historicoDoMembro("M-1", -1));
+    }
+
+    @Test
+    @DisplayName("Atrasados aparecem ao alcançar o vencimento e saem ao serem devolvidos")
+    void testAtrasados() {
+        biblioteca.emprestarLivro("L-1", "M-1");
+        relogio.adiantar(Duration.ofDays(2));
+        biblioteca.emprestarLivro("L-2", "M-2");
+        assertTrue(historico.atrasados().isEmpty());
+
+        relogio.adiantar(Duration.ofDays(12).minusSeconds(1));
+        assertTrue(historico.atrasados().isEmpty());
+        relogio.adiantar(Duration.ofSeconds(1));
+        assertEquals(List.of("L-1"), ids(historico.atrasados()));
+
+        relogio.adiantar(Duration.ofDays(2));
+        assertEquals(List.of("L-1", "L-2"), ids(historico.atrasados()));
+        assertEquals(List.of("L-1"), ids(historico.atrasados(1)));
+        assertTrue(historico.atrasados().get(0).isAtrasado(relogio.instant()));
+
+        biblioteca.devolverLivro("L-1", "M-1");
+        assertEquals(List.of("L-2"), ids(historico.atrasados()));
+        assertEquals(1, historico.getQuantidadeAtrasados());
+    }
+
+    @Test
+    @DisplayName("Prazos longos (anos) descem pelos níveis da roda e vencem no segundo certo")
+    void testPrazoLongo() {
+        HistoricoEmprestimos longo = new HistoricoEmprestimos(relogio, Duration.ofDays(3 * 365));
+        biblioteca.adicionarOuvinte(longo);
+        biblioteca.emprestarLivro("L-1", "M-1");
+        Instant vencimento = longo.emprestimoEmAberto("L-1").getVencimento();
+
+        while (relogio.instant().plus(Duration.ofDays(40)).isBefore(vencimento)) {
+            relogio.adiantar(Duration.ofDays(40));
+            assertTrue(longo.atrasados().isEmpty());
+        }
+        relogio.adiantar(Duration.between(relogio.instant(), vencimento).minusSeconds(1));
+        assertTrue(longo.atrasados().isEmpty());
+        relogio.adiantar(Duration.ofSeconds(1));
+        assertEquals(List.of("L-1"), ids(longo.atrasados()));
+    }
+
+    @Test
+    @DisplayName("Atrasados conferem com uma varredura completa em carga aleatória")
+    void testAleatorioContraVarredura() {
+        Random aleatorio = new Random(42);
+        HistoricoEmprestimos aleatorioHistorico = new HistoricoEmprestimos(relogio, Duration.ofHours(30));
+        Biblioteca outra = new Biblioteca();
+        outra.adicionarOuvinte(aleatorioHistorico);
+        int quantidadeLivros = 300;
+        for (int i = 0; i < quantidadeLivros; i++) {
+            outra.adicionarLivro(new Livro("A-" + i, "Livro " + i, "Autor", 2000));
+        }
+        for (int m = 0; m < 20; m++) {
+            outra.registrarMembro(new Membro("N-" + m, "Membro " + m));
+        }
+        Map<String, String> comQuem = new HashMap<>();
+        Map<String, Instant> vencimentos = new HashMap<>();
+
+        for (int passo = 0; passo < 20_000; passo++) {
+            String idLivro = "A-" + aleatorio.nextInt(quantidadeLivros);
+            String idMembro = comQuem.get(idLivro);
+            if (idMembro == null) {
+                idMembro = "N-" + aleatorio.nextInt(20);
+                outra.emprestarLivro(idLivro, idMembro);
+                comQuem.put(idLivro, idMembro);
+                vencimentos.put(idLivro, aleatorioHistorico.emprestimoEmAberto(idLivro).getVencimento());
+            } else if (aleatorio.nextInt(3) == 0) {
+                outra.devolverLivro(idLivro, idMembro);
+                comQuem.remove(idLivro);
+                vencimentos.remove(idLivro);
+            }
+            relogio.adiantar(Duration.ofSeconds(aleatorio.nextInt(120)));
+            if (passo % 500 == 0) {
+                relogio.adiantar(Duration.ofHours(aleatorio.nextInt(20)));
+            }
+            if (passo % 97 == 0) {
+                Instant agora = relogio.instant();
+                List<String> esperados = vencimentos.entrySet().stream()
+                        .filter(entrada -> !agora.isBefore(entrada.getValue()))
+                        .map(Map.Entry::getKey).sorted().collect(Collectors.toList());
+                List<String> obtidos = new ArrayList<>(ids(aleatorioHistorico.atrasados()));
+                obtidos.sort(Comparator.naturalOrder());
+                assertEquals(esperados, obtidos, "passo " + passo);
+            }
+        }
+        assertEquals(comQuem.size(), aleatorioHistorico.getQuantidadeAbertos());
+    }
+
+    @Test
+    @DisplayName("Registros ocupam 28 bytes cada, em blocos")
+    void testMemoriaCompacta() {
+        HistoricoEmprestimos grande = new HistoricoEmprestimos(relogio, Duration.ofDays(14));
+        Livro livro = new Livro("G-1", "Grande", "Autor", 2000);
+        Membro membro = new Membro("G-M", "Membro");
+        for (int i = 0; i < 200_000; i++) {
+            grande.livroEmprestado(livro, membro);
+            grande.livroDevolvido(livro, membro);
+        }
+
+        assertEquals(200_000, grande.getTotalRegistros());
+        assertEquals(4L * 65_536 * 28, grande.getMemoriaRegistrosBytes());
+        assertEquals(3, grande.historicoDoMembro("G-M", 3).size());
+        assertThrows(IllegalArgumentException.class, () -> new HistoricoEmprestimos(relogio, Duration.ZERO));
+    }
+
+    private static List<String> ids(List<RegistroEmprestimo> registros) {
+        return registros.stream().map(RegistroEmprestimo::getIdLivro).collect(Collectors.toList());
+    }
+}
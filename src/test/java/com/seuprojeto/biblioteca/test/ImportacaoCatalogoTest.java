@@ -0,0 +1,154 @@
+package com.seuprojeto.biblioteca.test;
+
+import com.seuprojeto.biblioteca.importacao.FormatoCatalogo;
+import com.seuprojeto.biblioteca.importacao.ImportadorCatalogo;
+import com.seuprojeto.biblioteca.importacao.RelatorioImportacao;
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.service.Biblioteca;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para a Importação de Catálogo em Streaming")
+class ImportacaoCatalogoTest {
+
+    @TempDir
+    Path diretorio;
+
+    private Biblioteca biblioteca;
+
+    @BeforeEach
+    void setUp() {
+        biblioteca = new Biblioteca();
+        biblioteca.adicionarLivro(new Livro("L-0", "Já Existente", "Autor", 2000));
+    }
+
+    // Blocos minúsculos forçam registros cortados entre blocos e blocos que precisam crescer
+    private ImportadorCatalogo importador() {
+        return new ImportadorCatalogo(biblioteca, 3, 16, 2);
+    }
+
+    @Test
+    @DisplayName("CSV com aspas, quebras de linha e colunas extras")
+    void testCsv() throws IOException {
+        Path arquivo = escrever("catalogo.csv",
+                "﻿autor,id,extra,titulo,ano_publicacao\r\n"
+                        + "Machado de Assis,L-1,x,Dom Casmurro,1899\r\n"
+                        + "\"Assis, Machado de\",L-2,\"ignorado, com vírgula\",\"Memórias \"\"Póstumas\"\"\",1881\n"
+                        + "\n"
+                        + "Clarice Lispector,L-3,,\"A Hora\nda Estrela\",1977\n"
+                        + "Graciliano Ramos,L-4,,Vidas Secas,1938");
+
+        RelatorioImportacao relatorio = importador().importar(arquivo, FormatoCatalogo.CSV);
+
+        assertEquals(4, relatorio.getRegistrosLidos());
+        assertEquals(4, relatorio.getLivrosImportados());
+        assertEquals(0, relatorio.getRejeitados());
+        assertEquals("Assis, Machado de", biblioteca.buscarLivroPorId("L-2").getAutor());
+        assertEquals("Memórias \"Póstumas\"", biblioteca.buscarLivroPorId("L-2").getTitulo());
+        assertEquals("A Hora\nda Estrela", biblioteca.buscarLivroPorId("L-3").getTitulo());
+        assertEquals(1938, biblioteca.buscarLivroPorId("L-4").getAnoPublicacao());
+        assertEquals(List.of("L-0", "L-1", "L-2", "L-3", "L-4"),
+                biblioteca.getCatalogoLivros().stream().map(Livro::getId).toList(), "Livros entram na ordem do arquivo.");
+    }
+
+    @Test
+    @DisplayName("Registros inválidos são rejeitados com a linha e o motivo")
+    void testRejeicoes() throws IOException {
+        Path arquivo = escrever("catalogo.csv",
+                "id;titulo;autor;anoPublicacao\n"
+                        + "L-1;Dom Casmurro;Machado de Assis;1899\n"
+                        + "L-2;Sem Ano;Autor;mil\n"
+                        + "L-3;Ano Zero;Autor;0\n"
+                        + "L-4;;Autor;1950\n"
+                        + "L-5;Poucas Colunas\n"
+                        + "L-0;Duplicado;Autor;1990\n"
+                        + "L-1;Duplicado no Arquivo;Autor;1991\n"
+                        + "L-6;\"Aspas abertas;Autor;1992\n"
+                        + "L-7;Última;Autor;1993\n");
+
+        RelatorioImportacao relatorio = importador().importar(arquivo, FormatoCatalogo.CSV);
+
+        assertEquals(8, relatorio.getRegistrosLidos());
+        assertEquals(1, relatorio.getLivrosImportados());
+        assertEquals(7, relatorio.getRejeitados());
+        assertEquals(List.of(3L, 4L, 5L, 6L, 7L, 8L, 9L),
+                relatorio.getRejeicoes().stream().map(RelatorioImportacao.LinhaRejeitada::getLinha).toList());
+        assertTrue(relatorio.getRejeicoes().get(0).getMotivo().contains("mil"));
+        assertTrue(relatorio.getRejeicoes().get(3).getMotivo().contains("colunas"));
+        assertEquals("Dom Casmurro", biblioteca.buscarLivroPorId("L-1").getTitulo());
+        assertNull(biblioteca.buscarLivroPorId("L-7"), "Aspas sem fechamento engolem o resto do arquivo.");
+    }
+
+    @Test
+    @DisplayName("JSON lines com escapes e chaves desconhecidas")
+    void testJsonLinhas() throws IOException {
+        Path arquivo = escrever("catalogo.jsonl",
+                "{\"id\": \"L-1\", \"titulo\": \"Dom Casmurro\", \"autor\": \"Machado de Assis\", \"anoPublicacao\": 1899}\n"
+                        + "{\"extra\": {\"lista\": [1, \"}\", {\"a\": null}]}, \"id\":\"L-2\",\"titulo\":\"Mem\\u00f3rias \\\"P\\u00f3stumas\\\"\",\"autor\":\"Machado\",\"anoPublicacao\":\"1881\"}\n"
+                        + "   \n"
+                        + "{\"id\": \"L-3\", \"titulo\": \"Emoji \\ud83d\\udcda\", \"autor\": \"Autora\", \"anoPublicacao\": 2020, \"ativo\": true}\n"
+                        + "{\"id\": \"L-4\", \"titulo\": null, \"autor\": \"Autor\", \"anoPublicacao\": 1900}\n"
+                        + "{\"id\": \"L-5\", \"titulo\": \"Ano Fracionário\", \"autor\": \"Autor\", \"anoPublicacao\": 19.5}\n"
+                        + "não é json\n"
+                        + "{\"id\": \"L-6\", \"titulo\": \"Sem Quebra Final\", \"autor\": \"Autor\", \"anoPublicacao\": 2001}");
+
+        RelatorioImportacao relatorio = importador().importar(arquivo, FormatoCatalogo.JSON_LINHAS);
+
+        assertEquals(7, relatorio.getRegistrosLidos());
+        assertEquals(4, relatorio.getLivrosImportados());
+        assertEquals(List.of(5L, 6L, 7L),
+                relatorio.getRejeicoes().stream().map(RelatorioImportacao.LinhaRejeitada::getLinha).toList());
+        assertEquals("Memórias \"Póstumas\"", biblioteca.buscarLivroPorId("L-2").getTitulo());
+        assertEquals(1881, biblioteca.buscarLivroPorId("L-2").getAnoPublicacao());
+        assertEquals("Emoji 📚", biblioteca.buscarLivroPorId("L-3").getTitulo());
+        assertEquals("Sem Quebra Final", biblioteca.buscarLivroPorId("L-6").getTitulo());
+    }
+
+    @Test
+    @DisplayName("Arquivo grande é importado inteiro e na ordem")
+    void testArquivoGrande() throws IOException {
+        Path arquivo = diretorio.resolve("grande.csv");
+        try (BufferedWriter escritor = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+            escritor.write("id,titulo,autor,anoPublicacao\n");
+            for (int i = 1; i <= 100_000; i++) {
+                escritor.write("G-" + i + ",\"Título, número " + i + "\",Autor " + (i % 100) + "," + (1900 + i % 120) + "\n");
+            }
+        }
+
+        RelatorioImportacao relatorio = new ImportadorCatalogo(biblioteca, 4, 4096, 512)
+                .importar(arquivo, FormatoCatalogo.CSV);
+
+        assertEquals(100_000, relatorio.getLivrosImportados());
+        assertEquals(0, relatorio.getRejeitados());
+        assertTrue(relatorio.getRegistrosPorSegundo() > 0);
+        assertEquals("Título, número 77777", biblioteca.buscarLivroPorId("G-77777").getTitulo());
+        assertEquals("G-100000", biblioteca.getCatalogoLivros().stream().reduce((a, b) -> b).orElseThrow().getId());
+    }
+
+    @Test
+    @DisplayName("Cabeçalho sem as colunas obrigatórias e arquivo inexistente (Exceção)")
+    void testErros() throws IOException {
+        Path semColunas = escrever("ruim.csv", "id,nome\nL-1,X\n");
+
+        assertThrows(IllegalArgumentException.class, () -> importador().importar(semColunas, FormatoCatalogo.CSV));
+        assertThrows(NoSuchFileException.class,
+                () -> importador().importar(diretorio.resolve("inexistente.csv"), FormatoCatalogo.CSV));
+        assertThrows(IllegalArgumentException.class, () -> new ImportadorCatalogo(biblioteca, 0, 16, 2));
+    }
+
+    private Path escrever(String nome, String conteudo) throws IOException {
+        return Files.writeString(diretorio.resolve(nome), conteudo, StandardCharsets.UTF_8);
+    }
+}
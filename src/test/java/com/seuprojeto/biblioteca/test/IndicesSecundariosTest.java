@@ -0,0 +1,211 @@
+package com.seuprojeto.biblioteca.test;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.service.Biblioteca;
+import com.seuprojeto.biblioteca.service.ModoCatalogo;
+import com.seuprojeto.biblioteca.service.PaginaLivros;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para as Consultas por Ano e Autor")
+class IndicesSecundariosTest {
+
+    private Biblioteca criar(ModoCatalogo modo) {
+        Biblioteca biblioteca = new Biblioteca(false, modo);
+        biblioteca.adicionarLivro(new Livro("L-1", "Dom Casmurro", "Machado de Assis", 1899));
+        biblioteca.adicionarLivro(new Livro("L-2", "Vidas Secas", "Graciliano Ramos", 1938));
+        biblioteca.adicionarLivro(new Livro("L-3", "Iracema", "José de Alencar", 1865));
+        biblioteca.adicionarLivro(new Livro("L-4", "Quincas Borba", "Machado de Assis", 1891));
+        biblioteca.adicionarLivro(new Livro("L-5", "São Bernardo", "Graciliano Ramos", 1934));
+        biblioteca.adicionarLivro(new Livro("L-6", "O Guarani", "José de Alencar", 1857));
+        biblioteca.registrarMembro(new Membro("M-1", "Carlos Dantas"));
+        return biblioteca;
+    }
+
+    @Test
+    @DisplayName("Intervalo de anos em ordem de ano, com e sem os emprestados")
+    void testPorAno() {
+        for (ModoCatalogo modo : ModoCatalogo.values()) {
+            porAno(modo);
+        }
+    }
+
+    private void porAno(ModoCatalogo modo) {
+        Biblioteca biblioteca = criar(modo);
+
+        assertEquals(List.of("L-6", "L-3", "L-4", "L-1"), ids(biblioteca.buscarLivrosPorAno(1800, 1900, false, 10)));
+        assertEquals(List.of("L-5"), ids(biblioteca.buscarLivrosPorAno(1934, 1934, false, 10)));
+        assertEquals(List.of("L-6", "L-3"), ids(biblioteca.buscarLivrosPorAno(1800, 1900, false, 2)));
+        assertTrue(biblioteca.buscarLivrosPorAno(1950, 2020, false, 10).isEmpty());
+
+        biblioteca.emprestarLivro("L-3", "M-1");
+        assertEquals(List.of("L-6", "L-4", "L-1"), ids(biblioteca.buscarLivrosPorAno(1800, 1900, true, 10)));
+        assertEquals(4, biblioteca.buscarLivrosPorAno(1800, 1900, false, 10).size());
+
+        assertThrows(IllegalArgumentException.class, () -> biblioteca.buscarLivrosPorAno(1900, 1800, false, 10));
+        assertThrows(IllegalArgumentException.class, () -> biblioteca.buscarLivrosPorAno(1800, 1900, false, -1));
+    }
+
+    @Test
+    @DisplayName("Autor comparado sem acentos, maiúsculas nem espaços repetidos")
+    void testPorAutor() {
+        for (ModoCatalogo modo : ModoCatalogo.values()) {
+            porAutor(modo);
+        }
+    }
+
+    private void porAutor(ModoCatalogo modo) {
+        Biblioteca biblioteca = criar(modo);
+
+        assertEquals(List.of("L-3", "L-6"), ids(biblioteca.buscarLivrosPorAutor("  jose  de ALENCAR ", false, 10)));
+        assertEquals(List.of("L-1", "L-4"), ids(biblioteca.buscarLivrosPorAutor("Machado de Assis", false, 10)));
+        assertTrue(biblioteca.buscarLivrosPorAutor("Machado", false, 10).isEmpty());
+
+        biblioteca.emprestarLivro("L-1", "M-1");
+        assertEquals(List.of("L-4"), ids(biblioteca.buscarLivrosPorAutor("machado de assis", true, 10)));
+        assertThrows(IllegalArgumentException.class, () -> biblioteca.buscarLivrosPorAutor(null, false, 10));
+    }
+
+    @Test
+    @DisplayName("Livros removidos saem dos índices")
+    void testRemocao() {
+        for (ModoCatalogo modo : ModoCatalogo.values()) {
+            remocao(modo);
+        }
+    }
+
+    private void remocao(ModoCatalogo modo) {
+        Biblioteca biblioteca = criar(modo);
+        biblioteca.removerLivro("L-4");
+        biblioteca.removerLivro("L-2");
+
+        assertEquals(List.of("L-6", "L-3", "L-1", "L-5"), ids(biblioteca.buscarLivrosPorAno(1800, 1950, false, 10)));
+        assertEquals(List.of("L-1"), ids(biblioteca.buscarLivrosPorAutor("Machado de Assis", false, 10)));
+        assertEquals(List.of("L-5"), ids(biblioteca.buscarLivrosPorAutor("Graciliano Ramos", false, 10)));
+
+        biblioteca.adicionarLivro(new Livro("L-4", "Quincas Borba", "Machado de Assis", 1891));
+        assertEquals(List.of("L-1", "L-4"), ids(biblioteca.buscarLivrosPorAutor("Machado de Assis", false, 10)));
+    }
+
+    @Test
+    @DisplayName("Consultas conferem com uma varredura do catálogo em carga aleatória")
+    void testAleatorioContraVarredura() {
+        for (ModoCatalogo modo : ModoCatalogo.values()) {
+            aleatorioContraVarredura(modo);
+        }
+    }
+
+    private void aleatorioContraVarredura(ModoCatalogo modo) {
+        Random aleatorio = new Random(7);
+        Biblioteca biblioteca = new Biblioteca(false, modo);
+        biblioteca.registrarMembro(new Membro("M-1", "Carlos Dantas"));
+        Map<String, Livro> presentes = new LinkedHashMap<>();
+        List<String> emprestados = new ArrayList<>();
+        int proximo = 0;
+
+        for (int passo = 0; passo < 6_000; passo++) {
+            int operacao = aleatorio.nextInt(10);
+            if (operacao < 5 || presentes.isEmpty()) {
+                Livro livro = new Livro("A-" + proximo++, "Livro", "Autor " + aleatorio.nextInt(30),
+                        1950 + aleatorio.nextInt(60));
+                biblioteca.adicionarLivro(livro);
+                presentes.put(livro.getId(), livro);
+            } else {
+                List<String> ids = new ArrayList<>(presentes.keySet());
+                String id = ids.get(aleatorio.nextInt(ids.size()));
+                if (emprestados.remove(id)) {
+                    biblioteca.devolverLivro(id, "M-1");
+                } else if (operacao < 8) {
+                    biblioteca.emprestarLivro(id, "M-1");
+                    emprestados.add(id);
+                } else {
+                    biblioteca.removerLivro(id);
+                    presentes.remove(id);
+                }
+            }
+            if (passo % 250 == 0) {
+                int de = 1950 + aleatorio.nextInt(60);
+                int ate = de + aleatorio.nextInt(15);
+                boolean somenteDisponiveis = aleatorio.nextBoolean();
+                // Dentro do mesmo ano a ordem é a das linhas do catálogo, que o modo objetos reaproveita
+                Comparator<Livro> porAnoEId = Comparator.comparingInt(Livro::getAnoPublicacao).thenComparing(Livro::getId);
+                List<String> esperadoAno = presentes.values().stream()
+                        .filter(l -> l.getAnoPublicacao() >= de && l.getAnoPublicacao() <= ate)
+                        .filter(l -> !somenteDisponiveis || !emprestados.contains(l.getId()))
+                        .sorted(porAnoEId)
+                        .map(Livro::getId).collect(Collectors.toList());
+                List<Livro> porAno = biblioteca.buscarLivrosPorAno(de, ate, somenteDisponiveis, Integer.MAX_VALUE);
+                for (int i = 1; i < porAno.size(); i++) {
+                    assertTrue(porAno.get(i - 1).getAnoPublicacao() <= porAno.get(i).getAnoPublicacao(), "passo " + passo);
+                }
+                assertEquals(esperadoAno, porAno.stream().sorted(porAnoEId).map(Livro::getId).collect(Collectors.toList()),
+                        "passo " + passo);
+
+                String autor = "Autor " + aleatorio.nextInt(30);
+                List<String> esperadoAutor = presentes.values().stream()
+                        .filter(l -> l.getAutor().equals(autor))
+                        .filter(l -> !somenteDisponiveis || !emprestados.contains(l.getId()))
+                        .map(Livro::getId).sorted().collect(Collectors.toList());
+                assertEquals(esperadoAutor, ids(biblioteca.buscarLivrosPorAutor(autor, somenteDisponiveis, Integer.MAX_VALUE))
+                        .stream().sorted().collect(Collectors.toList()), "passo " + passo);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Inserir e remover sem parar reaproveita as linhas do catálogo, sem resultados antigos nos índices")
+    void testRotatividadeReaproveitaLinhas() {
+        Biblioteca biblioteca = new Biblioteca(false, ModoCatalogo.OBJETOS);
+        for (int i = 0; i < 1_000; i++) {
+            biblioteca.adicionarLivro(rotativo(i));
+        }
+        biblioteca.montarIndices();
+        int proximo = 1_000;
+        while (proximo < 50_000) {
+            if (proximo % 5_000 == 0) {
+                // Um lote também toma as linhas livres primeiro
+                List<Livro> lote = new ArrayList<>();
+                for (int i = 0; i < 100; i++, proximo++) {
+                    biblioteca.removerLivro("R-" + (proximo - 1_000));
+                    lote.add(rotativo(proximo));
+                }
+                assertEquals(100, biblioteca.adicionarLivros(lote).getSucessos());
+            } else {
+                biblioteca.removerLivro("R-" + (proximo - 1_000));
+                biblioteca.adicionarLivro(rotativo(proximo++));
+            }
+        }
+
+        // 1.000 livros vivos depois de 50.000 inserções: a última posição ocupada fica perto de 1.000
+        PaginaLivros pagina = biblioteca.paginarLivrosDisponiveis(PaginaLivros.INICIO, 999);
+        assertEquals(999, pagina.getLivros().size());
+        assertTrue(pagina.getProximoCursor() < 1_200, "última linha " + pagina.getProximoCursor());
+
+        List<Livro> porAutor = biblioteca.buscarLivrosPorAutor("Autor 3", false, Integer.MAX_VALUE);
+        assertEquals(100, porAutor.size());
+        assertTrue(porAutor.stream().allMatch(l -> Integer.parseInt(l.getId().substring(2)) >= 49_000));
+        assertEquals(20, biblioteca.buscarLivrosPorAno(1950, 1950, false, Integer.MAX_VALUE).size());
+        assertEquals(1_000, biblioteca.buscarLivros("rotativo", 5_000).size());
+        assertEquals(List.of("R-49999"), ids(biblioteca.buscarLivros("exemplar49999", 10)));
+        assertTrue(biblioteca.buscarLivros("exemplar48999", 10).isEmpty());
+    }
+
+    private static Livro rotativo(int numero) {
+        return new Livro("R-" + numero, "Rotativo exemplar" + numero, "Autor " + (numero % 10), 1950 + numero % 50);
+    }
+
+    private static List<String> ids(List<Livro> livros) {
+        return livros.stream().map(Livro::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,244 @@
+package com.seuprojeto.biblioteca.test;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.service.Biblioteca;
+import com.seuprojeto.biblioteca.service.InstantaneoBiblioteca;
+import com.seuprojeto.biblioteca.service.ModoCatalogo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para os Instantâneos da Biblioteca")
+class InstantaneoBibliotecaTest {
+
+    private Biblioteca biblioteca;
+
+    @BeforeEach
+    void setUp() {
+        biblioteca = new Biblioteca(true);
+        biblioteca.adicionarLivro(new Livro("L-1", "Dom Casmurro", "Machado de Assis", 1899));
+        biblioteca.adicionarLivro(new Livro("L-2", "Vidas Secas", "Graciliano Ramos", 1938));
+        biblioteca.adicionarLivro(new Livro("L-3", "Iracema", "José de Alencar", 1865));
+        biblioteca.registrarMembro(new Membro("M-1", "Carlos Dantas"));
+        biblioteca.registrarMembro(new Membro("M-2", "Mariana Lima"));
+    }
+
+    @Test
+    @DisplayName("Desligados por padrão; ativar monta a versão inicial com o estado atual")
+    void testAtivar() {
+        biblioteca.emprestarLivro("L-1", "M-1");
+        assertThrows(IllegalStateException.class, () -> biblioteca.instantaneo());
+
+        InstantaneoBiblioteca inicial = biblioteca.ativarInstantaneos();
+
+        assertSame(inicial, biblioteca.instantaneo());
+        assertEquals(3, inicial.quantidadeLivros());
+        assertEquals(2, inicial.countDisponiveis());
+        assertFalse(inicial.buscarLivroPorId("L-1").isDisponivel());
+        assertEquals(List.of("L-1"), ids(inicial.listarLivrosEmprestadosPorMembro("M-1")));
+        assertEquals(2, inicial.quantidadeMembros());
+
+        biblioteca.desativarInstantaneos();
+        assertThrows(IllegalStateException.class, () -> biblioteca.instantaneo());
+    }
+
+    @Test
+    @DisplayName("Uma versão não muda depois de publicada; a seguinte traz as mutações")
+    void testPontoNoTempo() {
+        InstantaneoBiblioteca antes = biblioteca.ativarInstantaneos();
+
+        biblioteca.emprestarLivro("L-2", "M-2");
+        biblioteca.adicionarLivro(new Livro("L-4", "O Cortiço", "Aluísio Azevedo", 1890));
+        biblioteca.removerLivro("L-3");
+        biblioteca.registrarMembro(new Membro("M-3", "Paulo Freire"));
+        InstantaneoBiblioteca depois = biblioteca.instantaneo();
+
+        assertTrue(antes.buscarLivroPorId("L-2").isDisponivel());
+        assertTrue(antes.listarLivrosEmprestadosPorMembro("M-2").isEmpty());
+        assertNull(antes.buscarLivroPorId("L-4"));
+        assertNotNull(antes.buscarLivroPorId("L-3"));
+        assertFalse(antes.existeMembro("M-3"));
+
+        assertFalse(depois.buscarLivroPorId("L-2").isDisponivel());
+        assertEquals(List.of("L-2"), ids(depois.listarLivrosEmprestadosPorMembro("M-2")));
+        assertNotNull(depois.buscarLivroPorId("L-4"));
+        assertNull(depois.buscarLivroPorId("L-3"));
+        assertTrue(depois.existeMembro("M-3"));
+        assertEquals(antes.getVersao() + 4, depois.getVersao());
+
+        biblioteca.devolverLivro("L-2", "M-2");
+        assertFalse(depois.buscarLivroPorId("L-2").isDisponivel());
+        assertTrue(biblioteca.instantaneo().buscarLivroPorId("L-2").isDisponivel());
+    }
+
+    @Test
+    @DisplayName("Livros do instantâneo são cópias congeladas")
+    void testLivrosCongelados() {
+        InstantaneoBiblioteca instantaneo = biblioteca.ativarInstantaneos();
+        Livro livro = instantaneo.buscarLivroPorId("L-1");
+
+        assertEquals(biblioteca.buscarLivroPorId("L-1"), livro);
+        assertEquals("Dom Casmurro", livro.getTitulo());
+        assertThrows(UnsupportedOperationException.class, livro::marcarComoEmprestado);
+        assertThrows(UnsupportedOperationException.class, () -> instantaneo.getLivros().clear());
+        assertThrows(IllegalArgumentException.class, () -> instantaneo.listarLivrosEmprestadosPorMembro("M-9"));
+    }
+
+    @Test
+    @DisplayName("Páginas de disponíveis cobrem a listagem completa, sem repetir, também no modo colunar")
+    void testPaginas() {
+        for (ModoCatalogo modo : ModoCatalogo.values()) {
+            Biblioteca grande = new Biblioteca(false, modo);
+            grande.registrarMembro(new Membro("M-1", "Carlos Dantas"));
+            for (int i = 0; i < 5_000; i++) {
+                grande.adicionarLivro(new Livro("G-" + i, "Volume " + i, "Autor", 2000));
+            }
+            InstantaneoBiblioteca vazio = grande.ativarInstantaneos();
+            for (int i = 0; i < 5_000; i += 3) {
+                grande.emprestarLivro("G-" + i, "M-1");
+            }
+            for (int i = 1; i < 5_000; i += 7) {
+                if (i % 3 != 0) {
+                    grande.removerLivro("G-" + i);
+                }
+            }
+            InstantaneoBiblioteca instantaneo = grande.instantaneo();
+
+            List<Livro> todos = instantaneo.listarLivrosDisponiveis();
+            assertEquals(grande.countDisponiveis(), todos.size(), modo.name());
+            assertEquals(grande.countDisponiveis(), instantaneo.countDisponiveis());
+            assertEquals(new HashSet<>(grande.getLivrosDisponiveis()), new HashSet<>(todos));
+            List<Livro> paginado = new ArrayList<>();
+            for (int inicio = 0; inicio < todos.size(); inicio += 97) {
+                paginado.addAll(instantaneo.listarLivrosDisponiveis(inicio, 97));
+            }
+            assertEquals(todos, paginado);
+            assertEquals(1667, instantaneo.listarLivrosEmprestadosPorMembro("M-1").size());
+            assertEquals(grande.getCatalogoLivros().size(), instantaneo.getLivros().size());
+            assertEquals(5_000, vazio.countDisponiveis());
+        }
+    }
+
+    @Test
+    @DisplayName("IDs com o mesmo hashCode convivem no instantâneo")
+    void testColisaoDeHash() {
+        biblioteca.ativarInstantaneos();
+        List<String> colidentes = List.of("AaAa", "AaBB", "BBAa", "BBBB");
+        for (String id : colidentes) {
+            biblioteca.adicionarLivro(new Livro(id, "Colisão " + id, "Autor", 2000));
+        }
+        biblioteca.emprestarLivro("AaBB", "M-1");
+        biblioteca.removerLivro("BBAa");
+        biblioteca.removerLivro("AaAa");
+        InstantaneoBiblioteca instantaneo = biblioteca.instantaneo();
+
+        assertEquals("AaAa".hashCode(), "BBBB".hashCode());
+        assertNull(instantaneo.buscarLivroPorId("AaAa"));
+        assertNull(instantaneo.buscarLivroPorId("BBAa"));
+        assertTrue(instantaneo.buscarLivroPorId("BBBB").isDisponivel());
+        assertFalse(instantaneo.buscarLivroPorId("AaBB").isDisponivel());
+        assertEquals(5, instantaneo.quantidadeLivros());
+        assertEquals(5, instantaneo.getLivros().size());
+        assertEquals(4, instantaneo.listarLivrosDisponiveis().size());
+    }
+
+    @Test
+    @DisplayName("Com escritores concorrentes, cada versão é consistente entre livros e membros")
+    void testConsistenciaConcorrente() throws Exception {
+        Biblioteca concorrente = new Biblioteca(true);
+        int livros = 200;
+        int membros = 20;
+        for (int i = 0; i < livros; i++) {
+            concorrente.adicionarLivro(new Livro("C-" + i, "Livro " + i, "Autor", 2000));
+        }
+        for (int m = 0; m < membros; m++) {
+            concorrente.registrarMembro(new Membro("N-" + m, "Membro " + m));
+        }
+        concorrente.ativarInstantaneos();
+        AtomicBoolean parar = new AtomicBoolean();
+        AtomicReference<Throwable> erro = new AtomicReference<>();
+        AtomicLong concluidas = new AtomicLong();
+
+        List<Thread> escritores = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            long semente = t;
+            escritores.add(new Thread(() -> {
+                Random aleatorio = new Random(semente);
+                try {
+                    while (!parar.get()) {
+                        String idLivro = "C-" + aleatorio.nextInt(livros);
+                        String idMembro = "N-" + aleatorio.nextInt(membros);
+                        // Recusas (emprestado a outro membro, limite atingido) voltam como resultado, sem exceção
+                        if (concorrente.tentarEmprestar(idLivro, idMembro).isSucesso()
+                                || concorrente.tentarDevolver(idLivro, idMembro).isSucesso()) {
+                            concluidas.incrementAndGet();
+                        }
+                    }
+                } catch (Throwable e) {
+                    erro.compareAndSet(null, e);
+                }
+            }));
+        }
+        escritores.forEach(Thread::start);
+        long concluidasAntes = concluidas.get();
+        long concluidasDurante = 0;
+        try {
+            long versaoAnterior = -1;
+            long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            // Lê até ver os escritores avançarem de verdade enquanto as leituras acontecem
+            for (int leitura = 0; leitura < 2_000 || concluidasDurante < 1_000; leitura++) {
+                assertTrue(System.nanoTime() < limite, "Os escritores não avançaram durante as leituras.");
+                assertNull(erro.get());
+                concluidasDurante = concluidas.get() - concluidasAntes;
+                InstantaneoBiblioteca instantaneo = concorrente.instantaneo();
+                assertTrue(instantaneo.getVersao() >= versaoAnterior);
+                versaoAnterior = instantaneo.getVersao();
+
+                Set<String> comMembros = new HashSet<>();
+                for (int m = 0; m < membros; m++) {
+                    for (Livro livro : instantaneo.listarLivrosEmprestadosPorMembro("N-" + m)) {
+                        assertTrue(comMembros.add(livro.getId()), "livro com dois membros: " + livro.getId());
+                        assertFalse(instantaneo.buscarLivroPorId(livro.getId()).isDisponivel());
+                    }
+                }
+                assertEquals(livros - instantaneo.countDisponiveis(), comMembros.size());
+                assertEquals(instantaneo.countDisponiveis(), instantaneo.listarLivrosDisponiveis().size());
+            }
+        } catch (Throwable e) {
+            erro.compareAndSet(null, e);
+        } finally {
+            parar.set(true);
+            for (Thread escritor : escritores) {
+                escritor.join();
+            }
+        }
+        if (erro.get() != null) {
+            throw new AssertionError(erro.get());
+        }
+        assertTrue(concluidasDurante >= 1_000, "operações concluídas durante as leituras: " + concluidasDurante);
+        InstantaneoBiblioteca fim = concorrente.instantaneo();
+        assertEquals(concorrente.countDisponiveis(), fim.countDisponiveis());
+        for (int m = 0; m < membros; m++) {
+            assertEquals(new HashSet<>(concorrente.listarLivrosEmprestadosPorMembro("N-" + m)),
+                    new HashSet<>(fim.listarLivrosEmprestadosPorMembro("N-" + m)));
+        }
+    }
+
+    private static List<String> ids(List<Livro> livros) {
+        return livros.stream().map(Livro::getId).collect(Collectors.toList());
+    }
+}
@@ -6,6 +6,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("Testes para a Entidade Membro")
@@ -36,11 +40,11 @@ class MembroTest {
     }
 
     @Test
-    @DisplayName("Teste de emprestarLivro - Livro j na lista (Exceo)")
+    @DisplayName("Teste de emprestarLivro - Livro já na lista (Exceção)")
     void testEmprestarLivro_LivroDuplicado() {
         membro.emprestarLivro(livro1);
         assertThrows(IllegalArgumentException.class, () -> membro.emprestarLivro(livro1),
-                "Deve lanar exceo se o livro j estiver na lista.");
+                "Deve lançar exceção se o livro já estiver na lista.");
     }
 
     @Test
@@ -52,17 +56,72 @@ class MembroTest {
     }
 
     @Test
-    @DisplayName("Teste de devolverLivro - Livro no emprestado (Exceo)")
+    @DisplayName("Teste de devolverLivro - Livro não emprestado (Exceção)")
     void testDevolverLivro_LivroNaoEmprestado() {
         assertThrows(IllegalArgumentException.class, () -> membro.devolverLivro(livro1),
-                "Deve lanar exceo se o livro no estiver na lista.");
+                "Deve lançar exceção se o livro não estiver na lista.");
     }
     
     @Test
-    @DisplayName("Teste de getLivrosEmprestados - Lista imutvel")
+    @DisplayName("Teste de getLivrosEmprestados - Lista imutável")
     void testGetLivrosEmprestados_Imutabilidade() {
         membro.emprestarLivro(livro1);
-        // Tenta modificar a lista retornada, deve lanar UnsupportedOperationException
+        // Tenta modificar a lista retornada, deve lançar UnsupportedOperationException
         assertThrows(UnsupportedOperationException.class, () -> membro.getLivrosEmprestados().clear());
     }
+
+    @Test
+    @DisplayName("Teste de quantidadeEmprestados e possuiLivro")
+    void testQuantidadeEPossuiLivro() {
+        Livro livro2 = new Livro("ISBN-102", "Livro Teste 2", "Autor Y", 2021);
+        assertEquals(0, membro.quantidadeEmprestados());
+        membro.emprestarLivro(livro1);
+        membro.emprestarLivro(livro2);
+
+        assertEquals(2, membro.quantidadeEmprestados());
+        assertTrue(membro.possuiLivro(livro1));
+        membro.devolverLivro(livro1);
+        assertFalse(membro.possuiLivro(livro1));
+        assertEquals(1, membro.quantidadeEmprestados());
+    }
+
+    @Test
+    @DisplayName("Teste de getLivrosEmprestados - Ordem dos empréstimos e mesma visão a cada chamada")
+    void testGetLivrosEmprestados_OrdemEVisao() {
+        Livro livro2 = new Livro("ISBN-102", "Livro Teste 2", "Autor Y", 2021);
+        Livro livro3 = new Livro("ISBN-103", "Livro Teste 3", "Autor Z", 2022);
+        List<Livro> visao = membro.getLivrosEmprestados();
+        membro.emprestarLivro(livro1);
+        membro.emprestarLivro(livro2);
+        membro.emprestarLivro(livro3);
+        membro.devolverLivro(livro2);
+
+        assertSame(visao, membro.getLivrosEmprestados());
+        assertEquals(List.of(livro1, livro3), visao);
+        assertEquals(List.of(livro1, livro3).hashCode(), visao.hashCode());
+        assertEquals(livro3, visao.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> visao.get(2));
+        assertThrows(UnsupportedOperationException.class, () -> visao.iterator().remove());
+        assertThrows(UnsupportedOperationException.class, () -> visao.removeIf(livro -> true));
+    }
+
+    @Test
+    @DisplayName("Teste de empréstimos em massa - custo por operação não depende da quantidade")
+    void testMuitosEmprestimos() {
+        List<Livro> livros = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            livros.add(new Livro("ISBN-" + i, "Livro " + i, "Autor", 2000));
+        }
+        // Com contains/remove lineares seriam ~5 bilhões de comparações
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            for (Livro livro : livros) {
+                membro.emprestarLivro(livro);
+            }
+            for (int i = livros.size() - 1; i >= 0; i -= 2) {
+                membro.devolverLivro(livros.get(i));
+            }
+        });
+        assertEquals(50_000, membro.quantidadeEmprestados());
+        assertEquals(livros.get(0), membro.getLivrosEmprestados().iterator().next());
+    }
 }
@@ -0,0 +1,216 @@
+package com.seuprojeto.biblioteca.test;
+
+import com.seuprojeto.biblioteca.metricas.HistogramaLatencia;
+import com.seuprojeto.biblioteca.metricas.InstantaneoMetricas;
+import com.seuprojeto.biblioteca.metricas.MetricasBiblioteca;
+import com.seuprojeto.biblioteca.metricas.OperacaoMedida;
+import com.seuprojeto.biblioteca.metricas.PublicadorMetricas;
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.service.Biblioteca;
+import com.seuprojeto.biblioteca.service.PedidoEmprestimo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para as Métricas da Biblioteca")
+class MetricasTest {
+
+    private Biblioteca biblioteca;
+
+    @BeforeEach
+    void setUp() {
+        biblioteca = new Biblioteca();
+        biblioteca.adicionarLivro(new Livro("L-1", "Dom Casmurro", "Machado de Assis", 1899));
+        biblioteca.adicionarLivro(new Livro("L-2", "Vidas Secas", "Graciliano Ramos", 1938));
+        biblioteca.registrarMembro(new Membro("M-1", "Carlos Dantas"));
+        biblioteca.registrarMembro(new Membro("M-2", "Mariana Lima"));
+    }
+
+    @Test
+    @DisplayName("Desligadas por padrão; ativar e desativar troca o objeto de métricas")
+    void testAtivarEDesativar() {
+        assertNull(biblioteca.getMetricas());
+        biblioteca.emprestarLivro("L-1", "M-1");
+
+        MetricasBiblioteca metricas = biblioteca.ativarMetricas();
+        assertSame(metricas, biblioteca.getMetricas());
+        assertEquals(0, metricas.getSucessos(OperacaoMedida.EMPRESTAR));
+
+        biblioteca.desativarMetricas();
+        biblioteca.devolverLivro("L-1", "M-1");
+        assertNull(biblioteca.getMetricas());
+        assertEquals(0, metricas.getSucessos(OperacaoMedida.DEVOLVER));
+    }
+
+    @Test
+    @DisplayName("Conta sucessos e falhas de cada operação, com o motivo da falha")
+    void testContadores() {
+        MetricasBiblioteca metricas = biblioteca.ativarMetricas();
+
+        biblioteca.emprestarLivro("L-1", "M-1");
+        assertThrows(IllegalStateException.class, () -> biblioteca.emprestarLivro("L-1", "M-2"));
+        assertThrows(IllegalArgumentException.class, () -> biblioteca.emprestarLivro("L-9", "M-1"));
+        assertThrows(IllegalArgumentException.class, () -> biblioteca.devolverLivro("L-1", "M-2"));
+        biblioteca.devolverLivro("L-1", "M-1");
+        biblioteca.buscarLivroPorId("L-2");
+        biblioteca.buscarLivroPorId("L-9");
+        biblioteca.listarLivrosDisponiveis();
+        biblioteca.listarLivrosDisponiveis(0, 1);
+        biblioteca.listarLivrosEmprestadosPorMembro("M-1");
+        assertThrows(IllegalArgumentException.class, () -> biblioteca.listarLivrosEmprestadosPorMembro("M-9"));
+
+        assertEquals(1, metricas.getSucessos(OperacaoMedida.EMPRESTAR));
+        assertEquals(2, metricas.getFalhas(OperacaoMedida.EMPRESTAR));
+        assertEquals(1, metricas.getFalhas(OperacaoMedida.EMPRESTAR, "LIVRO_INDISPONIVEL"));
+        assertEquals(1, metricas.getFalhas(OperacaoMedida.EMPRESTAR, "LIVRO_NAO_ENCONTRADO"));
+        assertEquals(1, metricas.getSucessos(OperacaoMedida.DEVOLVER));
+        assertEquals(1, metricas.getFalhas(OperacaoMedida.DEVOLVER, "LIVRO_NAO_ESTA_COM_MEMBRO"));
+        assertEquals(1, metricas.getSucessos(OperacaoMedida.BUSCAR_LIVRO));
+        assertEquals(1, metricas.getFalhas(OperacaoMedida.BUSCAR_LIVRO));
+        assertEquals(2, metricas.getSucessos(OperacaoMedida.LISTAR_DISPONIVEIS));
+        assertEquals(1, metricas.getSucessos(OperacaoMedida.LISTAR_EMPRESTADOS));
+        assertEquals(1, metricas.getFalhas(OperacaoMedida.LISTAR_EMPRESTADOS, "MEMBRO_NAO_ENCONTRADO"));
+    }
+
+    @Test
+    @DisplayName("Operações em lote contam cada item; buscas internas não contam como buscas")
+    void testLote() {
+        MetricasBiblioteca metricas = biblioteca.ativarMetricas();
+
+        biblioteca.emprestarLivros(List.of(new PedidoEmprestimo("L-1", "M-1"), new PedidoEmprestimo("L-2", "M-1"),
+                new PedidoEmprestimo("L-1", "M-2")));
+
+        assertEquals(2, metricas.getSucessos(OperacaoMedida.EMPRESTAR));
+        assertEquals(1, metricas.getFalhas(OperacaoMedida.EMPRESTAR, "LIVRO_INDISPONIVEL"));
+        assertEquals(0, metricas.getSucessos(OperacaoMedida.BUSCAR_LIVRO));
+    }
+
+    @Test
+    @DisplayName("Contagens exatas com muitas threads, inclusive as que já terminaram")
+    void testMuitasThreads() throws Exception {
+        MetricasBiblioteca metricas = biblioteca.ativarMetricas();
+        // Mais threads que posições na tabela de contadores, em levas: as encerradas liberam a posição
+        for (int leva = 0; leva < 6; leva++) {
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 500; t++) {
+                Thread thread = new Thread(() -> {
+                    for (int i = 0; i < 10; i++) {
+                        biblioteca.buscarLivroPorId("L-1");
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+
+        assertEquals(30_000, metricas.getSucessos(OperacaoMedida.BUSCAR_LIVRO));
+        assertEquals(30_000, metricas.getChamadas(OperacaoMedida.BUSCAR_LIVRO));
+    }
+
+    @Test
+    @DisplayName("Com amostragem 1 toda chamada entra no histograma de latência; a busca por ID só é contada")
+    void testLatenciaSemAmostragem() {
+        MetricasBiblioteca metricas = biblioteca.ativarMetricas(new MetricasBiblioteca(1));
+        for (int i = 0; i < 100; i++) {
+            biblioteca.emprestarLivro("L-1", "M-1");
+            biblioteca.devolverLivro("L-1", "M-1");
+            biblioteca.buscarLivroPorId("L-1");
+        }
+
+        assertEquals(100, metricas.getSucessos(OperacaoMedida.BUSCAR_LIVRO));
+        assertEquals(0, metricas.getLatencia(OperacaoMedida.BUSCAR_LIVRO).getQuantidade());
+        HistogramaLatencia.Resumo latencia = metricas.getLatencia(OperacaoMedida.EMPRESTAR);
+        assertEquals(100, latencia.getQuantidade());
+        assertTrue(latencia.percentil(50) <= latencia.percentil(99));
+        assertTrue(latencia.percentil(99) <= latencia.getMaximoNanos());
+        assertThrows(IllegalArgumentException.class, () -> new MetricasBiblioteca(0));
+    }
+
+    @Test
+    @DisplayName("Percentis do histograma têm erro relativo de no máximo ~3%")
+    void testPrecisaoHistograma() {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        for (long valor = 1; valor <= 100_000; valor++) {
+            histograma.registrar(valor * 1_000);
+        }
+        HistogramaLatencia.Resumo resumo = histograma.resumo();
+
+        assertEquals(100_000, resumo.getQuantidade());
+        assertEquals(100_000_000, resumo.getMaximoNanos());
+        assertEquals(50_000_500, resumo.getMediaNanos());
+        assertEquals(50_000_000, resumo.percentil(50), 50_000_000 * 0.032);
+        assertEquals(99_000_000, resumo.percentil(99), 99_000_000 * 0.032);
+        assertEquals(100_000_000, resumo.percentil(100));
+        assertEquals(0, new HistogramaLatencia().resumo().percentil(99));
+    }
+
+    @Test
+    @DisplayName("O instantâneo traz contadores, latências e os tamanhos do catálogo")
+    void testInstantaneo() {
+        MetricasBiblioteca metricas = biblioteca.ativarMetricas();
+        biblioteca.emprestarLivro("L-1", "M-1");
+        assertThrows(IllegalStateException.class, () -> biblioteca.emprestarLivro("L-1", "M-2"));
+
+        InstantaneoMetricas instantaneo = metricas.instantaneo();
+
+        assertEquals(1, instantaneo.get("emprestar.sucessos"));
+        assertEquals(1, instantaneo.get("emprestar.falhas.LIVRO_INDISPONIVEL"));
+        assertTrue(instantaneo.getValores().containsKey("devolver.latencia.p99Nanos"));
+        assertEquals(2, instantaneo.get("catalogo.livros"));
+        assertEquals(1, instantaneo.get("catalogo.disponiveis"));
+        assertEquals(2, instantaneo.get("membros"));
+        assertEquals(0, instantaneo.get("inexistente"));
+    }
+
+    @Test
+    @DisplayName("As métricas ficam visíveis pelo JMX")
+    void testJmx() throws Exception {
+        MetricasBiblioteca metricas = biblioteca.ativarMetricas();
+        ObjectName nome = metricas.registrarJmx("teste-jmx");
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        try {
+            biblioteca.emprestarLivro("L-1", "M-1");
+
+            assertEquals(1L, servidor.getAttribute(nome, "emprestar.sucessos"));
+            assertEquals(2L, servidor.getAttribute(nome, "catalogo.livros"));
+            assertTrue(servidor.getMBeanInfo(nome).getAttributes().length > 0);
+        } finally {
+            metricas.removerJmx("teste-jmx");
+        }
+        assertFalse(servidor.isRegistered(nome));
+    }
+
+    @Test
+    @DisplayName("O publicador envia instantâneos ao exportador e guarda a última falha")
+    void testPublicador() throws Exception {
+        MetricasBiblioteca metricas = biblioteca.ativarMetricas();
+        List<InstantaneoMetricas> recebidos = new CopyOnWriteArrayList<>();
+        biblioteca.emprestarLivro("L-1", "M-1");
+
+        try (PublicadorMetricas publicador = new PublicadorMetricas(metricas, recebidos::add, 1, TimeUnit.HOURS)) {
+            assertNull(publicador.getUltimaFalha());
+        }
+        assertEquals(1, recebidos.size());
+        assertEquals(1, recebidos.get(0).get("emprestar.sucessos"));
+
+        PublicadorMetricas comFalha = new PublicadorMetricas(metricas, instantaneo -> {
+            throw new IllegalStateException("destino fora do ar");
+        }, 1, TimeUnit.HOURS);
+        comFalha.close();
+        assertEquals("destino fora do ar", comFalha.getUltimaFalha().getMessage());
+    }
+}
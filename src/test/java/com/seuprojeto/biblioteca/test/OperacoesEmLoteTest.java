@@ -0,0 +1,186 @@
+package com.seuprojeto.biblioteca.test;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.persistencia.ModoDurabilidade;
+import com.seuprojeto.biblioteca.persistencia.Persistencia;
+import com.seuprojeto.biblioteca.service.Biblioteca;
+import com.seuprojeto.biblioteca.service.ModoCatalogo;
+import com.seuprojeto.biblioteca.service.PedidoEmprestimo;
+import com.seuprojeto.biblioteca.service.ResultadoLote;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para as Operações em Lote da Biblioteca")
+class OperacoesEmLoteTest {
+
+    private Biblioteca biblioteca;
+
+    @BeforeEach
+    void setUp() {
+        biblioteca = new Biblioteca();
+        biblioteca.adicionarLivro(new Livro("L-0", "Já Existente", "Autor", 2000));
+        biblioteca.registrarMembro(new Membro("M-1", "Carlos Dantas"));
+        biblioteca.registrarMembro(new Membro("M-2", "Mariana Lima"));
+    }
+
+    @Test
+    @DisplayName("Adicionar em lote registra falhas sem interromper o lote")
+    void testAdicionarLivros() {
+        List<Livro> lote = Arrays.asList(
+                new Livro("L-1", "Dom Casmurro", "Machado de Assis", 1899),
+                new Livro("L-0", "Duplicado no Catálogo", "Autor", 2001),
+                null,
+                new Livro("L-2", "Vidas Secas", "Graciliano Ramos", 1938),
+                new Livro("L-1", "Duplicado no Lote", "Autor", 2002));
+
+        ResultadoLote resultado = biblioteca.adicionarLivros(lote);
+
+        assertEquals(5, resultado.getTotal());
+        assertEquals(2, resultado.getSucessos());
+        assertFalse(resultado.isSemFalhas());
+        assertEquals(List.of(1, 2, 4), resultado.getFalhas().stream().map(ResultadoLote.Falha::getIndice).toList());
+        assertEquals("L-0", resultado.getFalhas().get(0).getId());
+        assertNull(resultado.getFalhas().get(1).getId());
+
+        assertEquals(3, biblioteca.getCatalogoLivros().size());
+        assertEquals("Dom Casmurro", biblioteca.buscarLivroPorId("L-1").getTitulo());
+        assertEquals(List.of(biblioteca.buscarLivroPorId("L-2")), biblioteca.buscarLivros("vidas secas", 10));
+        assertEquals(3, biblioteca.countDisponiveis());
+    }
+
+    @Test
+    @DisplayName("Emprestar e devolver em lote aplicam os pedidos válidos")
+    void testEmprestarEDevolverLivros() {
+        biblioteca.adicionarLivro(new Livro("L-1", "Dom Casmurro", "Machado de Assis", 1899));
+
+        ResultadoLote emprestimos = biblioteca.emprestarLivros(List.of(
+                new PedidoEmprestimo("L-0", "M-1"),
+                new PedidoEmprestimo("L-0", "M-2"),
+                new PedidoEmprestimo("L-9", "M-1"),
+                new PedidoEmprestimo("L-1", "M-9"),
+                new PedidoEmprestimo("L-1", "M-2")));
+
+        assertEquals(2, emprestimos.getSucessos());
+        assertEquals(List.of(1, 2, 3), emprestimos.getFalhas().stream().map(ResultadoLote.Falha::getIndice).toList());
+        assertEquals(List.of(biblioteca.buscarLivroPorId("L-0")), biblioteca.listarLivrosEmprestadosPorMembro("M-1"));
+        assertEquals(0, biblioteca.countDisponiveis());
+
+        ResultadoLote devolucoes = biblioteca.devolverLivros(List.of(
+                new PedidoEmprestimo("L-1", "M-1"),
+                new PedidoEmprestimo("L-0", "M-1"),
+                new PedidoEmprestimo("L-0", "M-1")));
+
+        assertEquals(1, devolucoes.getSucessos());
+        assertEquals(List.of(0, 2), devolucoes.getFalhas().stream().map(ResultadoLote.Falha::getIndice).toList());
+        assertTrue(biblioteca.buscarLivroPorId("L-0").isDisponivel());
+        assertFalse(biblioteca.buscarLivroPorId("L-1").isDisponivel(), "Pedido com o membro errado não devolve o livro.");
+    }
+
+    @Test
+    @DisplayName("Lote agrupado por faixa mantém a ordem das falhas e indexa os livros novos")
+    void testLoteAgrupadoPorFaixa() {
+        for (ModoCatalogo modo : ModoCatalogo.values()) {
+            Biblioteca concorrente = new Biblioteca(true, modo);
+            concorrente.registrarMembro(new Membro("M-1", "Carlos Dantas"));
+            concorrente.adicionarLivro(new Livro("L-0", "Já Existente", "Autor", 2000));
+            concorrente.montarIndices();
+
+            List<Livro> livros = new ArrayList<>();
+            List<Integer> repetidos = new ArrayList<>();
+            for (int i = 0; i < 2_000; i++) {
+                if (i % 100 == 99) {
+                    livros.add(new Livro("L-" + (i - 50), "Repetido " + i, "Autor", 2000));
+                    repetidos.add(i);
+                } else {
+                    livros.add(new Livro("L-" + i, "Volume " + i, "Autor " + i % 10, 1900 + i % 100));
+                }
+            }
+            repetidos.add(0, 0); // L-0 já estava no catálogo
+
+            ResultadoLote resultado = concorrente.adicionarLivros(livros);
+
+            assertEquals(repetidos, resultado.getFalhas().stream().map(ResultadoLote.Falha::getIndice).toList(),
+                    modo.name());
+            assertEquals("Volume 49", concorrente.buscarLivroPorId("L-49").getTitulo(), modo.name());
+            assertEquals(List.of("L-1234"), concorrente.buscarLivros("volume 1234", 10).stream()
+                    .map(Livro::getId).toList(), modo.name());
+            assertEquals(20, concorrente.buscarLivrosPorAno(1934, 1934, true, Integer.MAX_VALUE).size(), modo.name());
+
+            // Os IDs terminados em 99 não entraram (o lote trouxe repetidos no lugar deles)
+            List<PedidoEmprestimo> pedidos = new ArrayList<>();
+            List<Integer> recusados = new ArrayList<>();
+            for (int i = 1; i < 2_000; i += 2) {
+                if (i % 100 == 99) {
+                    recusados.add(pedidos.size());
+                }
+                pedidos.add(new PedidoEmprestimo("L-" + i, "M-1"));
+            }
+            recusados.add(pedidos.size());
+            pedidos.add(new PedidoEmprestimo("L-1", "M-1"));
+
+            ResultadoLote emprestimos = concorrente.emprestarLivros(pedidos);
+
+            assertEquals(recusados, emprestimos.getFalhas().stream().map(ResultadoLote.Falha::getIndice).toList(),
+                    modo.name());
+            assertEquals(980, concorrente.listarLivrosEmprestadosPorMembro("M-1").size(), modo.name());
+        }
+    }
+
+    @Test
+    @DisplayName("Operações individuais mantêm as exceções originais")
+    void testExcecoesIndividuais() {
+        biblioteca.emprestarLivro("L-0", "M-1");
+
+        IllegalStateException indisponivel = assertThrows(IllegalStateException.class,
+                () -> biblioteca.emprestarLivro("L-0", "M-2"));
+        assertTrue(indisponivel.getMessage().contains("não está disponível"));
+        assertThrows(IllegalArgumentException.class, () -> biblioteca.devolverLivro("L-0", "M-2"));
+        assertThrows(IllegalArgumentException.class, () -> biblioteca.emprestarLivro("L-9", "M-1"));
+        assertFalse(biblioteca.buscarLivroPorId("L-0").isDisponivel(), "Devolução recusada não altera o livro.");
+    }
+
+    @Test
+    @DisplayName("Lotes nulos (Exceção)")
+    void testLoteNulo() {
+        assertThrows(IllegalArgumentException.class, () -> biblioteca.adicionarLivros(null));
+        assertThrows(IllegalArgumentException.class, () -> biblioteca.emprestarLivros(null));
+        assertThrows(IllegalArgumentException.class, () -> biblioteca.devolverLivros(null));
+    }
+
+    @Test
+    @DisplayName("Lote com diário por operação é recuperado integralmente")
+    void testLoteComDiario(@TempDir Path diretorio) throws IOException {
+        List<Livro> livros = new ArrayList<>();
+        List<PedidoEmprestimo> pedidos = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            livros.add(new Livro("L-" + i, "Título " + i, "Autor " + i, 1900 + i % 100));
+            if (i % 2 == 0) {
+                pedidos.add(new PedidoEmprestimo("L-" + i, "M-1"));
+            }
+        }
+
+        try (Persistencia persistencia = Persistencia.abrir(diretorio, false, ModoDurabilidade.POR_OPERACAO)) {
+            persistencia.getBiblioteca().registrarMembro(new Membro("M-1", "Carlos Dantas"));
+            assertTrue(persistencia.getBiblioteca().adicionarLivros(livros).isSemFalhas());
+            assertTrue(persistencia.getBiblioteca().emprestarLivros(pedidos).isSemFalhas());
+        }
+
+        try (Persistencia persistencia = Persistencia.abrir(diretorio, false, ModoDurabilidade.POR_OPERACAO)) {
+            Biblioteca recuperada = persistencia.getBiblioteca();
+            assertEquals(1_000, recuperada.getCatalogoLivros().size());
+            assertEquals(500, recuperada.listarLivrosEmprestadosPorMembro("M-1").size());
+            assertEquals(500, recuperada.countDisponiveis());
+        }
+    }
+}
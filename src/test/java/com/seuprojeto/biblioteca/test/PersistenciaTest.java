@@ -0,0 +1,185 @@
+package com.seuprojeto.biblioteca.test;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.persistencia.ModoDurabilidade;
+import com.seuprojeto.biblioteca.persistencia.Persistencia;
+import com.seuprojeto.biblioteca.service.Biblioteca;
+import com.seuprojeto.biblioteca.service.ModoCatalogo;
+import com.seuprojeto.biblioteca.service.OuvinteBiblioteca;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para a Persistência (diário e snapshots)")
+class PersistenciaTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Estado é recuperado a partir do diário após reabrir")
+    void testRecuperacaoPeloDiario() throws IOException {
+        try (Persistencia persistencia = Persistencia.abrir(diretorio, false, ModoDurabilidade.POR_OPERACAO)) {
+            popular(persistencia.getBiblioteca());
+        }
+
+        try (Persistencia persistencia = Persistencia.abrir(diretorio, false, ModoDurabilidade.POR_OPERACAO)) {
+            verificarEstado(persistencia.getBiblioteca());
+        }
+    }
+
+    @Test
+    @DisplayName("Snapshot compacta o diário e é combinado com as mutações posteriores")
+    void testSnapshotMaisDiario() throws IOException {
+        try (Persistencia persistencia = Persistencia.abrir(diretorio, true, ModoDurabilidade.PERIODICO)) {
+            Biblioteca biblioteca = persistencia.getBiblioteca();
+            popular(biblioteca);
+            persistencia.gerarSnapshot();
+
+            biblioteca.adicionarLivro(new Livro("L-4", "Grande Sertão: Veredas", "Guimarães Rosa", 1956));
+            biblioteca.emprestarLivro("L-4", "M-2");
+            persistencia.getDiario().sincronizar();
+        }
+
+        assertEquals(1, contar("snapshot-"));
+        assertEquals(1, contar("diario-"), "Segmentos anteriores ao snapshot devem ser apagados.");
+
+        try (Persistencia persistencia = Persistencia.abrir(diretorio, true, ModoDurabilidade.PERIODICO)) {
+            Biblioteca biblioteca = persistencia.getBiblioteca();
+            verificarEstado(biblioteca);
+            assertFalse(biblioteca.buscarLivroPorId("L-4").isDisponivel());
+            assertEquals(List.of("Grande Sertão: Veredas"),
+                    biblioteca.listarLivrosEmprestadosPorMembro("M-2").stream().map(Livro::getTitulo).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Snapshot gravado num modo de catálogo é reaberto no outro")
+    void testSnapshotReabertoNoModoColunar() throws IOException {
+        try (Persistencia persistencia = Persistencia.abrir(diretorio, false, ModoDurabilidade.POR_OPERACAO)) {
+            Biblioteca biblioteca = persistencia.getBiblioteca();
+            popular(biblioteca);
+            List<Livro> livros = new ArrayList<>();
+            for (int i = 0; i < 20_000; i++) {
+                livros.add(new Livro("X-" + i, "Volume " + i, "Autor " + i % 7, 1900 + i % 100));
+            }
+            biblioteca.adicionarLivros(livros);
+            persistencia.gerarSnapshot();
+        }
+
+        try (Persistencia persistencia = Persistencia.abrir(diretorio, false, ModoCatalogo.COLUNAR,
+                ModoDurabilidade.POR_OPERACAO)) {
+            Biblioteca biblioteca = persistencia.getBiblioteca();
+            assertEquals(ModoCatalogo.COLUNAR, biblioteca.getModoCatalogo());
+            verificarEstado(biblioteca);
+            assertEquals(20_002, biblioteca.getCatalogoLivros().size());
+            assertEquals(List.of("X-19999"), biblioteca.buscarLivros("volume 19999", 10).stream().map(Livro::getId).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Registro final incompleto é descartado na recuperação")
+    void testCaudaIncompleta() throws IOException {
+        try (Persistencia persistencia = Persistencia.abrir(diretorio, false, ModoDurabilidade.POR_OPERACAO)) {
+            popular(persistencia.getBiblioteca());
+            persistencia.getBiblioteca().adicionarLivro(new Livro("L-9", "Descartado", "Autor", 2000));
+        }
+
+        // Simula uma queda no meio da escrita do último registro
+        Path segmento = ultimoSegmento();
+        try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.WRITE)) {
+            canal.truncate(canal.size() - 3);
+        }
+
+        try (Persistencia persistencia = Persistencia.abrir(diretorio, false, ModoDurabilidade.POR_OPERACAO)) {
+            Biblioteca biblioteca = persistencia.getBiblioteca();
+            verificarEstado(biblioteca);
+            assertNull(biblioteca.buscarLivroPorId("L-9"));
+
+            // O diário continua utilizável depois da recuperação
+            biblioteca.devolverLivro("L-1", "M-1");
+        }
+        try (Persistencia persistencia = Persistencia.abrir(diretorio, false, ModoDurabilidade.POR_OPERACAO)) {
+            assertTrue(persistencia.getBiblioteca().buscarLivroPorId("L-1").isDisponivel());
+        }
+    }
+
+    @Test
+    @DisplayName("Diário indisponível recusa a mutação antes de alterar a Biblioteca")
+    void testDiarioIndisponivelRecusaMutacao() throws IOException {
+        try (Persistencia persistencia = Persistencia.abrir(diretorio, false, ModoDurabilidade.POR_OPERACAO)) {
+            Biblioteca biblioteca = persistencia.getBiblioteca();
+            popular(biblioteca);
+            AtomicInteger emprestimos = new AtomicInteger();
+            biblioteca.adicionarOuvinte(new OuvinteBiblioteca() {
+                @Override
+                public void livroEmprestado(Livro livro, Membro membro) {
+                    emprestimos.incrementAndGet();
+                }
+            });
+
+            persistencia.getDiario().close();
+
+            assertThrows(IllegalStateException.class, () -> biblioteca.emprestarLivro("L-2", "M-2"));
+            assertThrows(IllegalStateException.class,
+                    () -> biblioteca.adicionarLivro(new Livro("L-5", "Fora do Diário", "Autor", 2000)));
+            assertTrue(biblioteca.buscarLivroPorId("L-2").isDisponivel());
+            assertNull(biblioteca.buscarLivroPorId("L-5"));
+            assertEquals(0, emprestimos.get());
+        }
+        try (Persistencia persistencia = Persistencia.abrir(diretorio, false, ModoDurabilidade.POR_OPERACAO)) {
+            verificarEstado(persistencia.getBiblioteca());
+        }
+    }
+
+    private void popular(Biblioteca biblioteca) {
+        biblioteca.adicionarLivro(new Livro("L-1", "Dom Casmurro", "Machado de Assis", 1899));
+        biblioteca.adicionarLivro(new Livro("L-2", "Vidas Secas", "Graciliano Ramos", 1938));
+        biblioteca.adicionarLivro(new Livro("L-3", "Removido", "Autor", 2001));
+        biblioteca.registrarMembro(new Membro("M-1", "Carlos Dantas"));
+        biblioteca.registrarMembro(new Membro("M-2", "Mariana Lima"));
+        biblioteca.registrarMembro(new Membro("M-3", "Temporário"));
+        biblioteca.emprestarLivro("L-1", "M-1");
+        biblioteca.emprestarLivro("L-2", "M-2");
+        biblioteca.devolverLivro("L-2", "M-2");
+        biblioteca.removerLivro("L-3");
+        biblioteca.removerMembro("M-3");
+    }
+
+    private void verificarEstado(Biblioteca biblioteca) {
+        assertEquals("Dom Casmurro", biblioteca.buscarLivroPorId("L-1").getTitulo());
+        assertEquals(1938, biblioteca.buscarLivroPorId("L-2").getAnoPublicacao());
+        assertNull(biblioteca.buscarLivroPorId("L-3"));
+        assertNull(biblioteca.buscarMembroPorId("M-3"));
+        assertFalse(biblioteca.buscarLivroPorId("L-1").isDisponivel());
+        assertTrue(biblioteca.buscarLivroPorId("L-2").isDisponivel());
+        assertEquals(List.of(biblioteca.buscarLivroPorId("L-1")), biblioteca.listarLivrosEmprestadosPorMembro("M-1"));
+        assertEquals("Mariana Lima", biblioteca.buscarMembroPorId("M-2").getNome());
+    }
+
+    private long contar(String prefixo) throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.filter(p -> p.getFileName().toString().startsWith(prefixo)).count();
+        }
+    }
+
+    private Path ultimoSegmento() throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.filter(p -> p.getFileName().toString().startsWith("diario-")).sorted()
+                    .reduce((primeiro, segundo) -> segundo).orElseThrow();
+        }
+    }
+}
@@ -0,0 +1,449 @@
+package com.seuprojeto.biblioteca.test;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.repositorio.CacheLimitado;
+import com.seuprojeto.biblioteca.repositorio.EstatisticasCache;
+import com.seuprojeto.biblioteca.repositorio.LivroRepository;
+import com.seuprojeto.biblioteca.repositorio.LivroRepositoryArquivo;
+import com.seuprojeto.biblioteca.repositorio.LivroRepositoryComCache;
+import com.seuprojeto.biblioteca.repositorio.LivroRepositoryMemoria;
+import com.seuprojeto.biblioteca.repositorio.MembroRepository;
+import com.seuprojeto.biblioteca.repositorio.MembroRepositoryArquivo;
+import com.seuprojeto.biblioteca.repositorio.MembroRepositoryComCache;
+import com.seuprojeto.biblioteca.repositorio.MembroRepositoryMemoria;
+import com.seuprojeto.biblioteca.repositorio.PoliticaRemocao;
+import com.seuprojeto.biblioteca.repositorio.SincronizadorRepositorios;
+import com.seuprojeto.biblioteca.service.Biblioteca;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para os Repositórios e o Cache de Leitura")
+class RepositoriosTest {
+
+    @TempDir
+    Path diretorio;
+
+    private void verificarLivros(LivroRepository repositorio) {
+        Livro livro = new Livro("L-1", "Memórias Póstumas de Brás Cubas", "Machado de Assis", 1881);
+        repositorio.salvar(livro);
+        repositorio.salvar(new Livro("L-2", "Vidas Secas", "Graciliano Ramos", 1938));
+        assertEquals(2, repositorio.quantidade());
+
+        Livro lido = repositorio.buscarPorId("L-1");
+        assertEquals("Memórias Póstumas de Brás Cubas", lido.getTitulo());
+        assertEquals(1881, lido.getAnoPublicacao());
+        assertTrue(lido.isDisponivel());
+        // Cópia: alterar o livro salvo não muda o repositório
+        livro.marcarComoEmprestado();
+        assertTrue(repositorio.buscarPorId("L-1").isDisponivel());
+
+        repositorio.salvar(livro);
+        assertFalse(repositorio.buscarPorId("L-1").isDisponivel());
+        assertTrue(repositorio.remover("L-2"));
+        assertFalse(repositorio.remover("L-2"));
+        assertNull(repositorio.buscarPorId("L-2"));
+        assertNull(repositorio.buscarPorId(null));
+        assertEquals(1, repositorio.quantidade());
+    }
+
+    private void verificarMembros(MembroRepository repositorio) {
+        Membro membro = new Membro("M-1", "Ana Terra");
+        Livro livro = new Livro("L-1", "O Tempo e o Vento", "Erico Verissimo", 1949);
+        livro.marcarComoEmprestado();
+        membro.emprestarLivro(livro);
+        repositorio.salvar(membro);
+
+        Membro lido = repositorio.buscarPorId("M-1");
+        assertEquals("Ana Terra", lido.getNome());
+        assertEquals(List.of(livro), lido.getLivrosEmprestados());
+        assertEquals("Erico Verissimo", lido.getLivrosEmprestados().get(0).getAutor());
+        assertFalse(lido.getLivrosEmprestados().get(0).isDisponivel());
+
+        membro.devolverLivro(livro);
+        assertEquals(1, repositorio.buscarPorId("M-1").quantidadeEmprestados());
+        repositorio.salvar(membro);
+        assertEquals(0, repositorio.buscarPorId("M-1").quantidadeEmprestados());
+
+        // Empréstimo e devolução gravados como o par membro e livro
+        Livro outro = new Livro("L-2", "Incidente em Antares", "Erico Verissimo", 1971);
+        outro.marcarComoEmprestado();
+        repositorio.registrarEmprestimo("M-1", outro);
+        repositorio.registrarEmprestimo("M-1", outro);
+        assertEquals(List.of(outro), repositorio.buscarPorId("M-1").getLivrosEmprestados());
+        assertFalse(repositorio.buscarPorId("M-1").getLivrosEmprestados().get(0).isDisponivel());
+        repositorio.registrarDevolucao("M-1", outro);
+        repositorio.registrarDevolucao("M-1", outro);
+        assertEquals(0, repositorio.buscarPorId("M-1").quantidadeEmprestados());
+        repositorio.registrarEmprestimo("M-9", outro);
+        assertNull(repositorio.buscarPorId("M-9"));
+
+        assertTrue(repositorio.remover("M-1"));
+        assertNull(repositorio.buscarPorId("M-1"));
+        assertEquals(0, repositorio.quantidade());
+    }
+
+    @Test
+    @DisplayName("Implementações em memória, em arquivo e com cache seguem o mesmo contrato")
+    void testContrato() throws IOException {
+        verificarLivros(new LivroRepositoryMemoria());
+        verificarMembros(new MembroRepositoryMemoria());
+        try (LivroRepositoryArquivo livros = new LivroRepositoryArquivo(diretorio.resolve("livros.bin"));
+             MembroRepositoryArquivo membros = new MembroRepositoryArquivo(diretorio.resolve("membros.bin"))) {
+            verificarLivros(livros);
+            verificarMembros(membros);
+        }
+        verificarLivros(new LivroRepositoryComCache(new LivroRepositoryMemoria(), 16));
+        verificarMembros(new MembroRepositoryComCache(new MembroRepositoryMemoria(), 16));
+    }
+
+    @Test
+    @DisplayName("Repositório em arquivo recupera os registros ao reabrir, descarta registro incompleto e compacta")
+    void testArquivoReaberto() throws IOException {
+        Path arquivo = diretorio.resolve("livros.bin");
+        try (LivroRepositoryArquivo livros = new LivroRepositoryArquivo(arquivo)) {
+            for (int i = 0; i < 100; i++) {
+                livros.salvar(new Livro("L-" + i, "Título " + i, "Autor " + i, 1900 + i));
+            }
+            livros.remover("L-7");
+            livros.sincronizar();
+        }
+        // Queda no meio da gravação de um registro
+        Files.write(arquivo, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        try (LivroRepositoryArquivo livros = new LivroRepositoryArquivo(arquivo)) {
+            assertEquals(99, livros.quantidade());
+            assertNull(livros.buscarPorId("L-7"));
+            assertEquals("Autor 42", livros.buscarPorId("L-42").getAutor());
+
+            // Regravações sucessivas do mesmo livro: o arquivo é compactado e não cresce sem limite
+            Livro livro = livros.buscarPorId("L-1");
+            for (int i = 0; i < 50_000; i++) {
+                if (i % 2 == 0) {
+                    livro.marcarComoEmprestado();
+                } else {
+                    livro.marcarComoDisponivel();
+                }
+                livros.salvar(livro);
+            }
+            assertTrue(livros.getTamanhoArquivoBytes() < 2 << 20, livros.getTamanhoArquivoBytes() + " bytes");
+            assertEquals(99, livros.quantidade());
+        }
+        try (LivroRepositoryArquivo livros = new LivroRepositoryArquivo(arquivo)) {
+            assertEquals(99, livros.quantidade());
+            assertTrue(livros.buscarPorId("L-1").isDisponivel());
+            assertEquals(1999, livros.buscarPorId("L-99").getAnoPublicacao());
+        }
+    }
+
+    @Test
+    @DisplayName("Cache respeita a capacidade e conta acertos, falhas e remoções")
+    void testCacheLimitado() {
+        for (PoliticaRemocao politica : PoliticaRemocao.values()) {
+            CacheLimitado<Integer, String> cache = new CacheLimitado<>(100, politica);
+            for (int i = 0; i < 1_000; i++) {
+                assertEquals("v" + i, cache.buscar(i, chave -> "v" + chave));
+                assertTrue(cache.tamanho() <= 100, politica.name());
+            }
+            EstatisticasCache estatisticas = cache.getEstatisticas();
+            assertEquals(0, estatisticas.getAcertos(), politica.name());
+            assertEquals(1_000, estatisticas.getFalhas(), politica.name());
+            assertEquals(900, estatisticas.getRemocoes(), politica.name());
+
+            // O último item inserido está na janela em qualquer política
+            assertEquals("v999", cache.buscar(999, chave -> "outro"));
+            cache.invalidar(999);
+            assertEquals("outro", cache.buscar(999, chave -> "outro"));
+            assertNull(cache.buscar(-1, chave -> null));
+            assertEquals(1, cache.getEstatisticas().menos(estatisticas).getAcertos(), politica.name());
+            assertEquals(2, cache.getEstatisticas().menos(estatisticas).getFalhas(), politica.name());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new CacheLimitado<>(0));
+    }
+
+    @Test
+    @DisplayName("Cache limitado por peso respeita a soma dos pesos e não guarda itens maiores que ela")
+    void testCacheLimitadoPorPeso() {
+        for (PoliticaRemocao politica : PoliticaRemocao.values()) {
+            CacheLimitado<Integer, String> cache = new CacheLimitado<>(1_000, String::length, politica);
+            Random aleatorio = new Random(3);
+            for (int i = 0; i < 2_000; i++) {
+                int chave = aleatorio.nextInt(300);
+                String valor = cache.buscar(chave, c -> "x".repeat(1 + c % 50));
+                assertEquals(1 + chave % 50, valor.length());
+                assertTrue(cache.peso() <= 1_000, politica.name() + ": " + cache.peso());
+            }
+            assertTrue(cache.getEstatisticas().getRemocoes() > 0, politica.name());
+
+            String grande = "y".repeat(1_001);
+            assertSame(grande, cache.buscar(-1, c -> grande));
+            assertEquals("outro", cache.buscar(-1, c -> "outro"));
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> new CacheLimitado<Integer, String>(1_000, s -> -1, PoliticaRemocao.LRU).buscar(1, c -> "v"));
+    }
+
+    @Test
+    @DisplayName("W-TinyLFU mantém os itens populares durante uma varredura; LRU os perde")
+    void testVarreduraNaoExpulsaPopulares() {
+        double[] taxas = new double[PoliticaRemocao.values().length];
+        for (PoliticaRemocao politica : PoliticaRemocao.values()) {
+            CacheLimitado<Integer, Integer> cache = new CacheLimitado<>(1_000, politica);
+            Random aleatorio = new Random(7);
+            for (int rodada = 0; rodada < 20; rodada++) {
+                for (int i = 0; i < 5_000; i++) {
+                    cache.buscar(aleatorio.nextInt(500), chave -> chave); // 500 populares
+                }
+                for (int i = 0; i < 2_000; i++) {
+                    cache.buscar(1_000_000 + rodada * 2_000 + i, chave -> chave); // varredura, lida uma vez
+                }
+            }
+            EstatisticasCache antes = cache.getEstatisticas();
+            for (int i = 0; i < 500; i++) {
+                cache.buscar(i, chave -> chave);
+            }
+            taxas[politica.ordinal()] = cache.getEstatisticas().menos(antes).getTaxaAcerto();
+        }
+        assertTrue(taxas[PoliticaRemocao.W_TINY_LFU.ordinal()] > 0.95, "W-TinyLFU: " + taxas[1]);
+        assertTrue(taxas[PoliticaRemocao.LRU.ordinal()] < 0.5, "LRU: " + taxas[0]);
+    }
+
+    @Test
+    @DisplayName("Acima de 99% de acertos em uma carga concentrada com cache de 5% do catálogo")
+    void testCargaConcentrada() {
+        final int catalogo = 100_000;
+        LivroRepositoryMemoria origem = new LivroRepositoryMemoria();
+        for (int i = 0; i < catalogo; i++) {
+            origem.salvar(new Livro("L-" + i, "Título " + i, "Autor " + (i % 5_000), 1900 + (i % 120)));
+        }
+        LivroRepositoryComCache livros = new LivroRepositoryComCache(origem, catalogo / 20);
+        DistribuicaoZipf popularidade = new DistribuicaoZipf(catalogo, 1.6, new Random(42));
+        for (int i = 0; i < 200_000; i++) {
+            livros.buscarPorId("L-" + popularidade.proximo()); // aquecimento
+        }
+        EstatisticasCache antes = livros.getEstatisticas();
+        for (int i = 0; i < 500_000; i++) {
+            assertNotNull(livros.buscarPorId("L-" + popularidade.proximo()));
+        }
+        EstatisticasCache medidas = livros.getEstatisticas().menos(antes);
+        assertTrue(medidas.getTaxaAcerto() > 0.99, medidas.toString());
+        assertTrue(livros.getCache().tamanho() <= catalogo / 20);
+
+        // A mesma cota em bytes: 5% do catálogo, pelo tamanho estimado de um livro
+        long bytes = (long) catalogo / 20 * LivroRepositoryComCache.bytesEstimados(origem.buscarPorId("L-0"));
+        LivroRepositoryComCache porBytes = LivroRepositoryComCache.comLimiteDeBytes(origem, bytes);
+        for (int i = 0; i < 200_000; i++) {
+            porBytes.buscarPorId("L-" + popularidade.proximo());
+        }
+        antes = porBytes.getEstatisticas();
+        for (int i = 0; i < 500_000; i++) {
+            assertNotNull(porBytes.buscarPorId("L-" + popularidade.proximo()));
+        }
+        medidas = porBytes.getEstatisticas().menos(antes);
+        assertTrue(medidas.getTaxaAcerto() > 0.99, medidas.toString());
+        assertTrue(porBytes.getCache().peso() <= bytes);
+    }
+
+    @Test
+    @DisplayName("Empréstimos e devoluções da Biblioteca invalidam o cache na frente dos repositórios")
+    void testInvalidacaoPelaBiblioteca() throws IOException {
+        Biblioteca biblioteca = new Biblioteca(true);
+        biblioteca.adicionarLivro(new Livro("L-1", "Capitães da Areia", "Jorge Amado", 1937));
+        biblioteca.registrarMembro(new Membro("M-1", "Pedro Bala"));
+        try (LivroRepositoryArquivo arquivoLivros = new LivroRepositoryArquivo(diretorio.resolve("livros.bin"));
+             MembroRepositoryArquivo arquivoMembros = new MembroRepositoryArquivo(diretorio.resolve("membros.bin"))) {
+            LivroRepositoryComCache livros = new LivroRepositoryComCache(arquivoLivros, 8);
+            MembroRepositoryComCache membros = new MembroRepositoryComCache(arquivoMembros, 8);
+            SincronizadorRepositorios sincronizador = SincronizadorRepositorios.conectar(biblioteca, livros, membros);
+
+            // Coloca as duas entradas no cache antes das mutações
+            assertTrue(livros.buscarPorId("L-1").isDisponivel());
+            assertEquals(0, membros.buscarPorId("M-1").quantidadeEmprestados());
+
+            // As buscas por ID da Biblioteca passam pelo cache
+            EstatisticasCache antes = livros.getEstatisticas();
+            assertTrue(biblioteca.buscarLivroPorId("L-1").isDisponivel());
+            assertEquals(1, livros.getEstatisticas().menos(antes).getAcertos());
+            antes = membros.getEstatisticas();
+            assertEquals("Pedro Bala", biblioteca.buscarMembroPorId("M-1").getNome());
+            assertEquals(1, membros.getEstatisticas().menos(antes).getAcertos());
+
+            biblioteca.emprestarLivro("L-1", "M-1");
+            assertFalse(livros.buscarPorId("L-1").isDisponivel());
+            assertEquals("L-1", membros.buscarPorId("M-1").getLivrosEmprestados().get(0).getId());
+            assertFalse(biblioteca.buscarLivroPorId("L-1").isDisponivel());
+            assertEquals(1, biblioteca.buscarMembroPorId("M-1").quantidadeEmprestados());
+
+            biblioteca.devolverLivro("L-1", "M-1");
+            assertTrue(livros.buscarPorId("L-1").isDisponivel());
+            assertEquals(0, membros.buscarPorId("M-1").quantidadeEmprestados());
+
+            biblioteca.adicionarLivro(new Livro("L-2", "Jubiabá", "Jorge Amado", 1935));
+            biblioteca.removerLivro("L-1");
+            assertNull(livros.buscarPorId("L-1"));
+            assertEquals("Jubiabá", livros.buscarPorId("L-2").getTitulo());
+
+            sincronizador.desconectar();
+            biblioteca.removerMembro("M-1");
+            assertNotNull(membros.buscarPorId("M-1"));
+            // Desconectada, a Biblioteca volta a buscar na memória
+            antes = livros.getEstatisticas();
+            assertNull(biblioteca.buscarMembroPorId("M-1"));
+            assertEquals("Jubiabá", biblioteca.buscarLivroPorId("L-2").getTitulo());
+            assertEquals(0, livros.getEstatisticas().menos(antes).getBuscas());
+        }
+    }
+
+    @Test
+    @DisplayName("Empréstimos e devoluções gravam só o par membro e livro, sem regravar o membro inteiro")
+    void testEmprestimoGravaSoOPar() {
+        Biblioteca biblioteca = new Biblioteca(true);
+        biblioteca.registrarMembro(new Membro("M-1", "Rodrigo Cambará"));
+        for (int i = 0; i < 50; i++) {
+            biblioteca.adicionarLivro(new Livro("L-" + i, "Volume " + i, "Erico Verissimo", 1949));
+        }
+        MembroRepositoryMemoria memoria = new MembroRepositoryMemoria();
+        AtomicInteger membrosSalvos = new AtomicInteger();
+        MembroRepository contado = new MembroRepository() {
+            @Override
+            public Membro buscarPorId(String id) {
+                return memoria.buscarPorId(id);
+            }
+
+            @Override
+            public void salvar(Membro membro) {
+                membrosSalvos.incrementAndGet();
+                memoria.salvar(membro);
+            }
+
+            @Override
+            public boolean remover(String id) {
+                return memoria.remover(id);
+            }
+
+            @Override
+            public void registrarEmprestimo(String idMembro, Livro livro) {
+                memoria.registrarEmprestimo(idMembro, livro);
+            }
+
+            @Override
+            public void registrarDevolucao(String idMembro, Livro livro) {
+                memoria.registrarDevolucao(idMembro, livro);
+            }
+
+            @Override
+            public int quantidade() {
+                return memoria.quantidade();
+            }
+        };
+        SincronizadorRepositorios.conectar(biblioteca, new LivroRepositoryMemoria(), contado);
+        int salvosNaConexao = membrosSalvos.get();
+
+        for (int i = 0; i < 50; i++) {
+            biblioteca.emprestarLivro("L-" + i, "M-1");
+        }
+        biblioteca.devolverLivro("L-0", "M-1");
+        assertEquals(salvosNaConexao, membrosSalvos.get());
+        assertEquals(49, memoria.buscarPorId("M-1").quantidadeEmprestados());
+        assertFalse(memoria.buscarPorId("M-1").possuiLivro(new Livro("L-0", "Volume 0", "Erico Verissimo", 1949)));
+        assertTrue(biblioteca.buscarLivroPorId("L-0").isDisponivel());
+        assertFalse(biblioteca.buscarLivroPorId("L-1").isDisponivel());
+    }
+
+    @Test
+    @DisplayName("A gravação nos repositórios acontece depois de soltas as travas da operação")
+    void testGravacaoForaDasTravas() throws InterruptedException {
+        Biblioteca biblioteca = new Biblioteca(true);
+        biblioteca.adicionarLivro(new Livro("L-1", "Mar Morto", "Jorge Amado", 1936));
+        biblioteca.registrarMembro(new Membro("M-1", "Guma"));
+        biblioteca.registrarMembro(new Membro("M-2", "Lívia"));
+        CountDownLatch gravando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        LivroRepositoryMemoria memoria = new LivroRepositoryMemoria();
+        LivroRepository lento = new LivroRepository() {
+            @Override
+            public Livro buscarPorId(String id) {
+                return memoria.buscarPorId(id);
+            }
+
+            @Override
+            public void salvar(Livro livro) {
+                if (!livro.isDisponivel()) {
+                    gravando.countDown();
+                    esperar(liberar);
+                }
+                memoria.salvar(livro);
+            }
+
+            @Override
+            public boolean remover(String id) {
+                return memoria.remover(id);
+            }
+
+            @Override
+            public int quantidade() {
+                return memoria.quantidade();
+            }
+        };
+        LivroRepositoryComCache livros = new LivroRepositoryComCache(lento, 8);
+        SincronizadorRepositorios.conectar(biblioteca, livros, new MembroRepositoryMemoria());
+
+        Thread emprestimo = new Thread(() -> biblioteca.emprestarLivro("L-1", "M-1"));
+        emprestimo.start();
+        assertTrue(gravando.await(30, TimeUnit.SECONDS));
+        // O empréstimo espera o repositório, mas a trava do livro já está livre
+        assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> assertFalse(biblioteca.tentarDevolver("L-1", "M-2").isSucesso()));
+        assertTrue(emprestimo.isAlive());
+
+        liberar.countDown();
+        emprestimo.join();
+        assertFalse(livros.buscarPorId("L-1").isDisponivel());
+    }
+
+    private static void esperar(CountDownLatch liberar) {
+        try {
+            liberar.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Índices 0..n-1 com probabilidade proporcional a 1 / (i + 1)^s
+    private static final class DistribuicaoZipf {
+        private final double[] acumulada;
+        private final Random aleatorio;
+
+        DistribuicaoZipf(int n, double s, Random aleatorio) {
+            this.acumulada = new double[n];
+            this.aleatorio = aleatorio;
+            double soma = 0;
+            for (int i = 0; i < n; i++) {
+                soma += 1 / Math.pow(i + 1, s);
+                acumulada[i] = soma;
+            }
+            for (int i = 0; i < n; i++) {
+                acumulada[i] /= soma;
+            }
+        }
+
+        int proximo() {
+            int posicao = java.util.Arrays.binarySearch(acumulada, aleatorio.nextDouble());
+            return Math.min(posicao >= 0 ? posicao : -posicao - 1, acumulada.length - 1);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.seuprojeto.biblioteca.test;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.service.Biblioteca;
+import com.seuprojeto.biblioteca.service.ModoCatalogo;
+import com.seuprojeto.biblioteca.service.OuvinteBiblioteca;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para as Filas de Reserva de Livros")
+class ReservasTest {
+
+    private static Biblioteca novaBiblioteca(ModoCatalogo modo, int membros) {
+        Biblioteca biblioteca = new Biblioteca(true, modo);
+        biblioteca.adicionarLivro(new Livro("L-1", "Grande Sertão: Veredas", "Guimarães Rosa", 1956));
+        biblioteca.adicionarLivro(new Livro("L-2", "Vidas Secas", "Graciliano Ramos", 1938));
+        for (int i = 1; i <= membros; i++) {
+            biblioteca.registrarMembro(new Membro("M-" + i, "Membro " + i));
+        }
+        return biblioteca;
+    }
+
+    @Test
+    @DisplayName("A devolução empresta o livro ao próximo da fila, na ordem de chegada")
+    void testEntregaEmOrdem() {
+        for (ModoCatalogo modo : ModoCatalogo.values()) {
+            Biblioteca biblioteca = novaBiblioteca(modo, 4);
+            biblioteca.emprestarLivro("L-1", "M-1");
+
+            CompletableFuture<Livro> segundo = biblioteca.reservarLivro("L-1", "M-2");
+            CompletableFuture<Livro> terceiro = biblioteca.reservarLivro("L-1", "M-3");
+            assertEquals(2, biblioteca.quantidadeReservas("L-1"), modo.name());
+            assertEquals(2, biblioteca.posicaoNaFila("L-1", "M-3"), modo.name());
+            assertEquals(0, biblioteca.posicaoNaFila("L-1", "M-4"), modo.name());
+            assertFalse(segundo.isDone(), modo.name());
+
+            biblioteca.devolverLivro("L-1", "M-1");
+            assertEquals("L-1", segundo.join().getId(), modo.name());
+            assertFalse(terceiro.isDone(), modo.name());
+            assertFalse(biblioteca.buscarLivroPorId("L-1").isDisponivel(), modo.name());
+            assertEquals(1, biblioteca.listarLivrosEmprestadosPorMembro("M-2").size(), modo.name());
+            assertEquals(1, biblioteca.posicaoNaFila("L-1", "M-3"), modo.name());
+            // Quem não está na fila não fura a vez
+            assertThrows(IllegalStateException.class, () -> biblioteca.emprestarLivro("L-1", "M-4"));
+
+            biblioteca.devolverLivro("L-1", "M-2");
+            assertTrue(terceiro.isDone(), modo.name());
+            assertEquals(0, biblioteca.quantidadeReservas("L-1"), modo.name());
+
+            biblioteca.devolverLivro("L-1", "M-3");
+            assertTrue(biblioteca.buscarLivroPorId("L-1").isDisponivel(), modo.name());
+        }
+    }
+
+    @Test
+    @DisplayName("Reservar um livro disponível empresta na hora; reservas inválidas lançam")
+    void testReservaImediataEErros() {
+        for (ModoCatalogo modo : ModoCatalogo.values()) {
+            Biblioteca biblioteca = novaBiblioteca(modo, 2);
+
+            CompletableFuture<Livro> imediata = biblioteca.reservarLivro("L-2", "M-1");
+            assertTrue(imediata.isDone(), modo.name());
+            assertFalse(biblioteca.buscarLivroPorId("L-2").isDisponivel(), modo.name());
+            assertEquals(0, biblioteca.quantidadeReservas("L-2"), modo.name());
+
+            assertThrows(IllegalArgumentException.class, () -> biblioteca.reservarLivro("L-2", "M-1"));
+            assertThrows(IllegalArgumentException.class, () -> biblioteca.reservarLivro("L-9", "M-1"));
+            assertThrows(IllegalArgumentException.class, () -> biblioteca.reservarLivro("L-2", "M-9"));
+            biblioteca.reservarLivro("L-2", "M-2");
+            assertThrows(IllegalArgumentException.class, () -> biblioteca.reservarLivro("L-2", "M-2"));
+            assertEquals(1, biblioteca.quantidadeReservas("L-2"), modo.name());
+        }
+    }
+
+    @Test
+    @DisplayName("Reservas canceladas e de membros removidos saem da fila na hora, antes de qualquer devolução")
+    void testCanceladasERemovidos() {
+        for (ModoCatalogo modo : ModoCatalogo.values()) {
+            Biblioteca biblioteca = novaBiblioteca(modo, 5);
+            biblioteca.emprestarLivro("L-1", "M-1");
+            biblioteca.emprestarLivro("L-2", "M-1");
+            CompletableFuture<Livro> cancelada = biblioteca.reservarLivro("L-1", "M-2");
+            CompletableFuture<Livro> canceladaPeloFuturo = biblioteca.reservarLivro("L-1", "M-3");
+            CompletableFuture<Livro> removido = biblioteca.reservarLivro("L-1", "M-4");
+            CompletableFuture<Livro> removidoOutroLivro = biblioteca.reservarLivro("L-2", "M-4");
+            CompletableFuture<Livro> atendida = biblioteca.reservarLivro("L-1", "M-5");
+
+            assertTrue(biblioteca.cancelarReserva("L-1", "M-2"), modo.name());
+            assertFalse(biblioteca.cancelarReserva("L-1", "M-2"), modo.name());
+            assertTrue(cancelada.isCancelled(), modo.name());
+            assertEquals(3, biblioteca.quantidadeReservas("L-1"), modo.name());
+            assertEquals(1, biblioteca.posicaoNaFila("L-1", "M-3"), modo.name());
+
+            assertTrue(canceladaPeloFuturo.cancel(false), modo.name());
+            assertEquals(2, biblioteca.quantidadeReservas("L-1"), modo.name());
+            assertEquals(0, biblioteca.posicaoNaFila("L-1", "M-3"), modo.name());
+            assertEquals(1, biblioteca.posicaoNaFila("L-1", "M-4"), modo.name());
+            assertEquals(2, biblioteca.posicaoNaFila("L-1", "M-5"), modo.name());
+
+            biblioteca.removerMembro("M-4");
+            CompletionException falha = assertThrows(CompletionException.class, removido::join);
+            assertInstanceOf(IllegalArgumentException.class, falha.getCause());
+            assertTrue(removidoOutroLivro.isCompletedExceptionally(), modo.name());
+            assertEquals(1, biblioteca.quantidadeReservas("L-1"), modo.name());
+            assertEquals(0, biblioteca.quantidadeReservas("L-2"), modo.name());
+            assertEquals(1, biblioteca.posicaoNaFila("L-1", "M-5"), modo.name());
+            // Um membro novo com o mesmo ID começa sem reservas
+            biblioteca.registrarMembro(new Membro("M-4", "Membro 4"));
+            assertEquals(0, biblioteca.posicaoNaFila("L-1", "M-4"), modo.name());
+
+            biblioteca.devolverLivro("L-1", "M-1");
+            assertEquals("L-1", atendida.join().getId(), modo.name());
+            biblioteca.devolverLivro("L-2", "M-1");
+            assertTrue(biblioteca.buscarLivroPorId("L-2").isDisponivel(), modo.name());
+            assertTrue(biblioteca.getListaMembros().stream()
+                    .filter(m -> !m.getId().equals("M-5"))
+                    .allMatch(m -> m.getLivrosEmprestados().isEmpty()), modo.name());
+            assertEquals(0, biblioteca.quantidadeReservas("L-1"), modo.name());
+        }
+    }
+
+    @Test
+    @DisplayName("A entrega ao próximo da fila chega aos ouvintes como empréstimo, dentro da devolução")
+    void testOuvintes() {
+        Biblioteca biblioteca = novaBiblioteca(ModoCatalogo.OBJETOS, 2);
+        List<String> eventos = new ArrayList<>();
+        biblioteca.adicionarOuvinte(new OuvinteBiblioteca() {
+            @Override
+            public void livroEmprestado(Livro livro, Membro membro) {
+                eventos.add("emprestado " + livro.getId() + " " + membro.getId());
+            }
+
+            @Override
+            public void livroDevolvido(Livro livro, Membro membro) {
+                eventos.add("devolvido " + livro.getId() + " " + membro.getId());
+            }
+        });
+        biblioteca.emprestarLivro("L-1", "M-1");
+        CompletableFuture<String> concluida = biblioteca.reservarLivro("L-1", "M-2")
+                .thenApply(livro -> {
+                    // O futuro completa fora das travas: a continuação pode usar a Biblioteca
+                    biblioteca.devolverLivro(livro.getId(), "M-2");
+                    return "ok";
+                });
+        biblioteca.devolverLivro("L-1", "M-1");
+
+        assertEquals("ok", concluida.join());
+        assertEquals(List.of("emprestado L-1 M-1", "devolvido L-1 M-1", "emprestado L-1 M-2", "devolvido L-1 M-2"),
+                eventos);
+        assertTrue(biblioteca.buscarLivroPorId("L-1").isDisponivel());
+    }
+
+    @Test
+    @DisplayName("Com muitas threads na fila, cada reserva é atendida exatamente uma vez")
+    void testConcorrente() throws InterruptedException {
+        final int threads = 8;
+        final int rodadas = 500;
+        Biblioteca biblioteca = novaBiblioteca(ModoCatalogo.OBJETOS, threads);
+        List<Throwable> erros = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Thread> trabalhadores = new ArrayList<>();
+        for (int t = 1; t <= threads; t++) {
+            String idMembro = "M-" + t;
+            Thread thread = new Thread(() -> {
+                try {
+                    largada.await();
+                    for (int i = 0; i < rodadas; i++) {
+                        Livro livro = biblioteca.reservarLivro("L-1", idMembro).get(30, TimeUnit.SECONDS);
+                        assertEquals(1, biblioteca.listarLivrosEmprestadosPorMembro(idMembro).size());
+                        biblioteca.devolverLivro(livro.getId(), idMembro);
+                    }
+                } catch (Throwable e) {
+                    erros.add(e);
+                }
+            });
+            trabalhadores.add(thread);
+            thread.start();
+        }
+        largada.countDown();
+        for (Thread thread : trabalhadores) {
+            thread.join();
+        }
+
+        assertEquals(List.of(), erros);
+        assertTrue(biblioteca.buscarLivroPorId("L-1").isDisponivel());
+        assertEquals(0, biblioteca.quantidadeReservas("L-1"));
+    }
+}
@@ -0,0 +1,109 @@
+package com.seuprojeto.biblioteca.test;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.metricas.MetricasBiblioteca;
+import com.seuprojeto.biblioteca.metricas.OperacaoMedida;
+import com.seuprojeto.biblioteca.service.Biblioteca;
+import com.seuprojeto.biblioteca.service.ResultadoOperacao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@DisplayName("Testes para as Operações sem Exceção (tentarEmprestar / tentarDevolver)")
+class ResultadoOperacaoTest {
+
+    private Biblioteca biblioteca;
+
+    @BeforeEach
+    void setUp() {
+        biblioteca = new Biblioteca();
+        biblioteca.adicionarLivro(new Livro("L-1", "Dom Casmurro", "Machado de Assis", 1899));
+        biblioteca.adicionarLivro(new Livro("L-2", "Vidas Secas", "Graciliano Ramos", 1938));
+        biblioteca.registrarMembro(new Membro("M-1", "Carlos Dantas"));
+        biblioteca.registrarMembro(new Membro("M-2", "Mariana Lima"));
+    }
+
+    @Test
+    @DisplayName("Cada recusa do empréstimo vira um resultado, sem alterar o estado")
+    void testTentarEmprestar() {
+        assertEquals(ResultadoOperacao.SUCESSO, biblioteca.tentarEmprestar("L-1", "M-1"));
+        assertTrue(biblioteca.tentarEmprestar("L-2", "M-2").isSucesso());
+
+        assertEquals(ResultadoOperacao.LIVRO_INDISPONIVEL, biblioteca.tentarEmprestar("L-1", "M-2"));
+        assertEquals(ResultadoOperacao.LIVRO_NAO_ENCONTRADO, biblioteca.tentarEmprestar("L-9", "M-1"));
+        assertEquals(ResultadoOperacao.MEMBRO_NAO_ENCONTRADO, biblioteca.tentarEmprestar("L-1", "M-9"));
+        assertEquals(ResultadoOperacao.LIVRO_NAO_ENCONTRADO, biblioteca.tentarEmprestar(null, null));
+        assertFalse(ResultadoOperacao.LIVRO_INDISPONIVEL.isSucesso());
+
+        assertEquals(1, biblioteca.listarLivrosEmprestadosPorMembro("M-1").size());
+        assertTrue(biblioteca.listarLivrosEmprestadosPorMembro("M-2").contains(biblioteca.buscarLivroPorId("L-2")));
+    }
+
+    @Test
+    @DisplayName("Cada recusa da devolução vira um resultado; os métodos que lançam continuam iguais")
+    void testTentarDevolver() {
+        assertEquals(ResultadoOperacao.LIVRO_NAO_EMPRESTADO, biblioteca.tentarDevolver("L-1", "M-1"));
+        biblioteca.emprestarLivro("L-1", "M-1");
+        assertEquals(ResultadoOperacao.LIVRO_NAO_ESTA_COM_MEMBRO, biblioteca.tentarDevolver("L-1", "M-2"));
+        assertEquals(ResultadoOperacao.MEMBRO_NAO_ENCONTRADO, biblioteca.tentarDevolver("L-1", "M-9"));
+        assertEquals(ResultadoOperacao.LIVRO_NAO_ENCONTRADO, biblioteca.tentarDevolver("L-9", "M-1"));
+
+        assertThrows(IllegalStateException.class, () -> biblioteca.emprestarLivro("L-1", "M-2"));
+        assertThrows(IllegalArgumentException.class, () -> biblioteca.devolverLivro("L-1", "M-2"));
+
+        assertEquals(ResultadoOperacao.SUCESSO, biblioteca.tentarDevolver("L-1", "M-1"));
+        assertTrue(biblioteca.buscarLivroPorId("L-1").isDisponivel());
+    }
+
+    @Test
+    @DisplayName("Recusas contam nas métricas como as exceções contavam")
+    void testMetricas() {
+        MetricasBiblioteca metricas = biblioteca.ativarMetricas();
+        biblioteca.tentarEmprestar("L-1", "M-1");
+        biblioteca.tentarEmprestar("L-1", "M-2");
+        biblioteca.tentarEmprestar("L-1", "M-2");
+
+        assertEquals(1, metricas.getSucessos(OperacaoMedida.EMPRESTAR));
+        assertEquals(2, metricas.getFalhas(OperacaoMedida.EMPRESTAR, "LIVRO_INDISPONIVEL"));
+        assertEquals(2L, metricas.instantaneo().getValores().get("emprestar.falhas.LIVRO_INDISPONIVEL"));
+    }
+
+    @Test
+    @DisplayName("O caminho da recusa não aloca memória, com ou sem métricas")
+    void testRecusaSemAlocacao() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean medidor = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(medidor.isThreadAllocatedMemorySupported() && medidor.isThreadAllocatedMemoryEnabled());
+        biblioteca.emprestarLivro("L-1", "M-1");
+        long id = Thread.currentThread().threadId();
+
+        for (boolean comMetricas : new boolean[]{false, true}) {
+            if (comMetricas) {
+                biblioteca.ativarMetricas();
+            }
+            // Aquecimento: classes carregadas, contadores de métricas e motivo já criados
+            for (int i = 0; i < 20_000; i++) {
+                biblioteca.tentarEmprestar("L-1", "M-2");
+            }
+            long antes = medidor.getThreadAllocatedBytes(id);
+            int recusas = 0;
+            for (int i = 0; i < 100_000; i++) {
+                if (biblioteca.tentarEmprestar("L-1", "M-2") == ResultadoOperacao.LIVRO_INDISPONIVEL) {
+                    recusas++;
+                }
+            }
+            long alocados = medidor.getThreadAllocatedBytes(id) - antes;
+
+            assertEquals(100_000, recusas);
+            // Folga para a própria medição; uma exceção por recusa passaria de 10 MB
+            assertTrue(alocados < 64 * 1024, alocados + " bytes alocados (métricas: " + comMetricas + ")");
+        }
+    }
+}
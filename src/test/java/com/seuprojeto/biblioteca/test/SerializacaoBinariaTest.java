@@ -0,0 +1,228 @@
+package com.seuprojeto.biblioteca.test;
+
+import com.seuprojeto.biblioteca.model.Livro;
+import com.seuprojeto.biblioteca.model.Membro;
+import com.seuprojeto.biblioteca.serializacao.EscritorBinario;
+import com.seuprojeto.biblioteca.serializacao.LeitorBinario;
+import com.seuprojeto.biblioteca.serializacao.TipoObjeto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes para a Serialização binária de Livro e Membro")
+class SerializacaoBinariaTest {
+
+    private static List<Livro> livros() {
+        List<Livro> livros = new ArrayList<>();
+        livros.add(new Livro("L-1", "Dom Casmurro", "Machado de Assis", 1899));
+        livros.add(new Livro("L-2", "Memórias Póstumas de Brás Cubas", "Machado de Assis", 1881));
+        livros.add(new Livro("L-3", "Vidas Secas", "Graciliano Ramos", 1938));
+        livros.add(new Livro("L-ç-4", "Poemas 📚 em Ação", "José de Alencar", 1865));
+        livros.add(new Livro("L-5", "Livro do Futuro", "Autor Distante", 1_000_000));
+        livros.get(1).marcarComoEmprestado();
+        livros.get(3).marcarComoEmprestado();
+        return livros;
+    }
+
+    private static void assertLivroIgual(Livro esperado, Livro lido) {
+        assertEquals(esperado.getId(), lido.getId());
+        assertEquals(esperado.getTitulo(), lido.getTitulo());
+        assertEquals(esperado.getAutor(), lido.getAutor());
+        assertEquals(esperado.getAnoPublicacao(), lido.getAnoPublicacao());
+        assertEquals(esperado.isDisponivel(), lido.isDisponivel());
+    }
+
+    @Test
+    @DisplayName("Livros e membros vão e voltam iguais, em buffer heap e direto")
+    void testIdaEVolta() {
+        List<Livro> livros = livros();
+        Membro membro = new Membro("M-1", "Mariana Lima");
+        membro.emprestarLivro(livros.get(1));
+        membro.emprestarLivro(livros.get(3));
+        Membro semEmprestimos = new Membro("M-ü-2", "Ünico Sem Livros");
+
+        for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(4096), ByteBuffer.allocateDirect(4096)}) {
+            EscritorBinario escritor = new EscritorBinario(buffer);
+            for (Livro livro : livros) {
+                assertTrue(escritor.escrever(livro));
+            }
+            assertTrue(escritor.escrever(membro));
+            assertTrue(escritor.escrever(semEmprestimos));
+            assertEquals(7, escritor.getRegistros());
+            assertEquals(4, escritor.getAutores());
+            buffer.flip();
+
+            LeitorBinario leitor = new LeitorBinario(buffer);
+            Map<String, Livro> lidos = new HashMap<>();
+            for (Livro livro : livros) {
+                assertTrue(leitor.proximo());
+                assertEquals(TipoObjeto.LIVRO, leitor.getTipo());
+                Livro lido = leitor.lerLivro();
+                assertLivroIgual(livro, lido);
+                lidos.put(lido.getId(), lido);
+            }
+            assertTrue(leitor.proximo());
+            Membro membroLido = leitor.lerMembro(lidos::get);
+            assertEquals("M-1", membroLido.getId());
+            assertEquals("Mariana Lima", membroLido.getNome());
+            assertEquals(List.of(lidos.get("L-2"), lidos.get("L-ç-4")), membroLido.getLivrosEmprestados());
+            assertSame(lidos.get("L-2"), membroLido.getLivrosEmprestados().get(0));
+            assertTrue(leitor.proximo());
+            assertEquals(TipoObjeto.MEMBRO, leitor.getTipo());
+            assertEquals("Ünico Sem Livros", leitor.lerMembro(lidos::get).getNome());
+            assertFalse(leitor.proximo());
+            assertNull(leitor.getTipo());
+        }
+    }
+
+    @Test
+    @DisplayName("Cada autor é gravado uma vez por quadro e decodificado uma vez na leitura")
+    void testDicionarioAutores() {
+        ByteBuffer repetidos = ByteBuffer.allocate(1 << 16);
+        ByteBuffer distintos = ByteBuffer.allocate(1 << 16);
+        EscritorBinario escritorRepetidos = new EscritorBinario(repetidos);
+        EscritorBinario escritorDistintos = new EscritorBinario(distintos);
+        for (int i = 0; i < 500; i++) {
+            assertTrue(escritorRepetidos.escrever(new Livro("L-" + i, "T" + i, "Machado de Assis", 1900 + i % 100)));
+            assertTrue(escritorDistintos.escrever(new Livro("L-" + i, "T" + i, "Machado de Assis " + i, 1900 + i % 100)));
+        }
+        assertEquals(1, escritorRepetidos.getAutores());
+        assertEquals(500, escritorDistintos.getAutores());
+        // Depois do primeiro, cada livro gasta 1 byte de autor em vez de 1 + 1 + 16 ou mais
+        assertTrue(repetidos.position() + 499 * 17 <= distintos.position(),
+                repetidos.position() + " vs " + distintos.position());
+
+        repetidos.flip();
+        LeitorBinario leitor = new LeitorBinario(repetidos);
+        assertTrue(leitor.proximo());
+        String primeiro = leitor.getAutor();
+        int livrosLidos = 1;
+        while (leitor.proximo()) {
+            assertSame(primeiro, leitor.getAutor());
+            livrosLidos++;
+        }
+        assertEquals(500, livrosLidos);
+    }
+
+    @Test
+    @DisplayName("Campos lidos direto do buffer, sem montar o objeto nem mover a posição do buffer")
+    void testLeituraDeCampos() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(4096);
+        EscritorBinario escritor = new EscritorBinario(buffer);
+        livros().forEach(escritor::escrever);
+        buffer.flip();
+        int posicao = buffer.position();
+
+        LeitorBinario leitor = new LeitorBinario(buffer);
+        assertThrows(IllegalStateException.class, leitor::getId);
+        List<Integer> anosEmprestados = new ArrayList<>();
+        String tituloProcurado = null;
+        while (leitor.proximo()) {
+            if (!leitor.isDisponivel()) {
+                anosEmprestados.add(leitor.getAnoPublicacao());
+            }
+            if (leitor.idIgual("L-ç-4")) {
+                tituloProcurado = leitor.getTitulo();
+            }
+            assertFalse(leitor.idIgual("L-9"));
+            assertThrows(IllegalStateException.class, leitor::getNome);
+        }
+        assertEquals(List.of(1881, 1865), anosEmprestados);
+        assertEquals("Poemas 📚 em Ação", tituloProcurado);
+        assertEquals(posicao, buffer.position());
+    }
+
+    @Test
+    @DisplayName("Registro que não cabe não é escrito; o seguinte vai num quadro novo")
+    void testQuadroCheio() {
+        List<Livro> livros = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            livros.add(new Livro("L-" + i, "Título número " + i, "Autor " + (i % 7), 1950 + i % 50));
+        }
+        List<ByteBuffer> quadros = new ArrayList<>();
+        ByteBuffer atual = ByteBuffer.allocate(512);
+        EscritorBinario escritor = new EscritorBinario(atual);
+        for (Livro livro : livros) {
+            if (!escritor.escrever(livro)) {
+                int posicao = atual.position();
+                assertFalse(escritor.escrever(livro));
+                assertEquals(posicao, atual.position());
+                quadros.add(atual.flip());
+                atual = ByteBuffer.allocate(512);
+                escritor = new EscritorBinario(atual);
+                assertTrue(escritor.escrever(livro));
+            }
+        }
+        quadros.add(atual.flip());
+        assertTrue(quadros.size() > 1);
+
+        List<Livro> lidos = new ArrayList<>();
+        for (ByteBuffer quadro : quadros) {
+            LeitorBinario leitor = new LeitorBinario(quadro);
+            while (leitor.proximo()) {
+                lidos.add(leitor.lerLivro());
+            }
+        }
+        assertEquals(livros.size(), lidos.size());
+        for (int i = 0; i < livros.size(); i++) {
+            assertLivroIgual(livros.get(i), lidos.get(i));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new EscritorBinario(ByteBuffer.allocate(2)));
+    }
+
+    @Test
+    @DisplayName("Leitor pula tipos e campos de versões mais novas e recusa versão incompatível ou dados truncados")
+    void testVersoes() {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        EscritorBinario escritor = new EscritorBinario(buffer);
+        escritor.escrever(new Livro("L-1", "Dom Casmurro", "Machado de Assis", 1899));
+        buffer.put((byte) 9).put((byte) 3).put(new byte[]{1, 2, 3}); // tipo desconhecido, corpo de 3 bytes
+        int inicioMembro = buffer.position();
+        escritor.escrever(new Membro("M-1", "Carlos Dantas"));
+        // Campo novo no fim do corpo do membro: aumenta o tamanho declarado e acrescenta o byte
+        int corpo = buffer.get(inicioMembro + 1);
+        buffer.put(inicioMembro + 1, (byte) (corpo + 1)).put((byte) 42);
+        buffer.flip();
+
+        LeitorBinario leitor = new LeitorBinario(buffer);
+        assertTrue(leitor.proximo());
+        assertEquals("Dom Casmurro", leitor.getTitulo());
+        assertTrue(leitor.proximo());
+        assertEquals(TipoObjeto.MEMBRO, leitor.getTipo());
+        assertEquals("Carlos Dantas", leitor.getNome());
+        assertEquals(0, leitor.quantidadeEmprestimos());
+        assertFalse(leitor.proximo());
+
+        ByteBuffer versaoNova = ByteBuffer.wrap(new byte[]{'B', 'L', 2});
+        assertThrows(IllegalStateException.class, () -> new LeitorBinario(versaoNova));
+        assertThrows(IllegalStateException.class, () -> new LeitorBinario(ByteBuffer.wrap("{}".getBytes())));
+
+        ByteBuffer truncado = buffer.duplicate().limit(10);
+        LeitorBinario leitorTruncado = new LeitorBinario(truncado);
+        assertThrows(IllegalStateException.class, leitorTruncado::proximo);
+    }
+
+    @Test
+    @DisplayName("Empréstimo cujo livro não é encontrado é recusado")
+    void testEmprestimoSemLivro() {
+        Livro livro = new Livro("L-1", "Dom Casmurro", "Machado de Assis", 1899);
+        Membro membro = new Membro("M-1", "Carlos Dantas");
+        membro.emprestarLivro(livro);
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        new EscritorBinario(buffer).escrever(membro);
+        buffer.flip();
+
+        LeitorBinario leitor = new LeitorBinario(buffer);
+        assertTrue(leitor.proximo());
+        assertEquals(1, leitor.quantidadeEmprestimos());
+        assertThrows(IllegalArgumentException.class, () -> leitor.lerMembro(id -> null));
+        assertEquals(1, leitor.lerMembro(id -> livro).quantidadeEmprestados());
+    }
+}